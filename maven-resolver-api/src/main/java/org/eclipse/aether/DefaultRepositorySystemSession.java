@@ -554,6 +554,8 @@ public final class DefaultRepositorySystemSession
         {
             configProperties.remove( key );
         }
+        // a new view signals the change to components that cache the parsed configuration
+        configPropertiesView = Collections.unmodifiableMap( configProperties );
         return this;
     }
 
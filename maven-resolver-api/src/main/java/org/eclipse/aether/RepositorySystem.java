@@ -274,4 +274,15 @@ public interface RepositorySystem
      */
     RemoteRepository newDeploymentRepository( RepositorySystemSession session, RemoteRepository repository );
 
+    /**
+     * Releases the resources that the repository system keeps on behalf of the specified session and the sessions
+     * sharing its {@link RepositorySystemSession#getData() data}, e.g. the repository connectors kept for reuse when
+     * the configuration property {@code "aether.connector.reuse"} is enabled. Connectors that are still in use are
+     * closed once their clients close them. Clients should call this method when they are done with the session, e.g.
+     * at the end of a build. The session itself remains usable, resources needed by later requests are created anew.
+     * 
+     * @param session The repository system session whose resources to release, must not be {@code null}.
+     */
+    void closeSession( RepositorySystemSession session );
+
 }
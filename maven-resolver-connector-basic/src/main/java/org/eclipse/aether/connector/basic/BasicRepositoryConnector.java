@@ -54,9 +54,12 @@ import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
 import org.eclipse.aether.spi.connector.transport.GetTask;
 import org.eclipse.aether.spi.connector.transport.PeekTask;
 import org.eclipse.aether.spi.connector.transport.PutTask;
+import org.eclipse.aether.spi.connector.transport.TransportThrottledException;
 import org.eclipse.aether.spi.connector.transport.Transporter;
 import org.eclipse.aether.spi.connector.transport.TransporterProvider;
 import org.eclipse.aether.spi.io.FileProcessor;
+import org.eclipse.aether.spi.metrics.MetricsRegistry;
+import org.eclipse.aether.spi.metrics.NullMetricsRegistry;
 import org.eclipse.aether.transfer.ChecksumFailureException;
 import org.eclipse.aether.transfer.NoRepositoryConnectorException;
 import org.eclipse.aether.transfer.NoRepositoryLayoutException;
@@ -65,7 +68,7 @@ import org.eclipse.aether.transfer.TransferEvent;
 import org.eclipse.aether.transfer.TransferResource;
 import org.eclipse.aether.transform.FileTransformer;
 import org.eclipse.aether.util.ChecksumUtils;
-import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.ConfigView;
 import org.eclipse.aether.util.concurrency.RunnableErrorForwarder;
 import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
 import org.slf4j.Logger;
@@ -79,12 +82,22 @@ final class BasicRepositoryConnector
 
     private static final String CONFIG_PROP_THREADS = "aether.connector.basic.threads";
 
+    private static final String CONFIG_PROP_ADAPTIVE_THREADS = "aether.connector.basic.adaptiveThreads";
+
+    private static final String CONFIG_PROP_ADAPTIVE_MAX_THREADS = "aether.connector.basic.adaptiveThreads.max";
+
     private static final String CONFIG_PROP_RESUME = "aether.connector.resumeDownloads";
 
     private static final String CONFIG_PROP_RESUME_THRESHOLD = "aether.connector.resumeThreshold";
 
     private static final String CONFIG_PROP_SMART_CHECKSUMS = "aether.connector.smartChecksums";
 
+    private static final String CONFIG_PROP_CONDITIONAL_METADATA = "aether.connector.conditionalMetadata";
+
+    private static final String CONFIG_PROP_PROGRESS_BYTES = "aether.connector.basic.progressBytes";
+
+    private static final String CONFIG_PROP_PROGRESS_INTERVAL = "aether.connector.basic.progressInterval";
+
     private static final Logger LOGGER = LoggerFactory.getLogger( BasicRepositoryConnector.class );
 
     private final FileProcessor fileProcessor;
@@ -107,6 +120,18 @@ final class BasicRepositoryConnector
 
     private final boolean persistedChecksums;
 
+    private final boolean conditionalMetadata;
+
+    private final ConcurrencyLimiter limiter;
+
+    private final RetryPolicy retryPolicy;
+
+    private final MetricsRegistry metrics;
+
+    private final long progressBytes;
+
+    private final long progressInterval;
+
     private Executor executor;
 
     private boolean closed;
@@ -138,22 +163,37 @@ final class BasicRepositoryConnector
         this.repository = repository;
         this.fileProcessor = fileProcessor;
 
-        maxThreads = ConfigUtils.getInteger( session, 5, CONFIG_PROP_THREADS, "maven.artifact.threads" );
-        smartChecksums = ConfigUtils.getBoolean( session, true, CONFIG_PROP_SMART_CHECKSUMS );
+        ConfigView config = ConfigView.getView( session );
+        String repoId = repository.getId();
+        int threads = config.getInteger( 5, "maven.artifact.threads", null );
+        threads = config.getInteger( threads, CONFIG_PROP_THREADS, null );
+        if ( config.getBoolean( false, CONFIG_PROP_ADAPTIVE_THREADS, repoId ) )
+        {
+            maxThreads = Math.max( threads, config.getInteger( 20, CONFIG_PROP_ADAPTIVE_MAX_THREADS, repoId ) );
+            limiter = ConcurrencyLimiter.get( session, repository, threads, maxThreads );
+        }
+        else
+        {
+            maxThreads = threads;
+            limiter = null;
+        }
+        smartChecksums = config.getBoolean( true, CONFIG_PROP_SMART_CHECKSUMS, null );
         persistedChecksums =
-            ConfigUtils.getBoolean( session, ConfigurationProperties.DEFAULT_PERSISTED_CHECKSUMS,
-                                    ConfigurationProperties.PERSISTED_CHECKSUMS );
-
-        boolean resumeDownloads =
-            ConfigUtils.getBoolean( session, true, CONFIG_PROP_RESUME + '.' + repository.getId(), CONFIG_PROP_RESUME );
-        long resumeThreshold =
-            ConfigUtils.getLong( session, 64 * 1024, CONFIG_PROP_RESUME_THRESHOLD + '.' + repository.getId(),
-                                 CONFIG_PROP_RESUME_THRESHOLD );
+            config.getBoolean( ConfigurationProperties.DEFAULT_PERSISTED_CHECKSUMS,
+                               ConfigurationProperties.PERSISTED_CHECKSUMS, null );
+
+        conditionalMetadata = config.getBoolean( false, CONFIG_PROP_CONDITIONAL_METADATA, repoId );
+
+        boolean resumeDownloads = config.getBoolean( true, CONFIG_PROP_RESUME, repoId );
+        long resumeThreshold = config.getLong( 64 * 1024, CONFIG_PROP_RESUME_THRESHOLD, repoId );
         int requestTimeout =
-            ConfigUtils.getInteger( session, ConfigurationProperties.DEFAULT_REQUEST_TIMEOUT,
-                                    ConfigurationProperties.REQUEST_TIMEOUT + '.' + repository.getId(),
-                                    ConfigurationProperties.REQUEST_TIMEOUT );
+            config.getInteger( ConfigurationProperties.DEFAULT_REQUEST_TIMEOUT, ConfigurationProperties.REQUEST_TIMEOUT,
+                               repoId );
         partialFileFactory = new PartialFile.Factory( resumeDownloads, resumeThreshold, requestTimeout );
+        retryPolicy = RetryPolicy.newInstance( session, repository );
+        metrics = NullMetricsRegistry.getSafeRegistry( session );
+        progressBytes = config.getLong( 0L, CONFIG_PROP_PROGRESS_BYTES, null );
+        progressInterval = config.getLong( 0L, CONFIG_PROP_PROGRESS_INTERVAL, null );
     }
 
     private Executor getExecutor( Collection<?> artifacts, Collection<?> metadatas )
@@ -169,11 +209,14 @@ final class BasicRepositoryConnector
         }
         if ( executor == null )
         {
-            executor =
+            ThreadPoolExecutor pool =
                 new ThreadPoolExecutor( maxThreads, maxThreads, 3L, TimeUnit.SECONDS,
                                         new LinkedBlockingQueue<Runnable>(),
                                         new WorkerThreadFactory( getClass().getSimpleName() + '-'
                                             + repository.getHost() + '-' ) );
+            // an idle connector, e.g. one kept for reuse, should not pin its worker threads
+            pool.allowCoreThreadTimeOut( true );
+            executor = pool;
         }
         return executor;
     }
@@ -231,7 +274,8 @@ final class BasicRepositoryConnector
                 checksums = layout.getChecksums( transfer.getMetadata(), false, location );
             }
 
-            Runnable task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, listener );
+            Runnable task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums,
+                                               conditionalMetadata, listener );
             executor.execute( errorForwarder.wrap( task ) );
         }
 
@@ -257,7 +301,7 @@ final class BasicRepositoryConnector
                     checksums = layout.getChecksums( transfer.getArtifact(), false, location );
                 }
 
-                task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, listener );
+                task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, false, listener );
             }
             executor.execute( errorForwarder.wrap( task ) );
         }
@@ -349,26 +393,149 @@ final class BasicRepositoryConnector
 
         protected final TransferTransportListener<?> listener;
 
+        /**
+         * Whether this task currently holds a permit of the {@link #limiter}.
+         */
+        private boolean permitted;
+
         TaskRunner( URI path, TransferTransportListener<?> listener )
         {
             this.path = path;
             this.listener = listener;
+            listener.setProgressThrottle( progressBytes, progressInterval );
         }
 
         public void run()
         {
+            if ( limiter != null )
+            {
+                try
+                {
+                    limiter.acquire();
+                    permitted = true;
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                    listener.transferFailed( e, Transporter.ERROR_OTHER );
+                    return;
+                }
+            }
+            int classification = -1;
+            long retryAfter = 0L;
             try
             {
                 listener.transferInitiated();
-                runTask();
+                for ( int attempt = 0;; attempt++ )
+                {
+                    try
+                    {
+                        runTask();
+                        break;
+                    }
+                    catch ( Exception e )
+                    {
+                        retry( attempt, e );
+                    }
+                }
                 listener.transferSucceeded();
             }
             catch ( Exception e )
             {
-                listener.transferFailed( e, transporter.classify( e ) );
+                classification = transporter.classify( e );
+                retryAfter = getRetryAfter( e );
+                listener.transferFailed( e, classification );
+            }
+            finally
+            {
+                if ( permitted )
+                {
+                    permitted = false;
+                    limiter.release( listener.getLatency(), listener.getTransferredBytes(),
+                                     listener.getTransportDuration(), classification, retryAfter );
+                }
+                recordMetrics( classification );
             }
         }
 
+        private void recordMetrics( int classification )
+        {
+            if ( metrics == NullMetricsRegistry.INSTANCE )
+            {
+                return;
+            }
+            String suffix = '.' + repository.getId();
+            long latency = listener.getLatency();
+            if ( latency >= 0L )
+            {
+                metrics.recordTime( "transfer.latency" + suffix, TimeUnit.MILLISECONDS.toNanos( latency ) );
+            }
+            long duration = listener.getTransportDuration();
+            if ( duration >= 0L )
+            {
+                metrics.recordTime( "transfer.duration" + suffix, TimeUnit.MILLISECONDS.toNanos( duration ) );
+            }
+            metrics.increment( "transfer.bytes" + suffix, listener.getTransferredBytes() );
+            if ( classification >= 0 )
+            {
+                metrics.increment( "transfer.failures" + suffix, 1L );
+            }
+        }
+
+        private void retry( int attempt, Exception e )
+            throws Exception
+        {
+            int classification = transporter.classify( e );
+            long retryAfter = getRetryAfter( e );
+            long delay = getRetryPolicy().getDelay( attempt, classification, retryAfter );
+            if ( delay < 0L )
+            {
+                throw e;
+            }
+            LOGGER.debug( "Transfer of {} failed, retrying in {} ms: {}", path, delay, e.getMessage() );
+            if ( limiter != null )
+            {
+                // do not occupy a permit while backing off, the limiter may just have lowered the limit
+                permitted = false;
+                limiter.failed( classification, retryAfter );
+            }
+            try
+            {
+                Thread.sleep( delay );
+                if ( limiter != null )
+                {
+                    limiter.acquire();
+                    permitted = true;
+                }
+            }
+            catch ( InterruptedException ie )
+            {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            listener.transferRetried();
+        }
+
+        private long getRetryAfter( Throwable e )
+        {
+            for ( Throwable t = e; t != null; t = t.getCause() )
+            {
+                if ( t instanceof TransportThrottledException )
+                {
+                    return ( (TransportThrottledException) t ).getRetryAfter();
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * Gets the policy deciding whether and when a failed attempt of this task is retried.
+         */
+        protected RetryPolicy getRetryPolicy()
+        {
+            return retryPolicy;
+        }
+
         protected abstract void runTask()
             throws Exception;
 
@@ -400,11 +567,15 @@ final class BasicRepositoryConnector
 
         private final ChecksumValidator checksumValidator;
 
+        private final boolean conditional;
+
         GetTaskRunner( URI path, File file, ChecksumPolicy checksumPolicy,
-                              List<RepositoryLayout.Checksum> checksums, TransferTransportListener<?> listener )
+                              List<RepositoryLayout.Checksum> checksums, boolean conditional,
+                              TransferTransportListener<?> listener )
         {
             super( path, listener );
             this.file = requireNonNull( file, "destination file cannot be null" );
+            this.conditional = conditional;
             checksumValidator =
                 new ChecksumValidator( file, fileProcessor, this, checksumPolicy, safe( checksums ) );
         }
@@ -448,12 +619,22 @@ final class BasicRepositoryConnector
             try
             {
                 File tmp = partFile.getFile();
+                ResourceValidators validators = conditional ? new ResourceValidators( file, fileProcessor ) : null;
                 listener.setChecksumCalculator( checksumValidator.newChecksumCalculator( tmp ) );
+                GetTask task;
                 for ( int firstTrial = 0, lastTrial = 1, trial = firstTrial;; trial++ )
                 {
                     boolean resume = partFile.isResume() && trial <= firstTrial;
-                    GetTask task = new GetTask( path ).setDataFile( tmp, resume ).setListener( listener );
+                    task = new GetTask( path ).setDataFile( tmp, resume ).setListener( listener );
+                    if ( validators != null && !resume && trial <= firstTrial )
+                    {
+                        validators.apply( task );
+                    }
                     transporter.get( task );
+                    if ( task.isNotModified() )
+                    {
+                        break;
+                    }
                     try
                     {
                         checksumValidator.validate( listener.getChecksums(), smartChecksums ? task.getChecksums()
@@ -478,11 +659,24 @@ final class BasicRepositoryConnector
                         }
                     }
                 }
+                if ( task.isNotModified() )
+                {
+                    LOGGER.debug( "Remote resource {} not modified, keeping {}", path, file );
+                    if ( !file.setLastModified( System.currentTimeMillis() ) )
+                    {
+                        LOGGER.debug( "Could not update timestamp of {}", file );
+                    }
+                    return;
+                }
                 fileProcessor.move( tmp, file );
                 if ( persistedChecksums )
                 {
                     checksumValidator.commit();
                 }
+                if ( validators != null )
+                {
+                    validators.commit( task );
+                }
             }
             finally
             {
@@ -528,6 +722,13 @@ final class BasicRepositoryConnector
             this.checksums = safe( checksums );
         }
 
+        @Override
+        protected RetryPolicy getRetryPolicy()
+        {
+            // the repository may have already applied part of a failed upload, leave it to the client to redo it
+            return RetryPolicy.NONE;
+        }
+
         protected void runTask()
             throws Exception
         {
@@ -0,0 +1,286 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+
+/**
+ * Adapts the number of concurrent transfers to a remote repository, following an additive-increase/
+ * multiplicative-decrease scheme. Each successful transfer increases the limit by roughly one per round of transfers,
+ * a transfer whose latency (time to first byte) exceeds twice the observed average shrinks the limit slightly, and a
+ * throttled transfer halves the limit and blocks further transfers for the delay requested by the repository. The
+ * limiter for a repository is shared by all connectors of a session via its {@link RepositoryCache}.
+ */
+public final class ConcurrencyLimiter
+{
+
+    private static final String KEY = ConcurrencyLimiter.class.getName() + '/';
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+
+    private static final double LATENCY_WEIGHT = 0.1;
+
+    private static final long LATENCY_THRESHOLD = 50L;
+
+    private static final double BACKOFF_FACTOR = 0.9;
+
+    private final int maxLimit;
+
+    private double limit;
+
+    private int active;
+
+    private long notBefore;
+
+    private double latency = -1.0;
+
+    private long throttledCount;
+
+    private long transferredBytes;
+
+    private long transferTime;
+
+    /**
+     * Gets the concurrency limiter that is currently in use for the specified repository.
+     * 
+     * @param session The repository system session, must not be {@code null}.
+     * @param repository The remote repository, must not be {@code null}.
+     * @return The concurrency limiter of the repository or {@code null} if adaptive concurrency is not in effect.
+     */
+    public static ConcurrencyLimiter find( RepositorySystemSession session, RemoteRepository repository )
+    {
+        RepositoryCache cache = session.getCache();
+        if ( cache == null )
+        {
+            return null;
+        }
+        Object tmp = cache.get( session, key( repository ) );
+        return ( tmp instanceof ConcurrencyLimiter ) ? (ConcurrencyLimiter) tmp : null;
+    }
+
+    static ConcurrencyLimiter get( RepositorySystemSession session, RemoteRepository repository, int initialLimit,
+                                   int maxLimit )
+    {
+        RepositoryCache cache = session.getCache();
+        if ( cache == null )
+        {
+            return new ConcurrencyLimiter( initialLimit, maxLimit );
+        }
+        Object key = key( repository );
+        Object tmp = cache.get( session, key );
+        if ( tmp instanceof ConcurrencyLimiter )
+        {
+            return (ConcurrencyLimiter) tmp;
+        }
+        synchronized ( ConcurrencyLimiter.class )
+        {
+            tmp = cache.get( session, key );
+            if ( tmp instanceof ConcurrencyLimiter )
+            {
+                return (ConcurrencyLimiter) tmp;
+            }
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter( initialLimit, maxLimit );
+            cache.put( session, key, limiter );
+            return limiter;
+        }
+    }
+
+    private static String key( RemoteRepository repository )
+    {
+        return KEY + repository.getId() + '/' + repository.getUrl();
+    }
+
+    ConcurrencyLimiter( int initialLimit, int maxLimit )
+    {
+        this.maxLimit = Math.max( 1, maxLimit );
+        this.limit = Math.max( 1, Math.min( initialLimit, this.maxLimit ) );
+    }
+
+    /**
+     * Gets the number of transfers that may currently run concurrently.
+     * 
+     * @return The current concurrency level, always positive.
+     */
+    public synchronized int getLimit()
+    {
+        return (int) limit;
+    }
+
+    /**
+     * Gets the upper bound for the concurrency level.
+     * 
+     * @return The maximum concurrency level, always positive.
+     */
+    public int getMaxLimit()
+    {
+        return maxLimit;
+    }
+
+    /**
+     * Gets the number of transfers that are currently running.
+     * 
+     * @return The number of active transfers.
+     */
+    public synchronized int getActiveCount()
+    {
+        return active;
+    }
+
+    /**
+     * Gets the number of transfers that were throttled by the remote repository so far.
+     * 
+     * @return The number of throttled transfers.
+     */
+    public synchronized long getThrottledCount()
+    {
+        return throttledCount;
+    }
+
+    /**
+     * Gets the average latency (time to first byte) of transfers.
+     * 
+     * @return The average latency in milliseconds or {@code -1} if unknown.
+     */
+    public synchronized long getLatency()
+    {
+        return Math.round( latency );
+    }
+
+    /**
+     * Gets the average throughput of a single transfer.
+     * 
+     * @return The throughput in bytes per second or {@code -1} if unknown.
+     */
+    public synchronized long getThroughput()
+    {
+        if ( transferTime <= 0L )
+        {
+            return -1L;
+        }
+        return transferredBytes * 1000L / transferTime;
+    }
+
+    /**
+     * Blocks until another transfer may be started.
+     */
+    synchronized void acquire()
+        throws InterruptedException
+    {
+        for ( ;; )
+        {
+            long delay = notBefore - System.currentTimeMillis();
+            if ( delay > 0L )
+            {
+                wait( delay );
+            }
+            else if ( active >= (int) limit )
+            {
+                wait();
+            }
+            else
+            {
+                break;
+            }
+        }
+        active++;
+    }
+
+    /**
+     * Marks the end of a transfer that was previously admitted via {@link #acquire()} and adapts the concurrency level.
+     * 
+     * @param latency The time to first byte in milliseconds or {@code -1} if unknown.
+     * @param bytes The number of bytes transferred.
+     * @param duration The duration of the transfer in milliseconds.
+     * @param classification The classification of the transfer error or {@code -1} if the transfer succeeded.
+     * @param retryAfter The delay (in milliseconds) requested by a throttling repository, may be {@code 0}.
+     */
+    synchronized void release( long latency, long bytes, long duration, int classification, long retryAfter )
+    {
+        active--;
+        adapt( latency, bytes, duration, classification, retryAfter );
+        notifyAll();
+    }
+
+    /**
+     * Marks the end of a failed attempt of a transfer that is about to be retried and adapts the concurrency level. The
+     * permit of the attempt is released, such that the transfer does not occupy it while backing off, the retry needs
+     * to be admitted again via {@link #acquire()}.
+     * 
+     * @param classification The classification of the transfer error.
+     * @param retryAfter The delay (in milliseconds) requested by a throttling repository, may be {@code 0}.
+     */
+    synchronized void failed( int classification, long retryAfter )
+    {
+        active--;
+        adapt( -1L, 0L, 0L, classification, retryAfter );
+        notifyAll();
+    }
+
+    private void adapt( long latency, long bytes, long duration, int classification, long retryAfter )
+    {
+        if ( classification == Transporter.ERROR_THROTTLED )
+        {
+            throttledCount++;
+            limit = Math.max( 1.0, limit / 2.0 );
+            notBefore = Math.max( notBefore, System.currentTimeMillis() + retryAfter );
+        }
+        else if ( classification == Transporter.ERROR_TRANSIENT || classification == Transporter.ERROR_OTHER )
+        {
+            decrease();
+        }
+        else if ( classification < 0 )
+        {
+            if ( bytes > 0L && duration > 0L )
+            {
+                transferredBytes += bytes;
+                transferTime += duration;
+            }
+            if ( latency >= 0L && this.latency >= 0.0 && latency > LATENCY_THRESHOLD
+                && latency > this.latency * LATENCY_TOLERANCE )
+            {
+                decrease();
+            }
+            else
+            {
+                limit = Math.min( maxLimit, limit + 1.0 / limit );
+            }
+            if ( latency >= 0L )
+            {
+                this.latency =
+                    ( this.latency < 0.0 ) ? latency : this.latency + ( latency - this.latency ) * LATENCY_WEIGHT;
+            }
+        }
+    }
+
+    private void decrease()
+    {
+        limit = Math.max( 1.0, limit * BACKOFF_FACTOR );
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "limit=" + getLimit() + ", active=" + active + ", throttled=" + throttledCount;
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Properties;
+
+import org.eclipse.aether.spi.connector.transport.GetTask;
+import org.eclipse.aether.spi.io.FileProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the cache validators (entity tag and modification timestamp) that the remote repository advertised
+ * for a downloaded file. The validators are stored next to the file and allow subsequent downloads to be conditional.
+ * As the additional file changes the layout of the local repository, conditional downloads are disabled unless
+ * {@code aether.connector.conditionalMetadata} is set.
+ */
+final class ResourceValidators
+{
+
+    static final String EXT_VALIDATORS = ".validators";
+
+    private static final String KEY_ETAG = "etag";
+
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( ResourceValidators.class );
+
+    private final File dataFile;
+
+    private final File validatorsFile;
+
+    private final FileProcessor fileProcessor;
+
+    private String entityTag;
+
+    private long lastModified;
+
+    ResourceValidators( File dataFile, FileProcessor fileProcessor )
+    {
+        this.dataFile = dataFile;
+        this.validatorsFile = new File( dataFile.getPath() + EXT_VALIDATORS );
+        this.fileProcessor = fileProcessor;
+        load();
+    }
+
+    private void load()
+    {
+        if ( !dataFile.isFile() || !validatorsFile.isFile() )
+        {
+            return;
+        }
+        Properties props = new Properties();
+        try ( InputStream is = new FileInputStream( validatorsFile ) )
+        {
+            props.load( is );
+            entityTag = props.getProperty( KEY_ETAG );
+            lastModified = Long.parseLong( props.getProperty( KEY_LAST_MODIFIED, "0" ) );
+        }
+        catch ( IOException | NumberFormatException e )
+        {
+            LOGGER.debug( "Failed to read validators file {}: {}", validatorsFile, e.getMessage(), e );
+            entityTag = null;
+            lastModified = 0L;
+        }
+    }
+
+    /**
+     * Makes the specified download conditional on the validators of the existing file (if any).
+     */
+    public void apply( GetTask task )
+    {
+        task.setIfNoneMatch( entityTag ).setIfModifiedSince( lastModified );
+    }
+
+    /**
+     * Records the validators that the remote repository advertised during the specified (completed) download.
+     */
+    public void commit( GetTask task )
+    {
+        entityTag = task.getEntityTag();
+        lastModified = task.getLastModified();
+        try
+        {
+            if ( entityTag == null && lastModified <= 0L )
+            {
+                if ( validatorsFile.exists() && !validatorsFile.delete() )
+                {
+                    LOGGER.debug( "Could not delete stale validators file {}", validatorsFile );
+                }
+                return;
+            }
+            Properties props = new Properties();
+            if ( entityTag != null )
+            {
+                props.setProperty( KEY_ETAG, entityTag );
+            }
+            if ( lastModified > 0L )
+            {
+                props.setProperty( KEY_LAST_MODIFIED, Long.toString( lastModified ) );
+            }
+            StringWriter writer = new StringWriter();
+            props.store( writer, null );
+            fileProcessor.write( validatorsFile, writer.toString() );
+        }
+        catch ( IOException e )
+        {
+            LOGGER.debug( "Failed to write validators file {}: {}", validatorsFile, e.getMessage(), e );
+        }
+    }
+
+}
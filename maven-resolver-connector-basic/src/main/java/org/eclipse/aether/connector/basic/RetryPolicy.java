@@ -0,0 +1,137 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.eclipse.aether.util.ConfigView;
+
+/**
+ * Decides whether a failed transfer should be retried and how long to wait before doing so. Only errors that the
+ * transporter classifies as {@link Transporter#ERROR_TRANSIENT transient} or {@link Transporter#ERROR_THROTTLED
+ * throttled} are retried, using exponential backoff with jitter. The total number of retries is additionally limited
+ * by a budget shared by all connectors of a session. Retries are disabled unless {@code aether.connector.retries} is
+ * set. The policy applies to downloads only, uploads use {@link #NONE} and are never retried.
+ */
+final class RetryPolicy
+{
+
+    static final String CONFIG_PROP_RETRIES = "aether.connector.retries";
+
+    static final String CONFIG_PROP_RETRY_INTERVAL = "aether.connector.retryInterval";
+
+    static final String CONFIG_PROP_RETRY_MAX_INTERVAL = "aether.connector.retryMaxInterval";
+
+    static final String CONFIG_PROP_RETRY_BUDGET = "aether.connector.retryBudget";
+
+    private static final String KEY = RetryPolicy.class.getName() + ".budget";
+
+    /**
+     * The policy that never retries.
+     */
+    static final RetryPolicy NONE = new RetryPolicy( 0, 1L, 1L, null );
+
+    private final int retries;
+
+    private final long interval;
+
+    private final long maxInterval;
+
+    private final AtomicInteger budget;
+
+    static RetryPolicy newInstance( RepositorySystemSession session, RemoteRepository repository )
+    {
+        ConfigView config = ConfigView.getView( session );
+        int retries = config.getInteger( 0, CONFIG_PROP_RETRIES, repository.getId() );
+        long interval = config.getLong( 1000L, CONFIG_PROP_RETRY_INTERVAL, repository.getId() );
+        long maxInterval = config.getLong( 30L * 1000L, CONFIG_PROP_RETRY_MAX_INTERVAL, repository.getId() );
+        return new RetryPolicy( retries, interval, maxInterval, getBudget( session, config ) );
+    }
+
+    private static AtomicInteger getBudget( RepositorySystemSession session, ConfigView config )
+    {
+        RepositoryCache cache = session.getCache();
+        if ( cache == null )
+        {
+            return new AtomicInteger( config.getInteger( 50, CONFIG_PROP_RETRY_BUDGET, null ) );
+        }
+        Object tmp = cache.get( session, KEY );
+        if ( tmp instanceof AtomicInteger )
+        {
+            return (AtomicInteger) tmp;
+        }
+        synchronized ( RetryPolicy.class )
+        {
+            tmp = cache.get( session, KEY );
+            if ( tmp instanceof AtomicInteger )
+            {
+                return (AtomicInteger) tmp;
+            }
+            AtomicInteger budget = new AtomicInteger( config.getInteger( 50, CONFIG_PROP_RETRY_BUDGET, null ) );
+            cache.put( session, KEY, budget );
+            return budget;
+        }
+    }
+
+    RetryPolicy( int retries, long interval, long maxInterval, AtomicInteger budget )
+    {
+        this.retries = Math.max( 0, retries );
+        this.interval = Math.max( 1L, interval );
+        this.maxInterval = Math.max( this.interval, maxInterval );
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the delay before the next attempt of a failed transfer.
+     * 
+     * @param attempt The zero-based index of the attempt that failed.
+     * @param classification The classification of the error as determined by the transporter.
+     * @param retryAfter The delay (in milliseconds) requested by a throttling repository, may be {@code 0}.
+     * @return The delay in milliseconds or {@code -1} if the transfer should not be retried.
+     */
+    long getDelay( int attempt, int classification, long retryAfter )
+    {
+        if ( attempt >= retries )
+        {
+            return -1L;
+        }
+        if ( classification != Transporter.ERROR_TRANSIENT && classification != Transporter.ERROR_THROTTLED )
+        {
+            return -1L;
+        }
+        if ( retryAfter > maxInterval )
+        {
+            return -1L;
+        }
+        if ( budget != null && budget.decrementAndGet() < 0 )
+        {
+            return -1L;
+        }
+        long backoff = Math.min( maxInterval, interval << Math.min( attempt, 20 ) );
+        long delay = backoff / 2L + ThreadLocalRandom.current().nextLong( backoff / 2L + 1L );
+        return Math.max( delay, retryAfter );
+    }
+
+}
@@ -42,6 +42,20 @@ class TransferTransportListener<T extends Transfer>
 
     private ChecksumCalculator checksumCalculator;
 
+    private long initiated = -1L;
+
+    private long started = -1L;
+
+    private long transferredBytes;
+
+    private long progressBytes;
+
+    private long progressInterval;
+
+    private long pendingBytes;
+
+    private long lastProgress;
+
     protected TransferTransportListener( T transfer, TransferEvent.Builder eventBuilder )
     {
         this.transfer = transfer;
@@ -57,6 +71,7 @@ class TransferTransportListener<T extends Transfer>
     public void transferInitiated()
         throws TransferCancelledException
     {
+        initiated = System.currentTimeMillis();
         if ( listener != null )
         {
             eventBuilder.resetType( EventType.INITIATED );
@@ -68,10 +83,16 @@ class TransferTransportListener<T extends Transfer>
     public void transportStarted( long dataOffset, long dataLength )
         throws TransferCancelledException
     {
+        if ( started < 0L )
+        {
+            started = System.currentTimeMillis();
+        }
         if ( checksumCalculator != null )
         {
             checksumCalculator.init( dataOffset );
         }
+        pendingBytes = 0L;
+        lastProgress = ( progressInterval > 0L ) ? System.currentTimeMillis() : 0L;
         if ( listener != null )
         {
             eventBuilder.resetType( EventType.STARTED ).setTransferredBytes( dataOffset );
@@ -85,22 +106,80 @@ class TransferTransportListener<T extends Transfer>
     public void transportProgressed( ByteBuffer data )
         throws TransferCancelledException
     {
+        int length = data.remaining();
+        transferredBytes += length;
         if ( checksumCalculator != null )
         {
             checksumCalculator.update( data );
         }
         if ( listener != null )
         {
-            eventBuilder.resetType( EventType.PROGRESSED ).addTransferredBytes( data.remaining() ).setDataBuffer( data );
+            pendingBytes += length;
+            if ( isProgressDue() )
+            {
+                eventBuilder.resetType( EventType.PROGRESSED ).addTransferredBytes( pendingBytes );
+                if ( pendingBytes == length )
+                {
+                    eventBuilder.setDataBuffer( data );
+                }
+                pendingBytes = 0L;
+                listener.transferProgressed( eventBuilder.build() );
+            }
+        }
+    }
+
+    private boolean isProgressDue()
+    {
+        if ( progressBytes <= 0L && progressInterval <= 0L )
+        {
+            return true;
+        }
+        boolean due = progressBytes > 0L && pendingBytes >= progressBytes;
+        if ( progressInterval > 0L )
+        {
+            long now = System.currentTimeMillis();
+            if ( due || now - lastProgress >= progressInterval )
+            {
+                lastProgress = now;
+                due = true;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Fires a progress event for the bytes that were transported since the last progress event, such that listeners
+     * see the complete progress before the transfer ends. The event carries no data buffer.
+     */
+    private void flushProgress()
+        throws TransferCancelledException
+    {
+        if ( pendingBytes > 0L )
+        {
+            eventBuilder.resetType( EventType.PROGRESSED ).addTransferredBytes( pendingBytes );
+            pendingBytes = 0L;
             listener.transferProgressed( eventBuilder.build() );
         }
     }
 
+    private void flushProgressQuietly()
+    {
+        try
+        {
+            flushProgress();
+        }
+        catch ( TransferCancelledException e )
+        {
+            // too late to cancel, the transfer is over
+        }
+    }
+
     public void transferCorrupted( Exception exception )
         throws TransferCancelledException
     {
         if ( listener != null )
         {
+            flushProgress();
             eventBuilder.resetType( EventType.CORRUPTED ).setException( exception );
             listener.transferCorrupted( eventBuilder.build() );
         }
@@ -110,6 +189,7 @@ class TransferTransportListener<T extends Transfer>
     {
         if ( listener != null )
         {
+            flushProgressQuietly();
             eventBuilder.resetType( EventType.FAILED ).setException( exception );
             listener.transferFailed( eventBuilder.build() );
         }
@@ -119,6 +199,7 @@ class TransferTransportListener<T extends Transfer>
     {
         if ( listener != null )
         {
+            flushProgressQuietly();
             eventBuilder.resetType( EventType.SUCCEEDED );
             listener.transferSucceeded( eventBuilder.build() );
         }
@@ -133,9 +214,60 @@ class TransferTransportListener<T extends Transfer>
         return checksumCalculator.get();
     }
 
+    /**
+     * Resets the transfer statistics before a failed transfer is attempted again.
+     */
+    public void transferRetried()
+    {
+        initiated = System.currentTimeMillis();
+        started = -1L;
+        transferredBytes = 0L;
+        pendingBytes = 0L;
+    }
+
+    /**
+     * Gets the time between the initiation of the transfer and the start of the data transport.
+     * 
+     * @return The latency in milliseconds or {@code -1} if the transport never started.
+     */
+    public long getLatency()
+    {
+        return ( initiated >= 0L && started >= 0L ) ? started - initiated : -1L;
+    }
+
+    /**
+     * Gets the time between the start of the data transport and now.
+     * 
+     * @return The duration in milliseconds or {@code -1} if the transport never started.
+     */
+    public long getTransportDuration()
+    {
+        return ( started >= 0L ) ? System.currentTimeMillis() - started : -1L;
+    }
+
+    public long getTransferredBytes()
+    {
+        return transferredBytes;
+    }
+
     public void setChecksumCalculator( ChecksumCalculator checksumCalculator )
     {
         this.checksumCalculator = checksumCalculator;
     }
 
+    /**
+     * Limits the rate of progress events. Progress is accumulated until the specified number of bytes has been
+     * transported or the specified time has elapsed since the last progress event, whichever comes first. A progress
+     * event that covers more than the latest chunk of data carries no data buffer. With both limits disabled, each
+     * chunk of data causes a progress event.
+     * 
+     * @param minBytes The minimum number of bytes per progress event, non-positive to disable.
+     * @param minInterval The minimum time between progress events in milliseconds, non-positive to disable.
+     */
+    public void setProgressThrottle( long minBytes, long minInterval )
+    {
+        this.progressBytes = minBytes;
+        this.progressInterval = minInterval;
+    }
+
 }
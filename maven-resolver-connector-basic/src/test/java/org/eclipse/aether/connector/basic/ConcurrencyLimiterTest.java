@@ -0,0 +1,192 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest
+{
+
+    private static final int SUCCESS = -1;
+
+    private void transfer( ConcurrencyLimiter limiter, long latency, int classification, long retryAfter )
+        throws Exception
+    {
+        limiter.acquire();
+        limiter.release( latency, 1000L, 10L, classification, retryAfter );
+    }
+
+    @Test
+    public void testInitialLimit()
+    {
+        assertEquals( 5, new ConcurrencyLimiter( 5, 20 ).getLimit() );
+        assertEquals( 20, new ConcurrencyLimiter( 50, 20 ).getLimit() );
+        assertEquals( 1, new ConcurrencyLimiter( 0, 20 ).getLimit() );
+    }
+
+    @Test
+    public void testAdditiveIncrease()
+        throws Exception
+    {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter( 2, 4 );
+        for ( int i = 0; i < 3; i++ )
+        {
+            transfer( limiter, 10L, SUCCESS, 0L );
+        }
+        assertEquals( 3, limiter.getLimit() );
+        for ( int i = 0; i < 100; i++ )
+        {
+            transfer( limiter, 10L, SUCCESS, 0L );
+        }
+        assertEquals( 4, limiter.getLimit() );
+        assertEquals( 0, limiter.getActiveCount() );
+        assertEquals( 10L, limiter.getLatency() );
+        assertEquals( 100000L, limiter.getThroughput() );
+    }
+
+    @Test
+    public void testDecrease_Throttled()
+        throws Exception
+    {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter( 8, 20 );
+        transfer( limiter, -1L, Transporter.ERROR_THROTTLED, 0L );
+        assertEquals( 4, limiter.getLimit() );
+        assertEquals( 1L, limiter.getThrottledCount() );
+        transfer( limiter, -1L, Transporter.ERROR_THROTTLED, 0L );
+        transfer( limiter, -1L, Transporter.ERROR_THROTTLED, 0L );
+        transfer( limiter, -1L, Transporter.ERROR_THROTTLED, 0L );
+        assertEquals( 1, limiter.getLimit() );
+    }
+
+    @Test
+    public void testDecrease_HighLatency()
+        throws Exception
+    {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter( 10, 20 );
+        transfer( limiter, 100L, SUCCESS, 0L );
+        int limit = limiter.getLimit();
+        transfer( limiter, 1000L, SUCCESS, 0L );
+        assertTrue( limiter.getLimit() < limit );
+    }
+
+    @Test
+    public void testNotFoundIsNeutral()
+        throws Exception
+    {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter( 3, 20 );
+        transfer( limiter, -1L, Transporter.ERROR_NOT_FOUND, 0L );
+        assertEquals( 3, limiter.getLimit() );
+    }
+
+    @Test( timeout = 10000L )
+    public void testRetryAfter()
+        throws Exception
+    {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter( 2, 20 );
+        long start = System.currentTimeMillis();
+        transfer( limiter, -1L, Transporter.ERROR_THROTTLED, 300L );
+        limiter.acquire();
+        assertTrue( System.currentTimeMillis() - start >= 250L );
+    }
+
+    @Test( timeout = 10000L )
+    public void testAcquire_BlocksAtLimit()
+        throws Exception
+    {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter( 1, 20 );
+        limiter.acquire();
+        Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    limiter.acquire();
+                }
+                catch ( InterruptedException e )
+                {
+                    throw new IllegalStateException( e );
+                }
+            }
+        };
+        thread.start();
+        thread.join( 200L );
+        assertTrue( thread.isAlive() );
+        assertEquals( 1, limiter.getActiveCount() );
+        limiter.release( -1L, 0L, 0L, SUCCESS, 0L );
+        thread.join();
+        assertEquals( 1, limiter.getActiveCount() );
+    }
+
+    @Test( timeout = 10000L )
+    public void testFailed_ReleasesPermitForBackoff()
+        throws Exception
+    {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter( 1, 20 );
+        limiter.acquire();
+        Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    limiter.acquire();
+                }
+                catch ( InterruptedException e )
+                {
+                    throw new IllegalStateException( e );
+                }
+            }
+        };
+        thread.start();
+        thread.join( 200L );
+        assertTrue( thread.isAlive() );
+        limiter.failed( Transporter.ERROR_TRANSIENT, 0L );
+        thread.join();
+        assertEquals( 1, limiter.getActiveCount() );
+        limiter.release( -1L, 0L, 0L, SUCCESS, 0L );
+        limiter.acquire();
+        assertEquals( 1, limiter.getActiveCount() );
+    }
+
+    @Test
+    public void testSharedPerRepository()
+    {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setCache( new DefaultRepositoryCache() );
+        RemoteRepository repo = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+        assertNull( ConcurrencyLimiter.find( session, repo ) );
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.get( session, repo, 5, 20 );
+        assertSame( limiter, ConcurrencyLimiter.get( session, repo, 5, 20 ) );
+        assertSame( limiter, ConcurrencyLimiter.find( session, repo ) );
+        RemoteRepository other = new RemoteRepository.Builder( "other", "default", "http://localhost" ).build();
+        assertNotSame( limiter, ConcurrencyLimiter.get( session, other, 5, 20 ) );
+    }
+
+}
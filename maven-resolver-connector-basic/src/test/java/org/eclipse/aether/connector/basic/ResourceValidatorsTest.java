@@ -0,0 +1,100 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.net.URI;
+
+import org.eclipse.aether.internal.test.util.TestFileProcessor;
+import org.eclipse.aether.internal.test.util.TestFileUtils;
+import org.eclipse.aether.spi.connector.transport.GetTask;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceValidatorsTest
+{
+
+    private File dataFile;
+
+    private File validatorsFile;
+
+    @Before
+    public void init()
+        throws Exception
+    {
+        dataFile = TestFileUtils.createTempFile( "data" );
+        validatorsFile = new File( dataFile.getPath() + ResourceValidators.EXT_VALIDATORS );
+    }
+
+    private ResourceValidators newValidators()
+    {
+        return new ResourceValidators( dataFile, new TestFileProcessor() );
+    }
+
+    private GetTask newTask()
+    {
+        return new GetTask( URI.create( "irrelevant" ) );
+    }
+
+    @Test
+    public void testApply_NoValidators()
+    {
+        GetTask task = newTask();
+        newValidators().apply( task );
+        assertNull( task.getIfNoneMatch() );
+        assertEquals( 0L, task.getIfModifiedSince() );
+    }
+
+    @Test
+    public void testCommitAndApply()
+    {
+        newValidators().commit( newTask().setEntityTag( "\"abc\"" ).setLastModified( 123000L ) );
+        assertTrue( validatorsFile.isFile() );
+
+        GetTask task = newTask();
+        newValidators().apply( task );
+        assertEquals( "\"abc\"", task.getIfNoneMatch() );
+        assertEquals( 123000L, task.getIfModifiedSince() );
+    }
+
+    @Test
+    public void testCommit_RemovesStaleValidators()
+    {
+        newValidators().commit( newTask().setEntityTag( "\"abc\"" ) );
+        assertTrue( validatorsFile.isFile() );
+
+        newValidators().commit( newTask() );
+        assertFalse( validatorsFile.exists() );
+    }
+
+    @Test
+    public void testApply_IgnoresValidatorsOfMissingFile()
+    {
+        newValidators().commit( newTask().setEntityTag( "\"abc\"" ) );
+        assertTrue( dataFile.delete() );
+
+        GetTask task = newTask();
+        newValidators().apply( task );
+        assertNull( task.getIfNoneMatch() );
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.junit.Test;
+
+public class RetryPolicyTest
+{
+
+    @Test
+    public void testFatalErrorsAreNotRetried()
+    {
+        RetryPolicy policy = new RetryPolicy( 3, 100L, 1000L, null );
+        assertEquals( -1L, policy.getDelay( 0, Transporter.ERROR_OTHER, 0L ) );
+        assertEquals( -1L, policy.getDelay( 0, Transporter.ERROR_NOT_FOUND, 0L ) );
+    }
+
+    @Test
+    public void testNoneNeverRetries()
+    {
+        assertEquals( -1L, RetryPolicy.NONE.getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) );
+        assertEquals( -1L, RetryPolicy.NONE.getDelay( 0, Transporter.ERROR_THROTTLED, 0L ) );
+    }
+
+    @Test
+    public void testExponentialBackoffWithJitter()
+    {
+        RetryPolicy policy = new RetryPolicy( 10, 100L, 1000L, null );
+        for ( int i = 0; i < 20; i++ )
+        {
+            long delay = policy.getDelay( 0, Transporter.ERROR_TRANSIENT, 0L );
+            assertTrue( String.valueOf( delay ), delay >= 50L && delay <= 100L );
+            delay = policy.getDelay( 2, Transporter.ERROR_TRANSIENT, 0L );
+            assertTrue( String.valueOf( delay ), delay >= 200L && delay <= 400L );
+            delay = policy.getDelay( 9, Transporter.ERROR_TRANSIENT, 0L );
+            assertTrue( String.valueOf( delay ), delay >= 500L && delay <= 1000L );
+        }
+    }
+
+    @Test
+    public void testMaxRetries()
+    {
+        RetryPolicy policy = new RetryPolicy( 2, 1L, 1L, null );
+        assertTrue( policy.getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) >= 0L );
+        assertTrue( policy.getDelay( 1, Transporter.ERROR_TRANSIENT, 0L ) >= 0L );
+        assertEquals( -1L, policy.getDelay( 2, Transporter.ERROR_TRANSIENT, 0L ) );
+    }
+
+    @Test
+    public void testRetryAfter()
+    {
+        RetryPolicy policy = new RetryPolicy( 2, 1L, 1000L, null );
+        assertEquals( 700L, policy.getDelay( 0, Transporter.ERROR_THROTTLED, 700L ) );
+        assertEquals( -1L, policy.getDelay( 0, Transporter.ERROR_THROTTLED, 5000L ) );
+    }
+
+    @Test
+    public void testBudget()
+    {
+        AtomicInteger budget = new AtomicInteger( 1 );
+        RetryPolicy policy = new RetryPolicy( 5, 1L, 1L, budget );
+        assertTrue( policy.getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) >= 0L );
+        assertEquals( -1L, policy.getDelay( 1, Transporter.ERROR_TRANSIENT, 0L ) );
+        assertEquals( -1L, new RetryPolicy( 5, 1L, 1L, budget ).getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) );
+    }
+
+    @Test
+    public void testBudgetSharedPerSession()
+    {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setCache( new DefaultRepositoryCache() );
+        session.setConfigProperty( RetryPolicy.CONFIG_PROP_RETRIES, 2 );
+        session.setConfigProperty( RetryPolicy.CONFIG_PROP_RETRY_BUDGET, 1 );
+        session.setConfigProperty( RetryPolicy.CONFIG_PROP_RETRY_INTERVAL, 1 );
+        RemoteRepository repo = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+        RemoteRepository other = new RemoteRepository.Builder( "other", "default", "http://localhost" ).build();
+        assertTrue( RetryPolicy.newInstance( session, repo ).getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) >= 0L );
+        assertEquals( -1L, RetryPolicy.newInstance( session, other ).getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) );
+    }
+
+    @Test
+    public void testPerRepositoryRetries()
+    {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setConfigProperty( RetryPolicy.CONFIG_PROP_RETRIES, 3 );
+        session.setConfigProperty( RetryPolicy.CONFIG_PROP_RETRIES + ".test", 0 );
+        session.setConfigProperty( RetryPolicy.CONFIG_PROP_RETRY_INTERVAL, 1 );
+        RemoteRepository repo = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+        RemoteRepository other = new RemoteRepository.Builder( "other", "default", "http://localhost" ).build();
+        assertEquals( -1L, RetryPolicy.newInstance( session, repo ).getDelay( 0, Transporter.ERROR_TRANSIENT, 0L ) );
+        assertTrue( RetryPolicy.newInstance( session, other ).getDelay( 2, Transporter.ERROR_TRANSIENT, 0L ) >= 0L );
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+
+public class TransferTransportListenerTest
+{
+
+    private final List<String> events = new ArrayList<String>();
+
+    private TransferTransportListener<ArtifactDownload> newListener()
+    {
+        ArtifactDownload download = new ArtifactDownload( new DefaultArtifact( "gid:aid:1" ), null, null, null );
+        download.setListener( new AbstractTransferListener()
+        {
+            @Override
+            public void transferProgressed( TransferEvent event )
+            {
+                events.add( event.getTransferredBytes() + "/" + event.getDataLength() );
+            }
+
+            @Override
+            public void transferSucceeded( TransferEvent event )
+            {
+                events.add( "done" );
+            }
+        } );
+        TransferResource resource = new TransferResource( "http://localhost/", "file.txt", null, null );
+        return new TransferTransportListener<ArtifactDownload>( download, new TransferEvent.Builder(
+            new DefaultRepositorySystemSession(), resource ) );
+    }
+
+    private static ByteBuffer newChunk( int length )
+    {
+        return ByteBuffer.wrap( new byte[length] );
+    }
+
+    @Test
+    public void testProgressForEachChunkByDefault()
+        throws Exception
+    {
+        TransferTransportListener<ArtifactDownload> listener = newListener();
+        listener.transportStarted( 0L, 30L );
+        listener.transportProgressed( newChunk( 10 ) );
+        listener.transportProgressed( newChunk( 20 ) );
+        listener.transferSucceeded();
+        assertEquals( "[10/10, 30/20, done]", events.toString() );
+    }
+
+    @Test
+    public void testProgressThrottledByBytes()
+        throws Exception
+    {
+        TransferTransportListener<ArtifactDownload> listener = newListener();
+        listener.setProgressThrottle( 25L, 0L );
+        listener.transportStarted( 0L, 70L );
+        listener.transportProgressed( newChunk( 10 ) );
+        listener.transportProgressed( newChunk( 20 ) );
+        listener.transportProgressed( newChunk( 30 ) );
+        listener.transportProgressed( newChunk( 10 ) );
+        assertEquals( 70L, listener.getTransferredBytes() );
+        listener.transferSucceeded();
+        assertEquals( "[30/0, 60/30, 70/0, done]", events.toString() );
+    }
+
+    @Test
+    public void testProgressThrottledByInterval()
+        throws Exception
+    {
+        TransferTransportListener<ArtifactDownload> listener = newListener();
+        listener.setProgressThrottle( 0L, 60L * 60L * 1000L );
+        listener.transportStarted( 0L, 30L );
+        listener.transportProgressed( newChunk( 10 ) );
+        listener.transportProgressed( newChunk( 20 ) );
+        listener.transferSucceeded();
+        assertEquals( "[30/0, done]", events.toString() );
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.eclipse.aether.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+
+/**
+ * An optional extension of a version range resolver that can expand many version ranges at once. Clients check for
+ * this interface via {@code instanceof} and fall back to individual requests if a resolver does not implement it. The
+ * default {@link DependencyCollector} uses it to resolve the ranges of sibling dependencies in one batch when the
+ * configuration property {@code aether.dependencyCollector.batchVersionRanges} is enabled.
+ * 
+ * @provisional This type is provisional and can be changed, moved or removed without prior notice.
+ */
+public interface BatchVersionRangeResolver
+    extends VersionRangeResolver
+{
+
+    /**
+     * Expands a collection of version ranges to the lists of matching versions. Unlike repeated invocations of
+     * {@link #resolveVersionRange(RepositorySystemSession, VersionRangeRequest)}, this allows an implementation to
+     * combine the repository lookups that the individual requests need (e.g. to fetch any required metadata only once
+     * and in parallel). Failure to resolve one request does not abort the others, instead the problem is recorded in
+     * the corresponding result. A result whose request could not be parsed lacks a
+     * {@link VersionRangeResult#getVersionConstraint() version constraint}.
+     * 
+     * @param session The repository session, must not be {@code null}.
+     * @param requests The version range requests, must not be {@code null}.
+     * @return The version range results (in request order), never {@code null}.
+     */
+    List<VersionRangeResult> resolveVersionRanges( RepositorySystemSession session,
+                                                   Collection<? extends VersionRangeRequest> requests );
+
+}
@@ -69,6 +69,8 @@ import org.eclipse.aether.spi.connector.RepositoryConnector;
 import org.eclipse.aether.spi.io.FileProcessor;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.spi.metrics.MetricsRegistry;
+import org.eclipse.aether.spi.metrics.NullMetricsRegistry;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.eclipse.aether.transfer.NoRepositoryConnectorException;
@@ -239,6 +241,7 @@ public class DefaultArtifactResolver
 
         LocalRepositoryManager lrm = session.getLocalRepositoryManager();
         WorkspaceReader workspace = session.getWorkspaceReader();
+        MetricsRegistry metrics = NullMetricsRegistry.getSafeRegistry( session );
 
         List<ResolutionGroup> groups = new ArrayList<ResolutionGroup>();
 
@@ -313,8 +316,11 @@ public class DefaultArtifactResolver
                 }
             }
 
+            long start = System.nanoTime();
             LocalArtifactResult local =
                 lrm.find( session, new LocalArtifactRequest( artifact, repos, request.getRequestContext() ) );
+            metrics.recordTime( "localRepository.find", System.nanoTime() - start );
+            metrics.increment( local.isAvailable() ? "localRepository.find.hits" : "localRepository.find.misses", 1L );
             if ( isLocallyInstalled( local, versionResult ) )
             {
                 if ( local.getRepository() != null )
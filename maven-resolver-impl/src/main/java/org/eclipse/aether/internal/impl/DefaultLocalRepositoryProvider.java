@@ -50,6 +50,9 @@ public class DefaultLocalRepositoryProvider
 
     private Collection<LocalRepositoryManagerFactory> managerFactories = new ArrayList<LocalRepositoryManagerFactory>();
 
+    private final PrioritizedComponents.Cache<LocalRepositoryManagerFactory> sortedFactories =
+        new PrioritizedComponents.Cache<LocalRepositoryManagerFactory>();
+
     public DefaultLocalRepositoryProvider()
     {
         // enables default constructor
@@ -88,12 +91,15 @@ public class DefaultLocalRepositoryProvider
     public LocalRepositoryManager newLocalRepositoryManager( RepositorySystemSession session, LocalRepository repository )
         throws NoLocalRepositoryManagerException
     {
-        PrioritizedComponents<LocalRepositoryManagerFactory> factories =
-            new PrioritizedComponents<LocalRepositoryManagerFactory>( session );
-        for ( LocalRepositoryManagerFactory factory : this.managerFactories )
+        Collection<LocalRepositoryManagerFactory> candidates = this.managerFactories;
+        float[] priorities = new float[candidates.size()];
+        int index = 0;
+        for ( LocalRepositoryManagerFactory factory : candidates )
         {
-            factories.add( factory, factory.getPriority() );
+            priorities[index++] = factory.getPriority();
         }
+        PrioritizedComponents<LocalRepositoryManagerFactory> factories =
+            sortedFactories.get( session, candidates, priorities );
 
         List<NoLocalRepositoryManagerException> errors = new ArrayList<NoLocalRepositoryManagerException>();
         for ( PrioritizedComponent<LocalRepositoryManagerFactory> factory : factories.getEnabled() )
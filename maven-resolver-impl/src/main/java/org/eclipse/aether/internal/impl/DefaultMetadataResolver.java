@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
@@ -163,24 +164,58 @@ public class DefaultMetadataResolver
     public List<MetadataResult> resolveMetadata( RepositorySystemSession session,
                                                  Collection<? extends MetadataRequest> requests )
     {
+        Map<RequestKey, MetadataRequest> uniqueRequests = new LinkedHashMap<RequestKey, MetadataRequest>();
+        for ( MetadataRequest request : requests )
+        {
+            RequestKey key = new RequestKey( request );
+            if ( !uniqueRequests.containsKey( key ) )
+            {
+                uniqueRequests.put( key, request );
+            }
+        }
+
         SyncContext syncContext = syncContextFactory.newInstance( session, false );
 
+        List<MetadataResult> uniqueResults;
         try
         {
-            Collection<Metadata> metadata = new ArrayList<Metadata>( requests.size() );
-            for ( MetadataRequest request : requests )
+            Collection<Metadata> metadata = new ArrayList<Metadata>( uniqueRequests.size() );
+            for ( MetadataRequest request : uniqueRequests.values() )
             {
                 metadata.add( request.getMetadata() );
             }
 
             syncContext.acquire( null, metadata );
 
-            return resolve( session, requests );
+            uniqueResults = resolve( session, uniqueRequests.values() );
         }
         finally
         {
             syncContext.close();
         }
+
+        if ( uniqueResults.size() == requests.size() )
+        {
+            return uniqueResults;
+        }
+
+        Map<RequestKey, MetadataResult> resultsByKey = new HashMap<RequestKey, MetadataResult>();
+        for ( MetadataResult result : uniqueResults )
+        {
+            resultsByKey.put( new RequestKey( result.getRequest() ), result );
+        }
+        List<MetadataResult> results = new ArrayList<MetadataResult>( requests.size() );
+        for ( MetadataRequest request : requests )
+        {
+            MetadataResult result = resultsByKey.get( new RequestKey( request ) );
+            if ( result.getRequest() != request )
+            {
+                result = new MetadataResult( request ).setMetadata( result.getMetadata() )
+                    .setException( result.getException() ).setUpdated( result.isUpdated() );
+            }
+            results.add( result );
+        }
+        return results;
     }
 
     private List<MetadataResult> resolve( RepositorySystemSession session,
@@ -516,6 +551,72 @@ public class DefaultMetadataResolver
         }
     }
 
+    /**
+     * Identifies metadata requests that are equivalent as far as resolution is concerned, i.e. which only differ in
+     * their trace.
+     */
+    static final class RequestKey
+    {
+
+        private final Metadata metadata;
+
+        private final RemoteRepository repository;
+
+        private final String context;
+
+        private final boolean deleteLocalCopyIfMissing;
+
+        private final boolean favorLocalRepository;
+
+        private final int hashCode;
+
+        RequestKey( MetadataRequest request )
+        {
+            metadata = request.getMetadata();
+            repository = request.getRepository();
+            context = request.getRequestContext();
+            deleteLocalCopyIfMissing = request.isDeleteLocalCopyIfMissing();
+            favorLocalRepository = request.isFavorLocalRepository();
+
+            int hash = 17;
+            hash = hash * 31 + metadata.hashCode();
+            hash = hash * 31 + ( repository != null ? repository.hashCode() : 0 );
+            hash = hash * 31 + ( context != null ? context.hashCode() : 0 );
+            hash = hash * 31 + ( deleteLocalCopyIfMissing ? 1 : 0 );
+            hash = hash * 31 + ( favorLocalRepository ? 1 : 0 );
+            hashCode = hash;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj == this )
+            {
+                return true;
+            }
+            if ( !( obj instanceof RequestKey ) )
+            {
+                return false;
+            }
+            RequestKey that = (RequestKey) obj;
+            return deleteLocalCopyIfMissing == that.deleteLocalCopyIfMissing
+                && favorLocalRepository == that.favorLocalRepository && metadata.equals( that.metadata )
+                && eq( repository, that.repository ) && eq( context, that.context );
+        }
+
+        private static boolean eq( Object o1, Object o2 )
+        {
+            return ( o1 != null ) ? o1.equals( o2 ) : o2 == null;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+    }
+
     class ResolveTask
         implements Runnable
     {
@@ -38,6 +38,7 @@ import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
 import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.eclipse.aether.util.ConfigView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,8 +51,15 @@ public class DefaultRepositoryConnectorProvider
 
     private static final Logger LOGGER = LoggerFactory.getLogger( DefaultRepositoryConnectorProvider.class );
 
+    static final String CONFIG_PROP_REUSE = "aether.connector.reuse";
+
+    static final String CONFIG_PROP_REUSE_MAX_IDLE = "aether.connector.reuse.maxIdle";
+
     private Collection<RepositoryConnectorFactory> connectorFactories = new ArrayList<RepositoryConnectorFactory>();
 
+    private final PrioritizedComponents.Cache<RepositoryConnectorFactory> sortedFactories =
+        new PrioritizedComponents.Cache<RepositoryConnectorFactory>();
+
     public DefaultRepositoryConnectorProvider()
     {
         // enables default constructor
@@ -92,13 +100,38 @@ public class DefaultRepositoryConnectorProvider
     {
         requireNonNull( repository, "remote repository cannot be null" );
 
-        PrioritizedComponents<RepositoryConnectorFactory> factories =
-            new PrioritizedComponents<RepositoryConnectorFactory>( session );
-        for ( RepositoryConnectorFactory factory : this.connectorFactories )
+        ConfigView config = ConfigView.getView( session );
+        if ( config.getBoolean( false, CONFIG_PROP_REUSE, null ) )
         {
-            factories.add( factory, factory.getPriority() );
+            RepositoryConnectorPool pool =
+                RepositoryConnectorPool.get( session, config.getInteger( 8, CONFIG_PROP_REUSE_MAX_IDLE, null ) );
+            if ( pool != null )
+            {
+                RepositoryConnector connector = pool.acquire( session, repository );
+                if ( connector == null )
+                {
+                    connector = pool.lease( session, repository, newConnector( session, repository ) );
+                }
+                return connector;
+            }
         }
 
+        return newConnector( session, repository );
+    }
+
+    private RepositoryConnector newConnector( RepositorySystemSession session, RemoteRepository repository )
+        throws NoRepositoryConnectorException
+    {
+        Collection<RepositoryConnectorFactory> candidates = this.connectorFactories;
+        float[] priorities = new float[candidates.size()];
+        int index = 0;
+        for ( RepositoryConnectorFactory factory : candidates )
+        {
+            priorities[index++] = factory.getPriority();
+        }
+        PrioritizedComponents<RepositoryConnectorFactory> factories =
+            sortedFactories.get( session, candidates, priorities );
+
         List<NoRepositoryConnectorException> errors = new ArrayList<NoRepositoryConnectorException>();
         for ( PrioritizedComponent<RepositoryConnectorFactory> factory : factories.getEnabled() )
         {
@@ -20,7 +20,9 @@ package org.eclipse.aether.internal.impl;
  */
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 
@@ -29,9 +31,13 @@ import javax.inject.Named;
 
 import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.impl.RepositoryEventDispatcher;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.listener.AsyncRepositoryListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +48,13 @@ public class DefaultRepositoryEventDispatcher
     implements RepositoryEventDispatcher, Service
 {
 
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to enable the asynchronous delivery of repository and transfer events to the listeners of the
+     * session, see {@link AsyncRepositoryListener} and {@link org.eclipse.aether.util.listener.AsyncTransferListener}.
+     */
+    static final String CONFIG_PROP_ASYNC = "aether.listeners.async";
+
     private static final Logger LOGGER = LoggerFactory.getLogger( DefaultRepositoryEventDispatcher.class );
 
     private Collection<RepositoryListener> listeners = new ArrayList<RepositoryListener>();
@@ -91,7 +104,7 @@ public class DefaultRepositoryEventDispatcher
             }
         }
 
-        RepositoryListener listener = event.getSession().getRepositoryListener();
+        RepositoryListener listener = getListener( event.getSession() );
 
         if ( listener != null )
         {
@@ -99,6 +112,27 @@ public class DefaultRepositoryEventDispatcher
         }
     }
 
+    private static RepositoryListener getListener( RepositorySystemSession session )
+    {
+        RepositoryListener listener = session.getRepositoryListener();
+        if ( listener == null || !ConfigUtils.getBoolean( session, false, CONFIG_PROP_ASYNC ) )
+        {
+            return listener;
+        }
+        SessionData data = session.getData();
+        List<Object> key = Arrays.<Object>asList( AsyncRepositoryListener.class, listener );
+        Object async = data.get( key );
+        if ( async == null )
+        {
+            async = new AsyncRepositoryListener( listener );
+            if ( !data.set( key, null, async ) )
+            {
+                async = data.get( key );
+            }
+        }
+        return (RepositoryListener) async;
+    }
+
     private void dispatch( RepositoryEvent event, RepositoryListener listener )
     {
         try
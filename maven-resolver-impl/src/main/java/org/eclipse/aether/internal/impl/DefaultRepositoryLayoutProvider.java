@@ -50,6 +50,9 @@ public final class DefaultRepositoryLayoutProvider
 
     private Collection<RepositoryLayoutFactory> factories = new ArrayList<RepositoryLayoutFactory>();
 
+    private final PrioritizedComponents.Cache<RepositoryLayoutFactory> sortedFactories =
+        new PrioritizedComponents.Cache<RepositoryLayoutFactory>();
+
     public DefaultRepositoryLayoutProvider()
     {
         // enables default constructor
@@ -90,12 +93,15 @@ public final class DefaultRepositoryLayoutProvider
     {
         requireNonNull( repository, "remote repository cannot be null" );
 
-        PrioritizedComponents<RepositoryLayoutFactory> factories =
-            new PrioritizedComponents<RepositoryLayoutFactory>( session );
-        for ( RepositoryLayoutFactory factory : this.factories )
+        Collection<RepositoryLayoutFactory> candidates = this.factories;
+        float[] priorities = new float[candidates.size()];
+        int index = 0;
+        for ( RepositoryLayoutFactory factory : candidates )
         {
-            factories.add( factory, factory.getPriority() );
+            priorities[index++] = factory.getPriority();
         }
+        PrioritizedComponents<RepositoryLayoutFactory> factories =
+            sortedFactories.get( session, candidates, priorities );
 
         List<NoRepositoryLayoutException> errors = new ArrayList<NoRepositoryLayoutException>();
         for ( PrioritizedComponent<RepositoryLayoutFactory> factory : factories.getEnabled() )
@@ -79,6 +79,7 @@ import org.eclipse.aether.resolution.VersionResolutionException;
 import org.eclipse.aether.resolution.VersionResult;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.graph.visitor.FilteringDependencyVisitor;
 import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
 
@@ -286,6 +287,29 @@ public class DefaultRepositorySystem
 
         RequestTrace trace = RequestTrace.newChild( request.getTrace(), request );
 
+        if ( request.getRoot() == null && request.getCollectRequest() != null
+            && ConfigUtils.getBoolean( session, false, SpeculativeArtifactResolver.CONFIG_PROP_PIPELINED ) )
+        {
+            SpeculativeArtifactResolver speculativeResolver =
+                new SpeculativeArtifactResolver( artifactResolver, session, trace );
+            try
+            {
+                speculativeResolver.start( request.getCollectRequest(), request.getFilter() );
+                return resolveDependencies( session, request, trace, speculativeResolver );
+            }
+            finally
+            {
+                speculativeResolver.close();
+            }
+        }
+
+        return resolveDependencies( session, request, trace, null );
+    }
+
+    private DependencyResult resolveDependencies( RepositorySystemSession session, DependencyRequest request,
+                                                  RequestTrace trace, SpeculativeArtifactResolver speculativeResolver )
+        throws DependencyResolutionException
+    {
         DependencyResult result = new DependencyResult( request );
 
         DependencyCollectionException dce = null;
@@ -332,7 +356,14 @@ public class DefaultRepositorySystem
         List<ArtifactResult> results;
         try
         {
-            results = artifactResolver.resolveArtifacts( session, requests );
+            if ( speculativeResolver != null )
+            {
+                results = speculativeResolver.resolveArtifacts( requests );
+            }
+            else
+            {
+                results = artifactResolver.resolveArtifacts( session, requests );
+            }
         }
         catch ( ArtifactResolutionException e )
         {
@@ -421,6 +452,11 @@ public class DefaultRepositorySystem
         return builder.build();
     }
 
+    public void closeSession( RepositorySystemSession session )
+    {
+        RepositoryConnectorPool.close( requireNonNull( session, "repository system session cannot be null" ) );
+    }
+
     private void validateSession( RepositorySystemSession session )
     {
         requireNonNull( session, "repository system session cannot be null" );
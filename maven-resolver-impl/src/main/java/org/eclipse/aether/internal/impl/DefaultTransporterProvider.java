@@ -50,6 +50,9 @@ public final class DefaultTransporterProvider
 
     private Collection<TransporterFactory> factories = new ArrayList<TransporterFactory>();
 
+    private final PrioritizedComponents.Cache<TransporterFactory> sortedFactories =
+        new PrioritizedComponents.Cache<TransporterFactory>();
+
     public DefaultTransporterProvider()
     {
         // enables default constructor
@@ -90,11 +93,14 @@ public final class DefaultTransporterProvider
     {
         requireNonNull( repository, "remote repository cannot be null" );
 
-        PrioritizedComponents<TransporterFactory> factories = new PrioritizedComponents<TransporterFactory>( session );
-        for ( TransporterFactory factory : this.factories )
+        Collection<TransporterFactory> candidates = this.factories;
+        float[] priorities = new float[candidates.size()];
+        int index = 0;
+        for ( TransporterFactory factory : candidates )
         {
-            factories.add( factory, factory.getPriority() );
+            priorities[index++] = factory.getPriority();
         }
+        PrioritizedComponents<TransporterFactory> factories = sortedFactories.get( session, candidates, priorities );
 
         List<NoTransporterException> errors = new ArrayList<NoTransporterException>();
         for ( PrioritizedComponent<TransporterFactory> factory : factories.getEnabled() )
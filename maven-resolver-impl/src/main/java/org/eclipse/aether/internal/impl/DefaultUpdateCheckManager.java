@@ -45,6 +45,8 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ResolutionErrorPolicy;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.spi.metrics.MetricsRegistry;
+import org.eclipse.aether.spi.metrics.NullMetricsRegistry;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.eclipse.aether.transfer.MetadataNotFoundException;
@@ -103,6 +105,14 @@ public class DefaultUpdateCheckManager
     }
 
     public void checkArtifact( RepositorySystemSession session, UpdateCheck<Artifact, ArtifactTransferException> check )
+    {
+        long start = System.nanoTime();
+        doCheckArtifact( session, check );
+        recordCheck( session, "updateCheck.artifact", check, System.nanoTime() - start );
+    }
+
+    private void doCheckArtifact( RepositorySystemSession session,
+                                  UpdateCheck<Artifact, ArtifactTransferException> check )
     {
         if ( check.getLocalLastUpdated() != 0
             && !isUpdatedRequired( session, check.getLocalLastUpdated(), check.getPolicy() ) )
@@ -229,6 +239,14 @@ public class DefaultUpdateCheckManager
     }
 
     public void checkMetadata( RepositorySystemSession session, UpdateCheck<Metadata, MetadataTransferException> check )
+    {
+        long start = System.nanoTime();
+        doCheckMetadata( session, check );
+        recordCheck( session, "updateCheck.metadata", check, System.nanoTime() - start );
+    }
+
+    private void doCheckMetadata( RepositorySystemSession session,
+                                  UpdateCheck<Metadata, MetadataTransferException> check )
     {
         if ( check.getLocalLastUpdated() != 0
             && !isUpdatedRequired( session, check.getLocalLastUpdated(), check.getPolicy() ) )
@@ -529,6 +547,14 @@ public class DefaultUpdateCheckManager
         }
     }
 
+    private static void recordCheck( RepositorySystemSession session, String name, UpdateCheck<?, ?> check,
+                                     long nanos )
+    {
+        MetricsRegistry metrics = NullMetricsRegistry.getSafeRegistry( session );
+        metrics.recordTime( name, nanos );
+        metrics.increment( name + ( check.isRequired() ? ".required" : ".skipped" ), 1L );
+    }
+
     private boolean hasErrors( Properties props )
     {
         for ( Object key : props.keySet() )
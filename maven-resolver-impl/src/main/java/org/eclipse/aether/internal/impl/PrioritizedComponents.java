@@ -20,6 +20,7 @@ package org.eclipse.aether.internal.impl;
  */
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -153,4 +154,76 @@ final class PrioritizedComponents<T>
         return components.toString();
     }
 
+    /**
+     * Remembers the last ordering of a set of components. Computing the priorities involves several lookups of
+     * configuration properties per component, which is wasteful given that both the components and the configuration
+     * rarely change between calls. The cached ordering is reused as long as the configuration properties of the session
+     * are the same map and the components and their priorities are unchanged. The returned instance is shared and must
+     * not be modified by callers.
+     */
+    static final class Cache<T>
+    {
+
+        private volatile Snapshot<T> snapshot;
+
+        public PrioritizedComponents<T> get( RepositorySystemSession session, Collection<? extends T> components,
+                                             float[] priorities )
+        {
+            Map<?, ?> configProps = session.getConfigProperties();
+            Snapshot<T> snapshot = this.snapshot;
+            if ( snapshot != null && snapshot.matches( configProps, components, priorities ) )
+            {
+                return snapshot.sorted;
+            }
+            PrioritizedComponents<T> sorted = new PrioritizedComponents<T>( configProps );
+            int i = 0;
+            for ( T component : components )
+            {
+                sorted.add( component, priorities[i++] );
+            }
+            this.snapshot = new Snapshot<T>( configProps, components.toArray(), priorities, sorted );
+            return sorted;
+        }
+
+    }
+
+    private static final class Snapshot<T>
+    {
+
+        final Map<?, ?> configProps;
+
+        final Object[] components;
+
+        final float[] priorities;
+
+        final PrioritizedComponents<T> sorted;
+
+        Snapshot( Map<?, ?> configProps, Object[] components, float[] priorities, PrioritizedComponents<T> sorted )
+        {
+            this.configProps = configProps;
+            this.components = components;
+            this.priorities = priorities;
+            this.sorted = sorted;
+        }
+
+        boolean matches( Map<?, ?> configProps, Collection<?> components, float[] priorities )
+        {
+            if ( this.configProps != configProps || this.components.length != components.size() )
+            {
+                return false;
+            }
+            int i = 0;
+            for ( Object component : components )
+            {
+                if ( this.components[i] != component || Float.compare( this.priorities[i], priorities[i] ) != 0 )
+                {
+                    return false;
+                }
+                i++;
+            }
+            return true;
+        }
+
+    }
+
 }
@@ -0,0 +1,252 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.MetadataUpload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+
+/**
+ * A pool of idle repository connectors, stored in the session data. A connector captures the session it was created
+ * with, e.g. its configuration and listeners, so connectors are only handed out again to the very same session object
+ * and for the same effective remote repository (i.e. including its authentication, proxy and policies). Session copies
+ * that share their data thus share the pool but not the connectors. Connectors are not thread-safe, so each one is
+ * leased to a single client at a time. Closing a lease returns the underlying connector to the pool instead of closing
+ * it, such that subsequent calls reuse its transporter and thread pool. The number of idle connectors is limited for
+ * the whole pool, the connector that has been idle the longest is closed once the limit is exceeded. The remaining idle
+ * connectors are closed by {@link #close()}, i.e. via {@link org.eclipse.aether.RepositorySystem#closeSession}, after
+ * which released connectors are closed right away.
+ */
+final class RepositoryConnectorPool
+{
+
+    private static final Object KEY = RepositoryConnectorPool.class;
+
+    private final int maxIdle;
+
+    /**
+     * The idle connectors, in the order they were released.
+     */
+    private final List<Idle> idle = new ArrayList<Idle>();
+
+    private boolean closed;
+
+    RepositoryConnectorPool( int maxIdle )
+    {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Gets the pool of the specified session, creating it if the session has none or its pool was closed.
+     * 
+     * @return The pool or {@code null} if the session has no data to store the pool.
+     */
+    public static RepositoryConnectorPool get( RepositorySystemSession session, int maxIdle )
+    {
+        SessionData data = session.getData();
+        if ( data == null )
+        {
+            return null;
+        }
+        while ( true )
+        {
+            Object current = data.get( KEY );
+            if ( current instanceof RepositoryConnectorPool && !( (RepositoryConnectorPool) current ).isClosed() )
+            {
+                return (RepositoryConnectorPool) current;
+            }
+            RepositoryConnectorPool pool = new RepositoryConnectorPool( maxIdle );
+            if ( data.set( KEY, current, pool ) )
+            {
+                return pool;
+            }
+        }
+    }
+
+    /**
+     * Closes the idle connectors of the pool of the specified session, if any.
+     */
+    public static void close( RepositorySystemSession session )
+    {
+        SessionData data = session.getData();
+        Object pool = ( data != null ) ? data.get( KEY ) : null;
+        if ( pool instanceof RepositoryConnectorPool )
+        {
+            ( (RepositoryConnectorPool) pool ).close();
+        }
+    }
+
+    public synchronized RepositoryConnector acquire( RepositorySystemSession session, RemoteRepository repository )
+    {
+        // prefer the most recently released connector, its connections are the most likely to be still alive
+        for ( int i = idle.size() - 1; i >= 0; i-- )
+        {
+            Idle candidate = idle.get( i );
+            if ( candidate.session == session && candidate.repository.equals( repository ) )
+            {
+                idle.remove( i );
+                return new Lease( session, repository, candidate.connector );
+            }
+        }
+        return null;
+    }
+
+    public RepositoryConnector lease( RepositorySystemSession session, RemoteRepository repository,
+                                      RepositoryConnector connector )
+    {
+        return new Lease( session, repository, connector );
+    }
+
+    void release( RepositorySystemSession session, RemoteRepository repository, RepositoryConnector connector )
+    {
+        RepositoryConnector evicted = connector;
+        synchronized ( this )
+        {
+            if ( !closed )
+            {
+                idle.add( new Idle( session, repository, connector ) );
+                evicted = ( idle.size() > maxIdle ) ? idle.remove( 0 ).connector : null;
+            }
+        }
+        if ( evicted != null )
+        {
+            evicted.close();
+        }
+    }
+
+    synchronized boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Closes all idle connectors. Connectors that are still leased are closed when they are released.
+     */
+    public void close()
+    {
+        List<Idle> connectors;
+        synchronized ( this )
+        {
+            closed = true;
+            connectors = new ArrayList<Idle>( idle );
+            idle.clear();
+        }
+        for ( Idle connector : connectors )
+        {
+            connector.connector.close();
+        }
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.valueOf( idle );
+    }
+
+    static final class Idle
+    {
+
+        final RepositorySystemSession session;
+
+        final RemoteRepository repository;
+
+        final RepositoryConnector connector;
+
+        Idle( RepositorySystemSession session, RemoteRepository repository, RepositoryConnector connector )
+        {
+            this.session = session;
+            this.repository = repository;
+            this.connector = connector;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.valueOf( connector );
+        }
+
+    }
+
+    final class Lease
+        implements RepositoryConnector
+    {
+
+        private final RepositorySystemSession session;
+
+        private final RemoteRepository repository;
+
+        private final RepositoryConnector connector;
+
+        private boolean closed;
+
+        Lease( RepositorySystemSession session, RemoteRepository repository, RepositoryConnector connector )
+        {
+            this.session = session;
+            this.repository = repository;
+            this.connector = connector;
+        }
+
+        public void get( Collection<? extends ArtifactDownload> artifactDownloads,
+                         Collection<? extends MetadataDownload> metadataDownloads )
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "connector closed" );
+            }
+            connector.get( artifactDownloads, metadataDownloads );
+        }
+
+        public void put( Collection<? extends ArtifactUpload> artifactUploads,
+                         Collection<? extends MetadataUpload> metadataUploads )
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "connector closed" );
+            }
+            connector.put( artifactUploads, metadataUploads );
+        }
+
+        public void close()
+        {
+            if ( !closed )
+            {
+                closed = true;
+                release( session, repository, connector );
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return connector.toString();
+        }
+
+    }
+
+}
@@ -19,11 +19,17 @@ package org.eclipse.aether.internal.impl;
  * under the License.
  */
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.transfer.AbstractTransferListener;
 import org.eclipse.aether.transfer.TransferCancelledException;
 import org.eclipse.aether.transfer.TransferEvent;
 import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.listener.AsyncTransferListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +43,7 @@ class SafeTransferListener
 
     public static TransferListener wrap( RepositorySystemSession session )
     {
-        TransferListener listener = session.getTransferListener();
+        TransferListener listener = getListener( session );
         if ( listener == null )
         {
             return null;
@@ -47,7 +53,29 @@ class SafeTransferListener
 
     protected SafeTransferListener( RepositorySystemSession session )
     {
-        this( session.getTransferListener() );
+        this( getListener( session ) );
+    }
+
+    private static TransferListener getListener( RepositorySystemSession session )
+    {
+        TransferListener listener = session.getTransferListener();
+        if ( listener == null
+            || !ConfigUtils.getBoolean( session, false, DefaultRepositoryEventDispatcher.CONFIG_PROP_ASYNC ) )
+        {
+            return listener;
+        }
+        SessionData data = session.getData();
+        List<Object> key = Arrays.<Object>asList( AsyncTransferListener.class, listener );
+        Object async = data.get( key );
+        if ( async == null )
+        {
+            async = new AsyncTransferListener( listener );
+            if ( !data.set( key, null, async ) )
+            {
+                async = data.get( key );
+            }
+        }
+        return (TransferListener) async;
     }
 
     private SafeTransferListener( TransferListener listener )
@@ -0,0 +1,294 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
+
+/**
+ * Resolves artifacts of a dependency request speculatively while the dependency graph is still being collected. Only
+ * the direct dependencies of the collect request that have a fixed version and are not subject to the request's
+ * dependency management are resolved ahead of time, these survive conflict resolution unless some range elsewhere in
+ * the graph excludes them. Requests with a {@link CollectRequest#getRoot() root dependency} are not speculated on since
+ * the dependency management of the root's descriptor is only known once the collection has read it. Once the graph is
+ * complete, the artifact requests matching a speculation (same artifact, repositories and request context) take over
+ * its result, all other requests are resolved as usual and speculations that turned out to be unneeded are discarded.
+ * 
+ * @see DefaultRepositorySystem#resolveDependencies(RepositorySystemSession, DependencyRequest)
+ */
+final class SpeculativeArtifactResolver
+{
+
+    static final String CONFIG_PROP_PIPELINED = "aether.dependencyResolver.pipelined";
+
+    static final String CONFIG_PROP_THREADS = "aether.dependencyResolver.pipelinedThreads";
+
+    private final ArtifactResolver artifactResolver;
+
+    private final RepositorySystemSession session;
+
+    private final RequestTrace trace;
+
+    private final Map<Object, Future<ArtifactResult>> speculations = new HashMap<Object, Future<ArtifactResult>>();
+
+    private ExecutorService executor;
+
+    SpeculativeArtifactResolver( ArtifactResolver artifactResolver, RepositorySystemSession session,
+                                 RequestTrace trace )
+    {
+        this.artifactResolver = artifactResolver;
+        this.session = session;
+        this.trace = trace;
+    }
+
+    /**
+     * Starts resolving the artifacts of the direct dependencies of the specified request.
+     * 
+     * @param request The collect request whose direct dependencies should be resolved, must not be {@code null}.
+     * @param filter The filter of the dependency request, may be {@code null}.
+     */
+    public void start( CollectRequest request, DependencyFilter filter )
+    {
+        if ( request.getRoot() != null )
+        {
+            return;
+        }
+
+        List<DependencyNode> parents =
+            Collections.<DependencyNode>singletonList( new DefaultDependencyNode( request.getRootArtifact() ) );
+
+        for ( Dependency dependency : request.getDependencies() )
+        {
+            if ( !isCertain( dependency, request ) )
+            {
+                continue;
+            }
+
+            DefaultDependencyNode node = new DefaultDependencyNode( dependency );
+            node.setRepositories( request.getRepositories() );
+            node.setRequestContext( request.getRequestContext() );
+            if ( filter != null && !filter.accept( node, parents ) )
+            {
+                continue;
+            }
+
+            final ArtifactRequest artifactRequest = new ArtifactRequest( node );
+            artifactRequest.setTrace( trace );
+            Object key = toKey( artifactRequest );
+            if ( speculations.containsKey( key ) )
+            {
+                continue;
+            }
+
+            if ( executor == null )
+            {
+                int threads = Math.max( 1, ConfigUtils.getInteger( session, 4, CONFIG_PROP_THREADS ) );
+                ThreadPoolExecutor pool =
+                    new ThreadPoolExecutor( threads, threads, 3L, TimeUnit.SECONDS,
+                                            new LinkedBlockingQueue<Runnable>(),
+                                            new WorkerThreadFactory( getClass().getSimpleName() + '-' ) );
+                pool.allowCoreThreadTimeOut( true );
+                executor = pool;
+            }
+
+            speculations.put( key, executor.submit( new Callable<ArtifactResult>()
+            {
+                public ArtifactResult call()
+                {
+                    try
+                    {
+                        return artifactResolver.resolveArtifact( session, artifactRequest );
+                    }
+                    catch ( ArtifactResolutionException e )
+                    {
+                        return e.getResult();
+                    }
+                }
+            } ) );
+        }
+    }
+
+    private static boolean isCertain( Dependency dependency, CollectRequest request )
+    {
+        Artifact artifact = dependency.getArtifact();
+        String version = artifact.getVersion();
+        if ( version.length() <= 0 || version.startsWith( "[" ) || version.startsWith( "(" ) )
+        {
+            return false;
+        }
+        for ( Dependency managed : request.getManagedDependencies() )
+        {
+            Artifact a = managed.getArtifact();
+            if ( a.getArtifactId().equals( artifact.getArtifactId() ) && a.getGroupId().equals( artifact.getGroupId() )
+                && a.getClassifier().equals( artifact.getClassifier() )
+                && a.getExtension().equals( artifact.getExtension() ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object toKey( ArtifactRequest request )
+    {
+        return Arrays.asList( request.getArtifact(), request.getRepositories(), request.getRequestContext() );
+    }
+
+    /**
+     * Resolves the specified artifact requests, taking over the results of matching speculations.
+     * 
+     * @param requests The artifact requests of the dependency graph, must not be {@code null}.
+     * @return The artifact results in the order of the requests, never {@code null}.
+     * @throws ArtifactResolutionException If any artifact could not be resolved.
+     */
+    public List<ArtifactResult> resolveArtifacts( List<ArtifactRequest> requests )
+        throws ArtifactResolutionException
+    {
+        ArtifactResult[] results = new ArtifactResult[requests.size()];
+        List<ArtifactRequest> remaining = new ArrayList<ArtifactRequest>( requests.size() );
+        List<Integer> indices = new ArrayList<Integer>( requests.size() );
+
+        for ( int i = 0; i < requests.size(); i++ )
+        {
+            ArtifactRequest request = requests.get( i );
+            ArtifactResult speculated = getSpeculatedResult( request );
+            if ( speculated != null )
+            {
+                ArtifactResult result = new ArtifactResult( request );
+                result.setArtifact( speculated.getArtifact() );
+                result.setRepository( speculated.getRepository() );
+                for ( Exception e : speculated.getExceptions() )
+                {
+                    result.addException( e );
+                }
+                results[i] = result;
+            }
+            else
+            {
+                remaining.add( request );
+                indices.add( i );
+            }
+        }
+
+        if ( !remaining.isEmpty() )
+        {
+            List<ArtifactResult> resolved;
+            try
+            {
+                resolved = artifactResolver.resolveArtifacts( session, remaining );
+            }
+            catch ( ArtifactResolutionException e )
+            {
+                resolved = e.getResults();
+            }
+            for ( int i = 0; i < resolved.size(); i++ )
+            {
+                results[indices.get( i )] = resolved.get( i );
+            }
+        }
+
+        List<ArtifactResult> list = Arrays.asList( results );
+        for ( ArtifactResult result : list )
+        {
+            if ( !result.isResolved() )
+            {
+                throw new ArtifactResolutionException( list );
+            }
+        }
+        return list;
+    }
+
+    private ArtifactResult getSpeculatedResult( ArtifactRequest request )
+    {
+        Future<ArtifactResult> future = speculations.remove( toKey( request ) );
+        if ( future == null )
+        {
+            return null;
+        }
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch ( ExecutionException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Discards the remaining speculations, waiting for those already running to finish such that no resolution
+     * outlives the dependency request.
+     */
+    public void close()
+    {
+        if ( executor == null )
+        {
+            return;
+        }
+        for ( Future<ArtifactResult> future : speculations.values() )
+        {
+            future.cancel( false );
+        }
+        speculations.clear();
+        executor.shutdown();
+        try
+        {
+            executor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
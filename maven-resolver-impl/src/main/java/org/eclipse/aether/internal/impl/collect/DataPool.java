@@ -19,6 +19,7 @@ package org.eclipse.aether.internal.impl.collect;
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,6 +43,9 @@ import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.InternTable;
+import org.eclipse.aether.util.version.SortedVersionList;
 import org.eclipse.aether.version.Version;
 import org.eclipse.aether.version.VersionConstraint;
 
@@ -50,11 +54,20 @@ import org.eclipse.aether.version.VersionConstraint;
 final class DataPool
 {
 
-    private static final String ARTIFACT_POOL = DataPool.class.getName() + "$Artifact";
+    static final String ARTIFACT_POOL = DataPool.class.getName() + "$Artifact";
 
     private static final String DEPENDENCY_POOL = DataPool.class.getName() + "$Dependency";
 
-    private static final String DESCRIPTORS = DataPool.class.getName() + "$Descriptors";
+    static final String DESCRIPTORS = DataPool.class.getName() + "$Descriptors";
+
+    static final String CONSTRAINTS = DataPool.class.getName() + "$Constraints";
+
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store a {@link Boolean} flag whether the resolved version ranges should be shared by all
+     * collections of the session via its cache rather than being kept for a single collection only.
+     */
+    static final String CONFIG_PROP_SESSION_CONSTRAINTS = "aether.dependencyCollector.sessionVersionRanges";
 
     public static final ArtifactDescriptorResult NO_DESCRIPTOR =
         new ArtifactDescriptorResult( new ArtifactDescriptorRequest() );
@@ -65,7 +78,9 @@ final class DataPool
 
     private Map<Object, Descriptor> descriptors;
 
-    private Map<Object, Constraint> constraints = new HashMap<Object, Constraint>();
+    private final InternTable internTable;
+
+    private Map<Object, Constraint> constraints;
 
     private Map<Object, List<DependencyNode>> nodes = new HashMap<Object, List<DependencyNode>>( 256 );
 
@@ -74,11 +89,27 @@ final class DataPool
     {
         RepositoryCache cache = session.getCache();
 
+        internTable = InternTable.get( session );
+
         if ( cache != null )
         {
             artifacts = (ObjectPool<Artifact>) cache.get( session, ARTIFACT_POOL );
             dependencies = (ObjectPool<Dependency>) cache.get( session, DEPENDENCY_POOL );
             descriptors = (Map<Object, Descriptor>) cache.get( session, DESCRIPTORS );
+            if ( ConfigUtils.getBoolean( session, false, CONFIG_PROP_SESSION_CONSTRAINTS ) )
+            {
+                constraints = (Map<Object, Constraint>) cache.get( session, CONSTRAINTS );
+                if ( constraints == null )
+                {
+                    constraints = Collections.synchronizedMap( new HashMap<Object, Constraint>() );
+                    cache.put( session, CONSTRAINTS, constraints );
+                }
+            }
+        }
+
+        if ( constraints == null )
+        {
+            constraints = new HashMap<Object, Constraint>();
         }
 
         if ( artifacts == null )
@@ -111,7 +142,22 @@ final class DataPool
 
     public Artifact intern( Artifact artifact )
     {
-        return artifacts.intern( artifact );
+        Artifact pooled = artifacts.get( artifact );
+        if ( pooled != null )
+        {
+            return pooled;
+        }
+        return artifacts.intern( internTable.intern( artifact ) );
+    }
+
+    public Version intern( Version version )
+    {
+        return internTable.intern( version );
+    }
+
+    public List<RemoteRepository> intern( List<RemoteRepository> repositories )
+    {
+        return internTable.intern( repositories );
     }
 
     public Dependency intern( Dependency dependency )
@@ -159,9 +205,11 @@ final class DataPool
         return null;
     }
 
-    public void putConstraint( Object key, VersionRangeResult result )
+    public VersionRangeResult putConstraint( Object key, VersionRangeResult result )
     {
-        constraints.put( key, new Constraint( result ) );
+        Constraint constraint = new Constraint( result, internTable );
+        constraints.put( key, constraint );
+        return constraint.toResult( result.getRequest() );
     }
 
     public Object toKey( Artifact artifact, List<RemoteRepository> repositories, DependencySelector selector,
@@ -245,32 +293,73 @@ final class DataPool
 
         final VersionRepo[] repositories;
 
+        final SortedVersionList versions;
+
         final VersionConstraint versionConstraint;
 
-        Constraint( VersionRangeResult result )
+        /**
+         * Whether the constraint has been restored from a cache snapshot, the repositories of its versions then lack
+         * authentication and proxy settings and need to be replaced with those of the request.
+         */
+        final boolean restored;
+
+        Constraint( VersionConstraint versionConstraint, VersionRepo[] repositories )
+        {
+            this.versionConstraint = versionConstraint;
+            this.repositories = repositories;
+            List<Version> sorted = new ArrayList<Version>( repositories.length );
+            for ( VersionRepo vr : repositories )
+            {
+                sorted.add( vr.version );
+            }
+            this.versions = SortedVersionList.of( sorted );
+            this.restored = true;
+        }
+
+        Constraint( VersionRangeResult result, InternTable internTable )
         {
+            restored = false;
             versionConstraint = result.getVersionConstraint();
             List<Version> versions = result.getVersions();
             repositories = new VersionRepo[versions.size()];
+            List<Version> sorted = new ArrayList<Version>( versions.size() );
             int i = 0;
             for ( Version version : versions )
             {
-                repositories[i++] = new VersionRepo( version, result.getRepository( version ) );
+                Version interned = internTable.intern( version );
+                repositories[i++] = new VersionRepo( interned, result.getRepository( version ) );
+                sorted.add( interned );
             }
+            this.versions = SortedVersionList.of( sorted );
         }
 
         public VersionRangeResult toResult( VersionRangeRequest request )
         {
             VersionRangeResult result = new VersionRangeResult( request );
+            result.setVersions( versions );
             for ( VersionRepo vr : repositories )
             {
-                result.addVersion( vr.version );
-                result.setRepository( vr.version, vr.repo );
+                result.setRepository( vr.version, restored ? toRequestRepository( vr.repo, request ) : vr.repo );
             }
             result.setVersionConstraint( versionConstraint );
             return result;
         }
 
+        private static ArtifactRepository toRequestRepository( ArtifactRepository repo, VersionRangeRequest request )
+        {
+            if ( repo instanceof RemoteRepository )
+            {
+                for ( RemoteRepository repository : request.getRepositories() )
+                {
+                    if ( repository.getId().equals( repo.getId() ) )
+                    {
+                        return repository;
+                    }
+                }
+            }
+            return repo;
+        }
+
         static final class VersionRepo
         {
 
@@ -291,16 +380,21 @@ final class DataPool
     static final class ConstraintKey
     {
 
-        private final Artifact artifact;
+        final Artifact artifact;
 
-        private final List<RemoteRepository> repositories;
+        final List<RemoteRepository> repositories;
 
         private final int hashCode;
 
         ConstraintKey( VersionRangeRequest request )
         {
-            artifact = request.getArtifact();
-            repositories = request.getRepositories();
+            this( request.getArtifact(), request.getRepositories() );
+        }
+
+        ConstraintKey( Artifact artifact, List<RemoteRepository> repositories )
+        {
+            this.artifact = artifact;
+            this.repositories = repositories;
             hashCode = artifact.hashCode();
         }
 
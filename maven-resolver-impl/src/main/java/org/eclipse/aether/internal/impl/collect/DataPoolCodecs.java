@@ -0,0 +1,483 @@
+package org.eclipse.aether.internal.impl.collect;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.impl.collect.DataPool.BadDescriptor;
+import org.eclipse.aether.internal.impl.collect.DataPool.Constraint;
+import org.eclipse.aether.internal.impl.collect.DataPool.Constraint.VersionRepo;
+import org.eclipse.aether.internal.impl.collect.DataPool.ConstraintKey;
+import org.eclipse.aether.internal.impl.collect.DataPool.Descriptor;
+import org.eclipse.aether.internal.impl.collect.DataPool.GoodDescriptor;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.util.repository.BoundedRepositoryCache;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionScheme;
+
+/**
+ * The codecs that let a {@link BoundedRepositoryCache} include the data shared by the dependency collections of a
+ * session in its snapshots: the interned artifacts, the artifact descriptors and, if the configuration property
+ * {@value DataPool#CONFIG_PROP_SESSION_CONSTRAINTS} is enabled, the resolved version ranges. Authentication and proxy
+ * settings of repositories are not written, restored version ranges use the repositories of the request instead.
+ * Restored entries are kept for the lifetime of the cache entry they belong to since no dependency graph refers to
+ * them yet.
+ */
+public final class DataPoolCodecs
+{
+
+    private static final byte NONE = 0;
+
+    private static final byte REMOTE = 1;
+
+    private static final byte LOCAL = 2;
+
+    private DataPoolCodecs()
+    {
+        // hide constructor
+    }
+
+    /**
+     * Registers the codecs with the specified cache.
+     * 
+     * @param cache The cache to register the codecs with, must not be {@code null}.
+     * @param versionScheme The version scheme used to parse the versions of restored version ranges, must not be
+     *            {@code null}.
+     * @return The cache for chaining, never {@code null}.
+     */
+    public static BoundedRepositoryCache register( BoundedRepositoryCache cache, VersionScheme versionScheme )
+    {
+        requireNonNull( cache, "cache cannot be null" );
+        requireNonNull( versionScheme, "version scheme cannot be null" );
+        cache.setCodec( DataPool.ARTIFACT_POOL, new ArtifactPoolCodec() );
+        cache.setCodec( DataPool.DESCRIPTORS, new DescriptorsCodec() );
+        cache.setCodec( DataPool.CONSTRAINTS, new ConstraintsCodec( versionScheme ) );
+        return cache;
+    }
+
+    static final class ArtifactPoolCodec
+        implements BoundedRepositoryCache.Codec
+    {
+
+        @SuppressWarnings( "unchecked" )
+        public void write( DataOutput out, Object value )
+            throws IOException
+        {
+            List<Artifact> artifacts = ( (ObjectPool<Artifact>) value ).values();
+            out.writeInt( artifacts.size() );
+            for ( Artifact artifact : artifacts )
+            {
+                writeArtifact( out, artifact );
+            }
+        }
+
+        public Object read( DataInput in )
+            throws IOException
+        {
+            ObjectPool<Artifact> pool = new ObjectPool<Artifact>();
+            for ( int i = in.readInt(); i > 0; i-- )
+            {
+                pool.pin( readArtifact( in ) );
+            }
+            return pool;
+        }
+
+    }
+
+    static final class DescriptorsCodec
+        implements BoundedRepositoryCache.Codec
+    {
+
+        public void write( DataOutput out, Object value )
+            throws IOException
+        {
+            Map<?, ?> descriptors = (Map<?, ?>) value;
+            Map<Artifact, Descriptor> entries = new LinkedHashMap<Artifact, Descriptor>();
+            synchronized ( descriptors )
+            {
+                for ( Map.Entry<?, ?> entry : descriptors.entrySet() )
+                {
+                    if ( entry.getKey() instanceof Artifact && entry.getValue() instanceof Descriptor )
+                    {
+                        entries.put( (Artifact) entry.getKey(), (Descriptor) entry.getValue() );
+                    }
+                }
+            }
+            out.writeInt( entries.size() );
+            for ( Map.Entry<Artifact, Descriptor> entry : entries.entrySet() )
+            {
+                writeArtifact( out, entry.getKey() );
+                if ( entry.getValue() instanceof GoodDescriptor )
+                {
+                    GoodDescriptor descriptor = (GoodDescriptor) entry.getValue();
+                    out.writeBoolean( true );
+                    writeArtifact( out, descriptor.artifact );
+                    writeArtifacts( out, descriptor.relocations );
+                    writeArtifacts( out, descriptor.aliases );
+                    writeRepositories( out, descriptor.repositories );
+                    writeDependencies( out, descriptor.dependencies );
+                    writeDependencies( out, descriptor.managedDependencies );
+                }
+                else
+                {
+                    out.writeBoolean( false );
+                }
+            }
+        }
+
+        public Object read( DataInput in )
+            throws IOException
+        {
+            PinnedDescriptors descriptors = new PinnedDescriptors();
+            for ( int i = in.readInt(); i > 0; i-- )
+            {
+                Artifact key = readArtifact( in );
+                Descriptor descriptor;
+                if ( in.readBoolean() )
+                {
+                    ArtifactDescriptorResult result = new ArtifactDescriptorResult( new ArtifactDescriptorRequest() );
+                    result.setArtifact( readArtifact( in ) );
+                    result.setRelocations( readArtifacts( in ) );
+                    result.setAliases( readArtifacts( in ) );
+                    result.setRepositories( readRepositories( in ) );
+                    result.setDependencies( readDependencies( in ) );
+                    result.setManagedDependencies( readDependencies( in ) );
+                    descriptor = new GoodDescriptor( result );
+                }
+                else
+                {
+                    descriptor = BadDescriptor.INSTANCE;
+                }
+                descriptors.pin( key, descriptor );
+            }
+            return Collections.synchronizedMap( descriptors );
+        }
+
+    }
+
+    static final class ConstraintsCodec
+        implements BoundedRepositoryCache.Codec
+    {
+
+        private final VersionScheme versionScheme;
+
+        ConstraintsCodec( VersionScheme versionScheme )
+        {
+            this.versionScheme = versionScheme;
+        }
+
+        public void write( DataOutput out, Object value )
+            throws IOException
+        {
+            Map<?, ?> constraints = (Map<?, ?>) value;
+            Map<ConstraintKey, Constraint> entries = new LinkedHashMap<ConstraintKey, Constraint>();
+            synchronized ( constraints )
+            {
+                for ( Map.Entry<?, ?> entry : constraints.entrySet() )
+                {
+                    if ( entry.getKey() instanceof ConstraintKey && entry.getValue() instanceof Constraint )
+                    {
+                        entries.put( (ConstraintKey) entry.getKey(), (Constraint) entry.getValue() );
+                    }
+                }
+            }
+            out.writeInt( entries.size() );
+            for ( Map.Entry<ConstraintKey, Constraint> entry : entries.entrySet() )
+            {
+                writeArtifact( out, entry.getKey().artifact );
+                writeRepositories( out, entry.getKey().repositories );
+                Constraint constraint = entry.getValue();
+                out.writeUTF( constraint.versionConstraint.toString() );
+                out.writeInt( constraint.repositories.length );
+                for ( VersionRepo vr : constraint.repositories )
+                {
+                    out.writeUTF( vr.version.toString() );
+                    writeRepository( out, vr.repo );
+                }
+            }
+        }
+
+        public Object read( DataInput in )
+            throws IOException
+        {
+            Map<Object, Constraint> constraints = new HashMap<Object, Constraint>();
+            try
+            {
+                for ( int i = in.readInt(); i > 0; i-- )
+                {
+                    ConstraintKey key = new ConstraintKey( readArtifact( in ), readRepositories( in ) );
+                    String versionConstraint = in.readUTF();
+                    VersionRepo[] repositories = new VersionRepo[in.readInt()];
+                    for ( int j = 0; j < repositories.length; j++ )
+                    {
+                        Version version = versionScheme.parseVersion( in.readUTF() );
+                        repositories[j] = new VersionRepo( version, readRepository( in ) );
+                    }
+                    constraints.put( key, new Constraint( versionScheme.parseVersionConstraint( versionConstraint ),
+                                                          repositories ) );
+                }
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                throw new IOException( "Malformed version in cache snapshot: " + e.getMessage(), e );
+            }
+            return Collections.synchronizedMap( constraints );
+        }
+
+    }
+
+    /**
+     * The descriptor cache restored from a snapshot. Like the cache created by the {@link DataPool}, it only weakly
+     * references the keys added by later collections but keeps the restored keys strongly reachable.
+     */
+    static final class PinnedDescriptors
+        extends WeakHashMap<Object, Descriptor>
+    {
+
+        private final List<Object> pinned = new ArrayList<Object>();
+
+        void pin( Object key, Descriptor descriptor )
+        {
+            pinned.add( key );
+            put( key, descriptor );
+        }
+
+    }
+
+    static void writeArtifact( DataOutput out, Artifact artifact )
+        throws IOException
+    {
+        out.writeUTF( artifact.getGroupId() );
+        out.writeUTF( artifact.getArtifactId() );
+        out.writeUTF( artifact.getClassifier() );
+        out.writeUTF( artifact.getExtension() );
+        out.writeUTF( artifact.getVersion() );
+        Map<String, String> properties = artifact.getProperties();
+        out.writeInt( properties.size() );
+        for ( Map.Entry<String, String> property : properties.entrySet() )
+        {
+            out.writeUTF( property.getKey() );
+            out.writeUTF( property.getValue() );
+        }
+        File file = artifact.getFile();
+        out.writeUTF( ( file != null ) ? file.getPath() : "" );
+    }
+
+    static Artifact readArtifact( DataInput in )
+        throws IOException
+    {
+        String groupId = in.readUTF();
+        String artifactId = in.readUTF();
+        String classifier = in.readUTF();
+        String extension = in.readUTF();
+        String version = in.readUTF();
+        Map<String, String> properties = new HashMap<String, String>();
+        for ( int i = in.readInt(); i > 0; i-- )
+        {
+            properties.put( in.readUTF(), in.readUTF() );
+        }
+        String file = in.readUTF();
+        return new DefaultArtifact( groupId, artifactId, classifier, extension, version, properties,
+                                    ( file.length() > 0 ) ? new File( file ) : null );
+    }
+
+    private static void writeArtifacts( DataOutput out, Collection<Artifact> artifacts )
+        throws IOException
+    {
+        out.writeInt( artifacts.size() );
+        for ( Artifact artifact : artifacts )
+        {
+            writeArtifact( out, artifact );
+        }
+    }
+
+    private static List<Artifact> readArtifacts( DataInput in )
+        throws IOException
+    {
+        int size = in.readInt();
+        List<Artifact> artifacts = new ArrayList<Artifact>( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            artifacts.add( readArtifact( in ) );
+        }
+        return artifacts;
+    }
+
+    private static void writeDependencies( DataOutput out, List<Dependency> dependencies )
+        throws IOException
+    {
+        out.writeInt( dependencies.size() );
+        for ( Dependency dependency : dependencies )
+        {
+            writeArtifact( out, dependency.getArtifact() );
+            out.writeUTF( dependency.getScope() );
+            Boolean optional = dependency.getOptional();
+            out.writeByte( ( optional == null ) ? 0 : ( optional ? 2 : 1 ) );
+            out.writeInt( dependency.getExclusions().size() );
+            for ( Exclusion exclusion : dependency.getExclusions() )
+            {
+                out.writeUTF( exclusion.getGroupId() );
+                out.writeUTF( exclusion.getArtifactId() );
+                out.writeUTF( exclusion.getClassifier() );
+                out.writeUTF( exclusion.getExtension() );
+            }
+        }
+    }
+
+    private static List<Dependency> readDependencies( DataInput in )
+        throws IOException
+    {
+        int size = in.readInt();
+        List<Dependency> dependencies = new ArrayList<Dependency>( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            Artifact artifact = readArtifact( in );
+            String scope = in.readUTF();
+            byte optional = in.readByte();
+            List<Exclusion> exclusions = new ArrayList<Exclusion>();
+            for ( int j = in.readInt(); j > 0; j-- )
+            {
+                exclusions.add( new Exclusion( in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF() ) );
+            }
+            dependencies.add( new Dependency( artifact, scope, ( optional == 0 ) ? null : optional == 2,
+                                              exclusions ) );
+        }
+        return dependencies;
+    }
+
+    private static void writeRepositories( DataOutput out, List<RemoteRepository> repositories )
+        throws IOException
+    {
+        out.writeInt( repositories.size() );
+        for ( RemoteRepository repository : repositories )
+        {
+            writeRemoteRepository( out, repository );
+        }
+    }
+
+    private static List<RemoteRepository> readRepositories( DataInput in )
+        throws IOException
+    {
+        int size = in.readInt();
+        List<RemoteRepository> repositories = new ArrayList<RemoteRepository>( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            repositories.add( readRemoteRepository( in ) );
+        }
+        return repositories;
+    }
+
+    private static void writeRemoteRepository( DataOutput out, RemoteRepository repository )
+        throws IOException
+    {
+        out.writeUTF( repository.getId() );
+        out.writeUTF( repository.getContentType() );
+        out.writeUTF( repository.getUrl() );
+        writePolicy( out, repository.getPolicy( false ) );
+        writePolicy( out, repository.getPolicy( true ) );
+        out.writeBoolean( repository.isRepositoryManager() );
+        writeRepositories( out, repository.getMirroredRepositories() );
+    }
+
+    private static RemoteRepository readRemoteRepository( DataInput in )
+        throws IOException
+    {
+        RemoteRepository.Builder builder = new RemoteRepository.Builder( in.readUTF(), in.readUTF(), in.readUTF() );
+        builder.setReleasePolicy( readPolicy( in ) );
+        builder.setSnapshotPolicy( readPolicy( in ) );
+        builder.setRepositoryManager( in.readBoolean() );
+        builder.setMirroredRepositories( readRepositories( in ) );
+        return builder.build();
+    }
+
+    private static void writePolicy( DataOutput out, RepositoryPolicy policy )
+        throws IOException
+    {
+        out.writeBoolean( policy.isEnabled() );
+        out.writeUTF( policy.getUpdatePolicy() );
+        out.writeUTF( policy.getChecksumPolicy() );
+    }
+
+    private static RepositoryPolicy readPolicy( DataInput in )
+        throws IOException
+    {
+        return new RepositoryPolicy( in.readBoolean(), in.readUTF(), in.readUTF() );
+    }
+
+    private static void writeRepository( DataOutput out, ArtifactRepository repository )
+        throws IOException
+    {
+        if ( repository instanceof RemoteRepository )
+        {
+            out.writeByte( REMOTE );
+            writeRemoteRepository( out, (RemoteRepository) repository );
+        }
+        else if ( repository instanceof LocalRepository )
+        {
+            out.writeByte( LOCAL );
+            out.writeUTF( ( (LocalRepository) repository ).getBasedir().getPath() );
+            out.writeUTF( repository.getContentType() );
+        }
+        else
+        {
+            // workspace repositories are specific to the process that wrote the snapshot
+            out.writeByte( NONE );
+        }
+    }
+
+    private static ArtifactRepository readRepository( DataInput in )
+        throws IOException
+    {
+        byte type = in.readByte();
+        if ( type == REMOTE )
+        {
+            return readRemoteRepository( in );
+        }
+        else if ( type == LOCAL )
+        {
+            return new LocalRepository( new File( in.readUTF() ), in.readUTF() );
+        }
+        return null;
+    }
+
+}
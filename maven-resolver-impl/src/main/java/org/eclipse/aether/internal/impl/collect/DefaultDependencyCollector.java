@@ -19,14 +19,18 @@ package org.eclipse.aether.internal.impl.collect;
  * under the License.
  */
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
 import static java.util.Objects.requireNonNull;
 
 import javax.inject.Inject;
@@ -52,6 +56,7 @@ import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.impl.BatchVersionRangeResolver;
 import org.eclipse.aether.impl.DependencyCollector;
 import org.eclipse.aether.impl.RemoteRepositoryManager;
 import org.eclipse.aether.impl.VersionRangeResolver;
@@ -65,9 +70,16 @@ import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.spi.metrics.MetricsRegistry;
+import org.eclipse.aether.spi.metrics.NullMetricsRegistry;
+import org.eclipse.aether.spi.metrics.NullRequestTracer;
+import org.eclipse.aether.spi.metrics.RequestTracer;
+import org.eclipse.aether.spi.metrics.ResolutionReport;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.graph.compact.CompactDependencyGraph;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
 import org.eclipse.aether.util.graph.transformer.TransformationContextKeys;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
 import org.eclipse.aether.version.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,6 +95,21 @@ public class DefaultDependencyCollector
 
     private static final String CONFIG_PROP_MAX_CYCLES = "aether.dependencyCollector.maxCycles";
 
+    private static final String CONFIG_PROP_BATCH_RANGES = "aether.dependencyCollector.batchVersionRanges";
+
+    private static final String CONFIG_PROP_COMPACT_GRAPH = "aether.dependencyCollector.compactGraph";
+
+    private static final String CONFIG_PROP_PRUNE_LOSERS = "aether.dependencyCollector.pruneLosers";
+
+    private static final String CONFIG_PROP_LAZY = "aether.dependencyCollector.lazy";
+
+    /**
+     * The key in the dependency node's {@link DependencyNode#getData() custom data} under which a
+     * {@link DependencyCollectionException} is stored if the lazy collection of the node's children failed. The
+     * children collected before the failure remain available, the errors are also recorded in the collect result.
+     */
+    public static final String NODE_DATA_COLLECTION_ERROR = "collection.error";
+
     private static final Logger LOGGER = LoggerFactory.getLogger( DefaultDependencyCollector.class );
 
     private RemoteRepositoryManager remoteRepositoryManager;
@@ -150,7 +177,12 @@ public class DefaultDependencyCollector
         List<Dependency> dependencies = request.getDependencies();
         List<Dependency> managedDependencies = request.getManagedDependencies();
 
-        Map<String, Object> stats = LOGGER.isDebugEnabled() ? new LinkedHashMap<String, Object>() : null;
+        MetricsRegistry metrics = NullMetricsRegistry.getSafeRegistry( session );
+        RequestTracer tracer = NullRequestTracer.getSafeTracer( session );
+        Map<String, Object> stats =
+            ( LOGGER.isDebugEnabled() || metrics != NullMetricsRegistry.INSTANCE )
+                ? new LinkedHashMap<String, Object>()
+                : null;
         long time1 = System.nanoTime();
 
         DefaultDependencyNode node;
@@ -164,7 +196,7 @@ public class DefaultDependencyCollector
                     new VersionRangeRequest( root.getArtifact(), request.getRepositories(),
                                              request.getRequestContext() );
                 rangeRequest.setTrace( trace );
-                rangeResult = versionRangeResolver.resolveVersionRange( session, rangeRequest );
+                rangeResult = resolveVersionRange( session, rangeRequest, metrics, tracer );
                 versions = filterVersions( root, rangeResult, verFilter, new DefaultVersionFilterContext( session ) );
             }
             catch ( VersionRangeResolutionException e )
@@ -190,7 +222,7 @@ public class DefaultDependencyCollector
                 }
                 else
                 {
-                    descriptorResult = descriptorReader.readArtifactDescriptor( session, descriptorRequest );
+                    descriptorResult = readArtifactDescriptor( session, descriptorRequest, metrics, tracer );
                 }
             }
             catch ( ArtifactDescriptorException e )
@@ -228,7 +260,7 @@ public class DefaultDependencyCollector
         result.setRoot( node );
 
         boolean traverse = root == null || depTraverser == null || depTraverser.traverseDependency( root );
-        String errorPath = null;
+        Results results = new Results( result, session );
         if ( traverse && !dependencies.isEmpty() )
         {
             DataPool pool = new DataPool( session );
@@ -242,15 +274,17 @@ public class DefaultDependencyCollector
             DefaultVersionFilterContext versionContext = new DefaultVersionFilterContext( session );
 
             Args args = new Args( session, trace, pool, nodes, context, versionContext, request );
-            Results results = new Results( result, session );
 
-            process( args, results, dependencies, repositories,
+            process( args, results, dependencies, pool.intern( repositories ),
                      depSelector != null ? depSelector.deriveChildSelector( context ) : null,
                      depManager != null ? depManager.deriveChildManager( context ) : null,
                      depTraverser != null ? depTraverser.deriveChildTraverser( context ) : null,
                      verFilter != null ? verFilter.deriveChildFilter( context ) : null );
 
-            errorPath = results.errorPath;
+            if ( args.report != null && !args.lazy )
+            {
+                args.report.collectionFinished( node );
+            }
         }
 
         long time2 = System.nanoTime();
@@ -271,17 +305,28 @@ public class DefaultDependencyCollector
             }
         }
 
+        if ( ConfigUtils.getBoolean( session, false, CONFIG_PROP_COMPACT_GRAPH ) )
+        {
+            result.setRoot( CompactDependencyGraph.newInstance( result.getRoot() ).getRoot() );
+        }
+
+        long time3 = System.nanoTime();
+
+        tracer.record( "collect", String.valueOf( node.getArtifact() ), trace, time1, time2 );
+        tracer.record( "transform", String.valueOf( node.getArtifact() ), trace, time2, time3 );
+
         if ( stats != null )
         {
-            long time3 = System.nanoTime();
             stats.put( "DefaultDependencyCollector.collectTime", time2 - time1 );
             stats.put( "DefaultDependencyCollector.transformTime", time3 - time2 );
             LOGGER.debug( "Dependency collection stats: " + stats );
+            recordStats( metrics, stats );
         }
 
-        if ( errorPath != null )
+        if ( results.errorPath != null )
         {
-            throw new DependencyCollectionException( result, "Failed to collect dependencies at " + errorPath );
+            throw new DependencyCollectionException( result,
+                                                     "Failed to collect dependencies at " + results.errorPath );
         }
         if ( !result.getExceptions().isEmpty() )
         {
@@ -295,9 +340,21 @@ public class DefaultDependencyCollector
     {
         DefaultRepositorySystemSession optimized = new DefaultRepositorySystemSession( session );
         optimized.setArtifactTypeRegistry( CachingArtifactTypeRegistry.newInstance( session ) );
+        ResolutionReport report = getReport( session );
+        if ( report != null )
+        {
+            optimized.setRepositoryListener( ChainedRepositoryListener.newInstance( session.getRepositoryListener(),
+                                                                                    report.getRepositoryListener() ) );
+        }
         return optimized;
     }
 
+    private static ResolutionReport getReport( RepositorySystemSession session )
+    {
+        Object report = ( session.getData() != null ) ? session.getData().get( ResolutionReport.class ) : null;
+        return ( report instanceof ResolutionReport ) ? (ResolutionReport) report : null;
+    }
+
     private List<Dependency> mergeDeps( List<Dependency> dominant, List<Dependency> recessive )
     {
         List<Dependency> result;
@@ -339,6 +396,11 @@ public class DefaultDependencyCollector
                           List<RemoteRepository> repositories, DependencySelector depSelector,
                           DependencyManager depManager, DependencyTraverser depTraverser, VersionFilter verFilter )
     {
+        if ( args.batchVersionRanges && dependencies.size() > 1
+            && versionRangeResolver instanceof BatchVersionRangeResolver )
+        {
+            prefetchVersionRanges( args, dependencies, repositories, depSelector, depManager );
+        }
         for ( Dependency dependency : dependencies )
         {
             processDependency( args, results, repositories, depSelector, depManager, depTraverser, verFilter,
@@ -382,7 +444,7 @@ public class DefaultDependencyCollector
         {
             VersionRangeRequest rangeRequest = createVersionRangeRequest( args, repositories, dependency );
 
-            rangeResult = cachedResolveRangeResult( rangeRequest, args.pool, args.session );
+            rangeResult = cachedResolveRangeResult( rangeRequest, args );
 
             versions = filterVersions( dependency, rangeResult, verFilter, args.versionContext );
         }
@@ -392,8 +454,9 @@ public class DefaultDependencyCollector
             return;
         }
 
-        for ( Version version : versions )
+        for ( Version candidate : versions )
         {
+            Version version = args.pool.intern( candidate );
             Artifact originalArtifact = dependency.getArtifact().setVersion( version.toString() );
             Dependency d = dependency.setArtifact( originalArtifact );
 
@@ -418,6 +481,7 @@ public class DefaultDependencyCollector
                             createDependencyNode( relocations, preManaged, rangeResult, version, d, descriptorResult,
                                                   cycleNode );
                         node.getChildren().add( child );
+                        args.addDirect( d.getArtifact() );
                         continue;
                     }
                 }
@@ -437,15 +501,21 @@ public class DefaultDependencyCollector
                     d = args.pool.intern( d.setArtifact( args.pool.intern( d.getArtifact() ) ) );
 
                     List<RemoteRepository> repos =
-                        getRemoteRepositories( rangeResult.getRepository( version ), repositories );
+                        getRemoteRepositories( args.pool, rangeResult.getRepository( version ), repositories );
 
                     DefaultDependencyNode child =
                         createDependencyNode( relocations, preManaged, rangeResult, version, d,
                                               descriptorResult.getAliases(), repos, args.request.getRequestContext() );
 
                     node.getChildren().add( child );
+                    args.addDirect( d.getArtifact() );
+                    if ( args.report != null )
+                    {
+                        args.report.nodeCreated( child, descriptorRequest );
+                    }
 
-                    boolean recurse = traverse && !descriptorResult.getDependencies().isEmpty();
+                    boolean recurse = traverse && !descriptorResult.getDependencies().isEmpty()
+                        && !args.isLosingDuplicate( d.getArtifact() );
                     if ( recurse )
                     {
                         doRecurse( args, results, repositories, depSelector, depManager, depTraverser, verFilter, d,
@@ -457,11 +527,12 @@ public class DefaultDependencyCollector
             {
                 DependencyNode node = args.nodes.top();
                 List<RemoteRepository> repos =
-                    getRemoteRepositories( rangeResult.getRepository( version ), repositories );
+                    getRemoteRepositories( args.pool, rangeResult.getRepository( version ), repositories );
                 DefaultDependencyNode child =
                     createDependencyNode( relocations, preManaged, rangeResult, version, d, null, repos,
                                           args.request.getRequestContext() );
                 node.getChildren().add( child );
+                args.addDirect( d.getArtifact() );
             }
         }
     }
@@ -482,14 +553,23 @@ public class DefaultDependencyCollector
         final List<RemoteRepository> childRepos =
             args.ignoreRepos
                 ? repositories
-                : remoteRepositoryManager.aggregateRepositories( args.session, repositories,
-                                                                 descriptorResult.getRepositories(), true );
+                : args.pool.intern( remoteRepositoryManager.aggregateRepositories( args.session, repositories,
+                                                                                   descriptorResult.getRepositories(),
+                                                                                   true ) );
 
         Object key =
             args.pool.toKey( d.getArtifact(), childRepos, childSelector, childManager, childTraverser, childFilter );
 
         List<DependencyNode> children = args.pool.getChildren( key );
-        if ( children == null )
+        if ( children == null && args.lazy )
+        {
+            children =
+                new LazyChildren( args, results, args.nodes, child, descriptorResult.getDependencies(), childRepos,
+                                  childSelector, childManager, childTraverser, childFilter );
+            args.pool.putChildren( key, children );
+            child.setChildren( children );
+        }
+        else if ( children == null )
         {
             args.pool.putChildren( key, child.getChildren() );
 
@@ -521,14 +601,22 @@ public class DefaultDependencyCollector
                                                                       RepositorySystemSession session, Dependency d,
                                                                       Results results, Args args )
     {
+        long start = ( args.report != null ) ? System.nanoTime() : 0L;
         Object key = pool.toKey( descriptorRequest );
         ArtifactDescriptorResult descriptorResult = pool.getDescriptor( key, descriptorRequest );
+        args.metrics.increment( ( descriptorResult == null ) ? "collect.descriptorCache.misses"
+                                                             : "collect.descriptorCache.hits", 1L );
         if ( descriptorResult == null )
         {
             try
             {
-                descriptorResult = descriptorReader.readArtifactDescriptor( session, descriptorRequest );
+                descriptorResult = readArtifactDescriptor( session, descriptorRequest, args.metrics, args.tracer );
                 pool.putDescriptor( key, descriptorResult );
+                if ( args.report != null )
+                {
+                    args.report.descriptorResolved( descriptorRequest, descriptorResult, System.nanoTime() - start,
+                                                    false );
+                }
             }
             catch ( ArtifactDescriptorException e )
             {
@@ -542,6 +630,10 @@ public class DefaultDependencyCollector
         {
             return null;
         }
+        else if ( args.report != null )
+        {
+            args.report.descriptorResolved( descriptorRequest, descriptorResult, System.nanoTime() - start, true );
+        }
 
         return descriptorResult;
     }
@@ -599,31 +691,140 @@ public class DefaultDependencyCollector
         return rangeRequest;
     }
 
-    private VersionRangeResult cachedResolveRangeResult( VersionRangeRequest rangeRequest, DataPool pool,
-                                                         RepositorySystemSession session )
+    private VersionRangeResult cachedResolveRangeResult( VersionRangeRequest rangeRequest, Args args )
         throws VersionRangeResolutionException
     {
-        Object key = pool.toKey( rangeRequest );
-        VersionRangeResult rangeResult = pool.getConstraint( key, rangeRequest );
+        Object key = args.pool.toKey( rangeRequest );
+        VersionRangeResult rangeResult = args.pool.getConstraint( key, rangeRequest );
+        String metric = ( rangeResult == null ) ? "collect.versionRangeCache.misses" : "collect.versionRangeCache.hits";
+        args.metrics.increment( metric, 1L );
         if ( rangeResult == null )
         {
-            rangeResult = versionRangeResolver.resolveVersionRange( session, rangeRequest );
-            pool.putConstraint( key, rangeResult );
+            rangeResult = resolveVersionRange( args.session, rangeRequest, args.metrics, args.tracer );
+            rangeResult = args.pool.putConstraint( key, rangeResult );
         }
         return rangeResult;
     }
 
+    /**
+     * Resolves the version ranges of sibling dependencies in one go and primes the data pool with the results, thereby
+     * allowing a {@link BatchVersionRangeResolver} to combine the underlying metadata lookups. Requests that fail are
+     * not pooled, their errors surface when the dependency gets processed individually.
+     */
+    private void prefetchVersionRanges( Args args, List<Dependency> dependencies, List<RemoteRepository> repositories,
+                                        DependencySelector depSelector, DependencyManager depManager )
+    {
+        Map<Object, VersionRangeRequest> rangeRequests = new LinkedHashMap<Object, VersionRangeRequest>();
+        for ( Dependency dependency : dependencies )
+        {
+            if ( depSelector != null && !depSelector.selectDependency( dependency ) )
+            {
+                continue;
+            }
+            Dependency managed = PremanagedDependency.create( depManager, dependency, false, false ).managedDependency;
+            VersionRangeRequest rangeRequest = createVersionRangeRequest( args, repositories, managed );
+            Object key = args.pool.toKey( rangeRequest );
+            if ( !rangeRequests.containsKey( key ) && args.pool.getConstraint( key, rangeRequest ) == null )
+            {
+                rangeRequests.put( key, rangeRequest );
+            }
+        }
+        if ( rangeRequests.size() <= 1 )
+        {
+            return;
+        }
+
+        BatchVersionRangeResolver batchResolver = (BatchVersionRangeResolver) versionRangeResolver;
+        long start = System.nanoTime();
+        List<VersionRangeResult> rangeResults =
+            batchResolver.resolveVersionRanges( args.session, rangeRequests.values() );
+        long end = System.nanoTime();
+        args.metrics.recordTime( "collect.versionRangeBatch", end - start );
+        args.tracer.record( "versionRange", rangeRequests.size() + " ranges", args.trace, start, end );
+
+        Iterator<Object> keys = rangeRequests.keySet().iterator();
+        for ( VersionRangeResult rangeResult : rangeResults )
+        {
+            Object key = keys.next();
+            if ( rangeResult.getVersionConstraint() != null )
+            {
+                args.pool.putConstraint( key, rangeResult );
+            }
+        }
+    }
+
+    private ArtifactDescriptorResult readArtifactDescriptor( RepositorySystemSession session,
+                                                             ArtifactDescriptorRequest descriptorRequest,
+                                                             MetricsRegistry metrics, RequestTracer tracer )
+        throws ArtifactDescriptorException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            return descriptorReader.readArtifactDescriptor( session, descriptorRequest );
+        }
+        finally
+        {
+            long end = System.nanoTime();
+            metrics.recordTime( "collect.descriptorRead", end - start );
+            tracer.record( "descriptor", descriptorRequest.getArtifact().toString(), descriptorRequest.getTrace(),
+                           start, end );
+        }
+    }
+
+    private VersionRangeResult resolveVersionRange( RepositorySystemSession session, VersionRangeRequest rangeRequest,
+                                                    MetricsRegistry metrics, RequestTracer tracer )
+        throws VersionRangeResolutionException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            return versionRangeResolver.resolveVersionRange( session, rangeRequest );
+        }
+        finally
+        {
+            long end = System.nanoTime();
+            metrics.recordTime( "collect.versionRange", end - start );
+            tracer.record( "versionRange", rangeRequest.getArtifact().toString(), rangeRequest.getTrace(), start, end );
+        }
+    }
+
+    /**
+     * Feeds the numeric statistics gathered during collection and graph transformation into the metrics registry.
+     * Entries whose key ends with {@code Time} are durations in nanoseconds, all others are counts.
+     */
+    private static void recordStats( MetricsRegistry metrics, Map<String, Object> stats )
+    {
+        for ( Map.Entry<String, Object> entry : stats.entrySet() )
+        {
+            if ( !( entry.getValue() instanceof Number ) )
+            {
+                continue;
+            }
+            String name = "collect." + entry.getKey();
+            long value = ( (Number) entry.getValue() ).longValue();
+            if ( entry.getKey().endsWith( "Time" ) )
+            {
+                metrics.recordTime( name, value );
+            }
+            else
+            {
+                metrics.increment( name, value );
+            }
+        }
+    }
+
     private static boolean isLackingDescriptor( Artifact artifact )
     {
         return artifact.getProperty( ArtifactProperties.LOCAL_PATH, null ) != null;
     }
 
-    private static List<RemoteRepository> getRemoteRepositories( ArtifactRepository repository,
+    private static List<RemoteRepository> getRemoteRepositories( DataPool pool, ArtifactRepository repository,
                                                                  List<RemoteRepository> repositories )
     {
         if ( repository instanceof RemoteRepository )
         {
-            return Collections.singletonList( (RemoteRepository) repository );
+            return pool.intern( Collections.singletonList( (RemoteRepository) repository ) );
         }
         if ( repository != null )
         {
@@ -682,6 +883,8 @@ public class DefaultDependencyCollector
 
         final boolean premanagedState;
 
+        final boolean batchVersionRanges;
+
         final RequestTrace trace;
 
         final DataPool pool;
@@ -694,6 +897,23 @@ public class DefaultDependencyCollector
 
         final CollectRequest request;
 
+        final boolean lazy;
+
+        /**
+         * The versions of the direct dependencies created so far, indexed by their versionless id, or {@code null} if
+         * losing subtrees should not be pruned.
+         */
+        final Map<String, Set<String>> directVersions;
+
+        final MetricsRegistry metrics;
+
+        final RequestTracer tracer;
+
+        /**
+         * The report of the descriptor lookups or {@code null} if not requested.
+         */
+        final ResolutionReport report;
+
         Args( RepositorySystemSession session, RequestTrace trace, DataPool pool, NodeStack nodes,
                      DefaultDependencyCollectionContext collectionContext, DefaultVersionFilterContext versionContext,
                      CollectRequest request )
@@ -702,11 +922,206 @@ public class DefaultDependencyCollector
             this.request = request;
             this.ignoreRepos = session.isIgnoreArtifactDescriptorRepositories();
             this.premanagedState = ConfigUtils.getBoolean( session, false, DependencyManagerUtils.CONFIG_PROP_VERBOSE );
+            this.batchVersionRanges = ConfigUtils.getBoolean( session, false, CONFIG_PROP_BATCH_RANGES );
             this.trace = trace;
             this.pool = pool;
             this.nodes = nodes;
             this.collectionContext = collectionContext;
             this.versionContext = versionContext;
+            this.lazy = ConfigUtils.getBoolean( session, false, CONFIG_PROP_LAZY );
+            this.directVersions =
+                ConfigUtils.getBoolean( session, false, CONFIG_PROP_PRUNE_LOSERS )
+                    ? new HashMap<String, Set<String>>()
+                    : null;
+            this.metrics = NullMetricsRegistry.getSafeRegistry( session );
+            this.tracer = NullRequestTracer.getSafeTracer( session );
+            this.report = getReport( session );
+        }
+
+        Args( Args args, NodeStack nodes )
+        {
+            this.session = args.session;
+            this.request = args.request;
+            this.ignoreRepos = args.ignoreRepos;
+            this.premanagedState = args.premanagedState;
+            this.batchVersionRanges = args.batchVersionRanges;
+            this.trace = args.trace;
+            this.pool = args.pool;
+            this.nodes = nodes;
+            this.collectionContext =
+                new DefaultDependencyCollectionContext( session, args.collectionContext.getArtifact(),
+                                                        args.collectionContext.getDependency(),
+                                                        args.collectionContext.getManagedDependencies() );
+            this.versionContext = new DefaultVersionFilterContext( session );
+            this.lazy = args.lazy;
+            this.directVersions = args.directVersions;
+            this.metrics = args.metrics;
+            this.tracer = args.tracer;
+            this.report = args.report;
+        }
+
+        void addDirect( Artifact artifact )
+        {
+            if ( directVersions != null && nodes.size() == 1 )
+            {
+                String id = getId( artifact );
+                Set<String> versions = directVersions.get( id );
+                if ( versions == null )
+                {
+                    versions = new HashSet<String>( 4 );
+                    directVersions.put( id, versions );
+                }
+                versions.add( artifact.getVersion() );
+            }
+        }
+
+        /**
+         * Determines whether the specified artifact, about to be added as a transitive dependency, duplicates a direct
+         * dependency of the same version. Under nearest-wins conflict resolution, such a node can never win over the
+         * direct dependency: if the version is acceptable to all constraints, the direct dependency wins by depth,
+         * otherwise neither of them can win. Its subtree would thus be discarded during conflict resolution and need
+         * not be collected in the first place.
+         */
+        boolean isLosingDuplicate( Artifact artifact )
+        {
+            if ( directVersions == null || nodes.size() < 2 )
+            {
+                return false;
+            }
+            Set<String> versions = directVersions.get( getId( artifact ) );
+            return versions != null && versions.contains( artifact.getVersion() );
+        }
+
+    }
+
+    /**
+     * The children of a node in lazy collection mode, collected upon first access. The children themselves are again
+     * expanded lazily. Errors encountered while collecting the children are recorded in the collect result and the
+     * node owning the list is marked with {@link #NODE_DATA_COLLECTION_ERROR}, accessing the list itself never fails.
+     * Like the nodes of the graph, the list is not thread-safe.
+     */
+    final class LazyChildren
+        extends AbstractList<DependencyNode>
+        implements RandomAccess
+    {
+
+        private Args args;
+
+        private Results results;
+
+        private DependencyNode[] path;
+
+        private List<Dependency> dependencies;
+
+        private List<RemoteRepository> repositories;
+
+        private DependencySelector depSelector;
+
+        private DependencyManager depManager;
+
+        private DependencyTraverser depTraverser;
+
+        private VersionFilter verFilter;
+
+        private List<DependencyNode> children;
+
+        LazyChildren( Args args, Results results, NodeStack parents, DependencyNode node,
+                      List<Dependency> dependencies, List<RemoteRepository> repositories,
+                      DependencySelector depSelector, DependencyManager depManager,
+                      DependencyTraverser depTraverser, VersionFilter verFilter )
+        {
+            this.args = args;
+            this.results = results;
+            this.path = new DependencyNode[parents.size() + 1];
+            for ( int i = 0; i < parents.size(); i++ )
+            {
+                path[i] = parents.get( i );
+            }
+            path[parents.size()] = node;
+            this.dependencies = dependencies;
+            this.repositories = repositories;
+            this.depSelector = depSelector;
+            this.depManager = depManager;
+            this.depTraverser = depTraverser;
+            this.verFilter = verFilter;
+        }
+
+        /**
+         * Determines whether the children have already been collected.
+         * 
+         * @return {@code true} if the children have been collected, {@code false} otherwise.
+         */
+        boolean isExpanded()
+        {
+            return children != null;
+        }
+
+        private List<DependencyNode> children()
+        {
+            if ( children == null )
+            {
+                // the collection below adds to the top of the stack, i.e. the node owning this list
+                children = new ArrayList<DependencyNode>( dependencies.size() );
+
+                NodeStack nodes = new NodeStack();
+                for ( DependencyNode node : path )
+                {
+                    nodes.push( node );
+                }
+                Results results = this.results;
+                int errors = results.errors;
+                process( new Args( args, nodes ), results, dependencies, repositories, depSelector, depManager,
+                         depTraverser, verFilter );
+
+                DependencyNode owner = path[path.length - 1];
+                args = null;
+                this.results = null;
+                path = null;
+                dependencies = null;
+                repositories = null;
+                depSelector = null;
+                depManager = null;
+                depTraverser = null;
+                verFilter = null;
+
+                if ( results.errors > errors )
+                {
+                    String msg = "Failed to collect dependencies of " + owner.getArtifact();
+                    DependencyCollectionException e = new DependencyCollectionException( results.result, msg );
+                    owner.setData( NODE_DATA_COLLECTION_ERROR, e );
+                }
+            }
+            return children;
+        }
+
+        @Override
+        public DependencyNode get( int index )
+        {
+            return children().get( index );
+        }
+
+        @Override
+        public int size()
+        {
+            return children().size();
+        }
+
+        @Override
+        public DependencyNode set( int index, DependencyNode element )
+        {
+            return children().set( index, element );
+        }
+
+        @Override
+        public void add( int index, DependencyNode element )
+        {
+            children().add( index, element );
+        }
+
+        @Override
+        public DependencyNode remove( int index )
+        {
+            return children().remove( index );
         }
 
     }
@@ -722,6 +1137,11 @@ public class DefaultDependencyCollector
 
         String errorPath;
 
+        /**
+         * The total number of errors encountered, including those beyond {@link #maxExceptions}.
+         */
+        int errors;
+
         Results( CollectResult result, RepositorySystemSession session )
         {
             this.result = result;
@@ -731,6 +1151,7 @@ public class DefaultDependencyCollector
 
         public void addException( Dependency dependency, Exception e, NodeStack nodes )
         {
+            errors++;
             if ( maxExceptions < 0 || result.getExceptions().size() < maxExceptions )
             {
                 result.addException( e );
@@ -27,11 +27,12 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.eclipse.aether.RepositorySystemSession;
-import org.eclipse.aether.collection.VersionFilter;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.repository.ArtifactRepository;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.graph.version.IndexedVersionFilterContext;
+import org.eclipse.aether.util.version.SortedVersionList;
 import org.eclipse.aether.version.Version;
 import org.eclipse.aether.version.VersionConstraint;
 
@@ -39,7 +40,7 @@ import org.eclipse.aether.version.VersionConstraint;
  * @see DefaultDependencyCollector
  */
 final class DefaultVersionFilterContext
-    implements VersionFilter.VersionFilterContext
+    implements IndexedVersionFilterContext
 {
 
     private final Iterator<Version> EMPTY = Collections.<Version>emptySet().iterator();
@@ -50,8 +51,18 @@ final class DefaultVersionFilterContext
 
     VersionRangeResult result;
 
+    SortedVersionList versions;
+
     int count;
 
+    /**
+     * The interval of versions that have not been cut off by {@link #retain(int, int)}, versions within this interval
+     * may still be individually deleted.
+     */
+    int from;
+
+    int to;
+
     byte[] deleted = new byte[64];
 
     DefaultVersionFilterContext( RepositorySystemSession session )
@@ -63,7 +74,12 @@ final class DefaultVersionFilterContext
     {
         this.dependency = dependency;
         this.result = result;
-        count = result.getVersions().size();
+        List<Version> versions = result.getVersions();
+        this.versions =
+            ( versions instanceof SortedVersionList ) ? (SortedVersionList) versions : SortedVersionList.of( versions );
+        count = versions.size();
+        from = 0;
+        to = count;
         if ( deleted.length < count )
         {
             deleted = new byte[count];
@@ -79,9 +95,9 @@ final class DefaultVersionFilterContext
 
     public List<Version> get()
     {
-        if ( count == result.getVersions().size() )
+        if ( count == versions.size() )
         {
-            return result.getVersions();
+            return versions;
         }
         if ( count <= 1 )
         {
@@ -91,12 +107,16 @@ final class DefaultVersionFilterContext
             }
             return Collections.singletonList( iterator().next() );
         }
-        List<Version> versions = new ArrayList<Version>( count );
+        if ( count == to - from )
+        {
+            return versions.subList( from, to );
+        }
+        List<Version> filtered = new ArrayList<Version>( count );
         for ( Version version : this )
         {
-            versions.add( version );
+            filtered.add( version );
         }
-        return versions;
+        return filtered;
     }
 
     public RepositorySystemSession getSession()
@@ -134,6 +154,54 @@ final class DefaultVersionFilterContext
         return ( count > 0 ) ? new VersionIterator() : EMPTY;
     }
 
+    public SortedVersionList getVersions()
+    {
+        return versions;
+    }
+
+    public boolean isAvailable( int index )
+    {
+        return index >= from && index < to && deleted[index] == (byte) 0;
+    }
+
+    public void remove( int index )
+    {
+        if ( isAvailable( index ) )
+        {
+            deleted[index] = (byte) 1;
+            count--;
+        }
+    }
+
+    public void retain( int fromIndex, int toIndex )
+    {
+        fromIndex = Math.max( from, fromIndex );
+        toIndex = Math.max( fromIndex, Math.min( to, toIndex ) );
+        if ( count == to - from )
+        {
+            count = toIndex - fromIndex;
+        }
+        else
+        {
+            count -= available( from, fromIndex ) + available( toIndex, to );
+        }
+        from = fromIndex;
+        to = toIndex;
+    }
+
+    private int available( int fromIndex, int toIndex )
+    {
+        int available = 0;
+        for ( int i = fromIndex; i < toIndex; i++ )
+        {
+            if ( deleted[i] == (byte) 0 )
+            {
+                available++;
+            }
+        }
+        return available;
+    }
+
     @Override
     public String toString()
     {
@@ -144,8 +212,6 @@ final class DefaultVersionFilterContext
         implements Iterator<Version>
     {
 
-        private final List<Version> versions;
-
         private final int size;
 
         private int count;
@@ -158,15 +224,14 @@ final class DefaultVersionFilterContext
         {
             count = DefaultVersionFilterContext.this.count;
             index = -1;
-            next = 0;
-            versions = result.getVersions();
-            size = versions.size();
+            next = from - 1;
+            size = to;
             advance();
         }
 
         private void advance()
         {
-            for ( next = index + 1; next < size && deleted[next] != (byte) 0; next++ )
+            for ( next++; next < size && deleted[next] != (byte) 0; next++ )
             {
                 // just advancing index
             }
@@ -21,6 +21,8 @@ package org.eclipse.aether.internal.impl.collect;
 
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -33,20 +35,47 @@ class ObjectPool<T>
 
     private final Map<Object, Reference<T>> objects = new WeakHashMap<Object, Reference<T>>( 256 );
 
-    public synchronized T intern( T object )
+    /**
+     * The objects restored from a cache snapshot, these are not yet referenced by any dependency graph and are kept
+     * strongly reachable for the lifetime of the pool.
+     */
+    private final List<T> pinned = new ArrayList<T>();
+
+    public synchronized T get( T object )
     {
         Reference<T> pooledRef = objects.get( object );
-        if ( pooledRef != null )
+        return ( pooledRef != null ) ? pooledRef.get() : null;
+    }
+
+    public synchronized T intern( T object )
+    {
+        T pooled = get( object );
+        if ( pooled != null )
         {
-            T pooled = pooledRef.get();
-            if ( pooled != null )
-            {
-                return pooled;
-            }
+            return pooled;
         }
 
         objects.put( object, new WeakReference<T>( object ) );
         return object;
     }
 
+    public synchronized void pin( T object )
+    {
+        pinned.add( intern( object ) );
+    }
+
+    public synchronized List<T> values()
+    {
+        List<T> values = new ArrayList<T>( objects.size() );
+        for ( Reference<T> ref : objects.values() )
+        {
+            T object = ref.get();
+            if ( object != null )
+            {
+                values.add( object );
+            }
+        }
+        return values;
+    }
+
 }
@@ -147,6 +147,35 @@ public class DefaultMetadataResolverTest
         assertEquals( 1, metadataRegistration.size() );
     }
 
+    @Test
+    public void testResolveDuplicateRequests()
+        throws IOException
+    {
+        connector.setExpectGet( metadata );
+
+        File file =
+            new File( session.getLocalRepository().getBasedir(),
+                      session.getLocalRepositoryManager().getPathForRemoteMetadata( metadata, repository, "" ) );
+
+        TestFileUtils.writeString( file, file.getAbsolutePath() );
+
+        MetadataRequest request1 = new MetadataRequest( metadata, repository, "" );
+        MetadataRequest request2 = new MetadataRequest( metadata, repository, "" );
+        List<MetadataResult> results = resolver.resolveMetadata( session, Arrays.asList( request1, request2 ) );
+
+        assertEquals( 2, results.size() );
+        assertSame( request1, results.get( 0 ).getRequest() );
+        assertSame( request2, results.get( 1 ).getRequest() );
+        for ( MetadataResult result : results )
+        {
+            assertNull( result.getException() );
+            assertTrue( result.isUpdated() );
+            assertEquals( file, result.getMetadata().getFile() );
+        }
+
+        connector.assertSeenExpected();
+    }
+
     @Test
     public void testRemoveMetadataIfMissing()
         throws IOException
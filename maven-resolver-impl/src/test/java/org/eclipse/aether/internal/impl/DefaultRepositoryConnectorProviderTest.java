@@ -0,0 +1,200 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultRepositoryConnectorProviderTest
+{
+
+    private DefaultRepositorySystemSession session;
+
+    private DefaultRepositoryConnectorProvider provider;
+
+    private List<ClosingConnector> created;
+
+    private RemoteRepository repository;
+
+    @Before
+    public void setup()
+    {
+        session = TestUtils.newSession();
+        created = new ArrayList<ClosingConnector>();
+        provider = new DefaultRepositoryConnectorProvider();
+        provider.addRepositoryConnectorFactory( new RepositoryConnectorFactory()
+        {
+            public RepositoryConnector newInstance( RepositorySystemSession session, RemoteRepository repository )
+                throws NoRepositoryConnectorException
+            {
+                ClosingConnector connector = new ClosingConnector();
+                created.add( connector );
+                return connector;
+            }
+
+            public float getPriority()
+            {
+                return 0;
+            }
+        } );
+        repository = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+    }
+
+    @Test
+    public void testNoReuseByDefault()
+        throws Exception
+    {
+        provider.newRepositoryConnector( session, repository ).close();
+        provider.newRepositoryConnector( session, repository ).close();
+        assertEquals( 2, created.size() );
+        assertTrue( created.get( 0 ).closed );
+        assertTrue( created.get( 1 ).closed );
+    }
+
+    @Test
+    public void testReuse()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_REUSE, true );
+
+        RepositoryConnector connector1 = provider.newRepositoryConnector( session, repository );
+        RepositoryConnector connector2 = provider.newRepositoryConnector( session, repository );
+        assertEquals( 2, created.size() );
+        connector1.close();
+        connector1.close();
+        connector2.close();
+        assertFalse( created.get( 0 ).closed );
+        assertFalse( created.get( 1 ).closed );
+
+        provider.newRepositoryConnector( session, repository ).close();
+        assertEquals( 2, created.size() );
+
+        try
+        {
+            connector1.get( null, null );
+            fail( "closed lease should not be usable" );
+        }
+        catch ( IllegalStateException e )
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReuseIsKeyedByEffectiveRepository()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_REUSE, true );
+
+        provider.newRepositoryConnector( session, repository ).close();
+        RemoteRepository other =
+            new RemoteRepository.Builder( repository ).setPolicy( new RepositoryPolicy( false, null, null ) ).build();
+        provider.newRepositoryConnector( session, other ).close();
+        assertEquals( 2, created.size() );
+    }
+
+    @Test
+    public void testMaxIdle()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_REUSE, true );
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_REUSE_MAX_IDLE, 1 );
+
+        RepositoryConnector connector1 = provider.newRepositoryConnector( session, repository );
+        RepositoryConnector connector2 = provider.newRepositoryConnector( session, repository );
+        connector1.close();
+        connector2.close();
+        assertTrue( created.get( 0 ).closed );
+        assertFalse( created.get( 1 ).closed );
+
+        RemoteRepository other = new RemoteRepository.Builder( "other", "default", "http://localhost" ).build();
+        provider.newRepositoryConnector( session, other ).close();
+        assertTrue( created.get( 1 ).closed );
+        assertFalse( created.get( 2 ).closed );
+    }
+
+    @Test
+    public void testReuseIsKeyedBySession()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_REUSE, true );
+        DefaultRepositorySystemSession copy = new DefaultRepositorySystemSession( session );
+        copy.setConfigProperty( "aether.connector.requestTimeout", 1000 );
+
+        provider.newRepositoryConnector( session, repository ).close();
+        provider.newRepositoryConnector( copy, repository ).close();
+        assertEquals( 2, created.size() );
+
+        provider.newRepositoryConnector( session, repository ).close();
+        provider.newRepositoryConnector( copy, repository ).close();
+        assertEquals( 2, created.size() );
+    }
+
+    @Test
+    public void testCloseSessionClosesIdleConnectors()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_REUSE, true );
+
+        RepositoryConnector connector1 = provider.newRepositoryConnector( session, repository );
+        provider.newRepositoryConnector( session, repository ).close();
+        assertFalse( created.get( 1 ).closed );
+
+        new DefaultRepositorySystem().closeSession( session );
+        assertFalse( created.get( 0 ).closed );
+        assertTrue( created.get( 1 ).closed );
+        connector1.close();
+        assertTrue( created.get( 0 ).closed );
+
+        provider.newRepositoryConnector( session, repository ).close();
+        assertEquals( 3, created.size() );
+        assertFalse( created.get( 2 ).closed );
+        provider.newRepositoryConnector( session, repository ).close();
+        assertEquals( 3, created.size() );
+    }
+
+    static class ClosingConnector
+        extends RecordingRepositoryConnector
+    {
+
+        boolean closed;
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+
+    }
+
+}
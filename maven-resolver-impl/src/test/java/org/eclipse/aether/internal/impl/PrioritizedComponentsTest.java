@@ -21,14 +21,18 @@ package org.eclipse.aether.internal.impl;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
 import org.junit.Test;
 
 public class PrioritizedComponentsTest
@@ -112,4 +116,27 @@ public class PrioritizedComponentsTest
         assertSame( comp1, sorted.get( 0 ).getComponent() );
         assertSame( comp2, sorted.get( 1 ).getComponent() );
     }
+
+    @Test
+    public void testCache()
+    {
+        Exception comp1 = new IllegalArgumentException();
+        Exception comp2 = new NullPointerException();
+        List<Exception> comps = Arrays.asList( comp1, comp2 );
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        PrioritizedComponents.Cache<Exception> cache = new PrioritizedComponents.Cache<Exception>();
+
+        PrioritizedComponents<Exception> components = cache.get( session, comps, new float[] { 1, 2 } );
+        assertSame( comp2, components.getEnabled().get( 0 ).getComponent() );
+        assertSame( components, cache.get( session, comps, new float[] { 1, 2 } ) );
+
+        PrioritizedComponents<Exception> reordered = cache.get( session, comps, new float[] { 3, 2 } );
+        assertNotSame( components, reordered );
+        assertSame( comp1, reordered.getEnabled().get( 0 ).getComponent() );
+
+        session.setConfigProperty( ConfigurationProperties.PREFIX_PRIORITY + comp2.getClass().getName(), 4 );
+        components = cache.get( session, comps, new float[] { 3, 2 } );
+        assertNotSame( reordered, components );
+        assertSame( comp2, components.getEnabled().get( 0 ).getComponent() );
+    }
 }
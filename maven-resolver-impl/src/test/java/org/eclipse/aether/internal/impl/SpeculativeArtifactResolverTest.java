@@ -0,0 +1,172 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.util.filter.ScopeDependencyFilter;
+import org.junit.Test;
+
+public class SpeculativeArtifactResolverTest
+{
+
+    private final List<Artifact> resolved = Collections.synchronizedList( new ArrayList<Artifact>() );
+
+    private final ArtifactResolver resolver = new ArtifactResolver()
+    {
+        public ArtifactResult resolveArtifact( RepositorySystemSession session, ArtifactRequest request )
+            throws ArtifactResolutionException
+        {
+            resolved.add( request.getArtifact() );
+            ArtifactResult result = new ArtifactResult( request );
+            if ( request.getArtifact().getArtifactId().startsWith( "missing" ) )
+            {
+                result.addException( new IllegalStateException( "missing" ) );
+                throw new ArtifactResolutionException( Collections.singletonList( result ) );
+            }
+            result.setArtifact( request.getArtifact().setFile( new File( "target/test" ) ) );
+            return result;
+        }
+
+        public List<ArtifactResult> resolveArtifacts( RepositorySystemSession session,
+                                                      Collection<? extends ArtifactRequest> requests )
+            throws ArtifactResolutionException
+        {
+            List<ArtifactResult> results = new ArrayList<ArtifactResult>();
+            for ( ArtifactRequest request : requests )
+            {
+                results.add( resolveArtifact( session, request ) );
+            }
+            return results;
+        }
+    };
+
+    private final RemoteRepository repository =
+        new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+
+    private static Dependency newDep( String coords, String scope )
+    {
+        return new Dependency( new DefaultArtifact( coords ), scope );
+    }
+
+    private ArtifactRequest newRequest( Dependency dependency )
+    {
+        DefaultDependencyNode node = new DefaultDependencyNode( dependency );
+        node.setRepositories( Arrays.asList( repository ) );
+        node.setRequestContext( "project" );
+        return new ArtifactRequest( node );
+    }
+
+    @Test
+    public void testSpeculatedResultsAreTakenOver()
+        throws Exception
+    {
+        Dependency a = newDep( "gid:a:1", "compile" );
+        Dependency b = newDep( "gid:b:[1,2)", "compile" );
+        Dependency c = newDep( "gid:c:1", "compile" );
+        Dependency d = newDep( "gid:d:1", "test" );
+        CollectRequest request = new CollectRequest( Arrays.asList( a, b, c, d ), null, Arrays.asList( repository ) );
+        request.setManagedDependencies( Arrays.asList( newDep( "gid:c:2", "" ) ) );
+        request.setRequestContext( "project" );
+
+        SpeculativeArtifactResolver speculative =
+            new SpeculativeArtifactResolver( resolver, TestUtils.newSession(), null );
+        speculative.start( request, new ScopeDependencyFilter( "test" ) );
+
+        List<ArtifactRequest> requests =
+            Arrays.asList( newRequest( newDep( "gid:b:1.5", "compile" ) ), newRequest( a ) );
+        List<ArtifactResult> results = speculative.resolveArtifacts( requests );
+        speculative.close();
+
+        assertEquals( 2, resolved.size() );
+        assertTrue( resolved.contains( a.getArtifact() ) );
+        assertTrue( resolved.contains( b.getArtifact().setVersion( "1.5" ) ) );
+        assertEquals( 2, results.size() );
+        assertSame( requests.get( 0 ), results.get( 0 ).getRequest() );
+        assertSame( requests.get( 1 ), results.get( 1 ).getRequest() );
+        assertTrue( results.get( 1 ).isResolved() );
+    }
+
+    @Test
+    public void testNoSpeculationWithRootDependency()
+        throws Exception
+    {
+        Dependency a = newDep( "gid:a:1", "compile" );
+        CollectRequest request = new CollectRequest( a, Arrays.asList( repository ) );
+        request.setDependencies( Arrays.asList( newDep( "gid:b:1", "compile" ) ) );
+        request.setRequestContext( "project" );
+
+        SpeculativeArtifactResolver speculative =
+            new SpeculativeArtifactResolver( resolver, TestUtils.newSession(), null );
+        speculative.start( request, null );
+        speculative.close();
+
+        assertEquals( 0, resolved.size() );
+    }
+
+    @Test
+    public void testSpeculatedFailures()
+        throws Exception
+    {
+        Dependency a = newDep( "gid:missing:1", "compile" );
+        CollectRequest request = new CollectRequest( Arrays.asList( a ), null, Arrays.asList( repository ) );
+        request.setRequestContext( "project" );
+
+        SpeculativeArtifactResolver speculative =
+            new SpeculativeArtifactResolver( resolver, TestUtils.newSession(), null );
+        speculative.start( request, null );
+        try
+        {
+            speculative.resolveArtifacts( Arrays.asList( newRequest( a ) ) );
+            fail( "expected exception" );
+        }
+        catch ( ArtifactResolutionException e )
+        {
+            assertEquals( 1, e.getResults().size() );
+            assertFalse( e.getResults().get( 0 ).isResolved() );
+            assertEquals( 1, e.getResults().get( 0 ).getExceptions().size() );
+        }
+        finally
+        {
+            speculative.close();
+        }
+        assertEquals( 1, resolved.size() );
+    }
+
+}
@@ -19,8 +19,12 @@ package org.eclipse.aether.internal.impl;
  * under the License.
  */
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.aether.RepositorySystemSession;
-import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.impl.BatchVersionRangeResolver;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.resolution.VersionRangeResult;
@@ -33,7 +37,7 @@ import org.eclipse.aether.version.VersionScheme;
 /**
  */
 public class StubVersionRangeResolver
-    implements VersionRangeResolver
+    implements BatchVersionRangeResolver
 {
 
     private final VersionScheme versionScheme = new GenericVersionScheme();
@@ -75,4 +79,22 @@ public class StubVersionRangeResolver
         return result;
     }
 
+    public List<VersionRangeResult> resolveVersionRanges( RepositorySystemSession session,
+                                                          Collection<? extends VersionRangeRequest> requests )
+    {
+        List<VersionRangeResult> results = new ArrayList<VersionRangeResult>();
+        for ( VersionRangeRequest request : requests )
+        {
+            try
+            {
+                results.add( resolveVersionRange( session, request ) );
+            }
+            catch ( VersionRangeResolutionException e )
+            {
+                results.add( e.getResult() );
+            }
+        }
+        return results;
+    }
+
 }
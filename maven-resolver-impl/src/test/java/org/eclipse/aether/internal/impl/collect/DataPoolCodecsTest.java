@@ -0,0 +1,151 @@
+package org.eclipse.aether.internal.impl.collect;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.repository.BoundedRepositoryCache;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+import org.junit.Test;
+
+public class DataPoolCodecsTest
+{
+
+    private final VersionScheme versionScheme = new GenericVersionScheme();
+
+    private DefaultRepositorySystemSession newSession()
+    {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setCache( DataPoolCodecs.register( new BoundedRepositoryCache(), versionScheme ) );
+        session.setConfigProperty( DataPool.CONFIG_PROP_SESSION_CONSTRAINTS, true );
+        return session;
+    }
+
+    private DefaultRepositorySystemSession restore( DefaultRepositorySystemSession session )
+        throws IOException
+    {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        ( (BoundedRepositoryCache) session.getCache() ).writeSnapshot( snapshot );
+        DefaultRepositorySystemSession restored = newSession();
+        BoundedRepositoryCache cache = (BoundedRepositoryCache) restored.getCache();
+        cache.readSnapshot( new ByteArrayInputStream( snapshot.toByteArray() ) );
+        return restored;
+    }
+
+    @Test
+    public void testDescriptorRoundTrip()
+        throws IOException
+    {
+        RemoteRepository repo = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+        ArtifactDescriptorRequest request = new ArtifactDescriptorRequest();
+        request.setArtifact( new DefaultArtifact( "gid:aid:1" ) );
+        ArtifactDescriptorResult result = new ArtifactDescriptorResult( request );
+        result.setArtifact( new DefaultArtifact( "gid:aid:2" ) );
+        result.addRelocation( request.getArtifact() );
+        result.addDependency( new Dependency( new DefaultArtifact( "gid:dep:3" ), "compile", true,
+                                              Arrays.asList( new Exclusion( "gid", "ex", "", "jar" ) ) ) );
+        result.addManagedDependency( new Dependency( new DefaultArtifact( "gid:mdep:3" ), "runtime" ) );
+        result.addRepository( new RemoteRepository.Builder( "mirror", "default", "http://mirror" )
+            .setMirroredRepositories( Collections.singletonList( repo ) ).build() );
+        result.addAlias( new DefaultArtifact( "gid:alias:4" ) );
+
+        DefaultRepositorySystemSession session = newSession();
+        DataPool pool = new DataPool( session );
+        pool.putDescriptor( pool.toKey( request ), result );
+        ArtifactDescriptorRequest bad = new ArtifactDescriptorRequest();
+        bad.setArtifact( new DefaultArtifact( "gid:bad:1" ) );
+        pool.putDescriptor( pool.toKey( bad ), new ArtifactDescriptorException( new ArtifactDescriptorResult( bad ) ) );
+
+        DataPool restored = new DataPool( restore( session ) );
+        ArtifactDescriptorResult cached = restored.getDescriptor( restored.toKey( request ), request );
+        assertNotNull( cached );
+        assertEquals( result.getArtifact(), cached.getArtifact() );
+        assertEquals( result.getRelocations(), cached.getRelocations() );
+        assertEquals( result.getDependencies(), cached.getDependencies() );
+        assertEquals( result.getManagedDependencies(), cached.getManagedDependencies() );
+        assertEquals( result.getRepositories(), cached.getRepositories() );
+        assertEquals( result.getAliases(), cached.getAliases() );
+        assertSame( DataPool.NO_DESCRIPTOR, restored.getDescriptor( restored.toKey( bad ), bad ) );
+    }
+
+    @Test
+    public void testArtifactPoolRoundTrip()
+        throws IOException
+    {
+        DefaultRepositorySystemSession session = newSession();
+        Artifact artifact = new DataPool( session ).intern( new DefaultArtifact( "gid:aid:ext:cls:1" ) );
+
+        DataPool restored = new DataPool( restore( session ) );
+        Artifact pooled = restored.intern( new DefaultArtifact( "gid:aid:ext:cls:1" ) );
+        assertEquals( artifact, pooled );
+        assertSame( pooled, restored.intern( new DefaultArtifact( "gid:aid:ext:cls:1" ) ) );
+    }
+
+    @Test
+    public void testVersionRangeRoundTrip()
+        throws IOException, InvalidVersionSpecificationException
+    {
+        RemoteRepository repo = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+        List<RemoteRepository> repos = Collections.singletonList( repo );
+        VersionRangeRequest request = new VersionRangeRequest( new DefaultArtifact( "gid:aid:[1,2)" ), repos, "" );
+        VersionRangeResult result = new VersionRangeResult( request );
+        result.setVersionConstraint( versionScheme.parseVersionConstraint( "[1,2)" ) );
+        result.addVersion( versionScheme.parseVersion( "1.0" ) );
+        result.addVersion( versionScheme.parseVersion( "1.1" ) );
+        result.setRepository( result.getVersions().get( 0 ), repo );
+        result.setRepository( result.getVersions().get( 1 ), repo );
+
+        DefaultRepositorySystemSession session = newSession();
+        DataPool pool = new DataPool( session );
+        pool.putConstraint( pool.toKey( request ), result );
+
+        RemoteRepository requestRepo =
+            new RemoteRepository.Builder( "test", "default", "http://localhost" ).setRepositoryManager( false ).build();
+        VersionRangeRequest other =
+            new VersionRangeRequest( new DefaultArtifact( "gid:aid:[1,2)" ), Arrays.asList( requestRepo ), "" );
+        DataPool restored = new DataPool( restore( session ) );
+        VersionRangeResult cached = restored.getConstraint( restored.toKey( other ), other );
+        assertNotNull( cached );
+        assertEquals( result.getVersionConstraint(), cached.getVersionConstraint() );
+        assertEquals( result.getVersions(), cached.getVersions() );
+        assertSame( requestRepo, cached.getRepository( cached.getVersions().get( 1 ) ) );
+    }
+
+}
@@ -22,6 +22,7 @@ package org.eclipse.aether.internal.impl.collect;
 import static org.junit.Assert.*;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.repository.RemoteRepository;
@@ -63,4 +64,14 @@ public class DataPoolTest
         assertEquals( result.getAliases(), cached.getAliases() );
     }
 
+    @Test
+    public void testIntern_ArtifactReusesPooledInstance()
+    {
+        DataPool pool = newDataPool();
+        Artifact a1 = pool.intern( new DefaultArtifact( new String( "gid" ), "aid", "jar", "1" ) );
+        Artifact a2 = new DefaultArtifact( new String( "gid" ), "aid", "jar", "1" );
+        assertSame( a1, pool.intern( a2 ) );
+        assertSame( a1, pool.intern( a1 ) );
+    }
+
 }
@@ -33,7 +33,9 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.RequestTrace;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.ArtifactProperties;
 import org.eclipse.aether.artifact.DefaultArtifact;
@@ -48,6 +50,7 @@ import org.eclipse.aether.graph.DependencyCycle;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.impl.VersionRangeResolver;
 import org.eclipse.aether.internal.impl.IniArtifactDescriptorReader;
 import org.eclipse.aether.internal.impl.StubRemoteRepositoryManager;
 import org.eclipse.aether.internal.impl.StubVersionRangeResolver;
@@ -57,9 +60,20 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.spi.metrics.InMemoryMetricsRegistry;
+import org.eclipse.aether.spi.metrics.MetricsRegistry;
+import org.eclipse.aether.spi.metrics.ResolutionReport;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.eclipse.aether.util.graph.manager.ClassicDependencyManager;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeDeriver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
+import org.eclipse.aether.util.graph.transformer.NearestVersionSelector;
+import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
 import org.eclipse.aether.util.graph.version.HighestVersionFilter;
 import org.junit.Before;
 import org.junit.Test;
@@ -376,6 +390,261 @@ public class DefaultDependencyCollectorTest
         assertEquals( root2, dep( result.getRoot(), 1 ) );
     }
 
+    @Test
+    public void testCollectMultipleDependencies_BatchedVersionRanges()
+        throws IOException, DependencyCollectionException
+    {
+        session.setConfigProperty( "aether.dependencyCollector.batchVersionRanges", true );
+        final List<Integer> batches = new ArrayList<Integer>();
+        collector.setVersionRangeResolver( new StubVersionRangeResolver()
+        {
+            @Override
+            public List<VersionRangeResult> resolveVersionRanges( RepositorySystemSession session,
+                                                                  Collection<? extends VersionRangeRequest> requests )
+            {
+                batches.add( requests.size() );
+                return super.resolveVersionRanges( session, requests );
+            }
+        } );
+
+        Dependency root1 = newDep( "gid:aid:ext:ver", "compile" );
+        Dependency root2 = newDep( "gid:aid2:ext:ver", "compile" );
+        List<Dependency> dependencies = Arrays.asList( root1, root2 );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request );
+
+        assertEquals( 0, result.getExceptions().size() );
+        assertEquals( Arrays.asList( 2 ), batches );
+
+        session.setConfigProperty( "aether.dependencyCollector.batchVersionRanges", false );
+        CollectResult unbatched = collector.collectDependencies( session, request );
+
+        assertEquals( Arrays.asList( 2 ), batches );
+        assertEqualSubtree( unbatched.getRoot(), result.getRoot() );
+    }
+
+    @Test
+    public void testCollectMultipleDependencies_BatchingUnsupported()
+        throws IOException, DependencyCollectionException
+    {
+        session.setConfigProperty( "aether.dependencyCollector.batchVersionRanges", true );
+        final StubVersionRangeResolver delegate = new StubVersionRangeResolver();
+        collector.setVersionRangeResolver( new VersionRangeResolver()
+        {
+            public VersionRangeResult resolveVersionRange( RepositorySystemSession session,
+                                                           VersionRangeRequest request )
+                throws VersionRangeResolutionException
+            {
+                return delegate.resolveVersionRange( session, request );
+            }
+        } );
+
+        Dependency root1 = newDep( "gid:aid:ext:ver", "compile" );
+        Dependency root2 = newDep( "gid:aid2:ext:ver", "compile" );
+        List<Dependency> dependencies = Arrays.asList( root1, root2 );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request );
+
+        assertEquals( 0, result.getExceptions().size() );
+        assertEquals( 2, result.getRoot().getChildren().size() );
+    }
+
+    @Test
+    public void testPruneLosingDuplicatesOfDirectDependencies()
+        throws Exception
+    {
+        collector.setArtifactDescriptorReader( newReader( "prune/" ) );
+        session.setDependencyGraphTransformer( new ConflictResolver( new NearestVersionSelector(),
+                                                                     new JavaScopeSelector(),
+                                                                     new SimpleOptionalitySelector(),
+                                                                     new JavaScopeDeriver() ) );
+
+        List<Dependency> dependencies = Arrays.asList( newDep( "gid:b:ext:1", "compile" ),
+                                                       newDep( "gid:a:ext:1", "compile" ) );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        CollectResult expected = collector.collectDependencies( session, request );
+
+        session.setConfigProperty( "aether.dependencyCollector.pruneLosers", true );
+        CollectResult actual = collector.collectDependencies( session, request );
+
+        assertEquals( 0, actual.getExceptions().size() );
+        assertEqualSubtree( expected.getRoot(), actual.getRoot() );
+
+        session.setConfigProperty( ConflictResolver.CONFIG_PROP_VERBOSE, true );
+        expected = collector.collectDependencies( session, request );
+        actual = collector.collectDependencies( session, request );
+        assertEqualSubtree( expected.getRoot(), actual.getRoot() );
+
+        session.setDependencyGraphTransformer( null );
+        DependencyNode root = collector.collectDependencies( session, request ).getRoot();
+        assertEquals( 1, path( root, 0 ).getChildren().size() );
+        assertEquals( newDep( "gid:b:ext:1", "compile" ), dep( root, 1, 0, 0 ) );
+        assertEquals( 0, path( root, 1, 0, 0 ).getChildren().size() );
+        assertEquals( newDep( "gid:d:ext:2", "compile" ), dep( root, 1, 0, 1 ) );
+    }
+
+    @Test
+    public void testLazyCollection()
+        throws Exception
+    {
+        final List<Artifact> reads = new ArrayList<Artifact>();
+        collector.setArtifactDescriptorReader( new ArtifactDescriptorReader()
+        {
+            private final ArtifactDescriptorReader reader = newReader( "prune/" );
+
+            public ArtifactDescriptorResult readArtifactDescriptor( RepositorySystemSession session,
+                                                                    ArtifactDescriptorRequest request )
+                throws ArtifactDescriptorException
+            {
+                reads.add( request.getArtifact() );
+                return reader.readArtifactDescriptor( session, request );
+            }
+        } );
+
+        List<Dependency> dependencies = Arrays.asList( newDep( "gid:b:ext:1", "compile" ),
+                                                       newDep( "gid:a:ext:1", "compile" ) );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        CollectResult expected = collector.collectDependencies( session, request );
+        assertEquals( 5, reads.size() );
+
+        reads.clear();
+        session.setConfigProperty( "aether.dependencyCollector.lazy", true );
+        DependencyNode root = collector.collectDependencies( session, request ).getRoot();
+        assertEquals( 2, reads.size() );
+
+        List<DependencyNode> children = path( root, 1 ).getChildren();
+        assertFalse( ( (DefaultDependencyCollector.LazyChildren) children ).isExpanded() );
+        assertEquals( 1, children.size() );
+        assertTrue( ( (DefaultDependencyCollector.LazyChildren) children ).isExpanded() );
+        assertEquals( 3, reads.size() );
+
+        assertEqualSubtree( expected.getRoot(), root );
+        assertEquals( 5, reads.size() );
+    }
+
+    @Test
+    public void testLazyCollection_DeferredError()
+        throws Exception
+    {
+        collector.setArtifactDescriptorReader( new ArtifactDescriptorReader()
+        {
+            private final ArtifactDescriptorReader reader = newReader( "prune/" );
+
+            public ArtifactDescriptorResult readArtifactDescriptor( RepositorySystemSession session,
+                                                                    ArtifactDescriptorRequest request )
+                throws ArtifactDescriptorException
+            {
+                if ( "c".equals( request.getArtifact().getArtifactId() ) )
+                {
+                    throw new ArtifactDescriptorException( new ArtifactDescriptorResult( request ) );
+                }
+                return reader.readArtifactDescriptor( session, request );
+            }
+        } );
+        session.setDependencyGraphTransformer( null );
+        session.setConfigProperty( "aether.dependencyCollector.lazy", true );
+
+        List<Dependency> dependencies = Arrays.asList( newDep( "gid:b:ext:1", "compile" ),
+                                                       newDep( "gid:a:ext:1", "compile" ) );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request );
+        assertEquals( 0, result.getExceptions().size() );
+
+        DependencyNode node = path( result.getRoot(), 1 );
+        List<DependencyNode> children = node.getChildren();
+        assertEquals( 1, children.size() );
+        assertEquals( 1, result.getExceptions().size() );
+        Object error = node.getData().get( DefaultDependencyCollector.NODE_DATA_COLLECTION_ERROR );
+        assertTrue( error instanceof DependencyCollectionException );
+        assertSame( result, ( (DependencyCollectionException) error ).getResult() );
+
+        assertEquals( 1, children.size() );
+        assertSame( error, node.getData().get( DefaultDependencyCollector.NODE_DATA_COLLECTION_ERROR ) );
+        assertEquals( 1, result.getExceptions().size() );
+    }
+
+    @Test
+    public void testMetrics()
+        throws Exception
+    {
+        collector.setArtifactDescriptorReader( newReader( "prune/" ) );
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        session.getData().set( MetricsRegistry.class, metrics );
+
+        List<Dependency> dependencies = Arrays.asList( newDep( "gid:b:ext:1", "compile" ),
+                                                       newDep( "gid:a:ext:1", "compile" ) );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        collector.collectDependencies( session, request );
+
+        assertEquals( 5, metrics.getTimerCount( "collect.descriptorRead" ) );
+        assertEquals( 5, metrics.getCount( "collect.descriptorCache.misses" ) );
+        assertTrue( metrics.getCount( "collect.descriptorCache.hits" ) > 0 );
+        assertEquals( 1, metrics.getTimerCount( "collect.DefaultDependencyCollector.collectTime" ) );
+        assertEquals( 1, metrics.getTimerCount( "collect.DefaultDependencyCollector.transformTime" ) );
+    }
+
+    @Test
+    public void testResolutionReport()
+        throws Exception
+    {
+        collector.setArtifactDescriptorReader( new ArtifactDescriptorReader()
+        {
+            private final ArtifactDescriptorReader reader = newReader( "prune/" );
+
+            public ArtifactDescriptorResult readArtifactDescriptor( RepositorySystemSession session,
+                                                                    ArtifactDescriptorRequest request )
+                throws ArtifactDescriptorException
+            {
+                if ( "c".equals( request.getArtifact().getArtifactId() ) )
+                {
+                    try
+                    {
+                        Thread.sleep( 50L );
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        throw new IllegalStateException( e );
+                    }
+                    RepositoryEvent event =
+                        new RepositoryEvent.Builder( session, RepositoryEvent.EventType.ARTIFACT_DOWNLOADED )
+                            .setArtifact( request.getArtifact() ).setRepository( repository )
+                            .setTrace( RequestTrace.newChild( request.getTrace(), request ).newChild( "pom" ) )
+                            .build();
+                    session.getRepositoryListener().artifactDownloaded( event );
+                }
+                return reader.readArtifactDescriptor( session, request );
+            }
+        } );
+        ResolutionReport report = new ResolutionReport();
+        session.getData().set( ResolutionReport.class, report );
+
+        List<Dependency> dependencies = Arrays.asList( newDep( "gid:b:ext:1", "compile" ),
+                                                       newDep( "gid:a:ext:1", "compile" ) );
+        CollectRequest request = new CollectRequest( dependencies, null, Arrays.asList( repository ) );
+        session.setDependencyGraphTransformer( null );
+        DependencyNode root = collector.collectDependencies( session, request ).getRoot();
+
+        assertEquals( 6, report.getEntries().size() );
+        int cached = 0;
+        for ( ResolutionReport.Entry entry : report.getEntries() )
+        {
+            cached += entry.isCached() ? 1 : 0;
+        }
+        assertEquals( 1, cached );
+
+        ResolutionReport.Entry c = report.getEntry( path( root, 1, 0 ) );
+        assertEquals( "c", c.getArtifact().getArtifactId() );
+        assertTrue( c.isRemote() );
+        assertSame( repository, c.getRepository() );
+        assertFalse( report.getEntry( path( root, 1 ) ).isRemote() );
+
+        List<ResolutionReport.Entry> criticalPath = report.getCriticalPath();
+        assertTrue( criticalPath.size() >= 2 );
+        assertSame( report.getEntry( path( root, 1 ) ), criticalPath.get( 0 ) );
+        assertSame( c, criticalPath.get( 1 ) );
+        assertTrue( report.getCriticalPathTime() >= c.getTime() );
+    }
+
     @Test
     public void testArtifactDescriptorResolutionNotRestrictedToRepoHostingSelectedVersion()
         throws Exception
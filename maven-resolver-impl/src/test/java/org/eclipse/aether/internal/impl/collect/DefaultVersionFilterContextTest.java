@@ -0,0 +1,109 @@
+package org.eclipse.aether.internal.impl.collect;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.graph.version.HighestVersionFilter;
+import org.eclipse.aether.util.graph.version.SnapshotVersionFilter;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.Version;
+import org.junit.Test;
+
+public class DefaultVersionFilterContextTest
+{
+
+    private DefaultVersionFilterContext newContext( String... versions )
+        throws Exception
+    {
+        GenericVersionScheme scheme = new GenericVersionScheme();
+        VersionRangeRequest request = new VersionRangeRequest();
+        request.setArtifact( new DefaultArtifact( "gid:aid:[1,)" ) );
+        VersionRangeResult result = new VersionRangeResult( request );
+        for ( String version : versions )
+        {
+            result.addVersion( scheme.parseVersion( version ) );
+        }
+        result = new DataPool( new DefaultRepositorySystemSession() ).putConstraint( request, result );
+
+        DefaultVersionFilterContext context = new DefaultVersionFilterContext( new DefaultRepositorySystemSession() );
+        context.set( new Dependency( request.getArtifact(), "compile" ), result );
+        return context;
+    }
+
+    private static List<String> toStrings( Iterable<Version> versions )
+    {
+        List<String> strings = new ArrayList<String>();
+        for ( Version version : versions )
+        {
+            strings.add( version.toString() );
+        }
+        return strings;
+    }
+
+    @Test
+    public void testHighestAndSnapshotFilters()
+        throws Exception
+    {
+        DefaultVersionFilterContext context = newContext( "1", "2", "3-SNAPSHOT", "3" );
+        new SnapshotVersionFilter().filterVersions( context );
+        assertEquals( 3, context.getCount() );
+        assertEquals( "[1, 2, 3]", toStrings( context.get() ).toString() );
+
+        context = newContext( "1", "2", "3-SNAPSHOT" );
+        new SnapshotVersionFilter().filterVersions( context );
+        new HighestVersionFilter().filterVersions( context );
+        assertEquals( 1, context.getCount() );
+        assertEquals( "[2]", toStrings( context.get() ).toString() );
+        assertEquals( "[2]", toStrings( context ).toString() );
+    }
+
+    @Test
+    public void testRetain()
+        throws Exception
+    {
+        DefaultVersionFilterContext context = newContext( "1", "2", "3", "4", "5" );
+        context.retain( 1, 4 );
+        assertEquals( 3, context.getCount() );
+        assertFalse( context.isAvailable( 0 ) );
+        assertEquals( "[2, 3, 4]", toStrings( context.get() ).toString() );
+
+        Iterator<Version> it = context.iterator();
+        it.next();
+        it.remove();
+        context.retain( 0, 3 );
+        assertEquals( 1, context.getCount() );
+        assertEquals( "[3]", toStrings( context ).toString() );
+
+        context.remove( 2 );
+        assertEquals( 0, context.getCount() );
+        assertTrue( context.get().isEmpty() );
+    }
+
+}
@@ -34,6 +34,12 @@ public abstract class AbstractTransporter
     implements Transporter
 {
 
+    /**
+     * The copy buffer of the current thread, reused across transfers to avoid allocating it for each transfer. Reusing
+     * the buffer is safe as listeners must not keep a reference to it beyond the progress callback.
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER = new ThreadLocal<ByteBuffer>();
+
     private final AtomicBoolean closed;
 
     /**
@@ -246,14 +252,31 @@ public abstract class AbstractTransporter
     private static void copy( OutputStream os, InputStream is, TransportListener listener )
         throws IOException, TransferCancelledException
     {
-        ByteBuffer buffer = ByteBuffer.allocate( 1024 * 32 );
-        byte[] array = buffer.array();
-        for ( int read = is.read( array ); read >= 0; read = is.read( array ) )
+        ByteBuffer buffer = BUFFER.get();
+        if ( buffer == null )
+        {
+            buffer = ByteBuffer.allocate( 1024 * 32 );
+        }
+        else
+        {
+            // the buffer stays checked out while in use, a nested copy on this thread gets its own buffer
+            BUFFER.remove();
+        }
+        try
+        {
+            byte[] array = buffer.array();
+            for ( int read = is.read( array ); read >= 0; read = is.read( array ) )
+            {
+                os.write( array, 0, read );
+                buffer.rewind();
+                buffer.limit( read );
+                listener.transportProgressed( buffer );
+            }
+        }
+        finally
         {
-            os.write( array, 0, read );
-            buffer.rewind();
-            buffer.limit( read );
-            listener.transportProgressed( buffer );
+            buffer.clear();
+            BUFFER.set( buffer );
         }
     }
 
@@ -47,6 +47,16 @@ public final class GetTask
 
     private Map<String, String> checksums;
 
+    private String ifNoneMatch;
+
+    private long ifModifiedSince;
+
+    private String entityTag;
+
+    private long lastModified;
+
+    private boolean notModified;
+
     /**
      * Creates a new task for the specified remote resource.
      * 
@@ -250,6 +260,136 @@ public final class GetTask
         return this;
     }
 
+    /**
+     * Gets the entity tag of a previously downloaded copy of the resource. If set, the transporter may ask the remote
+     * repository to skip the transfer in case the resource still matches this entity tag.
+     * 
+     * @return The entity tag of the local copy or {@code null} if the download is unconditional.
+     */
+    public String getIfNoneMatch()
+    {
+        return ifNoneMatch;
+    }
+
+    /**
+     * Sets the entity tag of a previously downloaded copy of the resource. <em>Note:</em> Conditional downloads are an
+     * optional feature, a transporter that does not support them simply performs an unconditional download.
+     * 
+     * @param entityTag The entity tag of the local copy, may be {@code null} to not condition the download on it.
+     * @return This task for chaining, never {@code null}.
+     * @see #isNotModified()
+     */
+    public GetTask setIfNoneMatch( String entityTag )
+    {
+        this.ifNoneMatch = entityTag;
+        return this;
+    }
+
+    /**
+     * Gets the modification timestamp of a previously downloaded copy of the resource. If set, the transporter may ask
+     * the remote repository to skip the transfer in case the resource has not been modified since then.
+     * 
+     * @return The modification timestamp of the local copy (in milliseconds since the epoch) or {@code 0} if the
+     *         download is unconditional.
+     */
+    public long getIfModifiedSince()
+    {
+        return ifModifiedSince;
+    }
+
+    /**
+     * Sets the modification timestamp of a previously downloaded copy of the resource. <em>Note:</em> Conditional
+     * downloads are an optional feature, a transporter that does not support them simply performs an unconditional
+     * download.
+     * 
+     * @param timestamp The modification timestamp of the local copy (in milliseconds since the epoch), may be
+     *            {@code 0} to not condition the download on it.
+     * @return This task for chaining, never {@code null}.
+     * @see #isNotModified()
+     */
+    public GetTask setIfModifiedSince( long timestamp )
+    {
+        this.ifModifiedSince = Math.max( 0L, timestamp );
+        return this;
+    }
+
+    /**
+     * Indicates whether the remote repository reported that the resource has not been modified with regard to the
+     * conditions given by {@link #getIfNoneMatch()} and {@link #getIfModifiedSince()}. In this case, no data has been
+     * transferred and the previously downloaded copy of the resource is still up-to-date.
+     * 
+     * @return {@code true} if the resource was not modified and hence not transferred, {@code false} otherwise.
+     */
+    public boolean isNotModified()
+    {
+        return notModified;
+    }
+
+    /**
+     * Marks the resource as not modified. <em>Note:</em> Transporters should only use this method if the download was
+     * conditional and the remote repository has explicitly confirmed that the conditions are met.
+     * 
+     * @param notModified {@code true} if the resource was not modified and hence not transferred, {@code false}
+     *            otherwise.
+     * @return This task for chaining, never {@code null}.
+     */
+    public GetTask setNotModified( boolean notModified )
+    {
+        this.notModified = notModified;
+        return this;
+    }
+
+    /**
+     * Gets the entity tag which the remote repository advertises for the resource. <em>Note:</em> This is optional data
+     * that a transporter may return if the underlying transport protocol provides metadata (e.g. HTTP headers) along
+     * with the actual resource data.
+     * 
+     * @return The entity tag of the downloaded resource or {@code null} if unknown.
+     */
+    public String getEntityTag()
+    {
+        return entityTag;
+    }
+
+    /**
+     * Sets the entity tag which the remote repository advertises for the resource. <em>Note:</em> Transporters should
+     * only use this method to record information which is readily available while performing the actual download.
+     * 
+     * @param entityTag The entity tag of the downloaded resource, may be {@code null}.
+     * @return This task for chaining, never {@code null}.
+     */
+    public GetTask setEntityTag( String entityTag )
+    {
+        this.entityTag = ( entityTag != null && entityTag.length() > 0 ) ? entityTag : null;
+        return this;
+    }
+
+    /**
+     * Gets the modification timestamp which the remote repository advertises for the resource. <em>Note:</em> This is
+     * optional data that a transporter may return if the underlying transport protocol provides metadata (e.g. HTTP
+     * headers) along with the actual resource data.
+     * 
+     * @return The modification timestamp (in milliseconds since the epoch) or {@code 0} if unknown.
+     */
+    public long getLastModified()
+    {
+        return lastModified;
+    }
+
+    /**
+     * Sets the modification timestamp which the remote repository advertises for the resource. <em>Note:</em>
+     * Transporters should only use this method to record information which is readily available while performing the
+     * actual download.
+     * 
+     * @param timestamp The modification timestamp (in milliseconds since the epoch), may be {@code 0} if unknown.
+     * @return This task for chaining, never {@code null}.
+     */
+    public GetTask setLastModified( long timestamp )
+    {
+        this.lastModified = Math.max( 0L, timestamp );
+        return this;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,60 @@
+package org.eclipse.aether.spi.connector.transport;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Thrown by a transporter in case the remote repository refused a request because it is overloaded or rate-limits its
+ * clients. A transporter should classify this exception as {@link Transporter#ERROR_THROTTLED}. A transporter may
+ * also attach this exception as the cause of its usual error, e.g. to keep the type of the visible error unchanged
+ * while still conveying the retry delay.
+ */
+public class TransportThrottledException
+    extends Exception
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfter;
+
+    /**
+     * Creates a new exception with the specified detail message, retry delay and cause.
+     * 
+     * @param message The detail message, may be {@code null}.
+     * @param retryAfter The delay (in milliseconds) that the remote repository asked clients to wait before sending
+     *            further requests, may be {@code 0} if unknown.
+     * @param cause The exception that caused this one, may be {@code null}.
+     */
+    public TransportThrottledException( String message, long retryAfter, Throwable cause )
+    {
+        super( message, cause );
+        this.retryAfter = Math.max( 0L, retryAfter );
+    }
+
+    /**
+     * Gets the delay that the remote repository asked clients to wait before sending further requests.
+     * 
+     * @return The retry delay in milliseconds or {@code 0} if unknown.
+     */
+    public long getRetryAfter()
+    {
+        return retryAfter;
+    }
+
+}
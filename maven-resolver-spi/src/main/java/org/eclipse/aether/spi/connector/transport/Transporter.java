@@ -53,13 +53,32 @@ public interface Transporter
      */
     int ERROR_NOT_FOUND = 1;
 
+    /**
+     * Classification for exceptions that denote the remote repository refused a request because it is overloaded or
+     * rate-limits its clients. Requests that failed for this reason may succeed if retried later, and callers should
+     * reduce the rate/concurrency of their requests. Transporters are encouraged to report such errors via
+     * {@link TransportThrottledException} to convey any retry delay requested by the remote repository.
+     * 
+     * @see #classify(Throwable)
+     */
+    int ERROR_THROTTLED = 2;
+
+    /**
+     * Classification for exceptions that denote a temporary failure of the remote repository or the network, like a
+     * server error or a connection reset. Requests that failed for this reason may succeed if simply retried.
+     * 
+     * @see #classify(Throwable)
+     */
+    int ERROR_TRANSIENT = 3;
+
     /**
      * Classifies the type of exception that has been thrown from a previous request to the transporter. The exception
      * types employed by a transporter are generally unknown to its caller. Where a caller needs to distinguish between
      * certain error cases, it employs this method to detect which error case corresponds to the exception.
      * 
      * @param error The exception to classify, must not be {@code null}.
-     * @return The classification of the error, either {@link #ERROR_NOT_FOUND} or {@link #ERROR_OTHER}.
+     * @return The classification of the error, either {@link #ERROR_NOT_FOUND}, {@link #ERROR_THROTTLED},
+     *         {@link #ERROR_TRANSIENT} or {@link #ERROR_OTHER}.
      */
     int classify( Throwable error );
 
@@ -0,0 +1,206 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A metrics registry that keeps all metrics in memory, e.g. to dump them as JSON at the end of a session.
+ */
+public final class InMemoryMetricsRegistry
+    implements MetricsRegistry
+{
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+
+    public void increment( String name, long amount )
+    {
+        AtomicLong counter = counters.get( name );
+        if ( counter == null )
+        {
+            counter = new AtomicLong();
+            AtomicLong existing = counters.putIfAbsent( name, counter );
+            if ( existing != null )
+            {
+                counter = existing;
+            }
+        }
+        counter.addAndGet( amount );
+    }
+
+    public void recordTime( String name, long nanos )
+    {
+        Timer timer = timers.get( name );
+        if ( timer == null )
+        {
+            timer = new Timer();
+            Timer existing = timers.putIfAbsent( name, timer );
+            if ( existing != null )
+            {
+                timer = existing;
+            }
+        }
+        timer.record( nanos );
+    }
+
+    /**
+     * Gets the value of the specified counter.
+     * 
+     * @param name The name of the counter, must not be {@code null}.
+     * @return The value of the counter, {@code 0} if unknown.
+     */
+    public long getCount( String name )
+    {
+        AtomicLong counter = counters.get( name );
+        return ( counter != null ) ? counter.get() : 0L;
+    }
+
+    /**
+     * Gets the number of durations recorded for the specified timer.
+     * 
+     * @param name The name of the timer, must not be {@code null}.
+     * @return The number of recorded durations, {@code 0} if unknown.
+     */
+    public long getTimerCount( String name )
+    {
+        Timer timer = timers.get( name );
+        return ( timer != null ) ? timer.snapshot()[0] : 0L;
+    }
+
+    /**
+     * Gets the sum of the durations recorded for the specified timer.
+     * 
+     * @param name The name of the timer, must not be {@code null}.
+     * @return The total duration in nanoseconds, {@code 0} if unknown.
+     */
+    public long getTotalTime( String name )
+    {
+        Timer timer = timers.get( name );
+        return ( timer != null ) ? timer.snapshot()[1] : 0L;
+    }
+
+    /**
+     * Clears all metrics.
+     */
+    public void reset()
+    {
+        counters.clear();
+        timers.clear();
+    }
+
+    /**
+     * Formats the metrics as JSON object with the members {@code counters} and {@code timers}. Each timer is given by
+     * its {@code count} and the {@code total}, {@code min} and {@code max} durations in nanoseconds.
+     * 
+     * @return The JSON representation of the metrics, never {@code null}.
+     */
+    public String toJson()
+    {
+        StringBuilder buffer = new StringBuilder( 1024 );
+        buffer.append( "{\"counters\":{" );
+        boolean first = true;
+        for ( Map.Entry<String, AtomicLong> entry : new TreeMap<String, AtomicLong>( counters ).entrySet() )
+        {
+            if ( !first )
+            {
+                buffer.append( ',' );
+            }
+            first = false;
+            appendString( buffer, entry.getKey() ).append( ':' ).append( entry.getValue().get() );
+        }
+        buffer.append( "},\"timers\":{" );
+        first = true;
+        for ( Map.Entry<String, Timer> entry : new TreeMap<String, Timer>( timers ).entrySet() )
+        {
+            if ( !first )
+            {
+                buffer.append( ',' );
+            }
+            first = false;
+            long[] values = entry.getValue().snapshot();
+            appendString( buffer, entry.getKey() );
+            buffer.append( ":{\"count\":" ).append( values[0] ).append( ",\"total\":" ).append( values[1] );
+            buffer.append( ",\"min\":" ).append( values[2] ).append( ",\"max\":" ).append( values[3] ).append( '}' );
+        }
+        buffer.append( "}}" );
+        return buffer.toString();
+    }
+
+    static StringBuilder appendString( StringBuilder buffer, String str )
+    {
+        buffer.append( '"' );
+        for ( int i = 0; i < str.length(); i++ )
+        {
+            char c = str.charAt( i );
+            if ( c == '"' || c == '\\' )
+            {
+                buffer.append( '\\' ).append( c );
+            }
+            else if ( c < 0x20 )
+            {
+                buffer.append( String.format( "\\u%04x", (int) c ) );
+            }
+            else
+            {
+                buffer.append( c );
+            }
+        }
+        return buffer.append( '"' );
+    }
+
+    @Override
+    public String toString()
+    {
+        return toJson();
+    }
+
+    static final class Timer
+    {
+
+        private long count;
+
+        private long total;
+
+        private long min = Long.MAX_VALUE;
+
+        private long max = Long.MIN_VALUE;
+
+        synchronized void record( long nanos )
+        {
+            count++;
+            total += nanos;
+            min = Math.min( min, nanos );
+            max = Math.max( max, nanos );
+        }
+
+        synchronized long[] snapshot()
+        {
+            return new long[] { count, total, ( count > 0L ) ? min : 0L, ( count > 0L ) ? max : 0L };
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A registry of performance metrics. Metrics are identified by dot-separated names like {@code descriptor.read} where
+ * the last segment may denote the repository a metric refers to, e.g. {@code transfer.bytes.central}. A registry is
+ * put into the {@link org.eclipse.aether.RepositorySystemSession#getData() session data} under the key
+ * {@code MetricsRegistry.class} and obtained by components via
+ * {@link NullMetricsRegistry#getSafeRegistry(org.eclipse.aether.RepositorySystemSession)}. Implementations must be
+ * thread-safe.
+ */
+public interface MetricsRegistry
+{
+
+    /**
+     * Increments the specified counter.
+     * 
+     * @param name The name of the counter, must not be {@code null}.
+     * @param amount The amount to add to the counter.
+     */
+    void increment( String name, long amount );
+
+    /**
+     * Records a duration for the specified timer.
+     * 
+     * @param name The name of the timer, must not be {@code null}.
+     * @param nanos The duration in nanoseconds.
+     */
+    void recordTime( String name, long nanos );
+
+}
@@ -0,0 +1,67 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * A metrics registry that discards all metrics.
+ */
+public final class NullMetricsRegistry
+    implements MetricsRegistry
+{
+
+    /**
+     * The singleton instance of this registry.
+     */
+    public static final MetricsRegistry INSTANCE = new NullMetricsRegistry();
+
+    private NullMetricsRegistry()
+    {
+        // hide constructor
+    }
+
+    public void increment( String name, long amount )
+    {
+    }
+
+    public void recordTime( String name, long nanos )
+    {
+    }
+
+    /**
+     * Gets the metrics registry of the specified session, falling back to this registry if the session has none.
+     * 
+     * @param session The repository system session, may be {@code null}.
+     * @return The metrics registry, never {@code null}.
+     */
+    public static MetricsRegistry getSafeRegistry( RepositorySystemSession session )
+    {
+        SessionData data = ( session != null ) ? session.getData() : null;
+        Object registry = ( data != null ) ? data.get( MetricsRegistry.class ) : null;
+        if ( registry instanceof MetricsRegistry )
+        {
+            return (MetricsRegistry) registry;
+        }
+        return INSTANCE;
+    }
+
+}
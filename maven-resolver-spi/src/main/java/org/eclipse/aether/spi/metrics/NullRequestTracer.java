@@ -0,0 +1,64 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.SessionData;
+
+/**
+ * A request tracer that discards all operations.
+ */
+public final class NullRequestTracer
+    implements RequestTracer
+{
+
+    /**
+     * The singleton instance of this tracer.
+     */
+    public static final RequestTracer INSTANCE = new NullRequestTracer();
+
+    private NullRequestTracer()
+    {
+        // hide constructor
+    }
+
+    public void record( String category, String name, RequestTrace trace, long startNanos, long endNanos )
+    {
+    }
+
+    /**
+     * Gets the request tracer of the specified session, falling back to this tracer if the session has none.
+     * 
+     * @param session The repository system session, may be {@code null}.
+     * @return The request tracer, never {@code null}.
+     */
+    public static RequestTracer getSafeTracer( RepositorySystemSession session )
+    {
+        SessionData data = ( session != null ) ? session.getData() : null;
+        Object tracer = ( data != null ) ? data.get( RequestTracer.class ) : null;
+        if ( tracer instanceof RequestTracer )
+        {
+            return (RequestTracer) tracer;
+        }
+        return INSTANCE;
+    }
+
+}
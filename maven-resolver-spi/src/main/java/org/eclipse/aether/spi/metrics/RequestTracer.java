@@ -0,0 +1,46 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RequestTrace;
+
+/**
+ * A tracer of timed operations like dependency collection or artifact descriptor reads. Unlike a
+ * {@link MetricsRegistry} which aggregates durations, a tracer records each operation individually, e.g. to render a
+ * timeline of the resolution. A tracer is put into the {@link org.eclipse.aether.RepositorySystemSession#getData()
+ * session data} under the key {@code RequestTracer.class} and obtained by components via
+ * {@link NullRequestTracer#getSafeTracer(org.eclipse.aether.RepositorySystemSession)}. Implementations must be
+ * thread-safe.
+ */
+public interface RequestTracer
+{
+
+    /**
+     * Records a completed operation. The operation is assumed to have run on the calling thread.
+     * 
+     * @param category The category of the operation like {@code collect}, must not be {@code null}.
+     * @param name The name of the operation, usually the artifact being processed, must not be {@code null}.
+     * @param trace The trace of the request that caused the operation, may be {@code null}.
+     * @param startNanos The start of the operation as given by {@link System#nanoTime()}.
+     * @param endNanos The end of the operation as given by {@link System#nanoTime()}.
+     */
+    void record( String category, String name, RequestTrace trace, long startNanos, long endNanos );
+
+}
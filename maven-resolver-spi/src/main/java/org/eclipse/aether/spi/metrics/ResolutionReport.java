@@ -0,0 +1,386 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+
+/**
+ * A report of the artifact descriptor lookups performed during dependency collection. For each node of the dependency
+ * graph, the report tells how long it took to get the artifact descriptor, which repository served it and whether it
+ * was taken from the collector's cache, read from the local repository or downloaded from a remote repository. Based
+ * on this, the report determines the critical path, i.e. the path from the root to a leaf of the dirty dependency graph
+ * with the largest sum of lookup times. As the dependencies of a node are only known once its descriptor has been read,
+ * the lookups along a path are inherently sequential, making the critical path a lower bound of the collection time.
+ * <p>
+ * The report is opt-in: it is put into the {@link org.eclipse.aether.RepositorySystemSession#getData() session data}
+ * under the key {@code ResolutionReport.class} before collecting or resolving dependencies. A report can be shared by
+ * several collections, its critical path is then the longest one of all collections. The report is thread-safe.
+ */
+public final class ResolutionReport
+{
+
+    private final Map<ArtifactDescriptorRequest, Entry> requests =
+        new IdentityHashMap<ArtifactDescriptorRequest, Entry>();
+
+    private final Map<ArtifactDescriptorRequest, ArtifactRepository> downloads =
+        new IdentityHashMap<ArtifactDescriptorRequest, ArtifactRepository>();
+
+    private final Map<DependencyNode, Entry> nodes = new IdentityHashMap<DependencyNode, Entry>();
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    private final RepositoryListener listener = new DownloadListener();
+
+    private List<Entry> criticalPath = Collections.emptyList();
+
+    private long criticalPathTime;
+
+    /**
+     * Gets the repository listener that detects the downloads caused by artifact descriptor lookups. The dependency
+     * collector registers this listener automatically.
+     * 
+     * @return The repository listener, never {@code null}.
+     */
+    public RepositoryListener getRepositoryListener()
+    {
+        return listener;
+    }
+
+    /**
+     * Records the lookup of an artifact descriptor. This method is called by the dependency collector.
+     * 
+     * @param request The descriptor request, must not be {@code null}.
+     * @param result The descriptor result, must not be {@code null}.
+     * @param nanos The duration of the lookup in nanoseconds.
+     * @param cached {@code true} if the descriptor was taken from the cache of the collector, {@code false} if it was
+     *            read.
+     */
+    public synchronized void descriptorResolved( ArtifactDescriptorRequest request, ArtifactDescriptorResult result,
+                                                 long nanos, boolean cached )
+    {
+        Entry entry = new Entry( result.getArtifact(), result.getRepository(), nanos, cached );
+        ArtifactRepository remote = downloads.remove( request );
+        if ( remote != null )
+        {
+            entry.remote = remote;
+        }
+        requests.put( request, entry );
+        entries.add( entry );
+    }
+
+    /**
+     * Associates a node of the dependency graph with the lookup of its descriptor. This method is called by the
+     * dependency collector.
+     * 
+     * @param node The dependency node, must not be {@code null}.
+     * @param request The descriptor request of the node, must not be {@code null}.
+     */
+    public synchronized void nodeCreated( DependencyNode node, ArtifactDescriptorRequest request )
+    {
+        Entry entry = requests.get( request );
+        if ( entry != null )
+        {
+            nodes.put( node, entry );
+        }
+    }
+
+    /**
+     * Determines the critical path of the specified dirty dependency graph. This method is called by the dependency
+     * collector when the collection is finished.
+     * 
+     * @param root The root node of the dependency graph, must not be {@code null}.
+     */
+    public synchronized void collectionFinished( DependencyNode root )
+    {
+        Map<DependencyNode, Path> paths = new IdentityHashMap<DependencyNode, Path>();
+        Path path = getPath( root, paths );
+        if ( path.time > criticalPathTime || criticalPath.isEmpty() )
+        {
+            List<Entry> list = new ArrayList<Entry>();
+            for ( Path p = path; p != null; p = p.next )
+            {
+                if ( p.entry != null )
+                {
+                    list.add( p.entry );
+                }
+            }
+            criticalPath = Collections.unmodifiableList( list );
+            criticalPathTime = path.time;
+        }
+    }
+
+    private Path getPath( DependencyNode node, Map<DependencyNode, Path> paths )
+    {
+        Path path = paths.get( node );
+        if ( path != null )
+        {
+            return path;
+        }
+        // guards against cycles, a node on the current path contributes nothing
+        paths.put( node, new Path( null, null ) );
+        Path longest = null;
+        for ( DependencyNode child : node.getChildren() )
+        {
+            Path candidate = getPath( child, paths );
+            if ( longest == null || candidate.time > longest.time )
+            {
+                longest = candidate;
+            }
+        }
+        path = new Path( nodes.get( node ), longest );
+        paths.put( node, path );
+        return path;
+    }
+
+    /**
+     * Gets the descriptor lookups recorded so far, in the order they happened.
+     * 
+     * @return The (read-only) lookups, never {@code null}.
+     */
+    public synchronized List<Entry> getEntries()
+    {
+        return Collections.unmodifiableList( new ArrayList<Entry>( entries ) );
+    }
+
+    /**
+     * Gets the descriptor lookup of the specified node.
+     * 
+     * @param node The dependency node, must not be {@code null}.
+     * @return The lookup or {@code null} if unknown.
+     */
+    public synchronized Entry getEntry( DependencyNode node )
+    {
+        return nodes.get( node );
+    }
+
+    /**
+     * Gets the lookups along the critical path, starting with the direct dependency of the root.
+     * 
+     * @return The (read-only) lookups along the critical path, never {@code null}.
+     */
+    public synchronized List<Entry> getCriticalPath()
+    {
+        return criticalPath;
+    }
+
+    /**
+     * Gets the sum of the lookup times along the critical path.
+     * 
+     * @return The time of the critical path in nanoseconds.
+     */
+    public synchronized long getCriticalPathTime()
+    {
+        return criticalPathTime;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        int cached = 0;
+        int remote = 0;
+        for ( Entry entry : entries )
+        {
+            if ( entry.isCached() )
+            {
+                cached++;
+            }
+            else if ( entry.isRemote() )
+            {
+                remote++;
+            }
+        }
+        StringBuilder buffer = new StringBuilder( 256 );
+        buffer.append( entries.size() ).append( " descriptor lookups (" ).append( cached ).append( " cached, " );
+        buffer.append( remote ).append( " remote), critical path " ).append( criticalPathTime / 1000000L );
+        buffer.append( " ms:" );
+        for ( Entry entry : criticalPath )
+        {
+            buffer.append( "\n  " ).append( entry );
+        }
+        return buffer.toString();
+    }
+
+    static final class Path
+    {
+
+        final Entry entry;
+
+        final Path next;
+
+        final long time;
+
+        Path( Entry entry, Path next )
+        {
+            this.entry = entry;
+            this.next = next;
+            this.time = ( ( entry != null ) ? entry.time : 0L ) + ( ( next != null ) ? next.time : 0L );
+        }
+
+    }
+
+    /**
+     * The lookup of an artifact descriptor.
+     */
+    public static final class Entry
+    {
+
+        private final Artifact artifact;
+
+        private final ArtifactRepository repository;
+
+        private final long time;
+
+        private final boolean cached;
+
+        volatile ArtifactRepository remote;
+
+        Entry( Artifact artifact, ArtifactRepository repository, long time, boolean cached )
+        {
+            this.artifact = artifact;
+            this.repository = repository;
+            this.time = time;
+            this.cached = cached;
+        }
+
+        /**
+         * Gets the artifact whose descriptor was looked up.
+         * 
+         * @return The artifact, never {@code null}.
+         */
+        public Artifact getArtifact()
+        {
+            return artifact;
+        }
+
+        /**
+         * Gets the repository that served the descriptor.
+         * 
+         * @return The repository or {@code null} if unknown.
+         */
+        public ArtifactRepository getRepository()
+        {
+            return ( remote != null ) ? remote : repository;
+        }
+
+        /**
+         * Gets the duration of the lookup.
+         * 
+         * @return The duration in nanoseconds.
+         */
+        public long getTime()
+        {
+            return time;
+        }
+
+        /**
+         * Indicates whether the descriptor was taken from the cache of the dependency collector.
+         * 
+         * @return {@code true} if the descriptor was cached, {@code false} if it was read.
+         */
+        public boolean isCached()
+        {
+            return cached;
+        }
+
+        /**
+         * Indicates whether the lookup downloaded anything from a remote repository, e.g. the POM or its parents.
+         * 
+         * @return {@code true} if the lookup caused a download, {@code false} otherwise.
+         */
+        public boolean isRemote()
+        {
+            return remote != null;
+        }
+
+        @Override
+        public String toString()
+        {
+            ArtifactRepository repository = getRepository();
+            return artifact + " " + ( time / 1000000L ) + " ms"
+                + ( cached ? " (cached)" : isRemote() ? " (remote)" : "" )
+                + ( ( repository != null ) ? " from " + repository.getId() : "" );
+        }
+
+    }
+
+    class DownloadListener
+        extends AbstractRepositoryListener
+    {
+
+        @Override
+        public void artifactDownloaded( RepositoryEvent event )
+        {
+            downloaded( event );
+        }
+
+        @Override
+        public void metadataDownloaded( RepositoryEvent event )
+        {
+            downloaded( event );
+        }
+
+        private void downloaded( RepositoryEvent event )
+        {
+            if ( event.getException() != null || event.getRepository() == null )
+            {
+                return;
+            }
+            for ( RequestTrace trace = event.getTrace(); trace != null; trace = trace.getParent() )
+            {
+                if ( trace.getData() instanceof ArtifactDescriptorRequest )
+                {
+                    ArtifactDescriptorRequest request = (ArtifactDescriptorRequest) trace.getData();
+                    synchronized ( ResolutionReport.this )
+                    {
+                        Entry entry = requests.get( request );
+                        if ( entry != null )
+                        {
+                            if ( entry.remote == null )
+                            {
+                                entry.remote = event.getRepository();
+                            }
+                        }
+                        else if ( !downloads.containsKey( request ) )
+                        {
+                            downloads.put( request, event.getRepository() );
+                        }
+                    }
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
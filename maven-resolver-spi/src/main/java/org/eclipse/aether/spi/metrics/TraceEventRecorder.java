@@ -0,0 +1,329 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * A request tracer that records all operations in memory and exports them in the Trace Event Format understood by
+ * trace viewers like {@code chrome://tracing} or Perfetto. Besides the operations reported directly to
+ * the tracer (e.g. dependency collection and artifact descriptor reads), the recorder derives the resolution of
+ * artifacts and metadata from the repository events and the transfers from the transfer events, provided the
+ * listeners obtained from {@link #getRepositoryListener()} and {@link #getTransferListener()} are registered with the
+ * session. Each operation becomes a complete event ({@code "ph":"X"}) on the thread that started it, operations of the
+ * same thread thus nest like the frames of a flame graph.
+ */
+public final class TraceEventRecorder
+    implements RequestTracer
+{
+
+    private final long originNanos = System.nanoTime();
+
+    private final long originMillis = System.currentTimeMillis();
+
+    private final Queue<Event> events = new ConcurrentLinkedQueue<Event>();
+
+    private final ConcurrentMap<Object, Start> pending = new ConcurrentHashMap<Object, Start>();
+
+    private final RepositoryListener repositoryListener = new TraceRepositoryListener();
+
+    private final TransferListener transferListener = new TraceTransferListener();
+
+    public void record( String category, String name, RequestTrace trace, long startNanos, long endNanos )
+    {
+        events.add( new Event( category, name, toMicros( startNanos ), Math.max( 0L, endNanos - startNanos ) / 1000L,
+                               Thread.currentThread().getId(), describe( trace ) ) );
+    }
+
+    /**
+     * Gets the repository listener that records the resolution of artifacts and metadata.
+     * 
+     * @return The repository listener, never {@code null}.
+     */
+    public RepositoryListener getRepositoryListener()
+    {
+        return repositoryListener;
+    }
+
+    /**
+     * Gets the transfer listener that records the transfers of resources.
+     * 
+     * @return The transfer listener, never {@code null}.
+     */
+    public TransferListener getTransferListener()
+    {
+        return transferListener;
+    }
+
+    /**
+     * Gets the number of events recorded so far.
+     * 
+     * @return The number of recorded events.
+     */
+    public int getEventCount()
+    {
+        return events.size();
+    }
+
+    /**
+     * Formats the recorded events as a JSON object in the Trace Event Format.
+     * 
+     * @return The JSON representation of the events, never {@code null}.
+     */
+    public String toJson()
+    {
+        StringBuilder buffer = new StringBuilder( 256 + events.size() * 128 );
+        buffer.append( "{\"traceEvents\":[" );
+        boolean first = true;
+        for ( Event event : events )
+        {
+            if ( !first )
+            {
+                buffer.append( ',' );
+            }
+            first = false;
+            event.appendTo( buffer );
+        }
+        buffer.append( "],\"displayTimeUnit\":\"ms\"}" );
+        return buffer.toString();
+    }
+
+    /**
+     * Writes the recorded events as a JSON object in the Trace Event Format to the specified writer.
+     * 
+     * @param writer The writer to write to, must not be {@code null}. The writer is not closed.
+     * @throws IOException If the events could not be written.
+     */
+    public void writeJson( Writer writer )
+        throws IOException
+    {
+        writer.write( toJson() );
+        writer.flush();
+    }
+
+    private long toMicros( long nanos )
+    {
+        return ( nanos - originNanos ) / 1000L;
+    }
+
+    private long toMicrosFromMillis( long millis )
+    {
+        return ( millis - originMillis ) * 1000L;
+    }
+
+    private static String describe( RequestTrace trace )
+    {
+        if ( trace == null )
+        {
+            return null;
+        }
+        StringBuilder buffer = new StringBuilder( 128 );
+        for ( RequestTrace t = trace; t != null; t = t.getParent() )
+        {
+            Object data = t.getData();
+            if ( data == null )
+            {
+                continue;
+            }
+            if ( buffer.length() > 0 )
+            {
+                buffer.insert( 0, " > " );
+            }
+            buffer.insert( 0, data.getClass().getSimpleName() );
+        }
+        return buffer.toString();
+    }
+
+    private void begin( Object key, RequestTrace trace )
+    {
+        pending.put( key, new Start( System.nanoTime(), Thread.currentThread().getId(), describe( trace ) ) );
+    }
+
+    private void end( Object key, String category, String name )
+    {
+        Start start = pending.remove( key );
+        if ( start != null )
+        {
+            long end = System.nanoTime();
+            events.add( new Event( category, name, toMicros( start.nanos ), ( end - start.nanos ) / 1000L,
+                                   start.threadId, start.trace ) );
+        }
+    }
+
+    private static List<Object> toKey( String kind, String id, ArtifactRepository repository, RequestTrace trace )
+    {
+        return Arrays.<Object>asList( kind, id, ( repository != null ) ? repository.getId() : null, trace );
+    }
+
+    private static String getId( Artifact artifact )
+    {
+        return artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getExtension() + ':'
+            + artifact.getClassifier();
+    }
+
+    private static String getId( Metadata metadata )
+    {
+        return metadata.getGroupId() + ':' + metadata.getArtifactId() + ':' + metadata.getVersion() + ':'
+            + metadata.getType();
+    }
+
+    static final class Start
+    {
+
+        final long nanos;
+
+        final long threadId;
+
+        final String trace;
+
+        Start( long nanos, long threadId, String trace )
+        {
+            this.nanos = nanos;
+            this.threadId = threadId;
+            this.trace = trace;
+        }
+
+    }
+
+    static final class Event
+    {
+
+        private final String category;
+
+        private final String name;
+
+        private final long timestamp;
+
+        private final long duration;
+
+        private final long threadId;
+
+        private final String trace;
+
+        Event( String category, String name, long timestamp, long duration, long threadId, String trace )
+        {
+            this.category = category;
+            this.name = name;
+            this.timestamp = timestamp;
+            this.duration = duration;
+            this.threadId = threadId;
+            this.trace = trace;
+        }
+
+        void appendTo( StringBuilder buffer )
+        {
+            buffer.append( "{\"name\":" );
+            InMemoryMetricsRegistry.appendString( buffer, name );
+            buffer.append( ",\"cat\":" );
+            InMemoryMetricsRegistry.appendString( buffer, category );
+            buffer.append( ",\"ph\":\"X\",\"ts\":" ).append( timestamp ).append( ",\"dur\":" ).append( duration );
+            buffer.append( ",\"pid\":1,\"tid\":" ).append( threadId );
+            if ( trace != null )
+            {
+                buffer.append( ",\"args\":{\"trace\":" );
+                InMemoryMetricsRegistry.appendString( buffer, trace ).append( '}' );
+            }
+            buffer.append( '}' );
+        }
+
+    }
+
+    class TraceRepositoryListener
+        extends AbstractRepositoryListener
+    {
+
+        @Override
+        public void artifactResolving( RepositoryEvent event )
+        {
+            begin( toKey( "artifact", getId( event.getArtifact() ), null, event.getTrace() ), event.getTrace() );
+        }
+
+        @Override
+        public void artifactResolved( RepositoryEvent event )
+        {
+            end( toKey( "artifact", getId( event.getArtifact() ), null, event.getTrace() ), "artifact",
+                 event.getArtifact().toString() );
+        }
+
+        @Override
+        public void metadataResolving( RepositoryEvent event )
+        {
+            begin( toKey( "metadata", getId( event.getMetadata() ), event.getRepository(), event.getTrace() ),
+                   event.getTrace() );
+        }
+
+        @Override
+        public void metadataResolved( RepositoryEvent event )
+        {
+            ArtifactRepository repository = event.getRepository();
+            end( toKey( "metadata", getId( event.getMetadata() ), repository, event.getTrace() ), "metadata",
+                 event.getMetadata() + ( ( repository != null ) ? " @ " + repository.getId() : "" ) );
+        }
+
+    }
+
+    class TraceTransferListener
+        extends AbstractTransferListener
+    {
+
+        @Override
+        public void transferSucceeded( TransferEvent event )
+        {
+            record( event );
+        }
+
+        @Override
+        public void transferFailed( TransferEvent event )
+        {
+            record( event );
+        }
+
+        private void record( TransferEvent event )
+        {
+            TransferResource resource = event.getResource();
+            long start = resource.getTransferStartTime();
+            long end = System.currentTimeMillis();
+            events.add( new Event( "transfer", resource.getRepositoryUrl() + resource.getResourceName(),
+                                   toMicrosFromMillis( start ), Math.max( 0L, end - start ) * 1000L,
+                                   Thread.currentThread().getId(), describe( resource.getTrace() ) ) );
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+public class InMemoryMetricsRegistryTest
+{
+
+    @Test
+    public void testCounters()
+    {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        registry.increment( "a", 2L );
+        registry.increment( "a", 3L );
+        assertEquals( 5L, registry.getCount( "a" ) );
+        assertEquals( 0L, registry.getCount( "b" ) );
+    }
+
+    @Test
+    public void testTimers()
+    {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        registry.recordTime( "t", 10L );
+        registry.recordTime( "t", 30L );
+        assertEquals( 2L, registry.getTimerCount( "t" ) );
+        assertEquals( 40L, registry.getTotalTime( "t" ) );
+        assertEquals( 0L, registry.getTimerCount( "u" ) );
+    }
+
+    @Test
+    public void testToJson()
+    {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        registry.increment( "b", 1L );
+        registry.increment( "a\"x", 2L );
+        registry.recordTime( "t", 10L );
+        registry.recordTime( "t", 30L );
+        assertEquals( "{\"counters\":{\"a\\\"x\":2,\"b\":1},"
+            + "\"timers\":{\"t\":{\"count\":2,\"total\":40,\"min\":10,\"max\":30}}}", registry.toJson() );
+
+        registry.reset();
+        assertEquals( "{\"counters\":{},\"timers\":{}}", registry.toJson() );
+    }
+
+    @Test
+    public void testGetSafeRegistry()
+    {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        assertSame( NullMetricsRegistry.INSTANCE, NullMetricsRegistry.getSafeRegistry( session ) );
+        assertSame( NullMetricsRegistry.INSTANCE, NullMetricsRegistry.getSafeRegistry( null ) );
+
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        session.getData().set( MetricsRegistry.class, registry );
+        assertSame( registry, NullMetricsRegistry.getSafeRegistry( session ) );
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.eclipse.aether.spi.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.StringWriter;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryEvent.EventType;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+
+public class TraceEventRecorderTest
+{
+
+    private final DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    @Test
+    public void testRecord()
+        throws Exception
+    {
+        TraceEventRecorder recorder = new TraceEventRecorder();
+        RequestTrace trace = RequestTrace.newChild( null, "request" ).newChild( 17 );
+        long start = System.nanoTime();
+        recorder.record( "collect", "gid:aid:1", trace, start, start + 2000000L );
+
+        assertEquals( 1, recorder.getEventCount() );
+        String json = recorder.toJson();
+        assertTrue( json, json.startsWith( "{\"traceEvents\":[{\"name\":\"gid:aid:1\",\"cat\":\"collect\"," ) );
+        assertTrue( json, json.contains( ",\"ph\":\"X\"," ) );
+        assertTrue( json, json.contains( ",\"dur\":2000," ) );
+        assertTrue( json, json.contains( ",\"tid\":" + Thread.currentThread().getId() + "," ) );
+        assertTrue( json, json.contains( "\"args\":{\"trace\":\"String > Integer\"}" ) );
+
+        StringWriter writer = new StringWriter();
+        recorder.writeJson( writer );
+        assertEquals( json, writer.toString() );
+    }
+
+    @Test
+    public void testArtifactEvents()
+    {
+        TraceEventRecorder recorder = new TraceEventRecorder();
+        RequestTrace trace = RequestTrace.newChild( null, "request" );
+        Artifact artifact = new DefaultArtifact( "gid:aid:LATEST" );
+
+        recorder.getRepositoryListener().artifactResolving( newEvent( EventType.ARTIFACT_RESOLVING, artifact, trace ) );
+        assertEquals( 0, recorder.getEventCount() );
+
+        artifact = artifact.setVersion( "1.0" );
+        recorder.getRepositoryListener().artifactResolved( newEvent( EventType.ARTIFACT_RESOLVED, artifact, null ) );
+        assertEquals( 0, recorder.getEventCount() );
+        recorder.getRepositoryListener().artifactResolved( newEvent( EventType.ARTIFACT_RESOLVED, artifact, trace ) );
+        assertEquals( 1, recorder.getEventCount() );
+        String json = recorder.toJson();
+        assertTrue( json, json.contains( "\"name\":\"gid:aid:jar:1.0\",\"cat\":\"artifact\"" ) );
+    }
+
+    @Test
+    public void testTransferEvents()
+    {
+        TraceEventRecorder recorder = new TraceEventRecorder();
+        TransferResource resource = new TransferResource( "central", "http://localhost/", "file.txt", null, null );
+        recorder.getTransferListener().transferSucceeded( new TransferEvent.Builder( session, resource ).build() );
+        assertEquals( 1, recorder.getEventCount() );
+        assertTrue( recorder.toJson(), recorder.toJson().contains( "\"name\":\"http://localhost/file.txt\"" ) );
+        assertFalse( recorder.toJson(), recorder.toJson().contains( "\"args\"" ) );
+    }
+
+    private RepositoryEvent newEvent( EventType type, Artifact artifact, RequestTrace trace )
+    {
+        return new RepositoryEvent.Builder( session, type ).setArtifact( artifact ).setTrace( trace ).build();
+    }
+
+}
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
@@ -32,6 +34,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.http.ConnectionClosedException;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
@@ -39,6 +42,8 @@ import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.MalformedChunkCodingException;
+import org.apache.http.NoHttpResponseException;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.params.AuthParams;
 import org.apache.http.client.CredentialsProvider;
@@ -51,6 +56,7 @@ import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.DateUtils;
 import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.params.ConnRouteParams;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
@@ -70,9 +76,10 @@ import org.eclipse.aether.spi.connector.transport.GetTask;
 import org.eclipse.aether.spi.connector.transport.PeekTask;
 import org.eclipse.aether.spi.connector.transport.PutTask;
 import org.eclipse.aether.spi.connector.transport.TransportTask;
+import org.eclipse.aether.spi.connector.transport.TransportThrottledException;
 import org.eclipse.aether.transfer.NoTransporterException;
 import org.eclipse.aether.transfer.TransferCancelledException;
-import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.ConfigView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,6 +93,8 @@ final class HttpTransporter
     private static final Pattern CONTENT_RANGE_PATTERN =
         Pattern.compile( "\\s*bytes\\s+([0-9]+)\\s*-\\s*([0-9]+)\\s*/.*" );
 
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
     private static final Logger LOGGER = LoggerFactory.getLogger( HttpTransporter.class );
 
     private final AuthenticationContext repoAuthContext;
@@ -136,13 +145,12 @@ final class HttpTransporter
 
         state = new LocalState( session, repository, new SslConfig( session, repoAuthContext ) );
 
-        headers =
-            ConfigUtils.getMap( session, Collections.emptyMap(), ConfigurationProperties.HTTP_HEADERS + "."
-                + repository.getId(), ConfigurationProperties.HTTP_HEADERS );
+        ConfigView config = ConfigView.getView( session );
+        headers = config.getMap( Collections.emptyMap(), ConfigurationProperties.HTTP_HEADERS, repository.getId() );
 
         DefaultHttpClient client = new DefaultHttpClient( state.getConnectionManager() );
 
-        configureClient( client.getParams(), session, repository, proxy );
+        configureClient( client.getParams(), config, repository, proxy );
 
         client.setCredentialsProvider( toCredentialsProvider( server, repoAuthContext, proxy, proxyAuthContext ) );
 
@@ -159,31 +167,23 @@ final class HttpTransporter
         return host;
     }
 
-    private static void configureClient( HttpParams params, RepositorySystemSession session,
-                                         RemoteRepository repository, HttpHost proxy )
+    private static void configureClient( HttpParams params, ConfigView config, RemoteRepository repository,
+                                         HttpHost proxy )
     {
+        String repoId = repository.getId();
         AuthParams.setCredentialCharset( params,
-                                         ConfigUtils.getString( session,
-                                                                ConfigurationProperties.DEFAULT_HTTP_CREDENTIAL_ENCODING,
-                                                                ConfigurationProperties.HTTP_CREDENTIAL_ENCODING + "."
-                                                                    + repository.getId(),
-                                                                ConfigurationProperties.HTTP_CREDENTIAL_ENCODING ) );
+                                         config.getString( ConfigurationProperties.DEFAULT_HTTP_CREDENTIAL_ENCODING,
+                                                           ConfigurationProperties.HTTP_CREDENTIAL_ENCODING, repoId ) );
         ConnRouteParams.setDefaultProxy( params, proxy );
         HttpConnectionParams.setConnectionTimeout( params,
-                                                   ConfigUtils.getInteger( session,
-                                                                           ConfigurationProperties.DEFAULT_CONNECT_TIMEOUT,
-                                                                           ConfigurationProperties.CONNECT_TIMEOUT
-                                                                               + "." + repository.getId(),
-                                                                           ConfigurationProperties.CONNECT_TIMEOUT ) );
+                                                   config.getInteger( ConfigurationProperties.DEFAULT_CONNECT_TIMEOUT,
+                                                                      ConfigurationProperties.CONNECT_TIMEOUT,
+                                                                      repoId ) );
         HttpConnectionParams.setSoTimeout( params,
-                                           ConfigUtils.getInteger( session,
-                                                                   ConfigurationProperties.DEFAULT_REQUEST_TIMEOUT,
-                                                                   ConfigurationProperties.REQUEST_TIMEOUT + "."
-                                                                       + repository.getId(),
-                                                                   ConfigurationProperties.REQUEST_TIMEOUT ) );
-        HttpProtocolParams.setUserAgent( params, ConfigUtils.getString( session,
-                                                                        ConfigurationProperties.DEFAULT_USER_AGENT,
-                                                                        ConfigurationProperties.USER_AGENT ) );
+                                           config.getInteger( ConfigurationProperties.DEFAULT_REQUEST_TIMEOUT,
+                                                              ConfigurationProperties.REQUEST_TIMEOUT, repoId ) );
+        HttpProtocolParams.setUserAgent( params, config.getString( ConfigurationProperties.DEFAULT_USER_AGENT,
+                                                                   ConfigurationProperties.USER_AGENT, null ) );
     }
 
     private static CredentialsProvider toCredentialsProvider( HttpHost server, AuthenticationContext serverAuthCtx,
@@ -229,9 +229,30 @@ final class HttpTransporter
         {
             return ERROR_NOT_FOUND;
         }
+        if ( error instanceof TransportThrottledException || error.getCause() instanceof TransportThrottledException )
+        {
+            return ERROR_THROTTLED;
+        }
+        if ( isTransient( error ) )
+        {
+            return ERROR_TRANSIENT;
+        }
         return ERROR_OTHER;
     }
 
+    private static boolean isTransient( Throwable error )
+    {
+        if ( error instanceof HttpResponseException )
+        {
+            int status = ( (HttpResponseException) error ).getStatusCode();
+            return status == HttpStatus.SC_INTERNAL_SERVER_ERROR || status == HttpStatus.SC_BAD_GATEWAY
+                || status == HttpStatus.SC_GATEWAY_TIMEOUT;
+        }
+        return error instanceof SocketException || error instanceof SocketTimeoutException
+            || error instanceof ConnectTimeoutException || error instanceof NoHttpResponseException
+            || error instanceof ConnectionClosedException || error instanceof MalformedChunkCodingException;
+    }
+
     @Override
     protected void implPeek( PeekTask task )
         throws Exception
@@ -247,6 +268,7 @@ final class HttpTransporter
         EntityGetter getter = new EntityGetter( task );
         HttpGet request = commonHeaders( new HttpGet( resolve( task ) ) );
         resume( request, task );
+        conditional( request, task );
         try
         {
             execute( request, getter );
@@ -297,6 +319,11 @@ final class HttpTransporter
             try
             {
                 context.close();
+                if ( getter != null && getter.isNotModified( response ) )
+                {
+                    return;
+                }
+                handleThrottling( response );
                 handleStatus( response );
                 if ( getter != null )
                 {
@@ -466,6 +493,62 @@ final class HttpTransporter
         return request;
     }
 
+    private <T extends HttpUriRequest> T conditional( T request, GetTask task )
+    {
+        if ( request.containsHeader( HttpHeaders.RANGE ) )
+        {
+            return request;
+        }
+        if ( task.getIfNoneMatch() != null )
+        {
+            request.setHeader( HttpHeaders.IF_NONE_MATCH, task.getIfNoneMatch() );
+        }
+        if ( task.getIfModifiedSince() > 0L )
+        {
+            request.setHeader( HttpHeaders.IF_MODIFIED_SINCE,
+                               DateUtils.formatDate( new Date( task.getIfModifiedSince() ) ) );
+        }
+        return request;
+    }
+
+    private void handleThrottling( HttpResponse response )
+        throws HttpResponseException
+    {
+        int status = response.getStatusLine().getStatusCode();
+        if ( status == SC_TOO_MANY_REQUESTS || status == HttpStatus.SC_SERVICE_UNAVAILABLE )
+        {
+            // keep the usual exception visible to callers, the cause merely conveys the requested retry delay
+            String message = response.getStatusLine().getReasonPhrase() + " (" + status + ")";
+            HttpResponseException e = new HttpResponseException( status, message );
+            e.initCause( new TransportThrottledException( message, getRetryAfter( response ), null ) );
+            throw e;
+        }
+    }
+
+    private static long getRetryAfter( HttpResponse response )
+    {
+        Header header = response.getFirstHeader( HttpHeaders.RETRY_AFTER );
+        if ( header == null || header.getValue() == null )
+        {
+            return 0L;
+        }
+        String value = header.getValue().trim();
+        try
+        {
+            return Math.max( 0L, Long.parseLong( value ) ) * 1000L;
+        }
+        catch ( NumberFormatException e )
+        {
+            Date date = DateUtils.parseDate( value );
+            if ( date != null )
+            {
+                return Math.max( 0L, date.getTime() - System.currentTimeMillis() );
+            }
+            LOGGER.debug( "Failed to parse Retry-After header: {}", value );
+            return 0L;
+        }
+    }
+
     private void handleStatus( HttpResponse response )
         throws HttpResponseException
     {
@@ -494,6 +577,21 @@ final class HttpTransporter
             this.task = task;
         }
 
+        public boolean isNotModified( HttpResponse response )
+        {
+            if ( response.getStatusLine().getStatusCode() != HttpStatus.SC_NOT_MODIFIED )
+            {
+                return false;
+            }
+            if ( task.getIfNoneMatch() == null && task.getIfModifiedSince() <= 0L )
+            {
+                return false;
+            }
+            task.setNotModified( true );
+            extractValidators( response );
+            return true;
+        }
+
         public void handle( HttpResponse response )
             throws IOException, TransferCancelledException
         {
@@ -524,6 +622,25 @@ final class HttpTransporter
             InputStream is = entity.getContent();
             utilGet( task, is, true, length, offset > 0L );
             extractChecksums( response );
+            extractValidators( response );
+        }
+
+        private void extractValidators( HttpResponse response )
+        {
+            String etag = getHeader( response, HttpHeaders.ETAG );
+            if ( etag != null )
+            {
+                task.setEntityTag( etag );
+            }
+            String lastModified = getHeader( response, HttpHeaders.LAST_MODIFIED );
+            if ( lastModified != null )
+            {
+                Date date = DateUtils.parseDate( lastModified );
+                if ( date != null )
+                {
+                    task.setLastModified( date.getTime() );
+                }
+            }
         }
 
         private void extractChecksums( HttpResponse response )
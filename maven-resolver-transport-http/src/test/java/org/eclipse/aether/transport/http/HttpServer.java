@@ -227,6 +227,7 @@ public class HttpServer
         handlers.addHandler( new ProxyAuthHandler() );
         handlers.addHandler( new AuthHandler() );
         handlers.addHandler( new RedirectHandler() );
+        handlers.addHandler( new ThrottleHandler() );
         handlers.addHandler( new RepoHandler() );
 
         server = new Server();
@@ -318,6 +319,12 @@ public class HttpServer
                     response.setStatus( HttpServletResponse.SC_PRECONDITION_FAILED );
                     return;
                 }
+                long ifModifiedSince = request.getDateHeader( HttpHeader.IF_MODIFIED_SINCE.asString() );
+                if ( ifModifiedSince != -1L && file.lastModified() / 1000L <= ifModifiedSince / 1000L )
+                {
+                    response.setStatus( HttpServletResponse.SC_NOT_MODIFIED );
+                    return;
+                }
                 long offset = 0L;
                 String range = request.getHeader( HttpHeader.RANGE.asString() );
                 if ( range != null && rangeSupport )
@@ -507,6 +514,25 @@ public class HttpServer
 
     }
 
+    private class ThrottleHandler
+        extends AbstractHandler
+    {
+
+        public void handle( String target, Request req, HttpServletRequest request, HttpServletResponse response )
+            throws IOException
+        {
+            String path = req.getPathInfo();
+            if ( !path.startsWith( "/throttle/" ) )
+            {
+                return;
+            }
+            req.setHandled( true );
+            response.setStatus( 429 );
+            response.setHeader( HttpHeader.RETRY_AFTER.asString(), "7" );
+        }
+
+    }
+
     private class AuthHandler
         extends AbstractHandler
     {
@@ -47,6 +47,7 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.spi.connector.transport.GetTask;
 import org.eclipse.aether.spi.connector.transport.PeekTask;
 import org.eclipse.aether.spi.connector.transport.PutTask;
+import org.eclipse.aether.spi.connector.transport.TransportThrottledException;
 import org.eclipse.aether.spi.connector.transport.Transporter;
 import org.eclipse.aether.spi.connector.transport.TransporterFactory;
 import org.eclipse.aether.transfer.NoTransporterException;
@@ -149,6 +150,9 @@ public class HttpTransporterTest
         assertEquals( Transporter.ERROR_OTHER, transporter.classify( new FileNotFoundException() ) );
         assertEquals( Transporter.ERROR_OTHER, transporter.classify( new HttpResponseException( 403, "Forbidden" ) ) );
         assertEquals( Transporter.ERROR_NOT_FOUND, transporter.classify( new HttpResponseException( 404, "Not Found" ) ) );
+        assertEquals( Transporter.ERROR_TRANSIENT, transporter.classify( new HttpResponseException( 502, "Bad Gateway" ) ) );
+        assertEquals( Transporter.ERROR_TRANSIENT, transporter.classify( new ConnectException( "Connection refused" ) ) );
+        assertEquals( Transporter.ERROR_TRANSIENT, transporter.classify( new SocketTimeoutException( "Read timed out" ) ) );
     }
 
     @Test
@@ -506,6 +510,48 @@ public class HttpTransporterTest
         assertEquals( "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3", task.getChecksums().get( "SHA-1" ) );
     }
 
+    @Test
+    public void testGet_Validators()
+        throws Exception
+    {
+        httpServer.setChecksumHeader( HttpServer.ChecksumHeader.NEXUS );
+        GetTask task = new GetTask( URI.create( "repo/file.txt" ) );
+        transporter.get( task );
+        assertEquals( "test", task.getDataString() );
+        assertFalse( task.isNotModified() );
+        assertEquals( "{SHA1{a94a8fe5ccb19ba61c4c0873d391e987982fbbd3}}", task.getEntityTag() );
+        assertTrue( task.getLastModified() > 0L );
+    }
+
+    @Test
+    public void testGet_NotModified()
+        throws Exception
+    {
+        File file = TestFileUtils.createTempFile( "local" );
+        long lastModified = new File( repoDir, "file.txt" ).lastModified();
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "repo/file.txt" ) ).setDataFile( file ).setListener( listener );
+        task.setIfModifiedSince( lastModified );
+        transporter.get( task );
+        assertTrue( task.isNotModified() );
+        assertEquals( "local", TestFileUtils.readString( file ) );
+        assertEquals( 0, listener.startedCount );
+        assertEquals( 0, listener.progressedCount );
+    }
+
+    @Test
+    public void testGet_Modified()
+        throws Exception
+    {
+        File file = TestFileUtils.createTempFile( "local" );
+        long lastModified = new File( repoDir, "file.txt" ).lastModified();
+        GetTask task = new GetTask( URI.create( "repo/file.txt" ) ).setDataFile( file );
+        task.setIfModifiedSince( lastModified - 60L * 1000L );
+        transporter.get( task );
+        assertFalse( task.isNotModified() );
+        assertEquals( "test", TestFileUtils.readString( file ) );
+    }
+
     @Test
     public void testGet_FileHandleLeak()
         throws Exception
@@ -518,6 +564,23 @@ public class HttpTransporterTest
         }
     }
 
+    @Test
+    public void testGet_Throttled()
+        throws Exception
+    {
+        try
+        {
+            transporter.get( new GetTask( URI.create( "throttle/file.txt" ) ) );
+            fail( "Expected error" );
+        }
+        catch ( HttpResponseException e )
+        {
+            assertEquals( 503, e.getStatusCode() );
+            assertEquals( 7000L, ( (TransportThrottledException) e.getCause() ).getRetryAfter() );
+            assertEquals( Transporter.ERROR_THROTTLED, transporter.classify( e ) );
+        }
+    }
+
     @Test
     public void testGet_NotFound()
         throws Exception
@@ -982,11 +1045,11 @@ public class HttpTransporterTest
         }
         catch ( ConnectTimeoutException e )
         {
-            assertEquals( Transporter.ERROR_OTHER, transporter.classify( e ) );
+            assertEquals( Transporter.ERROR_TRANSIENT, transporter.classify( e ) );
         }
         catch ( ConnectException e )
         {
-            assertEquals( Transporter.ERROR_OTHER, transporter.classify( e ) );
+            assertEquals( Transporter.ERROR_TRANSIENT, transporter.classify( e ) );
         }
     }
 
@@ -1006,7 +1069,7 @@ public class HttpTransporterTest
             }
             catch ( SocketTimeoutException e )
             {
-                assertEquals( Transporter.ERROR_OTHER, transporter.classify( e ) );
+                assertEquals( Transporter.ERROR_TRANSIENT, transporter.classify( e ) );
             }
         }
         finally
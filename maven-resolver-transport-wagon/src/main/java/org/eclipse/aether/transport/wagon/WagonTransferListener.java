@@ -35,6 +35,8 @@ final class WagonTransferListener
 
     private final TransportListener listener;
 
+    private ByteBuffer wrapper;
+
     WagonTransferListener( TransportListener listener )
     {
         this.listener = listener;
@@ -61,7 +63,7 @@ final class WagonTransferListener
     {
         try
         {
-            listener.transportProgressed( ByteBuffer.wrap( buffer, 0, length ) );
+            listener.transportProgressed( wrap( buffer, length ) );
         }
         catch ( TransferCancelledException e )
         {
@@ -69,4 +71,19 @@ final class WagonTransferListener
         }
     }
 
+    /**
+     * Wraps the specified buffer, reusing the previous wrapper if wagon passes the same buffer again (which it usually
+     * does for the entire transfer).
+     */
+    private ByteBuffer wrap( byte[] buffer, int length )
+    {
+        if ( wrapper == null || wrapper.array() != buffer )
+        {
+            wrapper = ByteBuffer.wrap( buffer );
+        }
+        wrapper.clear();
+        wrapper.limit( length );
+        return wrapper;
+    }
+
 }
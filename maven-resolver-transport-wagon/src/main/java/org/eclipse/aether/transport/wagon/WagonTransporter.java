@@ -26,6 +26,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
@@ -33,9 +35,11 @@ import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 import org.apache.maven.wagon.ResourceDoesNotExistException;
 import org.apache.maven.wagon.StreamingWagon;
+import org.apache.maven.wagon.TransferFailedException;
 import org.apache.maven.wagon.Wagon;
 import org.apache.maven.wagon.authentication.AuthenticationInfo;
 import org.apache.maven.wagon.proxy.ProxyInfo;
@@ -74,6 +78,13 @@ final class WagonTransporter
 
     private static final Logger LOGGER = LoggerFactory.getLogger( WagonTransporter.class );
 
+    /**
+     * Matches the messages of the HTTP wagons that report a temporary server-side failure, e.g. "Return code is: 502"
+     * or "Transfer failed for http://... 503 Service Unavailable".
+     */
+    private static final Pattern SERVER_ERROR =
+        Pattern.compile( "(?:Return code is: |Transfer failed for \\S+ )50[0234]\\b" );
+
     private final RemoteRepository repository;
 
     private final RepositorySystemSession session;
@@ -397,9 +408,30 @@ final class WagonTransporter
         {
             return ERROR_NOT_FOUND;
         }
+        if ( error instanceof TransferFailedException && isTransient( error ) )
+        {
+            return ERROR_TRANSIENT;
+        }
         return ERROR_OTHER;
     }
 
+    private static boolean isTransient( Throwable error )
+    {
+        String message = error.getMessage();
+        if ( message != null && SERVER_ERROR.matcher( message ).find() )
+        {
+            return true;
+        }
+        for ( Throwable t = error.getCause(); t != null; t = t.getCause() )
+        {
+            if ( t instanceof SocketException || t instanceof SocketTimeoutException )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void peek( PeekTask task )
         throws Exception
     {
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -143,6 +144,19 @@ public abstract class AbstractWagonTransporterTest
         assertEquals( Transporter.ERROR_NOT_FOUND, transporter.classify( new ResourceDoesNotExistException( "test" ) ) );
     }
 
+    @Test
+    public void testClassify_Transient()
+    {
+        assertEquals( Transporter.ERROR_TRANSIENT,
+                      transporter.classify( new TransferFailedException( "test", new SocketTimeoutException() ) ) );
+        assertEquals( Transporter.ERROR_TRANSIENT,
+                      transporter.classify( new TransferFailedException( "Return code is: 502, ReasonPhrase: Bad" ) ) );
+        assertEquals( Transporter.ERROR_OTHER,
+                      transporter.classify( new TransferFailedException( "Return code is: 403, ReasonPhrase: No" ) ) );
+        assertEquals( Transporter.ERROR_OTHER,
+                      transporter.classify( new TransferFailedException( "Transfer failed for x 401 Unauthorized" ) ) );
+    }
+
     @Test
     public void testPeek()
         throws Exception
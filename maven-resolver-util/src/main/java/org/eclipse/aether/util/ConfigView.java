@@ -0,0 +1,305 @@
+package org.eclipse.aether.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * A typed view of the configuration properties of a repository system session that parses each property only once.
+ * Lookups that are qualified by a repository id first read the key suffixed with {@code "." + repositoryId} and fall
+ * back to the plain key, just like the corresponding calls to {@link ConfigUtils} would do, but without concatenating
+ * the keys on every call. Views are kept in the session data per identity of the map returned by
+ * {@link RepositorySystemSession#getConfigProperties()}, so copies of a session that share their data but carry
+ * different configurations each get their own stable view, and components that derive state from the configuration
+ * can compare the identity of the view to detect a change. As values are cached upon first lookup, configuration maps
+ * that are modified in place rather than replaced are not supported, changes made that way might go unnoticed. The
+ * view is thread-safe.
+ * 
+ * @see ConfigUtils
+ */
+public final class ConfigView
+{
+
+    private static final Object KEY = ConfigView.class;
+
+    private static final Object ABSENT = new Object();
+
+    /**
+     * The maximum number of views kept per session data, i.e. the number of distinct configurations that are expected
+     * to be in concurrent use by copies of a session. Views of older configurations are dropped.
+     */
+    private static final int MAX_VIEWS = 8;
+
+    private enum Type
+    {
+        OBJECT, STRING, INTEGER, LONG, BOOLEAN, MAP
+    }
+
+    private final Map<?, ?> properties;
+
+    private final ConcurrentMap<Lookup, Object> values = new ConcurrentHashMap<Lookup, Object>();
+
+    private ConfigView( Map<?, ?> properties )
+    {
+        this.properties = properties;
+    }
+
+    /**
+     * Gets the configuration view of the specified session.
+     * 
+     * @param session The repository system session whose configuration to view, must not be {@code null}.
+     * @return The current configuration view of the session, never {@code null}.
+     */
+    public static ConfigView getView( RepositorySystemSession session )
+    {
+        Map<?, ?> properties = session.getConfigProperties();
+        SessionData data = session.getData();
+        if ( data == null )
+        {
+            return new ConfigView( properties );
+        }
+        while ( true )
+        {
+            Object current = data.get( KEY );
+            ConfigView[] views = ( current instanceof ConfigView[] ) ? (ConfigView[]) current : new ConfigView[0];
+            for ( ConfigView view : views )
+            {
+                if ( view.properties == properties )
+                {
+                    return view;
+                }
+            }
+            // the array is never modified once published, lookups need no locking
+            ConfigView[] updated = new ConfigView[Math.min( views.length + 1, MAX_VIEWS )];
+            updated[0] = new ConfigView( properties );
+            System.arraycopy( views, 0, updated, 1, updated.length - 1 );
+            if ( data.set( KEY, current, updated ) )
+            {
+                return updated[0];
+            }
+        }
+    }
+
+    /**
+     * Gets the specified configuration property.
+     * 
+     * @param defaultValue The default value to return in case the property is not set, may be {@code null}.
+     * @param key The property key, must not be {@code null}.
+     * @param repositoryId The id of the repository whose specific setting to prefer, may be {@code null} to only read
+     *            the plain key.
+     * @return The property value or {@code null} if none.
+     */
+    public Object getObject( Object defaultValue, String key, String repositoryId )
+    {
+        Object value = get( Type.OBJECT, key, repositoryId );
+        return ( value != ABSENT ) ? value : defaultValue;
+    }
+
+    /**
+     * Gets the specified configuration property.
+     * 
+     * @param defaultValue The default value to return in case the property is not set to a string, may be
+     *            {@code null}.
+     * @param key The property key, must not be {@code null}.
+     * @param repositoryId The id of the repository whose specific setting to prefer, may be {@code null} to only read
+     *            the plain key.
+     * @return The property value or {@code null} if none.
+     */
+    public String getString( String defaultValue, String key, String repositoryId )
+    {
+        Object value = get( Type.STRING, key, repositoryId );
+        return ( value != ABSENT ) ? (String) value : defaultValue;
+    }
+
+    /**
+     * Gets the specified configuration property.
+     * 
+     * @param defaultValue The default value to return in case the property is not set to a number.
+     * @param key The property key, must not be {@code null}.
+     * @param repositoryId The id of the repository whose specific setting to prefer, may be {@code null} to only read
+     *            the plain key.
+     * @return The property value.
+     */
+    public int getInteger( int defaultValue, String key, String repositoryId )
+    {
+        Object value = get( Type.INTEGER, key, repositoryId );
+        return ( value != ABSENT ) ? (Integer) value : defaultValue;
+    }
+
+    /**
+     * Gets the specified configuration property.
+     * 
+     * @param defaultValue The default value to return in case the property is not set to a number.
+     * @param key The property key, must not be {@code null}.
+     * @param repositoryId The id of the repository whose specific setting to prefer, may be {@code null} to only read
+     *            the plain key.
+     * @return The property value.
+     */
+    public long getLong( long defaultValue, String key, String repositoryId )
+    {
+        Object value = get( Type.LONG, key, repositoryId );
+        return ( value != ABSENT ) ? (Long) value : defaultValue;
+    }
+
+    /**
+     * Gets the specified configuration property.
+     * 
+     * @param defaultValue The default value to return in case the property is not set to a boolean.
+     * @param key The property key, must not be {@code null}.
+     * @param repositoryId The id of the repository whose specific setting to prefer, may be {@code null} to only read
+     *            the plain key.
+     * @return The property value.
+     */
+    public boolean getBoolean( boolean defaultValue, String key, String repositoryId )
+    {
+        Object value = get( Type.BOOLEAN, key, repositoryId );
+        return ( value != ABSENT ) ? (Boolean) value : defaultValue;
+    }
+
+    /**
+     * Gets the specified configuration property.
+     * 
+     * @param defaultValue The default value to return in case the property is not set to a map, may be {@code null}.
+     * @param key The property key, must not be {@code null}.
+     * @param repositoryId The id of the repository whose specific setting to prefer, may be {@code null} to only read
+     *            the plain key.
+     * @return The property value or {@code null} if none.
+     */
+    public Map<?, ?> getMap( Map<?, ?> defaultValue, String key, String repositoryId )
+    {
+        Object value = get( Type.MAP, key, repositoryId );
+        return ( value != ABSENT ) ? (Map<?, ?>) value : defaultValue;
+    }
+
+    private Object get( Type type, String key, String repositoryId )
+    {
+        Lookup lookup = new Lookup( type, key, repositoryId );
+        Object value = values.get( lookup );
+        if ( value == null )
+        {
+            value = ABSENT;
+            if ( repositoryId != null )
+            {
+                value = parse( type, properties.get( key + '.' + repositoryId ) );
+            }
+            if ( value == ABSENT )
+            {
+                value = parse( type, properties.get( key ) );
+            }
+            values.put( lookup, value );
+        }
+        return value;
+    }
+
+    private static Object parse( Type type, Object value )
+    {
+        if ( value == null )
+        {
+            return ABSENT;
+        }
+        try
+        {
+            switch ( type )
+            {
+                case STRING:
+                    return ( value instanceof String ) ? value : ABSENT;
+                case INTEGER:
+                    if ( value instanceof Number )
+                    {
+                        return ( (Number) value ).intValue();
+                    }
+                    return Integer.valueOf( (String) value );
+                case LONG:
+                    if ( value instanceof Number )
+                    {
+                        return ( (Number) value ).longValue();
+                    }
+                    return Long.valueOf( (String) value );
+                case BOOLEAN:
+                    if ( value instanceof Boolean )
+                    {
+                        return value;
+                    }
+                    return ( value instanceof String ) ? Boolean.parseBoolean( (String) value ) : ABSENT;
+                case MAP:
+                    return ( value instanceof Map ) ? value : ABSENT;
+                default:
+                    return value;
+            }
+        }
+        catch ( RuntimeException e )
+        {
+            // not a valid value, try next key
+            return ABSENT;
+        }
+    }
+
+    private static final class Lookup
+    {
+
+        private final Type type;
+
+        private final String key;
+
+        private final String repositoryId;
+
+        private final int hashCode;
+
+        Lookup( Type type, String key, String repositoryId )
+        {
+            this.type = type;
+            this.key = key;
+            this.repositoryId = repositoryId;
+            int hash = type.hashCode();
+            hash = hash * 31 + key.hashCode();
+            hash = hash * 31 + ( ( repositoryId != null ) ? repositoryId.hashCode() : 0 );
+            hashCode = hash;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof Lookup ) )
+            {
+                return false;
+            }
+            Lookup that = (Lookup) obj;
+            return type == that.type && key.equals( that.key )
+                && ( repositoryId != null ? repositoryId.equals( that.repositoryId ) : that.repositoryId == null );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.eclipse.aether.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.version.Version;
+
+/**
+ * A table of canonical instances for the immutable values that occur over and over again in a dependency graph, i.e.
+ * artifact coordinates, versions and lists of remote repositories. Interning these values lets equal values share a
+ * single instance and thereby reduces the memory retained by large graphs. The table only holds weak references to its
+ * entries and is thread-safe.
+ */
+public final class InternTable
+{
+
+    private static final String KEY = InternTable.class.getName();
+
+    private final Map<String, Reference<String>> strings = new WeakHashMap<String, Reference<String>>( 256 );
+
+    private final Map<String, Reference<Version>> versions = new WeakHashMap<String, Reference<Version>>( 256 );
+
+    private final Map<List<RemoteRepository>, Reference<List<RemoteRepository>>> repositories =
+        new WeakHashMap<List<RemoteRepository>, Reference<List<RemoteRepository>>>();
+
+    /**
+     * Gets the intern table of the specified session. The table is kept in the {@link RepositoryCache} of the session
+     * such that all operations of the session share it. If the session has no cache, a new table is returned.
+     * 
+     * @param session The repository system session, must not be {@code null}.
+     * @return The intern table, never {@code null}.
+     */
+    public static InternTable get( RepositorySystemSession session )
+    {
+        RepositoryCache cache = session.getCache();
+        if ( cache == null )
+        {
+            return new InternTable();
+        }
+        Object table = cache.get( session, KEY );
+        if ( !( table instanceof InternTable ) )
+        {
+            synchronized ( InternTable.class )
+            {
+                table = cache.get( session, KEY );
+                if ( !( table instanceof InternTable ) )
+                {
+                    table = new InternTable();
+                    cache.put( session, KEY, table );
+                }
+            }
+        }
+        return (InternTable) table;
+    }
+
+    private static <K, V> V lookup( Map<K, Reference<V>> map, K key )
+    {
+        Reference<V> ref = map.get( key );
+        return ( ref != null ) ? ref.get() : null;
+    }
+
+    /**
+     * Gets the canonical instance of the specified string.
+     * 
+     * @param string The string to intern, may be {@code null}.
+     * @return The canonical string or {@code null} if the input was {@code null}.
+     */
+    public synchronized String intern( String string )
+    {
+        if ( string == null || string.length() <= 0 )
+        {
+            return string;
+        }
+        String pooled = lookup( strings, string );
+        if ( pooled == null )
+        {
+            strings.put( string, new WeakReference<String>( string ) );
+            pooled = string;
+        }
+        return pooled;
+    }
+
+    /**
+     * Gets the canonical instance of the specified version. Versions are keyed by their string representation and the
+     * canonical instance is only used if it is of the same type as the specified version, i.e. was produced by the same
+     * version scheme.
+     * 
+     * @param version The version to intern, may be {@code null}.
+     * @return The canonical version or {@code null} if the input was {@code null}.
+     */
+    public synchronized Version intern( Version version )
+    {
+        if ( version == null )
+        {
+            return null;
+        }
+        Version pooled = lookup( versions, version.toString() );
+        if ( pooled == null )
+        {
+            versions.put( version.toString(), new WeakReference<Version>( version ) );
+            pooled = version;
+        }
+        else if ( !pooled.getClass().equals( version.getClass() ) )
+        {
+            pooled = version;
+        }
+        return pooled;
+    }
+
+    /**
+     * Gets the canonical version for the specified string representation.
+     * 
+     * @param version The string representation of the version, may be {@code null}.
+     * @return The canonical version or {@code null} if none has been interned yet.
+     */
+    public synchronized Version getVersion( String version )
+    {
+        if ( version == null )
+        {
+            return null;
+        }
+        return lookup( versions, version );
+    }
+
+    /**
+     * Gets the canonical instance of the specified repository list. The canonical instance is unmodifiable.
+     * 
+     * @param repositories The repositories to intern, may be {@code null}.
+     * @return The canonical (unmodifiable) list or {@code null} if the input was {@code null}.
+     */
+    public synchronized List<RemoteRepository> intern( List<RemoteRepository> repositories )
+    {
+        if ( repositories == null )
+        {
+            return null;
+        }
+        if ( repositories.isEmpty() )
+        {
+            return Collections.emptyList();
+        }
+        List<RemoteRepository> pooled = lookup( this.repositories, repositories );
+        if ( pooled == null )
+        {
+            pooled = Collections.unmodifiableList( new ArrayList<RemoteRepository>( repositories ) );
+            this.repositories.put( pooled, new WeakReference<List<RemoteRepository>>( pooled ) );
+        }
+        return pooled;
+    }
+
+    /**
+     * Gets an artifact equal to the specified one whose coordinates use canonical strings. Only instances of
+     * {@link DefaultArtifact} are rebuilt, other artifact implementations are returned as is.
+     * 
+     * @param artifact The artifact whose coordinates should be interned, may be {@code null}.
+     * @return The artifact with interned coordinates or {@code null} if the input was {@code null}.
+     */
+    public Artifact intern( Artifact artifact )
+    {
+        if ( artifact == null || !DefaultArtifact.class.equals( artifact.getClass() ) )
+        {
+            return artifact;
+        }
+        String groupId = intern( artifact.getGroupId() );
+        String artifactId = intern( artifact.getArtifactId() );
+        String classifier = intern( artifact.getClassifier() );
+        String extension = intern( artifact.getExtension() );
+        String version = intern( artifact.getVersion() );
+        if ( groupId == artifact.getGroupId() && artifactId == artifact.getArtifactId()
+            && classifier == artifact.getClassifier() && extension == artifact.getExtension()
+            && version == artifact.getVersion() )
+        {
+            return artifact;
+        }
+        return new DefaultArtifact( groupId, artifactId, classifier, extension, version, artifact.getProperties(),
+                                    artifact.getFile() );
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "InternTable[strings=" + strings.size() + ", versions=" + versions.size() + ", repositories="
+            + repositories.size() + "]";
+    }
+
+}
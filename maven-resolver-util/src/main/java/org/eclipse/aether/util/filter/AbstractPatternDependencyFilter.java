@@ -19,11 +19,16 @@ package org.eclipse.aether.util.filter;
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.Dependency;
@@ -40,10 +45,29 @@ class AbstractPatternDependencyFilter
     implements DependencyFilter
 {
 
+    private static final int MAX_DECISIONS = 10000;
+
     private final Set<String> patterns = new HashSet<String>();
 
     private final VersionScheme versionScheme;
 
+    /**
+     * The compiled patterns with an exact group id, indexed by that group id.
+     */
+    private final Map<String, List<ArtifactPattern>> exactGroupPatterns = new HashMap<String, List<ArtifactPattern>>();
+
+    /**
+     * The compiled patterns with a wildcard group id.
+     */
+    private final List<ArtifactPattern> otherPatterns = new ArrayList<ArtifactPattern>();
+
+    private boolean hasRanges;
+
+    /**
+     * The decisions for the artifact keys seen so far, only used if a decision involves more than a hash lookup.
+     */
+    private final ConcurrentMap<String, Boolean> decisions = new ConcurrentHashMap<String, Boolean>();
+
     /**
      * Creates a new filter using the specified patterns.
      * 
@@ -90,6 +114,26 @@ class AbstractPatternDependencyFilter
             this.patterns.addAll( patterns );
         }
         this.versionScheme = versionScheme;
+
+        for ( final String pattern : this.patterns )
+        {
+            final ArtifactPattern compiled = new ArtifactPattern( pattern, versionScheme );
+            if ( compiled.groupId != null )
+            {
+                List<ArtifactPattern> list = exactGroupPatterns.get( compiled.groupId );
+                if ( list == null )
+                {
+                    list = new ArrayList<ArtifactPattern>( 2 );
+                    exactGroupPatterns.put( compiled.groupId, list );
+                }
+                list.add( compiled );
+            }
+            else
+            {
+                otherPatterns.add( compiled );
+            }
+            hasRanges |= compiled.hasRange;
+        }
     }
 
     public boolean accept( final DependencyNode node, List<DependencyNode> parents )
@@ -104,100 +148,42 @@ class AbstractPatternDependencyFilter
 
     protected boolean accept( final Artifact artifact )
     {
-        for ( final String pattern : patterns )
+        if ( !hasRanges && otherPatterns.isEmpty() )
         {
-            final boolean matched = accept( artifact, pattern );
-            if ( matched )
-            {
-                return true;
-            }
+            return matches( exactGroupPatterns.get( artifact.getGroupId() ), artifact );
         }
-        return false;
-    }
-
-    private boolean accept( final Artifact artifact, final String pattern )
-    {
-        final String[] tokens =
-            new String[] { artifact.getGroupId(), artifact.getArtifactId(), artifact.getExtension(),
-                artifact.getBaseVersion() };
-
-        final String[] patternTokens = pattern.split( ":" );
-
-        // fail immediately if pattern tokens outnumber tokens to match
-        boolean matched = ( patternTokens.length <= tokens.length );
 
-        for ( int i = 0; matched && i < patternTokens.length; i++ )
+        final String key =
+            artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getExtension() + ':'
+                + artifact.getBaseVersion();
+        Boolean decision = decisions.get( key );
+        if ( decision == null )
         {
-            matched = matches( tokens[i], patternTokens[i] );
-        }
-
-        return matched;
-    }
-
-    private boolean matches( final String token, final String pattern )
-    {
-        boolean matches;
-
-        // support full wildcard and implied wildcard
-        if ( "*".equals( pattern ) || pattern.length() == 0 )
-        {
-            matches = true;
-        }
-        // support contains wildcard
-        else if ( pattern.startsWith( "*" ) && pattern.endsWith( "*" ) )
-        {
-            final String contains = pattern.substring( 1, pattern.length() - 1 );
-
-            matches = ( token.contains( contains ) );
-        }
-        // support leading wildcard
-        else if ( pattern.startsWith( "*" ) )
-        {
-            final String suffix = pattern.substring( 1, pattern.length() );
-
-            matches = token.endsWith( suffix );
-        }
-        // support trailing wildcard
-        else if ( pattern.endsWith( "*" ) )
-        {
-            final String prefix = pattern.substring( 0, pattern.length() - 1 );
-
-            matches = token.startsWith( prefix );
-        }
-        // support versions range
-        else if ( pattern.startsWith( "[" ) || pattern.startsWith( "(" ) )
-        {
-            matches = isVersionIncludedInRange( token, pattern );
-        }
-        // support exact match
-        else
-        {
-            matches = token.equals( pattern );
+            decision =
+                matches( exactGroupPatterns.get( artifact.getGroupId() ), artifact )
+                    || matches( otherPatterns, artifact );
+            if ( decisions.size() >= MAX_DECISIONS )
+            {
+                decisions.clear();
+            }
+            decisions.put( key, decision );
         }
-
-        return matches;
+        return decision;
     }
 
-    private boolean isVersionIncludedInRange( final String version, final String range )
+    private static boolean matches( final List<ArtifactPattern> patterns, final Artifact artifact )
     {
-        if ( versionScheme == null )
-        {
-            return false;
-        }
-        else
+        if ( patterns != null )
         {
-            try
+            for ( final ArtifactPattern pattern : patterns )
             {
-                final Version parsedVersion = versionScheme.parseVersion( version );
-                final VersionRange parsedRange = versionScheme.parseVersionRange( range );
-
-                return parsedRange.containsVersion( parsedVersion );
-            }
-            catch ( final InvalidVersionSpecificationException e )
-            {
-                return false;
+                if ( pattern.matches( artifact ) )
+                {
+                    return true;
+                }
             }
         }
+        return false;
     }
 
     @Override
@@ -229,4 +215,164 @@ class AbstractPatternDependencyFilter
         return hash;
     }
 
+    /**
+     * A pattern of the form {@code [groupId[:artifactId[:extension[:version]]]]} whose tokens have been parsed upfront.
+     */
+    static final class ArtifactPattern
+    {
+
+        private static final int ANY = 0;
+
+        private static final int CONTAINS = 1;
+
+        private static final int SUFFIX = 2;
+
+        private static final int PREFIX = 3;
+
+        private static final int RANGE = 4;
+
+        private static final int EXACT = 5;
+
+        private static final int NONE = 6;
+
+        /**
+         * The group id if the pattern requires an exact match of it, {@code null} otherwise.
+         */
+        final String groupId;
+
+        final boolean hasRange;
+
+        private final int[] kinds;
+
+        private final String[] values;
+
+        private final VersionRange[] ranges;
+
+        private final VersionScheme versionScheme;
+
+        ArtifactPattern( final String pattern, final VersionScheme versionScheme )
+        {
+            this.versionScheme = versionScheme;
+
+            final String[] tokens = pattern.split( ":" );
+
+            // a pattern with more tokens than an artifact key never matches
+            final int count = ( tokens.length <= 4 ) ? tokens.length : 1;
+            kinds = new int[count];
+            values = new String[count];
+            ranges = new VersionRange[count];
+            boolean hasRange = false;
+
+            for ( int i = 0; i < count; i++ )
+            {
+                final String token = tokens[i];
+                if ( tokens.length > 4 )
+                {
+                    kinds[i] = NONE;
+                }
+                else if ( "*".equals( token ) || token.length() == 0 )
+                {
+                    kinds[i] = ANY;
+                }
+                else if ( token.startsWith( "*" ) && token.endsWith( "*" ) )
+                {
+                    kinds[i] = CONTAINS;
+                    values[i] = token.substring( 1, token.length() - 1 );
+                }
+                else if ( token.startsWith( "*" ) )
+                {
+                    kinds[i] = SUFFIX;
+                    values[i] = token.substring( 1 );
+                }
+                else if ( token.endsWith( "*" ) )
+                {
+                    kinds[i] = PREFIX;
+                    values[i] = token.substring( 0, token.length() - 1 );
+                }
+                else if ( token.startsWith( "[" ) || token.startsWith( "(" ) )
+                {
+                    kinds[i] = NONE;
+                    if ( versionScheme != null )
+                    {
+                        try
+                        {
+                            ranges[i] = versionScheme.parseVersionRange( token );
+                            kinds[i] = RANGE;
+                            hasRange = true;
+                        }
+                        catch ( final InvalidVersionSpecificationException e )
+                        {
+                            // never matches
+                        }
+                    }
+                }
+                else
+                {
+                    kinds[i] = EXACT;
+                    values[i] = token;
+                }
+            }
+
+            this.hasRange = hasRange;
+            this.groupId = ( count > 0 && kinds[0] == EXACT ) ? values[0] : null;
+        }
+
+        boolean matches( final Artifact artifact )
+        {
+            for ( int i = 0; i < kinds.length; i++ )
+            {
+                if ( !matches( i, getToken( artifact, i ) ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String getToken( final Artifact artifact, final int index )
+        {
+            switch ( index )
+            {
+                case 0:
+                    return artifact.getGroupId();
+                case 1:
+                    return artifact.getArtifactId();
+                case 2:
+                    return artifact.getExtension();
+                default:
+                    return artifact.getBaseVersion();
+            }
+        }
+
+        private boolean matches( final int index, final String token )
+        {
+            switch ( kinds[index] )
+            {
+                case ANY:
+                    return true;
+                case CONTAINS:
+                    return token.contains( values[index] );
+                case SUFFIX:
+                    return token.endsWith( values[index] );
+                case PREFIX:
+                    return token.startsWith( values[index] );
+                case RANGE:
+                    try
+                    {
+                        final Version version = versionScheme.parseVersion( token );
+                        return ranges[index].containsVersion( version );
+                    }
+                    catch ( final InvalidVersionSpecificationException e )
+                    {
+                        return false;
+                    }
+                case EXACT:
+                    return token.equals( values[index] );
+                default:
+                    return false;
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,481 @@
+package org.eclipse.aether.util.graph.compact;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+
+/**
+ * An immutable, memory-efficient representation of a dependency graph. The nodes of the graph are identified by their
+ * index (the root node having index {@code 0}), their children are stored in a compressed sparse row layout and all
+ * their attributes are stored as indices into tables of distinct values, i.e. equal dependencies, artifacts, versions,
+ * repository lists etc. are shared among all nodes. Nodes that are shared in the original graph (including cycles)
+ * remain shared in the compact graph.
+ * <p>
+ * Existing dependency visitors and graph transformers can operate on the graph via the {@link DependencyNode} view
+ * returned from {@link #getRoot()}. The nodes of this view are created on demand and modifications made through the
+ * view do not affect the compact graph.
+ */
+public final class CompactDependencyGraph
+{
+
+    private final Object[] values;
+
+    private final int[] dependencies;
+
+    private final int[] artifacts;
+
+    private final int[] versionConstraints;
+
+    private final int[] versions;
+
+    private final int[] repositories;
+
+    private final int[] contexts;
+
+    private final int[] relocations;
+
+    private final int[] aliases;
+
+    private final byte[] managedBits;
+
+    private final int[] childOffsets;
+
+    private final int[] children;
+
+    private final Map<Integer, Map<Object, Object>> data;
+
+    /**
+     * Creates a compact copy of the dependency graph rooted at the specified node.
+     * 
+     * @param root The root node of the dependency graph to copy, must not be {@code null}.
+     * @return The compact dependency graph, never {@code null}.
+     */
+    public static CompactDependencyGraph newInstance( DependencyNode root )
+    {
+        requireNonNull( root, "root node cannot be null" );
+        return new Builder().build( root );
+    }
+
+    CompactDependencyGraph( Builder builder )
+    {
+        values = builder.values.toArray();
+        dependencies = builder.dependencies;
+        artifacts = builder.artifacts;
+        versionConstraints = builder.versionConstraints;
+        versions = builder.versions;
+        repositories = builder.repositories;
+        contexts = builder.contexts;
+        relocations = builder.relocations;
+        aliases = builder.aliases;
+        managedBits = builder.managedBits;
+        childOffsets = builder.childOffsets;
+        children = builder.children;
+        data = builder.data.isEmpty() ? Collections.<Integer, Map<Object, Object>>emptyMap() : builder.data;
+    }
+
+    /**
+     * Gets a mutable view of this graph. Each invocation creates a new view that is independent of previous views.
+     * 
+     * @return The root node of the view, never {@code null}.
+     */
+    public DependencyNode getRoot()
+    {
+        return new CompactDependencyNode.View( this ).getNode( 0 );
+    }
+
+    /**
+     * Gets the number of nodes in this graph.
+     * 
+     * @return The number of nodes, always positive.
+     */
+    public int getNodeCount()
+    {
+        return dependencies.length;
+    }
+
+    /**
+     * Gets the number of distinct attribute values (dependencies, versions, repository lists etc.) that are shared by
+     * the nodes of this graph.
+     * 
+     * @return The number of distinct attribute values.
+     */
+    public int getValueCount()
+    {
+        return values.length;
+    }
+
+    /**
+     * Gets the number of children of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The number of children.
+     */
+    public int getChildCount( int node )
+    {
+        return childOffsets[node + 1] - childOffsets[node];
+    }
+
+    /**
+     * Gets a child of the specified node.
+     * 
+     * @param node The index of the node.
+     * @param child The position of the child within the children of the node.
+     * @return The index of the child node.
+     */
+    public int getChild( int node, int child )
+    {
+        if ( child < 0 || child >= getChildCount( node ) )
+        {
+            throw new IndexOutOfBoundsException( "child " + child + " of node " + node );
+        }
+        return children[childOffsets[node] + child];
+    }
+
+    private Object value( int index )
+    {
+        return ( index >= 0 ) ? values[index] : null;
+    }
+
+    /**
+     * Gets the dependency of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The dependency or {@code null} for a root node without dependency.
+     * @see DependencyNode#getDependency()
+     */
+    public Dependency getDependency( int node )
+    {
+        return (Dependency) value( dependencies[node] );
+    }
+
+    /**
+     * Gets the artifact of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The artifact or {@code null} if none.
+     * @see DependencyNode#getArtifact()
+     */
+    public Artifact getArtifact( int node )
+    {
+        return (Artifact) value( artifacts[node] );
+    }
+
+    /**
+     * Gets the version constraint of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The version constraint or {@code null} if none.
+     * @see DependencyNode#getVersionConstraint()
+     */
+    public VersionConstraint getVersionConstraint( int node )
+    {
+        return (VersionConstraint) value( versionConstraints[node] );
+    }
+
+    /**
+     * Gets the version of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The version or {@code null} if none.
+     * @see DependencyNode#getVersion()
+     */
+    public Version getVersion( int node )
+    {
+        return (Version) value( versions[node] );
+    }
+
+    /**
+     * Gets the remote repositories of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The (read-only) remote repositories, never {@code null}.
+     * @see DependencyNode#getRepositories()
+     */
+    @SuppressWarnings( "unchecked" )
+    public List<RemoteRepository> getRepositories( int node )
+    {
+        Object value = value( repositories[node] );
+        return ( value != null ) ? (List<RemoteRepository>) value : Collections.<RemoteRepository>emptyList();
+    }
+
+    /**
+     * Gets the request context of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The request context, never {@code null}.
+     * @see DependencyNode#getRequestContext()
+     */
+    public String getRequestContext( int node )
+    {
+        Object value = value( contexts[node] );
+        return ( value != null ) ? (String) value : "";
+    }
+
+    /**
+     * Gets the relocations of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The (read-only) relocations, never {@code null}.
+     * @see DependencyNode#getRelocations()
+     */
+    @SuppressWarnings( "unchecked" )
+    public List<? extends Artifact> getRelocations( int node )
+    {
+        Object value = value( relocations[node] );
+        return ( value != null ) ? (List<? extends Artifact>) value : Collections.<Artifact>emptyList();
+    }
+
+    /**
+     * Gets the aliases of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The (read-only) aliases, never {@code null}.
+     * @see DependencyNode#getAliases()
+     */
+    @SuppressWarnings( "unchecked" )
+    public Collection<? extends Artifact> getAliases( int node )
+    {
+        Object value = value( aliases[node] );
+        return ( value != null ) ? (Collection<? extends Artifact>) value : Collections.<Artifact>emptyList();
+    }
+
+    /**
+     * Gets the managed bits of the specified node.
+     * 
+     * @param node The index of the node.
+     * @return The managed bits.
+     * @see DependencyNode#getManagedBits()
+     */
+    public int getManagedBits( int node )
+    {
+        return managedBits[node];
+    }
+
+    /**
+     * Gets the custom data of the specified node. Values that referred to nodes of the original graph are reported as
+     * {@link Integer} indices of the corresponding nodes in this graph.
+     * 
+     * @param node The index of the node.
+     * @return The (read-only) custom data, never {@code null}.
+     * @see DependencyNode#getData()
+     */
+    public Map<Object, Object> getData( int node )
+    {
+        Map<Object, Object> map = data.get( node );
+        if ( map == null )
+        {
+            return Collections.emptyMap();
+        }
+        Map<Object, Object> result = new HashMap<Object, Object>( map );
+        for ( Map.Entry<Object, Object> entry : result.entrySet() )
+        {
+            if ( entry.getValue() instanceof NodeRef )
+            {
+                entry.setValue( ( (NodeRef) entry.getValue() ).index );
+            }
+        }
+        return Collections.unmodifiableMap( result );
+    }
+
+    Map<Object, Object> getRawData( int node )
+    {
+        return data.get( node );
+    }
+
+    @Override
+    public String toString()
+    {
+        return getNodeCount() + " nodes, " + children.length + " edges, " + values.length + " distinct values";
+    }
+
+    /**
+     * Marks a data value that refers to a node of the graph.
+     */
+    static final class NodeRef
+    {
+
+        final int index;
+
+        NodeRef( int index )
+        {
+            this.index = index;
+        }
+
+    }
+
+    static final class Builder
+    {
+
+        final List<Object> values = new ArrayList<Object>( 256 );
+
+        private final Map<Object, Integer> indices = new HashMap<Object, Integer>( 256 );
+
+        int[] dependencies;
+
+        int[] artifacts;
+
+        int[] versionConstraints;
+
+        int[] versions;
+
+        int[] repositories;
+
+        int[] contexts;
+
+        int[] relocations;
+
+        int[] aliases;
+
+        byte[] managedBits;
+
+        int[] childOffsets;
+
+        int[] children;
+
+        final Map<Integer, Map<Object, Object>> data = new HashMap<Integer, Map<Object, Object>>();
+
+        int intern( Object value )
+        {
+            return ( value != null ) ? intern( value, value ) : -1;
+        }
+
+        /**
+         * Interns a value whose equality is coarser than its string form, e.g. versions where "1" equals "1.0". Such
+         * values are only shared if they are of the same class and print the same.
+         */
+        int internByText( Object value )
+        {
+            return ( value != null ) ? intern( Arrays.asList( value.getClass(), value.toString() ), value ) : -1;
+        }
+
+        private int intern( Object key, Object value )
+        {
+            Integer index = indices.get( key );
+            if ( index == null )
+            {
+                index = values.size();
+                values.add( value );
+                indices.put( key, index );
+            }
+            return index;
+        }
+
+        int internCollection( Collection<?> value )
+        {
+            if ( value == null || value.isEmpty() )
+            {
+                return -1;
+            }
+            return intern( Collections.unmodifiableList( new ArrayList<Object>( value ) ) );
+        }
+
+        CompactDependencyGraph build( DependencyNode root )
+        {
+            List<DependencyNode> nodes = new ArrayList<DependencyNode>( 256 );
+            Map<DependencyNode, Integer> nodeIndices = new IdentityHashMap<DependencyNode, Integer>( 256 );
+            nodes.add( root );
+            nodeIndices.put( root, 0 );
+            int edges = 0;
+            for ( int i = 0; i < nodes.size(); i++ )
+            {
+                for ( DependencyNode child : nodes.get( i ).getChildren() )
+                {
+                    edges++;
+                    if ( !nodeIndices.containsKey( child ) )
+                    {
+                        nodeIndices.put( child, nodes.size() );
+                        nodes.add( child );
+                    }
+                }
+            }
+
+            int count = nodes.size();
+            dependencies = new int[count];
+            artifacts = new int[count];
+            versionConstraints = new int[count];
+            versions = new int[count];
+            repositories = new int[count];
+            contexts = new int[count];
+            relocations = new int[count];
+            aliases = new int[count];
+            managedBits = new byte[count];
+            childOffsets = new int[count + 1];
+            children = new int[edges];
+
+            for ( int i = 0, edge = 0; i < count; i++ )
+            {
+                DependencyNode node = nodes.get( i );
+                dependencies[i] = intern( node.getDependency() );
+                artifacts[i] = intern( node.getArtifact() );
+                versionConstraints[i] = internByText( node.getVersionConstraint() );
+                versions[i] = internByText( node.getVersion() );
+                repositories[i] = internCollection( node.getRepositories() );
+                String context = node.getRequestContext();
+                contexts[i] = ( context == null || context.isEmpty() ) ? -1 : intern( context );
+                relocations[i] = internCollection( node.getRelocations() );
+                aliases[i] = internCollection( node.getAliases() );
+                managedBits[i] = (byte) node.getManagedBits();
+
+                childOffsets[i] = edge;
+                for ( DependencyNode child : node.getChildren() )
+                {
+                    children[edge++] = nodeIndices.get( child );
+                }
+
+                Map<?, ?> nodeData = node.getData();
+                if ( nodeData != null && !nodeData.isEmpty() )
+                {
+                    Map<Object, Object> map = new HashMap<Object, Object>( nodeData.size() * 2, 0.75f );
+                    for ( Map.Entry<?, ?> entry : nodeData.entrySet() )
+                    {
+                        Object value = entry.getValue();
+                        if ( value instanceof DependencyNode && nodeIndices.containsKey( value ) )
+                        {
+                            value = new NodeRef( nodeIndices.get( value ) );
+                        }
+                        map.put( entry.getKey(), value );
+                    }
+                    data.put( i, map );
+                }
+            }
+            childOffsets[count] = edges;
+
+            return new CompactDependencyGraph( this );
+        }
+
+    }
+
+}
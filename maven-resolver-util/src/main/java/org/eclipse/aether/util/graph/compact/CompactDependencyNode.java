@@ -0,0 +1,295 @@
+package org.eclipse.aether.util.graph.compact;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+
+/**
+ * A node of a {@link CompactDependencyGraph} view. The immutable attributes of the node are read from the compact
+ * graph, the mutable ones (children, dependency, request context and custom data) are copied into the node upon first
+ * access.
+ */
+final class CompactDependencyNode
+    implements DependencyNode
+{
+
+    /**
+     * The nodes of a single view, created on demand such that shared nodes of the graph remain shared in the view.
+     */
+    static final class View
+    {
+
+        final CompactDependencyGraph graph;
+
+        private final DependencyNode[] nodes;
+
+        View( CompactDependencyGraph graph )
+        {
+            this.graph = graph;
+            this.nodes = new DependencyNode[graph.getNodeCount()];
+        }
+
+        DependencyNode getNode( int index )
+        {
+            DependencyNode node = nodes[index];
+            if ( node == null )
+            {
+                node = new CompactDependencyNode( this, index );
+                nodes[index] = node;
+            }
+            return node;
+        }
+
+    }
+
+    private final View view;
+
+    private final int index;
+
+    private List<DependencyNode> children;
+
+    private Dependency dependency;
+
+    private Artifact artifact;
+
+    private String context;
+
+    private Map<Object, Object> data;
+
+    CompactDependencyNode( View view, int index )
+    {
+        this.view = view;
+        this.index = index;
+        dependency = view.graph.getDependency( index );
+        artifact = view.graph.getArtifact( index );
+    }
+
+    public List<DependencyNode> getChildren()
+    {
+        if ( children == null )
+        {
+            CompactDependencyGraph graph = view.graph;
+            int count = graph.getChildCount( index );
+            children = new ArrayList<DependencyNode>( count );
+            for ( int i = 0; i < count; i++ )
+            {
+                children.add( view.getNode( graph.getChild( index, i ) ) );
+            }
+        }
+        return children;
+    }
+
+    public void setChildren( List<DependencyNode> children )
+    {
+        if ( children == null )
+        {
+            this.children = new ArrayList<DependencyNode>( 0 );
+        }
+        else
+        {
+            this.children = children;
+        }
+    }
+
+    public Dependency getDependency()
+    {
+        return dependency;
+    }
+
+    public Artifact getArtifact()
+    {
+        return artifact;
+    }
+
+    public void setArtifact( Artifact artifact )
+    {
+        if ( dependency == null )
+        {
+            throw new IllegalStateException( "node does not have a dependency" );
+        }
+        dependency = dependency.setArtifact( artifact );
+        this.artifact = dependency.getArtifact();
+    }
+
+    public List<? extends Artifact> getRelocations()
+    {
+        return view.graph.getRelocations( index );
+    }
+
+    public Collection<? extends Artifact> getAliases()
+    {
+        return view.graph.getAliases( index );
+    }
+
+    public VersionConstraint getVersionConstraint()
+    {
+        return view.graph.getVersionConstraint( index );
+    }
+
+    public Version getVersion()
+    {
+        return view.graph.getVersion( index );
+    }
+
+    public void setScope( String scope )
+    {
+        if ( dependency == null )
+        {
+            throw new IllegalStateException( "node does not have a dependency" );
+        }
+        dependency = dependency.setScope( scope );
+    }
+
+    public void setOptional( Boolean optional )
+    {
+        if ( dependency == null )
+        {
+            throw new IllegalStateException( "node does not have a dependency" );
+        }
+        dependency = dependency.setOptional( optional );
+    }
+
+    public int getManagedBits()
+    {
+        return view.graph.getManagedBits( index );
+    }
+
+    public List<RemoteRepository> getRepositories()
+    {
+        return view.graph.getRepositories( index );
+    }
+
+    public String getRequestContext()
+    {
+        return ( context != null ) ? context : view.graph.getRequestContext( index );
+    }
+
+    public void setRequestContext( String context )
+    {
+        this.context = ( context != null ) ? context : "";
+    }
+
+    public Map<Object, Object> getData()
+    {
+        if ( data == null )
+        {
+            Map<Object, Object> raw = view.graph.getRawData( index );
+            if ( raw == null )
+            {
+                data = Collections.emptyMap();
+            }
+            else
+            {
+                data = new HashMap<Object, Object>( raw );
+                for ( Map.Entry<Object, Object> entry : data.entrySet() )
+                {
+                    if ( entry.getValue() instanceof CompactDependencyGraph.NodeRef )
+                    {
+                        entry.setValue( view.getNode( ( (CompactDependencyGraph.NodeRef) entry.getValue() ).index ) );
+                    }
+                }
+            }
+        }
+        return data;
+    }
+
+    public void setData( Map<Object, Object> data )
+    {
+        if ( data == null )
+        {
+            this.data = Collections.emptyMap();
+        }
+        else
+        {
+            this.data = data;
+        }
+    }
+
+    public void setData( Object key, Object value )
+    {
+        requireNonNull( key, "key cannot be null" );
+
+        Map<Object, Object> data = getData();
+        if ( value == null )
+        {
+            if ( !data.isEmpty() )
+            {
+                data.remove( key );
+
+                if ( data.isEmpty() )
+                {
+                    this.data = Collections.emptyMap();
+                }
+            }
+        }
+        else
+        {
+            if ( data.isEmpty() )
+            {
+                data = new HashMap<Object, Object>( 1, 2 );
+                this.data = data;
+            }
+            data.put( key, value );
+        }
+    }
+
+    public boolean accept( DependencyVisitor visitor )
+    {
+        if ( visitor.visitEnter( this ) )
+        {
+            for ( DependencyNode child : getChildren() )
+            {
+                if ( !child.accept( visitor ) )
+                {
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitLeave( this );
+    }
+
+    @Override
+    public String toString()
+    {
+        Dependency dep = getDependency();
+        if ( dep == null )
+        {
+            return String.valueOf( getArtifact() );
+        }
+        return dep.toString();
+    }
+
+}
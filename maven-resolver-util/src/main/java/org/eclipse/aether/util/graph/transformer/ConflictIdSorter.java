@@ -43,7 +43,8 @@ import org.eclipse.aether.graph.DependencyNode;
  * context holds a {@code List<Object>} that denotes the topologically sorted conflict ids. The list will be stored
  * using the key {@link TransformationContextKeys#SORTED_CONFLICT_IDS}. In addition, the transformer will store a
  * {@code Collection<Collection<Object>>} using the key {@link TransformationContextKeys#CYCLIC_CONFLICT_IDS} that
- * describes cycles among conflict ids.
+ * describes cycles among conflict ids. Like the conflict marker, this transformer can optionally distribute the
+ * analysis of large graphs among several threads, see {@link ConflictMarker#CONFIG_PROP_THREADS}.
  */
 public final class ConflictIdSorter
     implements DependencyGraphTransformer
@@ -76,9 +77,22 @@ public final class ConflictIdSorter
                 ids.put( key, id );
             }
 
-            Map<DependencyNode, Object> visited = new IdentityHashMap<DependencyNode, Object>( conflictIds.size() );
+            int threads = NodeIndex.getThreads( context.getSession() );
+            boolean large = threads > 1 && conflictIds.size() >= NodeIndex.PARALLEL_THRESHOLD;
+            NodeIndex index = large ? new NodeIndex( node ) : null;
+            if ( index != null && index.isLarge() )
+            {
+                Object[] edges = index.apply( NodeIndex.getPool( threads ), new EdgeFunction( index, conflictIds ) );
+
+                buildConflitIdDAG( ids, 0, id, 0, new boolean[index.size()], edges );
+            }
+            else
+            {
+                Map<DependencyNode, Object> visited =
+                    new IdentityHashMap<DependencyNode, Object>( conflictIds.size() );
 
-            buildConflitIdDAG( ids, node, id, 0, visited, conflictIds );
+                buildConflitIdDAG( ids, node, id, 0, visited, conflictIds );
+            }
         }
 
         long time2 = System.nanoTime();
@@ -130,6 +144,41 @@ public final class ConflictIdSorter
         }
     }
 
+    private void buildConflitIdDAG( Map<Object, ConflictId> ids, int node, ConflictId id, int depth, boolean[] visited,
+                                    Object[] edges )
+    {
+        if ( visited[node] )
+        {
+            return;
+        }
+        visited[node] = true;
+
+        depth++;
+
+        Edges nodeEdges = (Edges) edges[node];
+        for ( int i = 0; i < nodeEdges.nodes.length; i++ )
+        {
+            Object key = nodeEdges.keys[i];
+            ConflictId childId = ids.get( key );
+            if ( childId == null )
+            {
+                childId = new ConflictId( key, depth );
+                ids.put( key, childId );
+            }
+            else
+            {
+                childId.pullup( depth );
+            }
+
+            if ( id != null )
+            {
+                id.add( childId );
+            }
+
+            buildConflitIdDAG( ids, nodeEdges.nodes[i], childId, depth, visited, edges );
+        }
+    }
+
     private int topsortConflictIds( Collection<ConflictId> conflictIds, DependencyGraphTransformationContext context )
     {
         List<Object> sorted = new ArrayList<Object>( conflictIds.size() );
@@ -246,6 +295,55 @@ public final class ConflictIdSorter
         }
     }
 
+    /**
+     * The conflict ids and node indices of the children of a node.
+     */
+    static final class Edges
+    {
+
+        final Object[] keys;
+
+        final int[] nodes;
+
+        Edges( Object[] keys, int[] nodes )
+        {
+            this.keys = keys;
+            this.nodes = nodes;
+        }
+
+    }
+
+    static final class EdgeFunction
+        extends NodeIndex.Function
+    {
+
+        private final NodeIndex index;
+
+        private final Map<?, ?> conflictIds;
+
+        EdgeFunction( NodeIndex index, Map<?, ?> conflictIds )
+        {
+            this.index = index;
+            this.conflictIds = conflictIds;
+        }
+
+        @Override
+        Object apply( DependencyNode node )
+        {
+            List<DependencyNode> children = node.getChildren();
+            Object[] keys = new Object[children.size()];
+            int[] nodes = new int[keys.length];
+            for ( int i = 0; i < keys.length; i++ )
+            {
+                DependencyNode child = children.get( i );
+                keys[i] = conflictIds.get( child );
+                nodes[i] = index.indexOf( child );
+            }
+            return new Edges( keys, nodes );
+        }
+
+    }
+
     static final class ConflictId
     {
 
@@ -26,8 +26,10 @@ import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.collection.DependencyGraphTransformationContext;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
@@ -39,11 +41,23 @@ import org.eclipse.aether.graph.DependencyNode;
  * transformation context holds a {@code Map<DependencyNode, Object>} where dependency nodes that belong to the same
  * conflict group will have an equal conflict identifier. This map is stored using the key
  * {@link TransformationContextKeys#CONFLICT_IDS}.
+ * <p>
+ * Large graphs can optionally be analyzed by several threads, see {@link #CONFIG_PROP_THREADS}. The resulting conflict
+ * ids are the same as with sequential processing.
  */
 public final class ConflictMarker
     implements DependencyGraphTransformer
 {
 
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store an {@link Integer} denoting the number of threads used to analyze large dependency
+     * graphs. This applies to the {@link ConflictMarker} and the {@link ConflictIdSorter}. Graphs with a few thousand
+     * nodes or less are always processed by the calling thread. The default value is {@code 1}, i.e. no parallel
+     * processing.
+     */
+    public static final String CONFIG_PROP_THREADS = "aether.conflictMarker.threads";
+
     /**
      * After the execution of this method, every DependencyNode with an attached dependency is member of one conflict
      * group.
@@ -57,6 +71,14 @@ public final class ConflictMarker
         Map<String, Object> stats = (Map<String, Object>) context.get( TransformationContextKeys.STATS );
         long time1 = System.nanoTime();
 
+        int threads = NodeIndex.getThreads( context.getSession() );
+        NodeIndex index = ( threads > 1 && NodeIndex.isPossiblyLarge( node ) ) ? new NodeIndex( node ) : null;
+        if ( index != null && index.isLarge() )
+        {
+            markInParallel( index, NodeIndex.getPool( threads ), context, stats, time1 );
+            return node;
+        }
+
         Map<DependencyNode, Object> nodes = new IdentityHashMap<DependencyNode, Object>( 1024 );
         Map<Object, ConflictGroup> groups = new HashMap<Object, ConflictGroup>( 1024 );
 
@@ -79,6 +101,60 @@ public final class ConflictMarker
         return node;
     }
 
+    private void markInParallel( NodeIndex index, ForkJoinPool pool, DependencyGraphTransformationContext context,
+                                 Map<String, Object> stats, long time1 )
+    {
+        Object[] keys = index.apply( pool, new NodeIndex.Function()
+        {
+            @Override
+            Object apply( DependencyNode node )
+            {
+                return getKeys( node );
+            }
+        } );
+
+        // the grouping depends on the order of the nodes and is done sequentially
+        final Map<Object, ConflictGroup> groups = new HashMap<Object, ConflictGroup>( 1024 );
+        int[] counter = new int[] { 0 };
+        for ( Object nodeKeys : keys )
+        {
+            @SuppressWarnings( "unchecked" )
+            Set<Object> tmp = (Set<Object>) nodeKeys;
+            group( tmp, groups, counter );
+        }
+
+        long time2 = System.nanoTime();
+
+        Object[] ids = index.apply( pool, new NodeIndex.Function()
+        {
+            @Override
+            Object apply( DependencyNode node )
+            {
+                Dependency dependency = node.getDependency();
+                return ( dependency != null ) ? groups.get( toKey( dependency.getArtifact() ) ).index : null;
+            }
+        } );
+
+        Map<DependencyNode, Object> conflictIds = new IdentityHashMap<DependencyNode, Object>( index.size() + 1 );
+        for ( int i = 0; i < ids.length; i++ )
+        {
+            if ( ids[i] != null )
+            {
+                conflictIds.put( index.get( i ), ids[i] );
+            }
+        }
+
+        context.put( TransformationContextKeys.CONFLICT_IDS, conflictIds );
+
+        if ( stats != null )
+        {
+            long time3 = System.nanoTime();
+            stats.put( "ConflictMarker.analyzeTime", time2 - time1 );
+            stats.put( "ConflictMarker.markTime", time3 - time2 );
+            stats.put( "ConflictMarker.nodeCount", index.size() );
+        }
+    }
+
     private void analyze( DependencyNode node, Map<DependencyNode, Object> nodes, Map<Object, ConflictGroup> groups,
                           int[] counter )
     {
@@ -87,71 +163,77 @@ public final class ConflictMarker
             return;
         }
 
-        Set<Object> keys = getKeys( node );
-        if ( !keys.isEmpty() )
+        group( getKeys( node ), groups, counter );
+
+        for ( DependencyNode child : node.getChildren() )
         {
-            ConflictGroup group = null;
-            boolean fixMappings = false;
+            analyze( child, nodes, groups, counter );
+        }
+    }
 
-            for ( Object key : keys )
-            {
-                ConflictGroup g = groups.get( key );
+    private void group( Set<Object> keys, Map<Object, ConflictGroup> groups, int[] counter )
+    {
+        if ( keys.isEmpty() )
+        {
+            return;
+        }
 
-                if ( group != g )
+        ConflictGroup group = null;
+        boolean fixMappings = false;
+
+        for ( Object key : keys )
+        {
+            ConflictGroup g = groups.get( key );
+
+            if ( group != g )
+            {
+                if ( group == null )
                 {
-                    if ( group == null )
+                    Set<Object> newKeys = merge( g.keys, keys );
+                    if ( newKeys == g.keys )
                     {
-                        Set<Object> newKeys = merge( g.keys, keys );
-                        if ( newKeys == g.keys )
-                        {
-                            group = g;
-                            break;
-                        }
-                        else
-                        {
-                            group = new ConflictGroup( newKeys, counter[0]++ );
-                            fixMappings = true;
-                        }
-                    }
-                    else if ( g == null )
-                    {
-                        fixMappings = true;
+                        group = g;
+                        break;
                     }
                     else
                     {
-                        Set<Object> newKeys = merge( g.keys, group.keys );
-                        if ( newKeys == g.keys )
-                        {
-                            group = g;
-                            fixMappings = false;
-                            break;
-                        }
-                        else if ( newKeys != group.keys )
-                        {
-                            group = new ConflictGroup( newKeys, counter[0]++ );
-                            fixMappings = true;
-                        }
+                        group = new ConflictGroup( newKeys, counter[0]++ );
+                        fixMappings = true;
                     }
                 }
-            }
-
-            if ( group == null )
-            {
-                group = new ConflictGroup( keys, counter[0]++ );
-                fixMappings = true;
-            }
-            if ( fixMappings )
-            {
-                for ( Object key : group.keys )
+                else if ( g == null )
                 {
-                    groups.put( key, group );
+                    fixMappings = true;
+                }
+                else
+                {
+                    Set<Object> newKeys = merge( g.keys, group.keys );
+                    if ( newKeys == g.keys )
+                    {
+                        group = g;
+                        fixMappings = false;
+                        break;
+                    }
+                    else if ( newKeys != group.keys )
+                    {
+                        group = new ConflictGroup( newKeys, counter[0]++ );
+                        fixMappings = true;
+                    }
                 }
             }
         }
 
-        for ( DependencyNode child : node.getChildren() )
+        if ( group == null )
         {
-            analyze( child, nodes, groups, counter );
+            group = new ConflictGroup( keys, counter[0]++ );
+            fixMappings = true;
+        }
+        if ( fixMappings )
+        {
+            for ( Object key : group.keys )
+            {
+                groups.put( key, group );
+            }
         }
     }
 
@@ -145,28 +145,39 @@ public final class ConflictResolver
             throw new RepositoryException( "conflict groups have not been identified" );
         }
 
-        Map<Object, Collection<Object>> cyclicPredecessors = new HashMap<Object, Collection<Object>>();
+        State state = new State( node, conflictIds, sortedConflictIds, context );
+
+        int[][] cyclicPredecessors = new int[state.conflictIdCount][];
         for ( Collection<?> cycle : conflictIdCycles )
         {
+            int[] indices = new int[cycle.size()];
+            int count = 0;
             for ( Object conflictId : cycle )
             {
-                Collection<Object> predecessors = cyclicPredecessors.get( conflictId );
-                if ( predecessors == null )
+                int index = state.indexOf( conflictId );
+                if ( index >= 0 )
+                {
+                    indices[count++] = index;
+                }
+            }
+            for ( int i = 0; i < count; i++ )
+            {
+                int[] predecessors = cyclicPredecessors[indices[i]];
+                int length = ( predecessors != null ) ? predecessors.length : 0;
+                int[] merged = new int[length + count];
+                if ( predecessors != null )
                 {
-                    predecessors = new HashSet<Object>();
-                    cyclicPredecessors.put( conflictId, predecessors );
+                    System.arraycopy( predecessors, 0, merged, 0, length );
                 }
-                predecessors.addAll( cycle );
+                System.arraycopy( indices, 0, merged, length, count );
+                cyclicPredecessors[indices[i]] = merged;
             }
         }
 
-        State state = new State( node, conflictIds, sortedConflictIds.size(), context );
-        for ( Iterator<?> it = sortedConflictIds.iterator(); it.hasNext(); )
+        for ( int id = 0, count = sortedConflictIds.size(); id < count; id++ )
         {
-            Object conflictId = it.next();
-
             // reset data structures for next graph walk
-            state.prepare( conflictId, cyclicPredecessors.get( conflictId ) );
+            state.prepare( id, cyclicPredecessors[id] );
 
             // find nodes with the current conflict id and while walking the graph (more deeply), nuke leftover losers
             gatherConflictItems( node, state );
@@ -206,10 +217,10 @@ public final class ConflictResolver
             state.winner();
 
             // in case of cycles, trigger final graph walk to ensure all leftover losers are gone
-            if ( !it.hasNext() && !conflictIdCycles.isEmpty() && state.conflictCtx.winner != null )
+            if ( id == count - 1 && !conflictIdCycles.isEmpty() && state.conflictCtx.winner != null )
             {
                 DependencyNode winner = state.conflictCtx.winner.node;
-                state.prepare( state, null );
+                state.prepare( State.NO_CONFLICT_ID, null );
                 gatherConflictItems( winner, state );
             }
         }
@@ -227,8 +238,8 @@ public final class ConflictResolver
     private boolean gatherConflictItems( DependencyNode node, State state )
         throws RepositoryException
     {
-        Object conflictId = state.conflictIds.get( node );
-        if ( state.currentId.equals( conflictId ) )
+        int conflictId = state.conflictId( node );
+        if ( state.currentId == conflictId )
         {
             // found it, add conflict item (if not already done earlier by another path)
             state.add( node );
@@ -392,9 +403,14 @@ public final class ConflictResolver
     {
 
         /**
-         * The conflict id currently processed.
+         * The pseudo conflict id used for the final graph walk that only removes leftover losers.
          */
-        Object currentId;
+        static final int NO_CONFLICT_ID = -2;
+
+        /**
+         * The dense id of the conflict id currently processed.
+         */
+        int currentId;
 
         /**
          * Stats counter.
@@ -407,22 +423,45 @@ public final class ConflictResolver
         final boolean verbose;
 
         /**
-         * A mapping from conflict id to winner node, helps to recognize nodes that have their effective
-         * scope&optionality set or are leftovers from previous removals.
+         * The number of distinct conflict ids.
          */
-        final Map<Object, DependencyNode> resolvedIds;
+        final int conflictIdCount;
 
         /**
-         * The set of conflict ids which could apply to ancestors of nodes with the current conflict id, used to avoid
-         * recursion early on. This is basically a superset of the key set of resolvedIds, the additional ids account
-         * for cyclic dependencies.
+         * The conflict ids indexed by their dense id, the sorted conflict ids come first such that the dense id of a
+         * sorted conflict id equals its position in the processing order.
          */
-        final Collection<Object> potentialAncestorIds;
+        final Object[] conflictIds;
 
         /**
-         * The output from the conflict marker
+         * The mapping from conflict id to dense id.
          */
-        final Map<?, ?> conflictIds;
+        final Map<Object, Integer> conflictIdIndices;
+
+        /**
+         * The mapping from nodes to the dense ids of their conflict ids, derived once from the output of the conflict
+         * marker.
+         */
+        final Map<DependencyNode, Integer> nodeIds;
+
+        /**
+         * The flags indicating which conflict ids have been resolved, helps to recognize nodes that have their
+         * effective scope&optionality set.
+         */
+        final boolean[] resolvedIds;
+
+        /**
+         * The winner nodes of the resolved conflict ids, helps to recognize leftovers from previous removals. A
+         * resolved conflict id may have no winner if all its nodes were removed by earlier runs.
+         */
+        final DependencyNode[] winners;
+
+        /**
+         * The flags indicating which conflict ids could apply to ancestors of nodes with the current conflict id, used
+         * to avoid recursion early on. This is basically a superset of the resolved ids, the additional ids account
+         * for cyclic dependencies.
+         */
+        final boolean[] potentialAncestorIds;
 
         /**
          * The conflict items we have gathered so far for the current conflict id.
@@ -430,37 +469,68 @@ public final class ConflictResolver
         final List<ConflictItem> items;
 
         /**
-         * The (conceptual) mapping from nodes to extra infos, technically keyed by the node's child list which better
-         * captures the identity of a node since we're basically concerned with effects towards children.
+         * The node infos of the parents of the gathered conflict items, parallel to {@link #items}.
          */
-        final Map<List<DependencyNode>, NodeInfo> infos;
+        final List<NodeInfo> itemInfos;
 
         /**
-         * The set of nodes on the DFS stack to detect cycles, technically keyed by the node's child list to match the
+         * The mapping from nodes to dense graph ids, technically keyed by the node's child list which better captures
+         * the identity of a node since we're basically concerned with effects towards children. This also matches the
          * dirty graph structure produced by the dependency collector for cycles.
          */
-        final Map<List<DependencyNode>, Object> stack;
+        final Map<List<DependencyNode>, Integer> graphIds;
+
+        /**
+         * The (conceptual) mapping from graph ids to extra infos, an info is only valid if it was created during the
+         * current graph walk.
+         */
+        NodeInfo[] infos;
+
+        /**
+         * The graph walks during which the infos were created, parallel to {@link #infos}.
+         */
+        int[] infoWalks;
+
+        /**
+         * The current graph walk.
+         */
+        int walk;
+
+        /**
+         * The flags indicating which graph ids are on the DFS stack to detect cycles.
+         */
+        boolean[] stack;
+
+        /**
+         * The number of parent nodes on the stack.
+         */
+        int depth;
 
         /**
          * The stack of parent nodes.
          */
-        final List<DependencyNode> parentNodes;
+        DependencyNode[] parentNodes;
+
+        /**
+         * The stack of graph ids for parent nodes.
+         */
+        int[] parentGraphIds;
 
         /**
          * The stack of derived scopes for parent nodes.
          */
-        final List<String> parentScopes;
+        String[] parentScopes;
 
         /**
          * The stack of derived optional flags for parent nodes.
          */
-        final List<Boolean> parentOptionals;
+        boolean[] parentOptionals;
 
         /**
          * The stack of node infos for parent nodes, may contain {@code null} which is used to disable creating new
          * conflict items when visiting their parent again (conflict items are meant to be unique by parent-node combo).
          */
-        final List<NodeInfo> parentInfos;
+        NodeInfo[] parentInfos;
 
         /**
          * The conflict context passed to the version/scope/optionality selectors, updated as we move along rather than
@@ -494,21 +564,43 @@ public final class ConflictResolver
          */
         final OptionalitySelector optionalitySelector;
 
-        State( DependencyNode root, Map<?, ?> conflictIds, int conflictIdCount,
+        State( DependencyNode root, Map<?, ?> conflictIds, List<?> sortedConflictIds,
                DependencyGraphTransformationContext context )
             throws RepositoryException
         {
-            this.conflictIds = conflictIds;
             verbose = ConfigUtils.getBoolean( context.getSession(), false, CONFIG_PROP_VERBOSE );
-            potentialAncestorIds = new HashSet<Object>( conflictIdCount * 2 );
-            resolvedIds = new HashMap<Object, DependencyNode>( conflictIdCount * 2 );
+
+            conflictIdIndices = new HashMap<Object, Integer>( sortedConflictIds.size() * 2 );
+            List<Object> ids = new ArrayList<Object>( sortedConflictIds.size() );
+            for ( Object conflictId : sortedConflictIds )
+            {
+                index( conflictId, ids );
+            }
+            nodeIds = new IdentityHashMap<DependencyNode, Integer>( conflictIds.size() * 2 );
+            for ( Map.Entry<?, ?> entry : conflictIds.entrySet() )
+            {
+                if ( entry.getKey() instanceof DependencyNode && entry.getValue() != null )
+                {
+                    nodeIds.put( (DependencyNode) entry.getKey(), index( entry.getValue(), ids ) );
+                }
+            }
+            this.conflictIds = ids.toArray();
+            conflictIdCount = ids.size();
+
+            resolvedIds = new boolean[conflictIdCount];
+            winners = new DependencyNode[conflictIdCount];
+            potentialAncestorIds = new boolean[conflictIdCount];
             items = new ArrayList<ConflictItem>( 256 );
-            infos = new IdentityHashMap<List<DependencyNode>, NodeInfo>( 64 );
-            stack = new IdentityHashMap<List<DependencyNode>, Object>( 64 );
-            parentNodes = new ArrayList<DependencyNode>( 64 );
-            parentScopes = new ArrayList<String>( 64 );
-            parentOptionals = new ArrayList<Boolean>( 64 );
-            parentInfos = new ArrayList<NodeInfo>( 64 );
+            itemInfos = new ArrayList<NodeInfo>( 256 );
+            graphIds = new IdentityHashMap<List<DependencyNode>, Integer>( 256 );
+            infos = new NodeInfo[64];
+            infoWalks = new int[64];
+            stack = new boolean[64];
+            parentNodes = new DependencyNode[64];
+            parentGraphIds = new int[64];
+            parentScopes = new String[64];
+            parentOptionals = new boolean[64];
+            parentInfos = new NodeInfo[64];
             conflictCtx = new ConflictContext( root, conflictIds, items );
             scopeCtx = new ScopeContext( null, null );
             versionSelector = ConflictResolver.this.versionSelector.getInstance( root, context );
@@ -517,58 +609,101 @@ public final class ConflictResolver
             optionalitySelector = ConflictResolver.this.optionalitySelector.getInstance( root, context );
         }
 
-        void prepare( Object conflictId, Collection<Object> cyclicPredecessors )
+        private Integer index( Object conflictId, List<Object> ids )
+        {
+            Integer index = conflictIdIndices.get( conflictId );
+            if ( index == null )
+            {
+                index = ids.size();
+                conflictIdIndices.put( conflictId, index );
+                ids.add( conflictId );
+            }
+            return index;
+        }
+
+        int indexOf( Object conflictId )
+        {
+            Integer index = conflictIdIndices.get( conflictId );
+            return ( index != null ) ? index : -1;
+        }
+
+        int conflictId( DependencyNode node )
         {
-            currentId = conflictCtx.conflictId = conflictId;
+            Integer index = nodeIds.get( node );
+            return ( index != null ) ? index : -1;
+        }
+
+        private int graphId( List<DependencyNode> children )
+        {
+            Integer id = graphIds.get( children );
+            if ( id == null )
+            {
+                id = graphIds.size();
+                graphIds.put( children, id );
+                if ( id >= stack.length )
+                {
+                    int capacity = stack.length * 2;
+                    infos = Arrays.copyOf( infos, capacity );
+                    infoWalks = Arrays.copyOf( infoWalks, capacity );
+                    stack = Arrays.copyOf( stack, capacity );
+                }
+            }
+            return id;
+        }
+
+        void prepare( int conflictId, int[] cyclicPredecessors )
+        {
+            currentId = conflictId;
+            conflictCtx.conflictId = ( conflictId >= 0 ) ? conflictIds[conflictId] : this;
             conflictCtx.winner = null;
             conflictCtx.scope = null;
             conflictCtx.optional = null;
             items.clear();
-            infos.clear();
+            itemInfos.clear();
+            walk++;
             if ( cyclicPredecessors != null )
             {
-                potentialAncestorIds.addAll( cyclicPredecessors );
+                for ( int predecessor : cyclicPredecessors )
+                {
+                    potentialAncestorIds[predecessor] = true;
+                }
             }
         }
 
         void finish()
         {
-            List<DependencyNode> previousParent = null;
-            int previousDepth = 0;
             totalConflictItems += items.size();
             for ( int i = items.size() - 1; i >= 0; i-- )
             {
-                ConflictItem item = items.get( i );
-                if ( item.parent == previousParent )
-                {
-                    item.depth = previousDepth;
-                }
-                else if ( item.parent != null )
+                NodeInfo info = itemInfos.get( i );
+                if ( info != null )
                 {
-                    previousParent = item.parent;
-                    NodeInfo info = infos.get( previousParent );
-                    previousDepth = info.minDepth + 1;
-                    item.depth = previousDepth;
+                    items.get( i ).depth = info.minDepth + 1;
                 }
             }
-            potentialAncestorIds.add( currentId );
+            potentialAncestorIds[currentId] = true;
         }
 
         void winner()
         {
-            resolvedIds.put( currentId, ( conflictCtx.winner != null ) ? conflictCtx.winner.node : null );
+            resolvedIds[currentId] = true;
+            winners[currentId] = ( conflictCtx.winner != null ) ? conflictCtx.winner.node : null;
         }
 
-        boolean loser( DependencyNode node, Object conflictId )
+        boolean loser( DependencyNode node, int conflictId )
         {
-            DependencyNode winner = resolvedIds.get( conflictId );
+            if ( conflictId < 0 )
+            {
+                return false;
+            }
+            DependencyNode winner = winners[conflictId];
             return winner != null && winner != node;
         }
 
-        boolean push( DependencyNode node, Object conflictId )
+        boolean push( DependencyNode node, int conflictId )
             throws RepositoryException
         {
-            if ( conflictId == null )
+            if ( conflictId < 0 )
             {
                 if ( node.getDependency() != null )
                 {
@@ -579,42 +714,38 @@ public final class ConflictResolver
                     throw new RepositoryException( "missing conflict id for node " + node );
                 }
             }
-            else if ( !potentialAncestorIds.contains( conflictId ) )
+            else if ( !potentialAncestorIds[conflictId] )
             {
                 return false;
             }
 
-            List<DependencyNode> graphNode = node.getChildren();
-            if ( stack.put( graphNode, Boolean.TRUE ) != null )
+            int graphNode = graphId( node.getChildren() );
+            if ( stack[graphNode] )
             {
                 return false;
             }
+            stack[graphNode] = true;
 
-            int depth = depth();
             String scope = deriveScope( node, conflictId );
             boolean optional = deriveOptional( node, conflictId );
-            NodeInfo info = infos.get( graphNode );
+            NodeInfo info = ( infoWalks[graphNode] == walk ) ? infos[graphNode] : null;
             if ( info == null )
             {
                 info = new NodeInfo( depth, scope, optional );
-                infos.put( graphNode, info );
-                parentInfos.add( info );
-                parentNodes.add( node );
-                parentScopes.add( scope );
-                parentOptionals.add( optional );
+                infos[graphNode] = info;
+                infoWalks[graphNode] = walk;
+                pushParent( node, graphNode, scope, optional, info );
             }
             else
             {
                 int changes = info.update( depth, scope, optional );
                 if ( changes == 0 )
                 {
-                    stack.remove( graphNode );
+                    stack[graphNode] = false;
                     return false;
                 }
-                parentInfos.add( null ); // disable creating new conflict items, we update the existing ones below
-                parentNodes.add( node );
-                parentScopes.add( scope );
-                parentOptionals.add( optional );
+                // disable creating new conflict items, we update the existing ones below
+                pushParent( node, graphNode, scope, optional, null );
                 if ( info.children != null )
                 {
                     if ( ( changes & NodeInfo.CHANGE_SCOPE ) != 0 )
@@ -622,7 +753,7 @@ public final class ConflictResolver
                         for ( int i = info.children.size() - 1; i >= 0; i-- )
                         {
                             ConflictItem item = info.children.get( i );
-                            String childScope = deriveScope( item.node, null );
+                            String childScope = deriveScope( item.node, -1 );
                             item.addScope( childScope );
                         }
                     }
@@ -631,7 +762,7 @@ public final class ConflictResolver
                         for ( int i = info.children.size() - 1; i >= 0; i-- )
                         {
                             ConflictItem item = info.children.get( i );
-                            boolean childOptional = deriveOptional( item.node, null );
+                            boolean childOptional = deriveOptional( item.node, -1 );
                             item.addOptional( childOptional );
                         }
                     }
@@ -641,14 +772,31 @@ public final class ConflictResolver
             return true;
         }
 
+        private void pushParent( DependencyNode node, int graphNode, String scope, boolean optional, NodeInfo info )
+        {
+            if ( depth >= parentNodes.length )
+            {
+                int capacity = parentNodes.length * 2;
+                parentNodes = Arrays.copyOf( parentNodes, capacity );
+                parentGraphIds = Arrays.copyOf( parentGraphIds, capacity );
+                parentScopes = Arrays.copyOf( parentScopes, capacity );
+                parentOptionals = Arrays.copyOf( parentOptionals, capacity );
+                parentInfos = Arrays.copyOf( parentInfos, capacity );
+            }
+            parentNodes[depth] = node;
+            parentGraphIds[depth] = graphNode;
+            parentScopes[depth] = scope;
+            parentOptionals[depth] = optional;
+            parentInfos[depth] = info;
+            depth++;
+        }
+
         void pop()
         {
-            int last = parentInfos.size() - 1;
-            parentInfos.remove( last );
-            parentScopes.remove( last );
-            parentOptionals.remove( last );
-            DependencyNode node = parentNodes.remove( last );
-            stack.remove( node.getChildren() );
+            depth--;
+            stack[parentGraphIds[depth]] = false;
+            parentNodes[depth] = null;
+            parentInfos[depth] = null;
         }
 
         void add( DependencyNode node )
@@ -659,15 +807,17 @@ public final class ConflictResolver
             {
                 ConflictItem item = newConflictItem( parent, node );
                 items.add( item );
+                itemInfos.add( null );
             }
             else
             {
-                NodeInfo info = parentInfos.get( parentInfos.size() - 1 );
+                NodeInfo info = parentInfos[depth - 1];
                 if ( info != null )
                 {
                     ConflictItem item = newConflictItem( parent, node );
                     info.add( item );
                     items.add( item );
+                    itemInfos.add( info );
                 }
             }
         }
@@ -675,30 +825,23 @@ public final class ConflictResolver
         private ConflictItem newConflictItem( DependencyNode parent, DependencyNode node )
             throws RepositoryException
         {
-            return new ConflictItem( parent, node, deriveScope( node, null ), deriveOptional( node, null ) );
-        }
-
-        private int depth()
-        {
-            return parentNodes.size();
+            return new ConflictItem( parent, node, deriveScope( node, -1 ), deriveOptional( node, -1 ) );
         }
 
         private DependencyNode parent()
         {
-            int size = parentNodes.size();
-            return ( size <= 0 ) ? null : parentNodes.get( size - 1 );
+            return ( depth <= 0 ) ? null : parentNodes[depth - 1];
         }
 
-        private String deriveScope( DependencyNode node, Object conflictId )
+        private String deriveScope( DependencyNode node, int conflictId )
             throws RepositoryException
         {
             if ( ( node.getManagedBits() & DependencyNode.MANAGED_SCOPE ) != 0
-                || ( conflictId != null && resolvedIds.containsKey( conflictId ) ) )
+                || ( conflictId >= 0 && resolvedIds[conflictId] ) )
             {
                 return scope( node.getDependency() );
             }
 
-            int depth = parentNodes.size();
             scopes( depth, node.getDependency() );
             if ( depth > 0 )
             {
@@ -709,7 +852,7 @@ public final class ConflictResolver
 
         private void scopes( int parent, Dependency child )
         {
-            scopeCtx.parentScope = ( parent > 0 ) ? parentScopes.get( parent - 1 ) : null;
+            scopeCtx.parentScope = ( parent > 0 ) ? parentScopes[parent - 1] : null;
             scopeCtx.derivedScope = scopeCtx.childScope = scope( child );
         }
 
@@ -718,17 +861,16 @@ public final class ConflictResolver
             return ( dependency != null ) ? dependency.getScope() : null;
         }
 
-        private boolean deriveOptional( DependencyNode node, Object conflictId )
+        private boolean deriveOptional( DependencyNode node, int conflictId )
         {
             Dependency dep = node.getDependency();
             boolean optional = ( dep != null ) ? dep.isOptional() : false;
             if ( optional || ( node.getManagedBits() & DependencyNode.MANAGED_OPTIONAL ) != 0
-                || ( conflictId != null && resolvedIds.containsKey( conflictId ) ) )
+                || ( conflictId >= 0 && resolvedIds[conflictId] ) )
             {
                 return optional;
             }
-            int depth = parentNodes.size();
-            return ( depth > 0 ) ? parentOptionals.get( depth - 1 ) : false;
+            return ( depth > 0 ) ? parentOptionals[depth - 1] : false;
         }
 
     }
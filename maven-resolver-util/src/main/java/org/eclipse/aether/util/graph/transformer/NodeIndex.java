@@ -0,0 +1,241 @@
+package org.eclipse.aether.util.graph.transformer;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.ConfigUtils;
+
+/**
+ * The distinct nodes of a dependency graph in the order in which a depth-first walk that skips already visited nodes
+ * first encounters them. Work that is independent per node can be distributed among the threads of a fork/join pool,
+ * its results are stored by node index such that subsequent processing in node order yields the same outcome
+ * regardless of the number of threads.
+ */
+final class NodeIndex
+{
+
+    /**
+     * The minimum number of nodes a graph needs to have before its processing is distributed among several threads.
+     */
+    static final int PARALLEL_THRESHOLD = 4 * 1024;
+
+    private static final int BATCH_SIZE = 256;
+
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+    /**
+     * A computation that is performed for each node of the graph.
+     */
+    abstract static class Function
+    {
+
+        abstract Object apply( DependencyNode node );
+
+    }
+
+    private final DependencyNode[] nodes;
+
+    private final Map<DependencyNode, Integer> indices;
+
+    NodeIndex( DependencyNode root )
+    {
+        indices = new IdentityHashMap<DependencyNode, Integer>( 1024 );
+        List<DependencyNode> nodes = new ArrayList<DependencyNode>( 1024 );
+        collect( root, nodes );
+        this.nodes = nodes.toArray( new DependencyNode[nodes.size()] );
+    }
+
+    private void collect( DependencyNode node, List<DependencyNode> nodes )
+    {
+        if ( indices.containsKey( node ) )
+        {
+            return;
+        }
+        indices.put( node, nodes.size() );
+        nodes.add( node );
+
+        for ( DependencyNode child : node.getChildren() )
+        {
+            collect( child, nodes );
+        }
+    }
+
+    /**
+     * Gets the number of threads to use for the processing of large graphs according to the configuration property
+     * {@link ConflictMarker#CONFIG_PROP_THREADS}.
+     * 
+     * @param session The repository system session, must not be {@code null}.
+     * @return The number of threads, a value less than two denotes sequential processing.
+     */
+    static int getThreads( RepositorySystemSession session )
+    {
+        return ConfigUtils.getInteger( session, 1, ConflictMarker.CONFIG_PROP_THREADS );
+    }
+
+    /**
+     * Gets the fork/join pool with the specified parallelism. The pools are shared by all transformations, their worker
+     * threads are daemons that terminate when idle.
+     * 
+     * @param threads The number of threads, must be positive.
+     * @return The fork/join pool, never {@code null}.
+     */
+    static ForkJoinPool getPool( int threads )
+    {
+        ForkJoinPool pool = POOLS.get( threads );
+        if ( pool == null )
+        {
+            pool = new ForkJoinPool( threads );
+            ForkJoinPool existing = POOLS.putIfAbsent( threads, pool );
+            if ( existing != null )
+            {
+                pool.shutdown();
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Determines whether the specified graph might be large enough for parallel processing without building an index.
+     * The check visits at most {@link #PARALLEL_THRESHOLD} nodes, counting shared nodes once per path such that a
+     * negative answer is definite while a positive answer needs to be confirmed by {@link #isLarge()}.
+     * 
+     * @param root The root node of the graph, must not be {@code null}.
+     * @return {@code false} if the graph is definitely too small for parallel processing, {@code true} otherwise.
+     */
+    static boolean isPossiblyLarge( DependencyNode root )
+    {
+        return count( root, 0 ) >= PARALLEL_THRESHOLD;
+    }
+
+    private static int count( DependencyNode node, int count )
+    {
+        count++;
+        for ( DependencyNode child : node.getChildren() )
+        {
+            if ( count >= PARALLEL_THRESHOLD )
+            {
+                break;
+            }
+            count = count( child, count );
+        }
+        return count;
+    }
+
+    /**
+     * Determines whether the processing of the graph should be distributed among several threads.
+     * 
+     * @return {@code true} if the graph is large enough to benefit from parallel processing, {@code false} otherwise.
+     */
+    boolean isLarge()
+    {
+        return nodes.length >= PARALLEL_THRESHOLD;
+    }
+
+    int size()
+    {
+        return nodes.length;
+    }
+
+    DependencyNode get( int index )
+    {
+        return nodes[index];
+    }
+
+    int indexOf( DependencyNode node )
+    {
+        Integer index = indices.get( node );
+        return ( index != null ) ? index : -1;
+    }
+
+    /**
+     * Applies the specified function to all nodes of the graph.
+     * 
+     * @param pool The fork/join pool used to distribute the work, may be {@code null} to use the current thread.
+     * @param function The function to apply, must not be {@code null}.
+     * @return The results of the function, indexed like the nodes.
+     */
+    Object[] apply( ForkJoinPool pool, Function function )
+    {
+        Object[] results = new Object[nodes.length];
+        Batch batch = new Batch( function, results, 0, nodes.length );
+        if ( pool != null )
+        {
+            pool.invoke( batch );
+        }
+        else
+        {
+            batch.compute();
+        }
+        return results;
+    }
+
+    class Batch
+        extends RecursiveAction
+    {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Function function;
+
+        private final Object[] results;
+
+        private final int from;
+
+        private final int to;
+
+        Batch( Function function, Object[] results, int from, int to )
+        {
+            this.function = function;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from <= BATCH_SIZE )
+            {
+                for ( int i = from; i < to; i++ )
+                {
+                    results[i] = function.apply( nodes[i] );
+                }
+            }
+            else
+            {
+                int middle = ( from + to ) >>> 1;
+                invokeAll( new Batch( function, results, from, middle ), new Batch( function, results, middle, to ) );
+            }
+        }
+
+    }
+
+}
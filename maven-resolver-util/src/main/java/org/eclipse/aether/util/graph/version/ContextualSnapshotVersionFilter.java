@@ -23,7 +23,7 @@ import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.VersionFilter;
-import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.ConfigView;
 
 /**
  * A version filter that blocks "*-SNAPSHOT" versions if the
@@ -55,7 +55,7 @@ public final class ContextualSnapshotVersionFilter
 
     private boolean isEnabled( RepositorySystemSession session )
     {
-        return ConfigUtils.getBoolean( session, false, CONFIG_PROP_ENABLE );
+        return ConfigView.getView( session ).getBoolean( false, CONFIG_PROP_ENABLE, null );
     }
 
     public void filterVersions( VersionFilterContext context )
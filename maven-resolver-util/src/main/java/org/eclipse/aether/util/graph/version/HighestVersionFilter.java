@@ -41,6 +41,19 @@ public final class HighestVersionFilter
 
     public void filterVersions( VersionFilterContext context )
     {
+        if ( context instanceof IndexedVersionFilterContext )
+        {
+            IndexedVersionFilterContext indexed = (IndexedVersionFilterContext) context;
+            for ( int i = indexed.getVersions().size() - 1; i >= 0; i-- )
+            {
+                if ( indexed.isAvailable( i ) )
+                {
+                    indexed.retain( i, i + 1 );
+                    break;
+                }
+            }
+            return;
+        }
         Iterator<Version> it = context.iterator();
         for ( boolean hasNext = it.hasNext(); hasNext; )
         {
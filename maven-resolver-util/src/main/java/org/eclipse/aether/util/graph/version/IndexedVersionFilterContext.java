@@ -0,0 +1,69 @@
+package org.eclipse.aether.util.graph.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.collection.VersionFilter;
+import org.eclipse.aether.util.version.SortedVersionList;
+
+/**
+ * A version filter context that addresses the available versions by their index in the sorted list of all versions of
+ * the dependency. Version filters can use this to process the versions in less than linear time, e.g. to keep only the
+ * highest version without visiting the lower ones. Contexts are not required to implement this interface, filters
+ * need to fall back to {@link #iterator()} for other contexts.
+ * 
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface IndexedVersionFilterContext
+    extends VersionFilter.VersionFilterContext
+{
+
+    /**
+     * Gets all versions of the dependency, including those already removed during version filtering.
+     * 
+     * @return The (read-only) versions in ascending order, never {@code null}.
+     */
+    SortedVersionList getVersions();
+
+    /**
+     * Determines whether the version at the specified index of {@link #getVersions()} is still available.
+     * 
+     * @param index The index of the version.
+     * @return {@code true} if the version has not been removed yet, {@code false} otherwise.
+     */
+    boolean isAvailable( int index );
+
+    /**
+     * Removes the version at the specified index of {@link #getVersions()}. Removing a version that is not available
+     * has no effect.
+     * 
+     * @param index The index of the version to remove.
+     */
+    void remove( int index );
+
+    /**
+     * Removes all versions whose index in {@link #getVersions()} is outside the specified interval.
+     * 
+     * @param fromIndex The index of the lowest version to keep, inclusive.
+     * @param toIndex The index of the highest version to keep, exclusive.
+     */
+    void retain( int fromIndex, int toIndex );
+
+}
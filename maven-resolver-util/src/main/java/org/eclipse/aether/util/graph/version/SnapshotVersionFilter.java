@@ -23,6 +23,7 @@ import java.util.Iterator;
 
 import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.VersionFilter;
+import org.eclipse.aether.util.version.SortedVersionList;
 import org.eclipse.aether.version.Version;
 
 /**
@@ -42,6 +43,16 @@ public final class SnapshotVersionFilter
 
     public void filterVersions( VersionFilterContext context )
     {
+        if ( context instanceof IndexedVersionFilterContext )
+        {
+            IndexedVersionFilterContext indexed = (IndexedVersionFilterContext) context;
+            SortedVersionList versions = indexed.getVersions();
+            for ( int i = versions.nextSnapshotIndex( 0 ); i >= 0; i = versions.nextSnapshotIndex( i + 1 ) )
+            {
+                indexed.remove( i );
+            }
+            return;
+        }
         for ( Iterator<Version> it = context.iterator(); it.hasNext(); )
         {
             String version = it.next().toString();
@@ -0,0 +1,261 @@
+package org.eclipse.aether.util.listener;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
+
+/**
+ * A bounded ring buffer of events that are delivered in order by a single worker thread. The worker thread is started
+ * on demand and terminates when idle for a few seconds. An event can be coalescable with respect to some key (e.g. the
+ * progress events of a transferred resource), such an event replaces a still pending coalescable event with the same
+ * key. Events without key are never coalesced, but they prevent coalescing with an event for the same key that
+ * preceded them, thereby preserving the order of events per key. If the buffer is full, coalescable events are dropped
+ * and other events wait for free space.
+ * 
+ * @param <E> The type of events.
+ */
+abstract class AsyncEventQueue<E>
+    implements Runnable
+{
+
+    private final Object lock = new Object();
+
+    private final Object[] ring;
+
+    private final Map<Object, Long> coalescable = new HashMap<Object, Long>();
+
+    private final ThreadPoolExecutor executor;
+
+    private long head;
+
+    private int size;
+
+    private boolean draining;
+
+    private long dropped;
+
+    AsyncEventQueue( int capacity, String threadNamePrefix )
+    {
+        if ( capacity <= 0 )
+        {
+            throw new IllegalArgumentException( "capacity must be positive" );
+        }
+        ring = new Object[capacity];
+        executor =
+            new ThreadPoolExecutor( 1, 1, 3, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                                    new WorkerThreadFactory( threadNamePrefix ) );
+        executor.allowCoreThreadTimeOut( true );
+    }
+
+    /**
+     * Gets the key of the entity the specified event refers to, i.e. the key by which the order of events is preserved.
+     * 
+     * @param event The event, never {@code null}.
+     * @return The key or {@code null} if the event is never coalesced.
+     */
+    abstract Object getKey( E event );
+
+    /**
+     * Determines whether the specified event can be replaced by a later coalescable event with the same key.
+     * 
+     * @param event The event, never {@code null}.
+     * @return {@code true} if the event is coalescable, {@code false} otherwise.
+     */
+    abstract boolean isCoalescable( E event );
+
+    /**
+     * Delivers the specified event on the worker thread.
+     * 
+     * @param event The event, never {@code null}.
+     */
+    abstract void deliver( E event );
+
+    final void enqueue( E event )
+    {
+        boolean interrupted = false;
+        synchronized ( lock )
+        {
+            Object key = getKey( event );
+            if ( key != null && isCoalescable( event ) )
+            {
+                Long pending = coalescable.get( key );
+                if ( pending != null )
+                {
+                    ring[slot( pending )] = event;
+                    return;
+                }
+                if ( size >= ring.length )
+                {
+                    dropped++;
+                    return;
+                }
+                coalescable.put( key, head + size );
+            }
+            else
+            {
+                if ( key != null )
+                {
+                    coalescable.remove( key );
+                }
+                while ( size >= ring.length )
+                {
+                    try
+                    {
+                        lock.wait();
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        interrupted = true;
+                    }
+                }
+            }
+            ring[slot( head + size )] = event;
+            size++;
+            if ( !draining )
+            {
+                draining = true;
+                executor.execute( this );
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int slot( long sequence )
+    {
+        return (int) ( sequence % ring.length );
+    }
+
+    public void run()
+    {
+        while ( true )
+        {
+            E event;
+            synchronized ( lock )
+            {
+                if ( size <= 0 )
+                {
+                    draining = false;
+                    lock.notifyAll();
+                    return;
+                }
+                int slot = slot( head );
+                @SuppressWarnings( "unchecked" )
+                E next = (E) ring[slot];
+                event = next;
+                ring[slot] = null;
+                Object key = getKey( event );
+                if ( key != null )
+                {
+                    Long pending = coalescable.get( key );
+                    if ( pending != null && pending == head )
+                    {
+                        coalescable.remove( key );
+                    }
+                }
+                head++;
+                size--;
+                lock.notifyAll();
+            }
+            boolean delivered = false;
+            try
+            {
+                deliver( event );
+                delivered = true;
+            }
+            catch ( RuntimeException | LinkageError e )
+            {
+                // a failing listener must not stop the delivery of subsequent events
+                delivered = true;
+            }
+            finally
+            {
+                if ( !delivered )
+                {
+                    reschedule();
+                }
+            }
+        }
+    }
+
+    private void reschedule()
+    {
+        synchronized ( lock )
+        {
+            if ( size > 0 )
+            {
+                executor.execute( this );
+            }
+            else
+            {
+                draining = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all pending events have been delivered.
+     * 
+     * @param timeout The maximum time to wait in milliseconds.
+     * @return {@code true} if all events have been delivered, {@code false} if the timeout elapsed before.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    boolean flush( long timeout )
+        throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized ( lock )
+        {
+            while ( size > 0 || draining )
+            {
+                long remaining = deadline - System.currentTimeMillis();
+                if ( remaining <= 0L )
+                {
+                    return false;
+                }
+                lock.wait( remaining );
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of coalescable events that were dropped because the buffer was full.
+     * 
+     * @return The number of dropped events.
+     */
+    long getDroppedCount()
+    {
+        synchronized ( lock )
+        {
+            return dropped;
+        }
+    }
+
+}
@@ -0,0 +1,276 @@
+package org.eclipse.aether.util.listener;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+
+/**
+ * A repository listener that delivers the events to another listener on a separate thread, such that the resolving
+ * threads never wait for the (possibly slow) listener. Events are buffered in a bounded ring buffer and delivered in
+ * order, a resolving thread only waits if the buffer is full.
+ */
+public final class AsyncRepositoryListener
+    implements RepositoryListener
+{
+
+    private final RepositoryListener listener;
+
+    private final EventQueue queue;
+
+    /**
+     * Creates a new asynchronous listener that buffers up to 1024 events.
+     * 
+     * @param listener The listener to deliver the events to, must not be {@code null}.
+     */
+    public AsyncRepositoryListener( RepositoryListener listener )
+    {
+        this( listener, 1024 );
+    }
+
+    /**
+     * Creates a new asynchronous listener with the specified buffer capacity.
+     * 
+     * @param listener The listener to deliver the events to, must not be {@code null}.
+     * @param capacity The maximum number of pending events, must be positive.
+     */
+    public AsyncRepositoryListener( RepositoryListener listener, int capacity )
+    {
+        this.listener = requireNonNull( listener, "repository listener cannot be null" );
+        this.queue = new EventQueue( capacity );
+    }
+
+    /**
+     * Gets the listener the events are delivered to.
+     * 
+     * @return The delegate listener, never {@code null}.
+     */
+    public RepositoryListener getListener()
+    {
+        return listener;
+    }
+
+    /**
+     * Waits until all pending events have been delivered.
+     * 
+     * @param timeout The maximum time to wait in milliseconds.
+     * @return {@code true} if all events have been delivered, {@code false} if the timeout elapsed before.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    public boolean flush( long timeout )
+        throws InterruptedException
+    {
+        return queue.flush( timeout );
+    }
+
+    public void artifactDescriptorInvalid( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactDescriptorMissing( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataInvalid( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactResolving( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactResolved( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataResolving( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataResolved( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactDownloading( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactDownloaded( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataDownloading( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataDownloaded( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactInstalling( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactInstalled( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataInstalling( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataInstalled( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactDeploying( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void artifactDeployed( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataDeploying( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    public void metadataDeployed( RepositoryEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "async(" + listener + ")";
+    }
+
+    class EventQueue
+        extends AsyncEventQueue<RepositoryEvent>
+    {
+
+        EventQueue( int capacity )
+        {
+            super( capacity, "resolver-repository-listener-" );
+        }
+
+        @Override
+        Object getKey( RepositoryEvent event )
+        {
+            return null;
+        }
+
+        @Override
+        boolean isCoalescable( RepositoryEvent event )
+        {
+            return false;
+        }
+
+        @Override
+        void deliver( RepositoryEvent event )
+        {
+            switch ( event.getType() )
+            {
+                case ARTIFACT_DEPLOYED:
+                    listener.artifactDeployed( event );
+                    break;
+                case ARTIFACT_DEPLOYING:
+                    listener.artifactDeploying( event );
+                    break;
+                case ARTIFACT_DESCRIPTOR_INVALID:
+                    listener.artifactDescriptorInvalid( event );
+                    break;
+                case ARTIFACT_DESCRIPTOR_MISSING:
+                    listener.artifactDescriptorMissing( event );
+                    break;
+                case ARTIFACT_DOWNLOADED:
+                    listener.artifactDownloaded( event );
+                    break;
+                case ARTIFACT_DOWNLOADING:
+                    listener.artifactDownloading( event );
+                    break;
+                case ARTIFACT_INSTALLED:
+                    listener.artifactInstalled( event );
+                    break;
+                case ARTIFACT_INSTALLING:
+                    listener.artifactInstalling( event );
+                    break;
+                case ARTIFACT_RESOLVED:
+                    listener.artifactResolved( event );
+                    break;
+                case ARTIFACT_RESOLVING:
+                    listener.artifactResolving( event );
+                    break;
+                case METADATA_DEPLOYED:
+                    listener.metadataDeployed( event );
+                    break;
+                case METADATA_DEPLOYING:
+                    listener.metadataDeploying( event );
+                    break;
+                case METADATA_DOWNLOADED:
+                    listener.metadataDownloaded( event );
+                    break;
+                case METADATA_DOWNLOADING:
+                    listener.metadataDownloading( event );
+                    break;
+                case METADATA_INSTALLED:
+                    listener.metadataInstalled( event );
+                    break;
+                case METADATA_INSTALLING:
+                    listener.metadataInstalling( event );
+                    break;
+                case METADATA_INVALID:
+                    listener.metadataInvalid( event );
+                    break;
+                case METADATA_RESOLVED:
+                    listener.metadataResolved( event );
+                    break;
+                case METADATA_RESOLVING:
+                    listener.metadataResolving( event );
+                    break;
+                default:
+                    throw new IllegalStateException( "unknown repository event type " + event.getType() );
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.eclipse.aether.util.listener;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+
+/**
+ * A transfer listener that delivers the events to another listener on a separate thread, such that the transfer
+ * threads never wait for the (possibly slow) listener. Events are buffered in a bounded ring buffer and delivered in
+ * order. Progress events for a resource that are still pending when the next progress event of the resource arrives are
+ * coalesced, i.e. only the latest one is delivered, and they are dropped if the buffer is full. As the data buffer of a
+ * progress event is only valid during the original callback, the delivered progress events carry no data buffer. Note
+ * that the delegate listener cannot cancel transfers by throwing a {@link TransferCancelledException}.
+ */
+public final class AsyncTransferListener
+    extends AbstractTransferListener
+{
+
+    private final TransferListener listener;
+
+    private final EventQueue queue;
+
+    /**
+     * Creates a new asynchronous listener that buffers up to 1024 events.
+     * 
+     * @param listener The listener to deliver the events to, must not be {@code null}.
+     */
+    public AsyncTransferListener( TransferListener listener )
+    {
+        this( listener, 1024 );
+    }
+
+    /**
+     * Creates a new asynchronous listener with the specified buffer capacity.
+     * 
+     * @param listener The listener to deliver the events to, must not be {@code null}.
+     * @param capacity The maximum number of pending events, must be positive.
+     */
+    public AsyncTransferListener( TransferListener listener, int capacity )
+    {
+        this.listener = requireNonNull( listener, "transfer listener cannot be null" );
+        this.queue = new EventQueue( capacity );
+    }
+
+    /**
+     * Gets the listener the events are delivered to.
+     * 
+     * @return The delegate listener, never {@code null}.
+     */
+    public TransferListener getListener()
+    {
+        return listener;
+    }
+
+    /**
+     * Waits until all pending events have been delivered.
+     * 
+     * @param timeout The maximum time to wait in milliseconds.
+     * @return {@code true} if all events have been delivered, {@code false} if the timeout elapsed before.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    public boolean flush( long timeout )
+        throws InterruptedException
+    {
+        return queue.flush( timeout );
+    }
+
+    /**
+     * Gets the number of progress events that were dropped because the buffer was full.
+     * 
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount()
+    {
+        return queue.getDroppedCount();
+    }
+
+    @Override
+    public void transferInitiated( TransferEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    @Override
+    public void transferStarted( TransferEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    @Override
+    public void transferProgressed( TransferEvent event )
+    {
+        queue.enqueue( new TransferEvent.Builder( event.getSession(), event.getResource() )
+            .setType( event.getType() ).setRequestType( event.getRequestType() )
+            .setTransferredBytes( event.getTransferredBytes() ).build() );
+    }
+
+    @Override
+    public void transferCorrupted( TransferEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    @Override
+    public void transferSucceeded( TransferEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    @Override
+    public void transferFailed( TransferEvent event )
+    {
+        queue.enqueue( event );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "async(" + listener + ")";
+    }
+
+    class EventQueue
+        extends AsyncEventQueue<TransferEvent>
+    {
+
+        EventQueue( int capacity )
+        {
+            super( capacity, "resolver-transfer-listener-" );
+        }
+
+        @Override
+        Object getKey( TransferEvent event )
+        {
+            return event.getResource();
+        }
+
+        @Override
+        boolean isCoalescable( TransferEvent event )
+        {
+            return event.getType() == TransferEvent.EventType.PROGRESSED;
+        }
+
+        @Override
+        void deliver( TransferEvent event )
+        {
+            try
+            {
+                switch ( event.getType() )
+                {
+                    case INITIATED:
+                        listener.transferInitiated( event );
+                        break;
+                    case STARTED:
+                        listener.transferStarted( event );
+                        break;
+                    case PROGRESSED:
+                        listener.transferProgressed( event );
+                        break;
+                    case CORRUPTED:
+                        listener.transferCorrupted( event );
+                        break;
+                    case SUCCEEDED:
+                        listener.transferSucceeded( event );
+                        break;
+                    case FAILED:
+                        listener.transferFailed( event );
+                        break;
+                    default:
+                        throw new IllegalStateException( "unknown transfer event type " + event.getType() );
+                }
+            }
+            catch ( TransferCancelledException e )
+            {
+                // the transfer has already moved on, cancellation is not supported
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,527 @@
+package org.eclipse.aether.util.repository;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * A repository cache for long-lived processes like build daemons or IDEs. In contrast to the
+ * {@link org.eclipse.aether.DefaultRepositoryCache}, the number of entries can be limited per type of key, with either
+ * the least recently used or the least frequently used entry being evicted once a limit is exceeded. The cache counts
+ * hits, misses and evictions. Entries for which a {@link Codec} has been registered can be written to a snapshot and
+ * restored from it in a later process. The cache is thread-safe, the entries of each type of key are guarded by their
+ * own lock.
+ */
+public final class BoundedRepositoryCache
+    implements RepositoryCache
+{
+
+    /**
+     * The strategy to select the entry that is evicted when the number of entries exceeds a limit.
+     */
+    public enum Eviction
+    {
+
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Evicts the least frequently used entry.
+         */
+        LFU
+
+    }
+
+    /**
+     * Converts the value of a cache entry to and from its representation in a snapshot. Codecs are registered for the
+     * keys of the entries they handle, the component that owns an entry is expected to provide its codec.
+     * 
+     * @see BoundedRepositoryCache#setCodec(String, Codec)
+     */
+    public interface Codec
+    {
+
+        /**
+         * Writes the specified value of a cache entry.
+         * 
+         * @param out The output to write to, must not be {@code null}.
+         * @param value The value to write, never {@code null}.
+         * @throws IOException If the value could not be written.
+         */
+        void write( DataOutput out, Object value )
+            throws IOException;
+
+        /**
+         * Reads a value previously written by {@link #write(DataOutput, Object)}.
+         * 
+         * @param in The input to read from, must not be {@code null}.
+         * @return The value to restore or {@code null} to skip the entry.
+         * @throws IOException If the value could not be read.
+         */
+        Object read( DataInput in )
+            throws IOException;
+
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x52434332;
+
+    private final Eviction eviction;
+
+    private final int defaultMaxEntries;
+
+    private final ConcurrentMap<Class<?>, Integer> maxEntries = new ConcurrentHashMap<Class<?>, Integer>();
+
+    private final ConcurrentMap<Class<?>, Segment> segments = new ConcurrentHashMap<Class<?>, Segment>();
+
+    private final Map<String, Codec> codecs = new ConcurrentHashMap<String, Codec>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new cache with least recently used eviction and no limits.
+     */
+    public BoundedRepositoryCache()
+    {
+        this( Eviction.LRU, Integer.MAX_VALUE );
+    }
+
+    /**
+     * Creates a new cache with the specified eviction strategy and default limit.
+     * 
+     * @param eviction The eviction strategy, must not be {@code null}.
+     * @param defaultMaxEntries The maximum number of entries per type of key unless configured otherwise via
+     *            {@link #setMaxEntries(Class, int)}, must be positive.
+     */
+    public BoundedRepositoryCache( Eviction eviction, int defaultMaxEntries )
+    {
+        this.eviction = requireNonNull( eviction, "eviction strategy cannot be null" );
+        if ( defaultMaxEntries <= 0 )
+        {
+            throw new IllegalArgumentException( "maximum number of entries must be positive" );
+        }
+        this.defaultMaxEntries = defaultMaxEntries;
+    }
+
+    /**
+     * Limits the number of entries whose keys are of the specified type. Excess entries are evicted right away.
+     * 
+     * @param keyType The class of the keys, must not be {@code null}.
+     * @param max The maximum number of entries, must be positive.
+     * @return This cache for chaining, never {@code null}.
+     */
+    public BoundedRepositoryCache setMaxEntries( Class<?> keyType, int max )
+    {
+        requireNonNull( keyType, "key type cannot be null" );
+        if ( max <= 0 )
+        {
+            throw new IllegalArgumentException( "maximum number of entries must be positive" );
+        }
+        maxEntries.put( keyType, max );
+        Segment segment = segments.get( keyType );
+        if ( segment != null )
+        {
+            evictions.addAndGet( segment.evict( max ) );
+        }
+        return this;
+    }
+
+    /**
+     * Registers the codec for the entry with the specified key. Only entries with a codec are written to snapshots.
+     * 
+     * @param key The key of the entry, must not be {@code null}.
+     * @param codec The codec for the value of the entry, may be {@code null} to unregister the codec.
+     * @return This cache for chaining, never {@code null}.
+     */
+    public BoundedRepositoryCache setCodec( String key, Codec codec )
+    {
+        requireNonNull( key, "key cannot be null" );
+        if ( codec != null )
+        {
+            codecs.put( key, codec );
+        }
+        else
+        {
+            codecs.remove( key );
+        }
+        return this;
+    }
+
+    public Object get( RepositorySystemSession session, Object key )
+    {
+        Segment segment = segments.get( key.getClass() );
+        Object value = ( segment != null ) ? segment.get( key, true ) : null;
+        ( ( value != null ) ? hits : misses ).incrementAndGet();
+        return value;
+    }
+
+    public void put( RepositorySystemSession session, Object key, Object data )
+    {
+        Class<?> keyType = key.getClass();
+        Segment segment = segments.get( keyType );
+        if ( data == null )
+        {
+            if ( segment != null )
+            {
+                segment.remove( key );
+            }
+            return;
+        }
+        if ( segment == null )
+        {
+            segment = new Segment( eviction == Eviction.LFU );
+            Segment existing = segments.putIfAbsent( keyType, segment );
+            if ( existing != null )
+            {
+                segment = existing;
+            }
+        }
+        Integer max = maxEntries.get( keyType );
+        int evicted = segment.put( key, data, ( max != null ) ? max : defaultMaxEntries );
+        if ( evicted > 0 )
+        {
+            evictions.addAndGet( evicted );
+        }
+    }
+
+    /**
+     * Writes the entries for which a codec has been registered to a snapshot. Reading the entries does not count as
+     * their use.
+     * 
+     * @param out The stream to write the snapshot to, must not be {@code null}. The stream is not closed.
+     * @return The number of entries written.
+     * @throws IOException If the snapshot could not be written.
+     * @see #setCodec(String, Codec)
+     */
+    public int writeSnapshot( OutputStream out )
+        throws IOException
+    {
+        List<String> keys = new ArrayList<String>();
+        List<byte[]> records = new ArrayList<byte[]>();
+        Segment segment = segments.get( String.class );
+        for ( Map.Entry<String, Codec> codec : codecs.entrySet() )
+        {
+            Object value = ( segment != null ) ? segment.get( codec.getKey(), false ) : null;
+            if ( value != null )
+            {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream( 1024 );
+                DataOutputStream dos = new DataOutputStream( buffer );
+                codec.getValue().write( dos, value );
+                dos.flush();
+                keys.add( codec.getKey() );
+                records.add( buffer.toByteArray() );
+            }
+        }
+
+        DataOutputStream dos = new DataOutputStream( out );
+        dos.writeInt( SNAPSHOT_MAGIC );
+        dos.writeInt( records.size() );
+        for ( int i = 0; i < records.size(); i++ )
+        {
+            dos.writeUTF( keys.get( i ) );
+            dos.writeInt( records.get( i ).length );
+            dos.write( records.get( i ) );
+        }
+        dos.flush();
+        return records.size();
+    }
+
+    /**
+     * Restores the entries from a snapshot previously written by {@link #writeSnapshot(OutputStream)}. Entries without
+     * a registered codec are skipped.
+     * 
+     * @param in The stream to read the snapshot from, must not be {@code null}. The stream is not closed.
+     * @return The number of entries restored.
+     * @throws IOException If the snapshot could not be read or is malformed.
+     */
+    public int readSnapshot( InputStream in )
+        throws IOException
+    {
+        DataInputStream dis = new DataInputStream( in );
+        if ( dis.readInt() != SNAPSHOT_MAGIC )
+        {
+            throw new IOException( "Not a repository cache snapshot" );
+        }
+        int count = dis.readInt();
+        int restored = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            String key = dis.readUTF();
+            int length = dis.readInt();
+            if ( length < 0 )
+            {
+                throw new IOException( "Malformed repository cache snapshot" );
+            }
+            byte[] record = new byte[length];
+            dis.readFully( record );
+            Codec codec = codecs.get( key );
+            if ( codec == null )
+            {
+                continue;
+            }
+            Object value = codec.read( new DataInputStream( new ByteArrayInputStream( record ) ) );
+            if ( value != null )
+            {
+                put( null, key, value );
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Removes all entries from the cache. The statistics are not reset.
+     */
+    public void clear()
+    {
+        segments.clear();
+    }
+
+    /**
+     * Gets the number of entries in the cache.
+     * 
+     * @return The number of entries.
+     */
+    public int size()
+    {
+        int size = 0;
+        for ( Segment segment : segments.values() )
+        {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of lookups that found an entry.
+     * 
+     * @return The number of cache hits.
+     */
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that found no entry.
+     * 
+     * @return The number of cache misses.
+     */
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of entries that were evicted to respect the limits.
+     * 
+     * @return The number of evictions.
+     */
+    public long getEvictionCount()
+    {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BoundedRepositoryCache[size=" + size() + ", hits=" + hits + ", misses=" + misses + ", evictions="
+            + evictions + "]";
+    }
+
+    /**
+     * The entries for one type of key, guarded by the segment's own lock. The entries are kept in access order, which
+     * directly yields the least recently used entry. For LFU eviction, the keys are additionally grouped by their
+     * number of uses, each group in the order the keys reached that number, such that finding and updating the least
+     * frequently used entry is logarithmic in the number of distinct use counts rather than linear in the number of
+     * entries.
+     */
+    static final class Segment
+    {
+
+        private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<Object, Entry>( 16, 0.75f, true );
+
+        private final TreeMap<Long, LinkedHashSet<Object>> keysByUses;
+
+        Segment( boolean lfu )
+        {
+            keysByUses = lfu ? new TreeMap<Long, LinkedHashSet<Object>>() : null;
+        }
+
+        synchronized Object get( Object key, boolean use )
+        {
+            Entry entry = use ? entries.get( key ) : peek( key );
+            if ( entry == null )
+            {
+                return null;
+            }
+            if ( use )
+            {
+                use( key, entry );
+            }
+            return entry.value;
+        }
+
+        private Entry peek( Object key )
+        {
+            // a plain lookup would count as access and reorder the entries
+            for ( Map.Entry<Object, Entry> entry : entries.entrySet() )
+            {
+                if ( entry.getKey().equals( key ) )
+                {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds or updates the entry with the specified key.
+         * 
+         * @return The number of entries evicted to make room for a new entry.
+         */
+        synchronized int put( Object key, Object value, int max )
+        {
+            Entry entry = entries.get( key );
+            if ( entry != null )
+            {
+                entry.value = value;
+                return 0;
+            }
+            // evict before adding, a new entry has not had a chance to be used yet
+            int evicted = evict( max - 1 );
+            entry = new Entry( value );
+            entries.put( key, entry );
+            if ( keysByUses != null )
+            {
+                keys( entry.uses ).add( key );
+            }
+            return evicted;
+        }
+
+        synchronized void remove( Object key )
+        {
+            Entry entry = entries.remove( key );
+            if ( entry != null && keysByUses != null )
+            {
+                unlink( key, entry.uses );
+            }
+        }
+
+        synchronized int evict( int max )
+        {
+            int evicted = 0;
+            while ( entries.size() > max )
+            {
+                remove( victim() );
+                evicted++;
+            }
+            return evicted;
+        }
+
+        synchronized int size()
+        {
+            return entries.size();
+        }
+
+        private void use( Object key, Entry entry )
+        {
+            if ( keysByUses != null )
+            {
+                unlink( key, entry.uses );
+                keys( entry.uses + 1 ).add( key );
+            }
+            entry.uses++;
+        }
+
+        private Object victim()
+        {
+            if ( keysByUses != null )
+            {
+                return keysByUses.firstEntry().getValue().iterator().next();
+            }
+            return entries.keySet().iterator().next();
+        }
+
+        private LinkedHashSet<Object> keys( long uses )
+        {
+            LinkedHashSet<Object> keys = keysByUses.get( uses );
+            if ( keys == null )
+            {
+                keys = new LinkedHashSet<Object>();
+                keysByUses.put( uses, keys );
+            }
+            return keys;
+        }
+
+        private void unlink( Object key, long uses )
+        {
+            LinkedHashSet<Object> keys = keysByUses.get( uses );
+            keys.remove( key );
+            if ( keys.isEmpty() )
+            {
+                keysByUses.remove( uses );
+            }
+        }
+
+    }
+
+    static final class Entry
+    {
+
+        Object value;
+
+        long uses;
+
+        Entry( Object value )
+        {
+            this.value = value;
+        }
+
+    }
+
+}
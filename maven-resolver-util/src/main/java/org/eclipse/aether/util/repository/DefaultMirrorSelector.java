@@ -21,7 +21,11 @@ package org.eclipse.aether.util.repository;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.aether.repository.MirrorSelector;
 import org.eclipse.aether.repository.RemoteRepository;
@@ -37,8 +41,23 @@ public final class DefaultMirrorSelector
 
     private static final String EXTERNAL_WILDCARD = "external:*";
 
+    private static final Object NO_MIRROR = new Object();
+
     private final List<MirrorDef> mirrors = new ArrayList<MirrorDef>();
 
+    /**
+     * The mirrors indexed by their repo id specification, to quickly find mirrors for exactly one repository.
+     */
+    private final Map<String, List<MirrorDef>> exactMirrors = new HashMap<String, List<MirrorDef>>();
+
+    /**
+     * The mirror selected for a repository (or {@link #NO_MIRROR}), keyed by the repository properties that matter for
+     * the selection. Only used without health registry as the selection is otherwise subject to change.
+     */
+    private final ConcurrentMap<String, Object> selections = new ConcurrentHashMap<String, Object>();
+
+    private RepositoryHealthRegistry healthRegistry;
+
     /**
      * Adds the specified mirror to this selector.
      * 
@@ -58,7 +77,33 @@ public final class DefaultMirrorSelector
     public DefaultMirrorSelector add( String id, String url, String type, boolean repositoryManager,
                                       String mirrorOfIds, String mirrorOfTypes )
     {
-        mirrors.add( new MirrorDef( id, url, type, repositoryManager, mirrorOfIds, mirrorOfTypes ) );
+        MirrorDef mirror = new MirrorDef( id, url, type, repositoryManager, mirrorOfIds, mirrorOfTypes );
+        mirrors.add( mirror );
+
+        List<MirrorDef> exact = exactMirrors.get( mirrorOfIds );
+        if ( exact == null )
+        {
+            exact = new ArrayList<MirrorDef>( 1 );
+            exactMirrors.put( mirrorOfIds, exact );
+        }
+        exact.add( mirror );
+
+        selections.clear();
+
+        return this;
+    }
+
+    /**
+     * Sets the registry used to choose between several mirrors that match a repository equally well. If set, mirrors
+     * that are currently unavailable are skipped (unless all matching mirrors are unavailable) and the healthiest of
+     * the remaining mirrors is selected. Otherwise, the first matching mirror is selected.
+     * 
+     * @param healthRegistry The health registry to use, may be {@code null} to select mirrors by order only.
+     * @return This selector for chaining, never {@code null}.
+     */
+    public DefaultMirrorSelector setHealthRegistry( RepositoryHealthRegistry healthRegistry )
+    {
+        this.healthRegistry = healthRegistry;
 
         return this;
     }
@@ -96,26 +141,79 @@ public final class DefaultMirrorSelector
 
         if ( repoId != null && !mirrors.isEmpty() )
         {
-            for ( MirrorDef mirror : mirrors )
+            if ( healthRegistry != null )
             {
-                if ( repoId.equals( mirror.mirrorOfIds ) && matchesType( repository.getContentType(),
-                                                                         mirror.mirrorOfTypes ) )
+                return selectMirror( repository );
+            }
+
+            String key = repoId + '\n' + repository.getContentType() + '\n' + isExternalRepo( repository );
+            Object selected = selections.get( key );
+            if ( selected == null )
+            {
+                selected = selectMirror( repository );
+                selections.put( key, ( selected != null ) ? selected : NO_MIRROR );
+            }
+            return ( selected instanceof MirrorDef ) ? (MirrorDef) selected : null;
+        }
+
+        return null;
+    }
+
+    private MirrorDef selectMirror( RemoteRepository repository )
+    {
+        MirrorDef selected = null;
+
+        List<MirrorDef> exact = exactMirrors.get( repository.getId() );
+        if ( exact != null )
+        {
+            for ( MirrorDef mirror : exact )
+            {
+                if ( mirror.mirrorOfTypesSpec.matches( repository.getContentType(), repository ) )
                 {
-                    return mirror;
+                    if ( healthRegistry == null )
+                    {
+                        return mirror;
+                    }
+                    selected = selectHealthier( selected, mirror );
                 }
             }
 
-            for ( MirrorDef mirror : mirrors )
+            if ( selected != null )
+            {
+                return selected;
+            }
+        }
+
+        for ( MirrorDef mirror : mirrors )
+        {
+            if ( mirror.mirrorOfIdsSpec.matches( repository.getId(), repository )
+                && mirror.mirrorOfTypesSpec.matches( repository.getContentType(), repository ) )
             {
-                if ( matchPattern( repository, mirror.mirrorOfIds ) && matchesType( repository.getContentType(),
-                                                                                    mirror.mirrorOfTypes ) )
+                if ( healthRegistry == null )
                 {
                     return mirror;
                 }
+                selected = selectHealthier( selected, mirror );
             }
         }
 
-        return null;
+        return selected;
+    }
+
+    private MirrorDef selectHealthier( MirrorDef selected, MirrorDef candidate )
+    {
+        if ( selected == null )
+        {
+            return candidate;
+        }
+        boolean selectedAvailable = healthRegistry.isAvailable( selected.url );
+        boolean candidateAvailable = healthRegistry.isAvailable( candidate.url );
+        if ( selectedAvailable != candidateAvailable )
+        {
+            return selectedAvailable ? selected : candidate;
+        }
+        return ( healthRegistry.getScore( candidate.url ) < healthRegistry.getScore( selected.url ) ) ? candidate
+                        : selected;
     }
 
     /**
@@ -257,6 +355,10 @@ public final class DefaultMirrorSelector
 
         final String mirrorOfTypes;
 
+        final MirrorOfSpec mirrorOfIdsSpec;
+
+        final MirrorOfSpec mirrorOfTypesSpec;
+
         MirrorDef( String id, String url, String type, boolean repositoryManager, String mirrorOfIds,
                           String mirrorOfTypes )
         {
@@ -266,6 +368,76 @@ public final class DefaultMirrorSelector
             this.repositoryManager = repositoryManager;
             this.mirrorOfIds = mirrorOfIds;
             this.mirrorOfTypes = mirrorOfTypes;
+            this.mirrorOfIdsSpec = new MirrorOfSpec( mirrorOfIds, true );
+            this.mirrorOfTypesSpec = new MirrorOfSpec( mirrorOfTypes, false );
+        }
+
+    }
+
+    /**
+     * A pre-parsed specification of the repository ids or types to mirror, equivalent to
+     * {@link DefaultMirrorSelector#matchPattern(RemoteRepository, String)} respectively
+     * {@link DefaultMirrorSelector#matchesType(String, String)}. The first segment naming a value decides whether the
+     * value matches, only values not named by any segment are subject to the wildcards.
+     */
+    static final class MirrorOfSpec
+    {
+
+        private final String spec;
+
+        private final Map<String, Boolean> decisions = new HashMap<String, Boolean>();
+
+        private final boolean wildcard;
+
+        private final boolean externalWildcard;
+
+        MirrorOfSpec( String spec, boolean ids )
+        {
+            this.spec = ( spec != null ) ? spec : "";
+            boolean wildcard = !ids && this.spec.length() <= 0;
+            boolean externalWildcard = false;
+            for ( String segment : this.spec.split( "," ) )
+            {
+                if ( segment.length() > 1 && segment.startsWith( "!" ) )
+                {
+                    String value = segment.substring( 1 );
+                    if ( !decisions.containsKey( value ) )
+                    {
+                        decisions.put( value, Boolean.FALSE );
+                    }
+                }
+                else
+                {
+                    if ( !decisions.containsKey( segment ) )
+                    {
+                        decisions.put( segment, Boolean.TRUE );
+                    }
+                    if ( ids && EXTERNAL_WILDCARD.equals( segment ) )
+                    {
+                        externalWildcard = true;
+                    }
+                    else if ( WILDCARD.equals( segment ) )
+                    {
+                        wildcard = true;
+                    }
+                }
+            }
+            this.wildcard = wildcard;
+            this.externalWildcard = externalWildcard;
+        }
+
+        boolean matches( String value, RemoteRepository repository )
+        {
+            if ( WILDCARD.equals( spec ) || spec.equals( value ) )
+            {
+                return true;
+            }
+            Boolean decision = decisions.get( value );
+            if ( decision != null )
+            {
+                return decision;
+            }
+            return wildcard || ( externalWildcard && isExternalRepo( repository ) );
         }
 
     }
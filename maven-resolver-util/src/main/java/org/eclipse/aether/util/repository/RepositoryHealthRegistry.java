@@ -0,0 +1,380 @@
+package org.eclipse.aether.util.repository;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Tracks the health of remote repositories, i.e. the latency, error rate and throughput of their transfers. The
+ * registry is fed by the transfer listener obtained from {@link #getTransferListener()}, which needs to be registered
+ * with the repository system session. Repositories are identified by their URL. A repository that failed several
+ * transfers in a row is considered unavailable (the circuit is open) until a cool-down period has elapsed, after which
+ * the next transfer decides whether the repository is healthy again. The registry is thread-safe and is usually shared
+ * by all sessions of an application.
+ * 
+ * @see DefaultMirrorSelector#setHealthRegistry(RepositoryHealthRegistry)
+ */
+public final class RepositoryHealthRegistry
+{
+
+    private static final int SAMPLES = 64;
+
+    private final ConcurrentMap<String, Health> healths = new ConcurrentHashMap<String, Health>();
+
+    private final int failureThreshold;
+
+    private final long openDuration;
+
+    private final TransferListener listener = new HealthListener();
+
+    /**
+     * Creates a new registry that opens the circuit of a repository after 5 consecutive failures for 30 seconds.
+     */
+    public RepositoryHealthRegistry()
+    {
+        this( 5, 30L * 1000L );
+    }
+
+    /**
+     * Creates a new registry with the specified circuit breaker settings.
+     * 
+     * @param failureThreshold The number of consecutive failures after which a repository is considered unavailable,
+     *            must be positive.
+     * @param openDuration The time (in milliseconds) for which a failing repository is considered unavailable.
+     */
+    public RepositoryHealthRegistry( int failureThreshold, long openDuration )
+    {
+        if ( failureThreshold <= 0 )
+        {
+            throw new IllegalArgumentException( "failure threshold must be positive" );
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Math.max( 0L, openDuration );
+    }
+
+    /**
+     * Gets the transfer listener that feeds this registry.
+     * 
+     * @return The transfer listener, never {@code null}.
+     */
+    public TransferListener getTransferListener()
+    {
+        return listener;
+    }
+
+    private Health getHealth( String url )
+    {
+        requireNonNull( url, "repository url cannot be null" );
+        Health health = healths.get( url );
+        if ( health == null )
+        {
+            health = new Health();
+            Health existing = healths.putIfAbsent( url, health );
+            if ( existing != null )
+            {
+                health = existing;
+            }
+        }
+        return health;
+    }
+
+    /**
+     * Records the time it took the specified repository to start sending/receiving data for a transfer.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @param latency The latency in milliseconds.
+     */
+    public void recordLatency( String url, long latency )
+    {
+        getHealth( url ).recordLatency( latency );
+    }
+
+    /**
+     * Records a successful transfer with the specified repository.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @param bytes The number of transferred bytes.
+     * @param duration The duration of the transfer in milliseconds.
+     */
+    public void recordSuccess( String url, long bytes, long duration )
+    {
+        getHealth( url ).recordSuccess( bytes, duration );
+    }
+
+    /**
+     * Records a failed transfer with the specified repository.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     */
+    public void recordFailure( String url )
+    {
+        getHealth( url ).recordFailure( System.currentTimeMillis() + openDuration, failureThreshold );
+    }
+
+    /**
+     * Gets a percentile of the recent latencies of the specified repository.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @param percentile The percentile to get, in the range {@code [0, 100]}.
+     * @return The latency in milliseconds or {@code -1} if unknown.
+     */
+    public long getLatency( String url, int percentile )
+    {
+        Health health = healths.get( url );
+        return ( health != null ) ? health.getLatency( percentile ) : -1L;
+    }
+
+    /**
+     * Gets the fraction of recent transfers with the specified repository that failed.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @return The error rate in the range {@code [0, 1]}, {@code 0} if unknown.
+     */
+    public double getErrorRate( String url )
+    {
+        Health health = healths.get( url );
+        return ( health != null ) ? health.getErrorRate() : 0.0;
+    }
+
+    /**
+     * Gets the average throughput of transfers with the specified repository.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @return The throughput in bytes per second or {@code -1} if unknown.
+     */
+    public long getThroughput( String url )
+    {
+        Health health = healths.get( url );
+        return ( health != null ) ? health.getThroughput() : -1L;
+    }
+
+    /**
+     * Determines whether the specified repository is currently considered available, i.e. its circuit is not open.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @return {@code true} if the repository is available, {@code false} otherwise.
+     */
+    public boolean isAvailable( String url )
+    {
+        Health health = healths.get( url );
+        return health == null || health.isAvailable( System.currentTimeMillis() );
+    }
+
+    /**
+     * Gets a score of the specified repository that combines its median latency and error rate. Repositories that
+     * haven't been used yet score best, such that they get a chance to prove themselves.
+     * 
+     * @param url The URL of the repository, must not be {@code null}.
+     * @return The score of the repository, lower is better.
+     */
+    public double getScore( String url )
+    {
+        Health health = healths.get( url );
+        if ( health == null )
+        {
+            return 0.0;
+        }
+        long latency = health.getLatency( 50 );
+        return ( Math.max( 0L, latency ) + 1.0 ) * ( 1.0 + 10.0 * health.getErrorRate() );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf( healths.keySet() );
+    }
+
+    static final class Health
+    {
+
+        private final long[] latencies = new long[SAMPLES];
+
+        private int latencyCount;
+
+        private final boolean[] failures = new boolean[SAMPLES];
+
+        private int outcomeCount;
+
+        private int consecutiveFailures;
+
+        private long openUntil;
+
+        private long bytes;
+
+        private long time;
+
+        synchronized void recordLatency( long latency )
+        {
+            latencies[latencyCount++ % SAMPLES] = Math.max( 0L, latency );
+        }
+
+        synchronized void recordSuccess( long bytes, long duration )
+        {
+            failures[outcomeCount++ % SAMPLES] = false;
+            consecutiveFailures = 0;
+            openUntil = 0L;
+            if ( bytes > 0L && duration > 0L )
+            {
+                this.bytes += bytes;
+                this.time += duration;
+            }
+        }
+
+        synchronized void recordFailure( long openUntil, int threshold )
+        {
+            failures[outcomeCount++ % SAMPLES] = true;
+            if ( ++consecutiveFailures >= threshold )
+            {
+                this.openUntil = openUntil;
+            }
+        }
+
+        synchronized boolean isAvailable( long now )
+        {
+            return now >= openUntil;
+        }
+
+        synchronized long getLatency( int percentile )
+        {
+            int count = Math.min( latencyCount, SAMPLES );
+            if ( count <= 0 )
+            {
+                return -1L;
+            }
+            long[] sorted = Arrays.copyOf( latencies, count );
+            Arrays.sort( sorted );
+            int index = (int) Math.ceil( Math.max( 0, Math.min( 100, percentile ) ) / 100.0 * count ) - 1;
+            return sorted[Math.max( 0, index )];
+        }
+
+        synchronized double getErrorRate()
+        {
+            int count = Math.min( outcomeCount, SAMPLES );
+            if ( count <= 0 )
+            {
+                return 0.0;
+            }
+            int errors = 0;
+            for ( int i = 0; i < count; i++ )
+            {
+                if ( failures[i] )
+                {
+                    errors++;
+                }
+            }
+            return errors / (double) count;
+        }
+
+        synchronized long getThroughput()
+        {
+            return ( time > 0L ) ? bytes * 1000L / time : -1L;
+        }
+
+    }
+
+    /**
+     * Measures transfers from their initiation, i.e. when the connector actually starts working on them, rather than
+     * from the {@link TransferResource#getTransferStartTime() creation of the resource}. The latter includes the time
+     * the transfer spent queued behind others and would thus reflect the local load instead of the repository speed.
+     */
+    class HealthListener
+        extends AbstractTransferListener
+    {
+
+        /**
+         * The times at which the running transfers were initiated and started, by resource.
+         */
+        private final ConcurrentMap<TransferResource, long[]> timings =
+            new ConcurrentHashMap<TransferResource, long[]>();
+
+        @Override
+        public void transferInitiated( TransferEvent event )
+        {
+            timings.put( event.getResource(), new long[] { System.currentTimeMillis(), -1L } );
+        }
+
+        @Override
+        public void transferStarted( TransferEvent event )
+        {
+            TransferResource resource = event.getResource();
+            long[] timing = timings.get( resource );
+            if ( timing != null && timing[1] < 0L )
+            {
+                timing[1] = System.currentTimeMillis();
+                recordLatency( resource.getRepositoryUrl(), timing[1] - timing[0] );
+            }
+        }
+
+        @Override
+        public void transferSucceeded( TransferEvent event )
+        {
+            TransferResource resource = event.getResource();
+            long[] timing = timings.remove( resource );
+            long duration = ( timing != null && timing[1] >= 0L ) ? System.currentTimeMillis() - timing[1] : 0L;
+            recordSuccess( resource.getRepositoryUrl(), event.getTransferredBytes(), duration );
+        }
+
+        @Override
+        public void transferFailed( TransferEvent event )
+        {
+            TransferResource resource = event.getResource();
+            timings.remove( resource );
+            Exception exception = event.getException();
+            if ( isCancelled( exception ) )
+            {
+                return;
+            }
+            if ( exception instanceof ArtifactNotFoundException || exception instanceof MetadataNotFoundException )
+            {
+                recordSuccess( resource.getRepositoryUrl(), 0L, 0L );
+            }
+            else
+            {
+                recordFailure( resource.getRepositoryUrl() );
+            }
+        }
+
+        private boolean isCancelled( Throwable exception )
+        {
+            for ( Throwable t = exception; t != null; t = t.getCause() )
+            {
+                if ( t instanceof TransferCancelledException )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,222 @@
+package org.eclipse.aether.util.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.aether.version.VersionRange;
+import org.eclipse.aether.version.VersionScheme;
+
+/**
+ * A version scheme that caches the versions, version ranges and version constraints parsed by another scheme, keyed
+ * by their input string. As the parsed objects are immutable, callers parsing the same string share the same instance.
+ * Each kind of object is cached in a separate map that is simply cleared once it exceeds its capacity, which keeps the
+ * bookkeeping off the hot path. Syntax errors are not cached. This class is thread-safe.
+ */
+public final class CachingVersionScheme
+    implements VersionScheme
+{
+
+    private final VersionScheme scheme;
+
+    private final Cache<Version> versions;
+
+    private final Cache<VersionRange> ranges;
+
+    private final Cache<VersionConstraint> constraints;
+
+    /**
+     * Creates a new caching scheme for a {@link GenericVersionScheme} that caches up to 4096 objects of each kind.
+     */
+    public CachingVersionScheme()
+    {
+        this( new GenericVersionScheme() );
+    }
+
+    /**
+     * Creates a new caching scheme for the specified scheme that caches up to 4096 objects of each kind.
+     * 
+     * @param scheme The version scheme to delegate to, must not be {@code null}.
+     */
+    public CachingVersionScheme( VersionScheme scheme )
+    {
+        this( scheme, 4096 );
+    }
+
+    /**
+     * Creates a new caching scheme for the specified scheme.
+     * 
+     * @param scheme The version scheme to delegate to, must not be {@code null}.
+     * @param capacity The maximum number of objects of each kind to cache, must be positive.
+     */
+    public CachingVersionScheme( VersionScheme scheme, int capacity )
+    {
+        this.scheme = requireNonNull( scheme, "version scheme cannot be null" );
+        if ( capacity <= 0 )
+        {
+            throw new IllegalArgumentException( "capacity must be positive" );
+        }
+        versions = new Cache<Version>( capacity );
+        ranges = new Cache<VersionRange>( capacity );
+        constraints = new Cache<VersionConstraint>( capacity );
+    }
+
+    public Version parseVersion( String version )
+        throws InvalidVersionSpecificationException
+    {
+        Version result = versions.get( version );
+        if ( result == null )
+        {
+            result = versions.put( version, scheme.parseVersion( version ) );
+        }
+        return result;
+    }
+
+    public VersionRange parseVersionRange( String range )
+        throws InvalidVersionSpecificationException
+    {
+        VersionRange result = ranges.get( range );
+        if ( result == null )
+        {
+            result = ranges.put( range, scheme.parseVersionRange( range ) );
+        }
+        return result;
+    }
+
+    public VersionConstraint parseVersionConstraint( String constraint )
+        throws InvalidVersionSpecificationException
+    {
+        VersionConstraint result = constraints.get( constraint );
+        if ( result == null )
+        {
+            result = constraints.put( constraint, scheme.parseVersionConstraint( constraint ) );
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of parse requests that were served from the cache.
+     * 
+     * @return The number of cache hits.
+     */
+    public long getHitCount()
+    {
+        return versions.hits.get() + ranges.hits.get() + constraints.hits.get();
+    }
+
+    /**
+     * Gets the number of parse requests that had to be delegated to the underlying scheme.
+     * 
+     * @return The number of cache misses.
+     */
+    public long getMissCount()
+    {
+        return versions.misses.get() + ranges.misses.get() + constraints.misses.get();
+    }
+
+    /**
+     * Gets the fraction of parse requests that were served from the cache.
+     * 
+     * @return The hit rate in the range {@code [0, 1]}, {@code 0} if nothing has been parsed yet.
+     */
+    public double getHitRate()
+    {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return ( total > 0L ) ? hits / (double) total : 0.0;
+    }
+
+    @Override
+    public boolean equals( Object obj )
+    {
+        if ( this == obj )
+        {
+            return true;
+        }
+        if ( obj == null || !getClass().equals( obj.getClass() ) )
+        {
+            return false;
+        }
+        return scheme.equals( ( (CachingVersionScheme) obj ).scheme );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return scheme.hashCode() * 31 + getClass().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return scheme + " (hits: " + getHitCount() + ", misses: " + getMissCount() + ")";
+    }
+
+    static final class Cache<T>
+    {
+
+        private final ConcurrentMap<String, T> objects;
+
+        private final int capacity;
+
+        final AtomicLong hits = new AtomicLong();
+
+        final AtomicLong misses = new AtomicLong();
+
+        Cache( int capacity )
+        {
+            this.objects = new ConcurrentHashMap<String, T>( Math.min( capacity, 256 ) );
+            this.capacity = capacity;
+        }
+
+        T get( String key )
+        {
+            T object = objects.get( key );
+            if ( object != null )
+            {
+                hits.incrementAndGet();
+            }
+            else
+            {
+                misses.incrementAndGet();
+            }
+            return object;
+        }
+
+        T put( String key, T object )
+        {
+            if ( objects.size() >= capacity )
+            {
+                objects.clear();
+            }
+            T existing = objects.putIfAbsent( key, object );
+            return ( existing != null ) ? existing : object;
+        }
+
+    }
+
+}
@@ -20,12 +20,8 @@ package org.eclipse.aether.util.version;
  */
 
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.TreeMap;
 
 import org.eclipse.aether.version.Version;
 
@@ -37,9 +33,35 @@ final class GenericVersion
     implements Version
 {
 
+    static final int KIND_MAX = 8;
+
+    static final int KIND_BIGINT = 5;
+
+    static final int KIND_INT = 4;
+
+    static final int KIND_STRING = 3;
+
+    static final int KIND_QUALIFIER = 2;
+
+    static final int KIND_MIN = 0;
+
     private final String version;
 
-    private final Item[] items;
+    /**
+     * The kinds of the version items, one of the {@code KIND_*} constants.
+     */
+    private final byte[] kinds;
+
+    /**
+     * The values of the {@link #KIND_INT int} and {@link #KIND_QUALIFIER qualifier} items.
+     */
+    private final long[] values;
+
+    /**
+     * The values of the {@link #KIND_BIGINT big int} and {@link #KIND_STRING string} items, {@code null} if the version
+     * has no such items.
+     */
+    private final Object[] objects;
 
     private final int hash;
 
@@ -51,105 +73,103 @@ final class GenericVersion
     GenericVersion( String version )
     {
         this.version = version;
-        items = parse( version );
-        hash = Arrays.hashCode( items );
-    }
-
-    private static Item[] parse( String version )
-    {
-        List<Item> items = new ArrayList<Item>();
 
-        for ( Tokenizer tokenizer = new Tokenizer( version ); tokenizer.next(); )
+        Tokenizer tokenizer = new Tokenizer( version );
+        while ( tokenizer.next() )
         {
-            Item item = tokenizer.toItem();
-            items.add( item );
+            tokenizer.addItem();
         }
+        tokenizer.trimPadding();
 
-        trimPadding( items );
-
-        return items.toArray( new Item[items.size()] );
+        int size = tokenizer.size;
+        kinds = Arrays.copyOf( tokenizer.kinds, size );
+        values = Arrays.copyOf( tokenizer.values, size );
+        objects = ( tokenizer.objects != null ) ? Arrays.copyOf( tokenizer.objects, size ) : null;
+        hash = hash( kinds, values, objects );
     }
 
-    private static void trimPadding( List<Item> items )
+    private static int hash( byte[] kinds, long[] values, Object[] objects )
     {
-        Boolean number = null;
-        int end = items.size() - 1;
-        for ( int i = end; i > 0; i-- )
+        int hash = 1;
+        for ( int i = 0; i < kinds.length; i++ )
         {
-            Item item = items.get( i );
-            if ( !Boolean.valueOf( item.isNumber() ).equals( number ) )
+            int h = kinds[i] * 31;
+            if ( objects != null && objects[i] != null )
             {
-                end = i;
-                number = item.isNumber();
+                h += objects[i].hashCode();
             }
-            if ( end == i && ( i == items.size() - 1 || items.get( i - 1 ).isNumber() == item.isNumber() )
-                && item.compareTo( null ) == 0 )
+            else
             {
-                items.remove( i );
-                end--;
+                h += (int) ( values[i] ^ ( values[i] >>> 32 ) );
             }
+            hash = hash * 31 + h;
         }
+        return hash;
+    }
+
+    private static boolean isNumber( int kind )
+    {
+        return ( kind & KIND_QUALIFIER ) == 0; // i.e. kind != string/qualifier
     }
 
     public int compareTo( Version obj )
     {
-        final Item[] these = items;
-        final Item[] those = ( (GenericVersion) obj ).items;
+        final GenericVersion that = (GenericVersion) obj;
+        final int theseLength = kinds.length;
+        final int thoseLength = that.kinds.length;
 
         boolean number = true;
 
         for ( int index = 0;; index++ )
         {
-            if ( index >= these.length && index >= those.length )
+            if ( index >= theseLength && index >= thoseLength )
             {
                 return 0;
             }
-            else if ( index >= these.length )
+            else if ( index >= theseLength )
             {
-                return -comparePadding( those, index, null );
+                return -that.comparePadding( index, null );
             }
-            else if ( index >= those.length )
+            else if ( index >= thoseLength )
             {
-                return comparePadding( these, index, null );
+                return comparePadding( index, null );
             }
 
-            Item thisItem = these[index];
-            Item thatItem = those[index];
+            boolean thisNumber = isNumber( kinds[index] );
 
-            if ( thisItem.isNumber() != thatItem.isNumber() )
+            if ( thisNumber != isNumber( that.kinds[index] ) )
             {
-                if ( number == thisItem.isNumber() )
+                if ( number == thisNumber )
                 {
-                    return comparePadding( these, index, number );
+                    return comparePadding( index, number );
                 }
                 else
                 {
-                    return -comparePadding( those, index, number );
+                    return -that.comparePadding( index, number );
                 }
             }
             else
             {
-                int rel = thisItem.compareTo( thatItem );
+                int rel = compareItem( index, that, index );
                 if ( rel != 0 )
                 {
                     return rel;
                 }
-                number = thisItem.isNumber();
+                number = thisNumber;
             }
         }
     }
 
-    private static int comparePadding( Item[] items, int index, Boolean number )
+    private int comparePadding( int index, Boolean number )
     {
         int rel = 0;
-        for ( int i = index; i < items.length; i++ )
+        for ( int i = index; i < kinds.length; i++ )
         {
-            Item item = items[i];
-            if ( number != null && number != item.isNumber() )
+            if ( number != null && number != isNumber( kinds[i] ) )
             {
                 break;
             }
-            rel = item.compareTo( null );
+            rel = comparePadding( kinds[i], values[i] );
             if ( rel != 0 )
             {
                 break;
@@ -158,6 +178,57 @@ final class GenericVersion
         return rel;
     }
 
+    /**
+     * Compares an item against the pad item (0 or "ga").
+     */
+    static int comparePadding( int kind, long value )
+    {
+        switch ( kind )
+        {
+            case KIND_MIN:
+                return -1;
+            case KIND_MAX:
+            case KIND_BIGINT:
+            case KIND_STRING:
+                return 1;
+            case KIND_INT:
+            case KIND_QUALIFIER:
+                return Long.signum( value );
+            default:
+                throw new IllegalStateException( "unknown version item kind " + kind );
+        }
+    }
+
+    private int compareItem( int index, GenericVersion that, int thatIndex )
+    {
+        int kind = kinds[index];
+        int rel = kind - that.kinds[thatIndex];
+        if ( rel == 0 )
+        {
+            switch ( kind )
+            {
+                case KIND_MAX:
+                case KIND_MIN:
+                    break;
+                case KIND_INT:
+                case KIND_QUALIFIER:
+                    long thisValue = values[index];
+                    long thatValue = that.values[thatIndex];
+                    rel = ( thisValue < thatValue ) ? -1 : ( ( thisValue == thatValue ) ? 0 : 1 );
+                    break;
+                case KIND_BIGINT:
+                    rel = ( (BigInteger) objects[index] ).compareTo( (BigInteger) that.objects[thatIndex] );
+                    break;
+                case KIND_STRING:
+                    rel = ( (String) objects[index] ).compareToIgnoreCase( (String) that.objects[thatIndex] );
+                    break;
+                default:
+                    throw new IllegalStateException( "unknown version item kind " + kind );
+            }
+        }
+        return rel;
+    }
+
     @Override
     public boolean equals( Object obj )
     {
@@ -176,45 +247,53 @@ final class GenericVersion
         return version;
     }
 
+    /**
+     * Splits a version string into items, without creating intermediate strings for the tokens. Numbers with less than
+     * 19 digits are stored as {@code long}, only larger ones need a {@link BigInteger}.
+     */
     static final class Tokenizer
     {
 
-        private static final Integer QUALIFIER_ALPHA = -5;
+        private static final int QUALIFIER_ALPHA = -5;
 
-        private static final Integer QUALIFIER_BETA = -4;
+        private static final int QUALIFIER_BETA = -4;
 
-        private static final Integer QUALIFIER_MILESTONE = -3;
+        private static final int QUALIFIER_MILESTONE = -3;
 
-        private static final Map<String, Integer> QUALIFIERS;
+        private static final String[] QUALIFIER_NAMES =
+            { "alpha", "beta", "milestone", "cr", "rc", "snapshot", "ga", "final", "sp" };
 
-        static
-        {
-            QUALIFIERS = new TreeMap<String, Integer>( String.CASE_INSENSITIVE_ORDER );
-            QUALIFIERS.put( "alpha", QUALIFIER_ALPHA );
-            QUALIFIERS.put( "beta", QUALIFIER_BETA );
-            QUALIFIERS.put( "milestone", QUALIFIER_MILESTONE );
-            QUALIFIERS.put( "cr", -2 );
-            QUALIFIERS.put( "rc", -2 );
-            QUALIFIERS.put( "snapshot", -1 );
-            QUALIFIERS.put( "ga", 0 );
-            QUALIFIERS.put( "final", 0 );
-            QUALIFIERS.put( "", 0 );
-            QUALIFIERS.put( "sp", 1 );
-        }
+        private static final int[] QUALIFIER_VALUES =
+            { QUALIFIER_ALPHA, QUALIFIER_BETA, QUALIFIER_MILESTONE, -2, -2, -1, 0, 0, 1 };
+
+        private static final int MAX_LONG_DIGITS = 18;
 
         private final String version;
 
         private int index;
 
-        private String token;
+        private int start;
+
+        private int end;
 
         private boolean number;
 
         private boolean terminatedByNumber;
 
+        byte[] kinds;
+
+        long[] values;
+
+        Object[] objects;
+
+        int size;
+
         Tokenizer( String version )
         {
             this.version = ( version.length() > 0 ) ? version : "0";
+            int capacity = this.version.length() + 1;
+            kinds = new byte[capacity];
+            values = new long[capacity];
         }
 
         public boolean next()
@@ -227,8 +306,8 @@ final class GenericVersion
 
             int state = -2;
 
-            int start = index;
-            int end = n;
+            start = index;
+            end = n;
             terminatedByNumber = false;
 
             for ( ; index < n; index++ )
@@ -254,7 +333,7 @@ final class GenericVersion
                         }
                         if ( state == 0 )
                         {
-                            // normalize numbers and strip leading zeros (prereq for Integer/BigInteger handling)
+                            // normalize numbers and strip leading zeros (prereq for long/BigInteger handling)
                             start++;
                         }
                         state = ( state > 0 || digit > 0 ) ? 1 : 0;
@@ -274,12 +353,12 @@ final class GenericVersion
 
             if ( end - start > 0 )
             {
-                token = version.substring( start, end );
                 number = state >= 0;
             }
             else
             {
-                token = "0";
+                // the token "0"
+                end = start;
                 number = true;
             }
 
@@ -289,174 +368,125 @@ final class GenericVersion
         @Override
         public String toString()
         {
-            return String.valueOf( token );
+            return ( end - start > 0 ) ? version.substring( start, end ) : "0";
         }
 
-        public Item toItem()
+        private boolean tokenEquals( String str )
+        {
+            return end - start == str.length() && version.regionMatches( true, start, str, 0, str.length() );
+        }
+
+        public void addItem()
         {
             if ( number )
             {
-                try
+                if ( end - start <= MAX_LONG_DIGITS )
                 {
-                    if ( token.length() < 10 )
-                    {
-                        return new Item( Item.KIND_INT, Integer.parseInt( token ) );
-                    }
-                    else
+                    long value = 0L;
+                    for ( int i = start; i < end; i++ )
                     {
-                        return new Item( Item.KIND_BIGINT, new BigInteger( token ) );
+                        value = value * 10L + Character.digit( version.charAt( i ), 10 );
                     }
+                    add( KIND_INT, value, null );
                 }
-                catch ( NumberFormatException e )
+                else
                 {
-                    throw new IllegalStateException( e );
+                    add( KIND_BIGINT, 0L, new BigInteger( version.substring( start, end ) ) );
                 }
             }
             else
             {
                 if ( index >= version.length() )
                 {
-                    if ( "min".equalsIgnoreCase( token ) )
+                    if ( tokenEquals( "min" ) )
                     {
-                        return Item.MIN;
+                        add( KIND_MIN, 0L, null );
+                        return;
                     }
-                    else if ( "max".equalsIgnoreCase( token ) )
+                    else if ( tokenEquals( "max" ) )
                     {
-                        return Item.MAX;
+                        add( KIND_MAX, 0L, null );
+                        return;
                     }
                 }
-                if ( terminatedByNumber && token.length() == 1 )
+                if ( terminatedByNumber && end - start == 1 )
                 {
-                    switch ( token.charAt( 0 ) )
+                    switch ( version.charAt( start ) )
                     {
                         case 'a':
                         case 'A':
-                            return new Item( Item.KIND_QUALIFIER, QUALIFIER_ALPHA );
+                            add( KIND_QUALIFIER, QUALIFIER_ALPHA, null );
+                            return;
                         case 'b':
                         case 'B':
-                            return new Item( Item.KIND_QUALIFIER, QUALIFIER_BETA );
+                            add( KIND_QUALIFIER, QUALIFIER_BETA, null );
+                            return;
                         case 'm':
                         case 'M':
-                            return new Item( Item.KIND_QUALIFIER, QUALIFIER_MILESTONE );
+                            add( KIND_QUALIFIER, QUALIFIER_MILESTONE, null );
+                            return;
                         default:
                     }
                 }
-                Integer qualifier = QUALIFIERS.get( token );
-                if ( qualifier != null )
-                {
-                    return new Item( Item.KIND_QUALIFIER, qualifier );
-                }
-                else
+                for ( int i = 0; i < QUALIFIER_NAMES.length; i++ )
                 {
-                    return new Item( Item.KIND_STRING, token.toLowerCase( Locale.ENGLISH ) );
+                    if ( tokenEquals( QUALIFIER_NAMES[i] ) )
+                    {
+                        add( KIND_QUALIFIER, QUALIFIER_VALUES[i], null );
+                        return;
+                    }
                 }
+                add( KIND_STRING, 0L, version.substring( start, end ).toLowerCase( Locale.ENGLISH ) );
             }
         }
 
-    }
-
-    static final class Item
-    {
-
-        static final int KIND_MAX = 8;
-
-        static final int KIND_BIGINT = 5;
-
-        static final int KIND_INT = 4;
-
-        static final int KIND_STRING = 3;
-
-        static final int KIND_QUALIFIER = 2;
-
-        static final int KIND_MIN = 0;
-
-        static final Item MAX = new Item( KIND_MAX, "max" );
-
-        static final Item MIN = new Item( KIND_MIN, "min" );
-
-        private final int kind;
-
-        private final Object value;
-
-        Item( int kind, Object value )
+        private void add( int kind, long value, Object object )
         {
-            this.kind = kind;
-            this.value = value;
+            if ( object != null && objects == null )
+            {
+                objects = new Object[kinds.length];
+            }
+            kinds[size] = (byte) kind;
+            values[size] = value;
+            if ( objects != null )
+            {
+                objects[size] = object;
+            }
+            size++;
         }
 
-        public boolean isNumber()
+        private void remove( int index )
         {
-            return ( kind & KIND_QUALIFIER ) == 0; // i.e. kind != string/qualifier
+            int count = size - index - 1;
+            System.arraycopy( kinds, index + 1, kinds, index, count );
+            System.arraycopy( values, index + 1, values, index, count );
+            if ( objects != null )
+            {
+                System.arraycopy( objects, index + 1, objects, index, count );
+                objects[size - 1] = null;
+            }
+            size--;
         }
 
-        public int compareTo( Item that )
+        void trimPadding()
         {
-            int rel;
-            if ( that == null )
+            Boolean number = null;
+            int end = size - 1;
+            for ( int i = end; i > 0; i-- )
             {
-                // null in this context denotes the pad item (0 or "ga")
-                switch ( kind )
+                boolean itemNumber = isNumber( kinds[i] );
+                if ( !Boolean.valueOf( itemNumber ).equals( number ) )
                 {
-                    case KIND_MIN:
-                        rel = -1;
-                        break;
-                    case KIND_MAX:
-                    case KIND_BIGINT:
-                    case KIND_STRING:
-                        rel = 1;
-                        break;
-                    case KIND_INT:
-                    case KIND_QUALIFIER:
-                        rel = (Integer) value;
-                        break;
-                    default:
-                        throw new IllegalStateException( "unknown version item kind " + kind );
+                    end = i;
+                    number = itemNumber;
                 }
-            }
-            else
-            {
-                rel = kind - that.kind;
-                if ( rel == 0 )
+                if ( end == i && ( i == size - 1 || isNumber( kinds[i - 1] ) == itemNumber )
+                    && comparePadding( kinds[i], values[i] ) == 0 )
                 {
-                    switch ( kind )
-                    {
-                        case KIND_MAX:
-                        case KIND_MIN:
-                            break;
-                        case KIND_BIGINT:
-                            rel = ( (BigInteger) value ).compareTo( (BigInteger) that.value );
-                            break;
-                        case KIND_INT:
-                        case KIND_QUALIFIER:
-                            rel = ( (Integer) value ).compareTo( (Integer) that.value );
-                            break;
-                        case KIND_STRING:
-                            rel = ( (String) value ).compareToIgnoreCase( (String) that.value );
-                            break;
-                        default:
-                            throw new IllegalStateException( "unknown version item kind " + kind );
-                    }
+                    remove( i );
+                    end--;
                 }
             }
-            return rel;
-        }
-
-        @Override
-        public boolean equals( Object obj )
-        {
-            return ( obj instanceof Item ) && compareTo( (Item) obj ) == 0;
-        }
-
-        @Override
-        public int hashCode()
-        {
-            return value.hashCode() + kind * 31;
-        }
-
-        @Override
-        public String toString()
-        {
-            return String.valueOf( value );
         }
 
     }
@@ -0,0 +1,296 @@
+package org.eclipse.aether.util.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.aether.version.VersionRange;
+
+/**
+ * An immutable, ascending list of versions that supports looking up the versions matching a range by binary search.
+ * This is meant for long lists of available versions, e.g. from repository metadata, that need to be matched against
+ * many ranges: after sorting the list once, each lookup takes {@code O(log n)} comparisons for ranges of this package
+ * and the result for a single interval is a view of this list rather than a copy. Ranges of other implementations are
+ * narrowed down by their bounds and then checked version by version.
+ */
+public final class SortedVersionList
+    extends AbstractList<Version>
+    implements RandomAccess
+{
+
+    private final Version[] versions;
+
+    private volatile BitSet snapshots;
+
+    private SortedVersionList( Version[] versions )
+    {
+        this.versions = versions;
+    }
+
+    /**
+     * Creates a sorted list from the specified versions. The order of equal versions is preserved.
+     * 
+     * @param versions The versions to sort, may be {@code null}.
+     * @return The sorted list, never {@code null}.
+     */
+    public static SortedVersionList of( Collection<? extends Version> versions )
+    {
+        if ( versions == null || versions.isEmpty() )
+        {
+            return new SortedVersionList( new Version[0] );
+        }
+        Version[] array = versions.toArray( new Version[versions.size()] );
+        Arrays.sort( array );
+        return new SortedVersionList( array );
+    }
+
+    @Override
+    public Version get( int index )
+    {
+        return versions[index];
+    }
+
+    @Override
+    public int size()
+    {
+        return versions.length;
+    }
+
+    /**
+     * Gets the index of the first snapshot version at or after the specified index. Versions whose string
+     * representation ends with {@code SNAPSHOT} are considered snapshots, their positions are determined once per list.
+     * 
+     * @param fromIndex The index to start the search at, must not be negative.
+     * @return The index of the next snapshot version or {@code -1} if there is none.
+     */
+    public int nextSnapshotIndex( int fromIndex )
+    {
+        BitSet snapshots = this.snapshots;
+        if ( snapshots == null )
+        {
+            snapshots = new BitSet( versions.length );
+            for ( int i = 0; i < versions.length; i++ )
+            {
+                if ( versions[i].toString().endsWith( "SNAPSHOT" ) )
+                {
+                    snapshots.set( i );
+                }
+            }
+            this.snapshots = snapshots;
+        }
+        return snapshots.nextSetBit( fromIndex );
+    }
+
+    /**
+     * Gets the versions of this list that are contained in the specified constraint.
+     * 
+     * @param constraint The version constraint to match, must not be {@code null}.
+     * @return The (read-only) matching versions in ascending order, never {@code null}.
+     */
+    public List<Version> getVersions( VersionConstraint constraint )
+    {
+        if ( constraint.getRange() != null )
+        {
+            return getVersions( constraint.getRange() );
+        }
+        Version version = constraint.getVersion();
+        return subList( lowerIndex( version, true ), upperIndex( version, true ) );
+    }
+
+    /**
+     * Gets the versions of this list that are contained in the specified range.
+     * 
+     * @param range The version range to match, must not be {@code null}.
+     * @return The (read-only) matching versions in ascending order, never {@code null}.
+     */
+    public List<Version> getVersions( VersionRange range )
+    {
+        if ( !( range instanceof UnionVersionRange ) )
+        {
+            int from = lowerIndex( range.getLowerBound() );
+            int to = upperIndex( range.getUpperBound() );
+            if ( from >= to )
+            {
+                return Collections.emptyList();
+            }
+            if ( range instanceof GenericVersionRange )
+            {
+                return subList( from, to );
+            }
+            return filter( Collections.singletonList( range ), new int[] { from, to }, 1 );
+        }
+
+        Collection<VersionRange> ranges = ( (UnionVersionRange) range ).getRanges();
+        int[] intervals = new int[ranges.size() * 2];
+        int count = 0;
+        boolean exact = true;
+        for ( VersionRange r : ranges )
+        {
+            int from = lowerIndex( r.getLowerBound() );
+            int to = upperIndex( r.getUpperBound() );
+            if ( from < to )
+            {
+                intervals[count * 2] = from;
+                intervals[count * 2 + 1] = to;
+                count++;
+                exact &= r instanceof GenericVersionRange;
+            }
+        }
+        count = merge( intervals, count );
+        if ( count <= 0 )
+        {
+            return Collections.emptyList();
+        }
+        if ( exact && count == 1 )
+        {
+            return subList( intervals[0], intervals[1] );
+        }
+        if ( exact )
+        {
+            List<Version> result = new ArrayList<Version>();
+            for ( int i = 0; i < count; i++ )
+            {
+                result.addAll( subList( intervals[i * 2], intervals[i * 2 + 1] ) );
+            }
+            return Collections.unmodifiableList( result );
+        }
+        return filter( ranges, intervals, count );
+    }
+
+    private List<Version> filter( Collection<VersionRange> ranges, int[] intervals, int count )
+    {
+        List<Version> result = new ArrayList<Version>();
+        for ( int i = 0; i < count; i++ )
+        {
+            for ( int j = intervals[i * 2]; j < intervals[i * 2 + 1]; j++ )
+            {
+                for ( VersionRange range : ranges )
+                {
+                    if ( range.containsVersion( versions[j] ) )
+                    {
+                        result.add( versions[j] );
+                        break;
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableList( result );
+    }
+
+    /**
+     * Sorts the specified index intervals by their start and merges overlapping ones.
+     * 
+     * @return The number of merged intervals.
+     */
+    private static int merge( int[] intervals, int count )
+    {
+        for ( int i = 1; i < count; i++ )
+        {
+            int from = intervals[i * 2], to = intervals[i * 2 + 1];
+            int j = i - 1;
+            for ( ; j >= 0 && intervals[j * 2] > from; j-- )
+            {
+                intervals[j * 2 + 2] = intervals[j * 2];
+                intervals[j * 2 + 3] = intervals[j * 2 + 1];
+            }
+            intervals[j * 2 + 2] = from;
+            intervals[j * 2 + 3] = to;
+        }
+        int merged = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            if ( merged > 0 && intervals[i * 2] <= intervals[merged * 2 - 1] )
+            {
+                intervals[merged * 2 - 1] = Math.max( intervals[merged * 2 - 1], intervals[i * 2 + 1] );
+            }
+            else
+            {
+                intervals[merged * 2] = intervals[i * 2];
+                intervals[merged * 2 + 1] = intervals[i * 2 + 1];
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    private int lowerIndex( VersionRange.Bound bound )
+    {
+        return ( bound != null ) ? lowerIndex( bound.getVersion(), bound.isInclusive() ) : 0;
+    }
+
+    private int upperIndex( VersionRange.Bound bound )
+    {
+        return ( bound != null ) ? upperIndex( bound.getVersion(), bound.isInclusive() ) : versions.length;
+    }
+
+    /**
+     * Gets the index of the first version that is greater than (or equal to, if inclusive) the specified version.
+     */
+    private int lowerIndex( Version version, boolean inclusive )
+    {
+        int low = 0, high = versions.length;
+        while ( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            int c = versions[mid].compareTo( version );
+            if ( c < 0 || ( c == 0 && !inclusive ) )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the index after the last version that is less than (or equal to, if inclusive) the specified version.
+     */
+    private int upperIndex( Version version, boolean inclusive )
+    {
+        int low = 0, high = versions.length;
+        while ( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            int c = versions[mid].compareTo( version );
+            if ( c < 0 || ( c == 0 && inclusive ) )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
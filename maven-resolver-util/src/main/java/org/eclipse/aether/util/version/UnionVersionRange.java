@@ -117,6 +117,11 @@ final class UnionVersionRange
         }
     }
 
+    Set<VersionRange> getRanges()
+    {
+        return ranges;
+    }
+
     public boolean containsVersion( Version version )
     {
         for ( VersionRange range : ranges )
@@ -0,0 +1,95 @@
+package org.eclipse.aether.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.junit.Test;
+
+public class ConfigViewTest
+{
+
+    private final DefaultRepositorySystemSession session = TestUtils.newSession();
+
+    @Test
+    public void testRepositorySpecificKeyWins()
+    {
+        session.setConfigProperty( "timeout", "10" );
+        session.setConfigProperty( "timeout.central", 20 );
+        ConfigView view = ConfigView.getView( session );
+        assertEquals( 20, view.getInteger( 0, "timeout", "central" ) );
+        assertEquals( 10, view.getInteger( 0, "timeout", "other" ) );
+        assertEquals( 10, view.getInteger( 0, "timeout", null ) );
+        assertEquals( 10L, view.getLong( 0L, "timeout", "other" ) );
+        assertEquals( 5, view.getInteger( 5, "no-value", "central" ) );
+    }
+
+    @Test
+    public void testInvalidValueFallsBackToNextKey()
+    {
+        session.setConfigProperty( "retries.central", "many" );
+        session.setConfigProperty( "retries", "3" );
+        session.setConfigProperty( "flag", "true" );
+        session.setConfigProperty( "headers", Collections.singletonMap( "a", "b" ) );
+        ConfigView view = ConfigView.getView( session );
+        assertEquals( 3, view.getInteger( 0, "retries", "central" ) );
+        assertEquals( "many", view.getString( null, "retries", "central" ) );
+        assertTrue( view.getBoolean( false, "flag", "central" ) );
+        assertFalse( view.getBoolean( false, "retries", null ) );
+        assertEquals( Collections.singletonMap( "a", "b" ), view.getMap( null, "headers", "central" ) );
+        assertNull( view.getMap( null, "retries", null ) );
+    }
+
+    @Test
+    public void testViewIsReplacedUponChange()
+    {
+        session.setConfigProperty( "threads", 5 );
+        ConfigView view = ConfigView.getView( session );
+        assertEquals( 5, view.getInteger( 0, "threads", null ) );
+        assertSame( view, ConfigView.getView( session ) );
+
+        session.setConfigProperty( "threads", 7 );
+        ConfigView changed = ConfigView.getView( session );
+        assertNotSame( view, changed );
+        assertEquals( 7, changed.getInteger( 0, "threads", null ) );
+    }
+
+    @Test
+    public void testSessionCopiesWithSharedDataKeepTheirViews()
+    {
+        session.setConfigProperty( "threads", 5 );
+        DefaultRepositorySystemSession copy = new DefaultRepositorySystemSession( session );
+        copy.setConfigProperty( "threads", 7 );
+        assertSame( session.getData(), copy.getData() );
+
+        ConfigView view = ConfigView.getView( session );
+        ConfigView copyView = ConfigView.getView( copy );
+        assertNotSame( view, copyView );
+        assertSame( view, ConfigView.getView( session ) );
+        assertSame( copyView, ConfigView.getView( copy ) );
+        assertEquals( 5, view.getInteger( 0, "threads", null ) );
+        assertEquals( 7, copyView.getInteger( 0, "threads", null ) );
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.eclipse.aether.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.SubArtifact;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.Version;
+import org.junit.Test;
+
+public class InternTableTest
+{
+
+    private final InternTable table = new InternTable();
+
+    @Test
+    public void testIntern_String()
+    {
+        String s1 = new String( "org.apache.maven" );
+        String s2 = new String( "org.apache.maven" );
+        assertSame( s1, table.intern( s1 ) );
+        assertSame( s1, table.intern( s2 ) );
+        assertNull( table.intern( (String) null ) );
+    }
+
+    @Test
+    public void testIntern_Version()
+        throws Exception
+    {
+        GenericVersionScheme scheme = new GenericVersionScheme();
+        Version v1 = scheme.parseVersion( "1.0" );
+        assertSame( v1, table.intern( v1 ) );
+        assertSame( v1, table.intern( scheme.parseVersion( "1.0" ) ) );
+        assertSame( v1, table.getVersion( "1.0" ) );
+        assertNull( table.getVersion( "1" ) );
+    }
+
+    @Test
+    public void testIntern_Repositories()
+    {
+        RemoteRepository repo = new RemoteRepository.Builder( "central", "default", "http://localhost" ).build();
+        List<RemoteRepository> repos1 = new ArrayList<RemoteRepository>( Arrays.asList( repo ) );
+        List<RemoteRepository> pooled = table.intern( repos1 );
+        assertEquals( repos1, pooled );
+        assertSame( pooled, table.intern( Collections.singletonList( repo ) ) );
+        repos1.clear();
+        assertEquals( Collections.singletonList( repo ), pooled );
+        try
+        {
+            pooled.clear();
+            fail( "interned repository list is modifiable" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIntern_Artifact()
+    {
+        Artifact a1 = new DefaultArtifact( new String( "gid" ), "a", "jar", new String( "1.0" ) );
+        Artifact a2 = new DefaultArtifact( new String( "gid" ), "b", "jar", new String( "1.0" ) );
+        Artifact i1 = table.intern( a1 );
+        Artifact i2 = table.intern( a2 );
+        assertEquals( a1, i1 );
+        assertEquals( a2, i2 );
+        assertSame( i1.getGroupId(), i2.getGroupId() );
+        assertSame( i1.getVersion(), i2.getVersion() );
+        assertSame( i2, table.intern( i2 ) );
+    }
+
+    @Test
+    public void testIntern_ArtifactKeepsOtherImplementations()
+    {
+        Artifact main = new DefaultArtifact( new String( "gid" ), "a", "jar", new String( "1.0" ) );
+        Artifact sources = new SubArtifact( main, "sources", "jar" );
+        assertSame( sources, table.intern( sources ) );
+    }
+
+    @Test
+    public void testGet_SharedBySession()
+    {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        assertNotSame( InternTable.get( session ), InternTable.get( session ) );
+        session.setCache( new DefaultRepositoryCache() );
+        assertSame( InternTable.get( session ), InternTable.get( session ) );
+    }
+
+}
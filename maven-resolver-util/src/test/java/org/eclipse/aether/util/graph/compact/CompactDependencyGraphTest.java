@@ -0,0 +1,182 @@
+package org.eclipse.aether.util.graph.compact;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeDeriver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
+import org.eclipse.aether.util.graph.transformer.NearestVersionSelector;
+import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.Test;
+
+public class CompactDependencyGraphTest
+{
+
+    private final DependencyGraphParser parser = new DependencyGraphParser();
+
+    private DependencyNode parse( String... lines )
+        throws Exception
+    {
+        StringBuilder buffer = new StringBuilder( 256 );
+        for ( String line : lines )
+        {
+            buffer.append( line ).append( '\n' );
+        }
+        return parser.parseLiteral( buffer.toString() );
+    }
+
+    @Test
+    public void testViewMatchesOriginal()
+        throws Exception
+    {
+        DependencyNode root =
+            parse( "gid:root:1", "+- gid:a:1 compile", "|  \\- gid:c:1 runtime optional", "+- gid:b:1 test",
+                   "|  \\- gid:c:1 runtime optional", "\\- gid:d:1[1,2) provided" );
+        root.setData( "key", "value" );
+        RemoteRepository repo = new RemoteRepository.Builder( "test", "default", "http://localhost" ).build();
+        ( (DefaultDependencyNode) root.getChildren().get( 0 ) ).setRepositories( Collections.singletonList( repo ) );
+
+        CompactDependencyGraph graph = CompactDependencyGraph.newInstance( root );
+        assertEquals( 6, graph.getNodeCount() );
+        DependencyNode view = graph.getRoot();
+        assertEquals( parser.dump( root ), parser.dump( view ) );
+        assertEquals( "value", view.getData().get( "key" ) );
+        assertEquals( Collections.singletonList( repo ), view.getChildren().get( 0 ).getRepositories() );
+        assertEquals( root.getChildren().get( 2 ).getVersionConstraint(),
+                      view.getChildren().get( 2 ).getVersionConstraint() );
+    }
+
+    @Test
+    public void testEqualValuesAreShared()
+        throws Exception
+    {
+        DependencyNode root =
+            parse( "gid:root:1", "+- gid:a:1 compile", "|  \\- gid:c:1 compile", "\\- gid:b:1 compile",
+                   "   \\- gid:c:1 compile" );
+        CompactDependencyGraph graph = CompactDependencyGraph.newInstance( root );
+        assertEquals( 5, graph.getNodeCount() );
+        assertSame( graph.getDependency( graph.getChild( 1, 0 ) ), graph.getDependency( graph.getChild( 2, 0 ) ) );
+    }
+
+    @Test
+    public void testEqualButDifferentlySpelledVersionsAreNotShared()
+        throws Exception
+    {
+        DependencyNode root = parse( "gid:root:1", "+- gid:a:1 compile", "\\- gid:b:1.0 compile" );
+        GenericVersionScheme scheme = new GenericVersionScheme();
+        DefaultDependencyNode a = (DefaultDependencyNode) root.getChildren().get( 0 );
+        a.setVersion( scheme.parseVersion( "1" ) );
+        a.setVersionConstraint( scheme.parseVersionConstraint( "[1,2)" ) );
+        DefaultDependencyNode b = (DefaultDependencyNode) root.getChildren().get( 1 );
+        b.setVersion( scheme.parseVersion( "1.0" ) );
+        b.setVersionConstraint( scheme.parseVersionConstraint( "[1.0,2)" ) );
+        assertEquals( a.getVersion(), b.getVersion() );
+
+        DependencyNode view = CompactDependencyGraph.newInstance( root ).getRoot();
+        assertEquals( "1", view.getChildren().get( 0 ).getVersion().toString() );
+        assertEquals( "[1,2)", view.getChildren().get( 0 ).getVersionConstraint().toString() );
+        assertEquals( "1.0", view.getChildren().get( 1 ).getVersion().toString() );
+        assertEquals( "[1.0,2)", view.getChildren().get( 1 ).getVersionConstraint().toString() );
+    }
+
+    @Test
+    public void testSharedNodesAndCycles()
+        throws Exception
+    {
+        DependencyNode root =
+            parse( "gid:root:1", "+- gid:a:1 compile (a)", "|  \\- gid:b:1 compile (b)", "|     \\- ^a",
+                   "\\- gid:c:1 compile", "   \\- ^b" );
+        CompactDependencyGraph graph = CompactDependencyGraph.newInstance( root );
+        assertEquals( 4, graph.getNodeCount() );
+
+        DependencyNode view = graph.getRoot();
+        DependencyNode a = view.getChildren().get( 0 );
+        DependencyNode b = a.getChildren().get( 0 );
+        assertSame( b, view.getChildren().get( 1 ).getChildren().get( 0 ) );
+        assertSame( a, b.getChildren().get( 0 ) );
+    }
+
+    @Test
+    public void testNodeReferencesInData()
+        throws Exception
+    {
+        DependencyNode root = parse( "gid:root:1", "+- gid:a:1 compile", "\\- gid:b:1 compile" );
+        root.getChildren().get( 1 ).setData( "winner", root.getChildren().get( 0 ) );
+        CompactDependencyGraph graph = CompactDependencyGraph.newInstance( root );
+        assertEquals( 1, graph.getData( 2 ).get( "winner" ) );
+
+        DependencyNode view = graph.getRoot();
+        assertSame( view.getChildren().get( 0 ), view.getChildren().get( 1 ).getData().get( "winner" ) );
+    }
+
+    @Test
+    public void testViewsAreIndependent()
+        throws Exception
+    {
+        DependencyNode root = parse( "gid:root:1", "\\- gid:a:1 compile" );
+        CompactDependencyGraph graph = CompactDependencyGraph.newInstance( root );
+
+        DependencyNode view = graph.getRoot();
+        view.getChildren().get( 0 ).setScope( "test" );
+        view.getChildren().get( 0 ).setData( "key", "value" );
+        view.getChildren().clear();
+
+        view = graph.getRoot();
+        assertEquals( 1, view.getChildren().size() );
+        assertEquals( "compile", view.getChildren().get( 0 ).getDependency().getScope() );
+        assertTrue( view.getChildren().get( 0 ).getData().isEmpty() );
+    }
+
+    @Test
+    public void testTransformView()
+        throws Exception
+    {
+        DependencyNode root =
+            parse( "gid:root:1", "+- gid:a:1 compile", "|  \\- gid:c:1 compile", "\\- gid:b:1 compile",
+                   "   \\- gid:c:2 compile" );
+        CompactDependencyGraph graph = CompactDependencyGraph.newInstance( root );
+
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        ConflictResolver resolver =
+            new ConflictResolver( new NearestVersionSelector(), new JavaScopeSelector(),
+                                  new SimpleOptionalitySelector(), new JavaScopeDeriver() );
+        DependencyNode expected = resolver.transformGraph( root, TestUtils.newTransformationContext( session ) );
+        DependencyNode actual =
+            resolver.transformGraph( graph.getRoot(), TestUtils.newTransformationContext( session ) );
+        assertEquals( parser.dump( expected ), parser.dump( actual ) );
+
+        List<DependencyNode> children = actual.getChildren();
+        assertEquals( 1, children.get( 0 ).getChildren().size() );
+        assertEquals( 0, children.get( 1 ).getChildren().size() );
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.eclipse.aether.util.graph.transformer;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.VersionScheme;
+import org.junit.Test;
+
+/**
+ */
+public class ConflictResolverTest
+    extends AbstractDependencyGraphTransformerTest
+{
+
+    private final VersionScheme versionScheme = new GenericVersionScheme();
+
+    @Override
+    protected ConflictResolver newTransformer()
+    {
+        return new ConflictResolver( new NearestVersionSelector(), new JavaScopeSelector(),
+                                     new SimpleOptionalitySelector(), new JavaScopeDeriver() );
+    }
+
+    @Override
+    protected DependencyGraphParser newParser()
+    {
+        return new DependencyGraphParser( "transformer/version-resolver/" );
+    }
+
+    private DefaultDependencyNode newNode( String coords, String scope )
+        throws Exception
+    {
+        DefaultArtifact artifact = new DefaultArtifact( coords );
+        DefaultDependencyNode node = new DefaultDependencyNode( new Dependency( artifact, scope ) );
+        node.setVersion( versionScheme.parseVersion( artifact.getVersion() ) );
+        node.setVersionConstraint( versionScheme.parseVersionConstraint( artifact.getVersion() ) );
+        return node;
+    }
+
+    @Test
+    public void testDeepGraph()
+        throws Exception
+    {
+        DependencyNode root = new DefaultDependencyNode( new DefaultArtifact( "gid:root:1" ) );
+        root.getChildren().add( newNode( "gid:x:1", "runtime" ) );
+        DependencyNode parent = root;
+        for ( int i = 0; i < 200; i++ )
+        {
+            DependencyNode child = newNode( "gid:a" + i + ":1", "compile" );
+            parent.getChildren().add( child );
+            parent = child;
+        }
+        parent.getChildren().add( newNode( "gid:x:2", "compile" ) );
+
+        assertSame( root, transform( root ) );
+
+        assertEquals( 2, root.getChildren().size() );
+        DependencyNode x = root.getChildren().get( 0 );
+        assertEquals( "1", x.getArtifact().getVersion() );
+        assertEquals( "runtime", x.getDependency().getScope() );
+        assertTrue( find( root, "a199" ).get( 0 ).getChildren().isEmpty() );
+    }
+
+    @Test
+    public void testWideGraph()
+        throws Exception
+    {
+        DependencyNode root = new DefaultDependencyNode( new DefaultArtifact( "gid:root:1" ) );
+        for ( int i = 0; i < 200; i++ )
+        {
+            DependencyNode child = newNode( "gid:a" + i + ":1", "compile" );
+            child.getChildren().add( newNode( "gid:x:" + ( 200 - i ), ( i % 2 == 0 ) ? "runtime" : "compile" ) );
+            root.getChildren().add( child );
+        }
+
+        assertSame( root, transform( root ) );
+
+        assertEquals( 200, root.getChildren().size() );
+        DependencyNode x = root.getChildren().get( 0 ).getChildren().get( 0 );
+        assertEquals( "200", x.getArtifact().getVersion() );
+        assertEquals( "compile", x.getDependency().getScope() );
+        for ( int i = 1; i < 200; i++ )
+        {
+            assertTrue( root.getChildren().get( i ).getChildren().isEmpty() );
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.eclipse.aether.util.graph.transformer;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.junit.Test;
+
+/**
+ */
+public class NodeIndexTest
+{
+
+    private static DependencyNode newGraph( long seed, int size )
+    {
+        Random random = new Random( seed );
+        List<DependencyNode> nodes = new ArrayList<DependencyNode>( size + 1 );
+        nodes.add( new DefaultDependencyNode( new DefaultArtifact( "gid:root:1" ) ) );
+        for ( int i = 0; i < size; i++ )
+        {
+            String coords = "gid:a" + random.nextInt( size / 10 ) + ":" + ( 1 + random.nextInt( 3 ) );
+            DependencyNode node = new DefaultDependencyNode( new Dependency( new DefaultArtifact( coords ), "compile" ) );
+            nodes.get( random.nextInt( nodes.size() ) ).getChildren().add( node );
+            nodes.add( node );
+        }
+        for ( int i = 0; i < size / 10; i++ )
+        {
+            DependencyNode node = nodes.get( 1 + random.nextInt( size ) );
+            nodes.get( random.nextInt( nodes.size() ) ).getChildren().add( node );
+        }
+        return nodes.get( 0 );
+    }
+
+    private static DependencyGraphTransformationContext analyze( DependencyNode root, int threads )
+        throws Exception
+    {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setConfigProperty( ConflictMarker.CONFIG_PROP_THREADS, threads );
+        DependencyGraphTransformationContext context = TestUtils.newTransformationContext( session );
+        new ConflictMarker().transformGraph( root, context );
+        new ConflictIdSorter().transformGraph( root, context );
+        return context;
+    }
+
+    @Test
+    public void testOrder()
+        throws Exception
+    {
+        DependencyNode root =
+            new DependencyGraphParser().parseLiteral( "gid:root:1\n+- gid:a:1 (a)\n|  \\- gid:b:1\n"
+                + "|     \\- ^a\n\\- gid:c:1\n   \\- gid:b:1\n" );
+        NodeIndex index = new NodeIndex( root );
+        assertEquals( 5, index.size() );
+        assertSame( root, index.get( 0 ) );
+        assertSame( root.getChildren().get( 0 ), index.get( 1 ) );
+        assertSame( root.getChildren().get( 1 ), index.get( 3 ) );
+        assertEquals( 3, index.indexOf( root.getChildren().get( 1 ) ) );
+        assertEquals( -1, index.indexOf( new DefaultDependencyNode( (Dependency) null ) ) );
+    }
+
+    @Test
+    public void testApply()
+    {
+        NodeIndex index = new NodeIndex( newGraph( 1, 5000 ) );
+        NodeIndex.Function function = new NodeIndex.Function()
+        {
+            @Override
+            Object apply( DependencyNode node )
+            {
+                return node.getChildren().size();
+            }
+        };
+        Object[] expected = index.apply( null, function );
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        try
+        {
+            Object[] actual = index.apply( pool, function );
+            assertArrayEquals( expected, actual );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testIsPossiblyLarge()
+    {
+        assertFalse( NodeIndex.isPossiblyLarge( newGraph( 1, 100 ) ) );
+        assertTrue( NodeIndex.isPossiblyLarge( newGraph( 1, 2 * NodeIndex.PARALLEL_THRESHOLD ) ) );
+    }
+
+    @Test
+    public void testGetPool_Shared()
+    {
+        assertSame( NodeIndex.getPool( 3 ), NodeIndex.getPool( 3 ) );
+        assertEquals( 3, NodeIndex.getPool( 3 ).getParallelism() );
+    }
+
+    @Test
+    public void testParallelAnalysisMatchesSequentialAnalysis()
+        throws Exception
+    {
+        for ( long seed = 0; seed < 3; seed++ )
+        {
+            DependencyNode root = newGraph( seed, 2 * NodeIndex.PARALLEL_THRESHOLD );
+            DependencyGraphTransformationContext expected = analyze( root, 1 );
+            DependencyGraphTransformationContext actual = analyze( root, 4 );
+
+            Map<?, ?> expectedIds = (Map<?, ?>) expected.get( TransformationContextKeys.CONFLICT_IDS );
+            Map<?, ?> actualIds = (Map<?, ?>) actual.get( TransformationContextKeys.CONFLICT_IDS );
+            assertEquals( expectedIds.size(), actualIds.size() );
+            for ( Map.Entry<?, ?> entry : expectedIds.entrySet() )
+            {
+                assertEquals( entry.getValue(), actualIds.get( entry.getKey() ) );
+            }
+            assertEquals( expected.get( TransformationContextKeys.SORTED_CONFLICT_IDS ),
+                          actual.get( TransformationContextKeys.SORTED_CONFLICT_IDS ) );
+            assertEquals( expected.get( TransformationContextKeys.CYCLIC_CONFLICT_IDS ),
+                          actual.get( TransformationContextKeys.CYCLIC_CONFLICT_IDS ) );
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.eclipse.aether.util.listener;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryEvent.EventType;
+import org.eclipse.aether.RepositoryListener;
+import org.junit.Test;
+
+public class AsyncRepositoryListenerTest
+{
+
+    @Test
+    public void testAllEventTypesHandled()
+        throws Exception
+    {
+        for ( Method method : RepositoryListener.class.getMethods() )
+        {
+            assertNotNull( AsyncRepositoryListener.class.getDeclaredMethod( method.getName(),
+                                                                            method.getParameterTypes() ) );
+        }
+    }
+
+    @Test
+    public void testEventsDeliveredInOrder()
+        throws Exception
+    {
+        final List<EventType> types = Collections.synchronizedList( new ArrayList<EventType>() );
+        AsyncRepositoryListener listener = new AsyncRepositoryListener( new AbstractRepositoryListener()
+        {
+            @Override
+            public void artifactResolving( RepositoryEvent event )
+            {
+                types.add( event.getType() );
+                throw new IllegalStateException( "ignored" );
+            }
+
+            @Override
+            public void artifactResolved( RepositoryEvent event )
+            {
+                types.add( event.getType() );
+            }
+        }, 1 );
+
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        List<EventType> expected = new ArrayList<EventType>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            EventType type = ( i % 2 == 0 ) ? EventType.ARTIFACT_RESOLVING : EventType.ARTIFACT_RESOLVED;
+            expected.add( type );
+            RepositoryEvent event = new RepositoryEvent.Builder( session, type ).build();
+            if ( type == EventType.ARTIFACT_RESOLVING )
+            {
+                listener.artifactResolving( event );
+            }
+            else
+            {
+                listener.artifactResolved( event );
+            }
+        }
+
+        assertTrue( listener.flush( 10000L ) );
+        assertEquals( expected, types );
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.eclipse.aether.util.listener;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferEvent.EventType;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+
+public class AsyncTransferListenerTest
+{
+
+    private final DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    private final CountDownLatch entered = new CountDownLatch( 1 );
+
+    private final CountDownLatch release = new CountDownLatch( 1 );
+
+    private final List<String> events = Collections.synchronizedList( new ArrayList<String>() );
+
+    private final TransferListener recorder = new AbstractTransferListener()
+    {
+        @Override
+        public void transferInitiated( TransferEvent event )
+        {
+            entered.countDown();
+            try
+            {
+                release.await();
+            }
+            catch ( InterruptedException e )
+            {
+                throw new IllegalStateException( e );
+            }
+            record( event );
+        }
+
+        @Override
+        public void transferStarted( TransferEvent event )
+        {
+            record( event );
+        }
+
+        @Override
+        public void transferProgressed( TransferEvent event )
+        {
+            assertNull( event.getDataBuffer() );
+            record( event );
+        }
+
+        @Override
+        public void transferCorrupted( TransferEvent event )
+        {
+            record( event );
+        }
+
+        @Override
+        public void transferSucceeded( TransferEvent event )
+        {
+            record( event );
+        }
+
+        private void record( TransferEvent event )
+        {
+            events.add( event.getResource().getResourceName() + ":" + event.getType() + ":"
+                + event.getTransferredBytes() );
+        }
+    };
+
+    private static TransferResource newResource( String name )
+    {
+        return new TransferResource( "http://localhost/", name, null, null );
+    }
+
+    private TransferEvent newEvent( TransferResource resource, EventType type, long bytes )
+    {
+        return new TransferEvent.Builder( session, resource ).setType( type ).setTransferredBytes( bytes )
+            .setDataBuffer( new byte[4], 0, 4 ).build();
+    }
+
+    @Test
+    public void testAllEventTypesHandled()
+        throws Exception
+    {
+        for ( Method method : TransferListener.class.getMethods() )
+        {
+            assertNotNull( AsyncTransferListener.class.getDeclaredMethod( method.getName(),
+                                                                          method.getParameterTypes() ) );
+        }
+    }
+
+    @Test
+    public void testProgressCoalescedPerResourceInOrder()
+        throws Exception
+    {
+        AsyncTransferListener listener = new AsyncTransferListener( recorder );
+        TransferResource a = newResource( "a" );
+        listener.transferInitiated( newEvent( a, EventType.INITIATED, 0 ) );
+        listener.transferProgressed( newEvent( a, EventType.PROGRESSED, 1 ) );
+        listener.transferProgressed( newEvent( a, EventType.PROGRESSED, 2 ) );
+        listener.transferCorrupted( newEvent( a, EventType.CORRUPTED, 2 ) );
+        listener.transferProgressed( newEvent( a, EventType.PROGRESSED, 3 ) );
+        listener.transferProgressed( newEvent( a, EventType.PROGRESSED, 4 ) );
+        listener.transferSucceeded( newEvent( a, EventType.SUCCEEDED, 4 ) );
+        release.countDown();
+
+        assertTrue( listener.flush( 10000L ) );
+        assertEquals( Arrays.asList( "a:INITIATED:0", "a:PROGRESSED:2", "a:CORRUPTED:2", "a:PROGRESSED:4",
+                                     "a:SUCCEEDED:4" ), events );
+        assertEquals( 0L, listener.getDroppedCount() );
+    }
+
+    @Test
+    public void testProgressDroppedWhenFull()
+        throws Exception
+    {
+        AsyncTransferListener listener = new AsyncTransferListener( recorder, 2 );
+        listener.transferInitiated( newEvent( newResource( "a" ), EventType.INITIATED, 0 ) );
+        entered.await();
+
+        TransferResource b = newResource( "b" );
+        listener.transferProgressed( newEvent( b, EventType.PROGRESSED, 1 ) );
+        listener.transferStarted( newEvent( newResource( "c" ), EventType.STARTED, 0 ) );
+        listener.transferProgressed( newEvent( newResource( "d" ), EventType.PROGRESSED, 1 ) );
+        listener.transferProgressed( newEvent( b, EventType.PROGRESSED, 2 ) );
+        assertEquals( 1L, listener.getDroppedCount() );
+        release.countDown();
+
+        assertTrue( listener.flush( 10000L ) );
+        assertEquals( Arrays.asList( "a:INITIATED:0", "b:PROGRESSED:2", "c:STARTED:0" ), events );
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.eclipse.aether.util.repository;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.eclipse.aether.util.repository.BoundedRepositoryCache.Codec;
+import org.eclipse.aether.util.repository.BoundedRepositoryCache.Eviction;
+import org.junit.Test;
+
+public class BoundedRepositoryCacheTest
+{
+
+    @Test
+    public void testLruEviction()
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache( Eviction.LRU, 2 );
+        cache.put( null, "a", 1 );
+        cache.put( null, "b", 2 );
+        assertEquals( 1, cache.get( null, "a" ) );
+        cache.put( null, "c", 3 );
+        assertEquals( 2, cache.size() );
+        assertEquals( 1, cache.get( null, "a" ) );
+        assertNull( cache.get( null, "b" ) );
+        assertEquals( 3, cache.get( null, "c" ) );
+        assertEquals( 1, cache.getEvictionCount() );
+        assertEquals( 3, cache.getHitCount() );
+        assertEquals( 1, cache.getMissCount() );
+    }
+
+    @Test
+    public void testLfuEviction()
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache( Eviction.LFU, 2 );
+        cache.put( null, "a", 1 );
+        cache.put( null, "b", 2 );
+        cache.get( null, "a" );
+        cache.get( null, "a" );
+        cache.get( null, "b" );
+        cache.put( null, "c", 3 );
+        cache.put( null, "d", 4 );
+        assertEquals( 1, cache.get( null, "a" ) );
+        assertNull( cache.get( null, "b" ) );
+        assertNull( cache.get( null, "c" ) );
+        assertEquals( 4, cache.get( null, "d" ) );
+    }
+
+    @Test
+    public void testLfuEvictionOfTiesAndRemovedEntries()
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache( Eviction.LFU, 10 );
+        for ( int i = 0; i < 5; i++ )
+        {
+            cache.put( null, i, i );
+        }
+        cache.get( null, 0 );
+        cache.get( null, 3 );
+        cache.get( null, 3 );
+        cache.put( null, 1, null );
+        cache.put( null, 4, "four" );
+        cache.setMaxEntries( Integer.class, 2 );
+        assertEquals( 2, cache.size() );
+        assertEquals( 2, cache.getEvictionCount() );
+        assertEquals( 0, cache.get( null, 0 ) );
+        assertEquals( 3, cache.get( null, 3 ) );
+
+        cache.put( null, 5, 5 );
+        assertNull( cache.get( null, 0 ) );
+        assertEquals( 5, cache.get( null, 5 ) );
+    }
+
+    @Test
+    public void testLimitPerKeyType()
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache();
+        cache.setMaxEntries( Integer.class, 1 );
+        cache.put( null, "a", 1 );
+        cache.put( null, "b", 2 );
+        cache.put( null, 1, "a" );
+        cache.put( null, 2, "b" );
+        assertEquals( 3, cache.size() );
+        assertNull( cache.get( null, 1 ) );
+        assertEquals( "b", cache.get( null, 2 ) );
+
+        cache.setMaxEntries( String.class, 1 );
+        assertEquals( 2, cache.size() );
+        assertEquals( 2, cache.get( null, "b" ) );
+    }
+
+    @Test
+    public void testPutNullRemovesEntry()
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache();
+        cache.put( null, "a", 1 );
+        cache.put( null, "a", null );
+        assertNull( cache.get( null, "a" ) );
+        assertEquals( 0, cache.size() );
+    }
+
+    private static final Codec STRING_CODEC = new Codec()
+    {
+        public void write( DataOutput out, Object value )
+            throws IOException
+        {
+            out.writeUTF( (String) value );
+        }
+
+        public Object read( DataInput in )
+            throws IOException
+        {
+            return in.readUTF();
+        }
+    };
+
+    @Test
+    public void testSnapshotOnlyIncludesEntriesWithCodec()
+        throws IOException
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache();
+        cache.setCodec( "a", STRING_CODEC );
+        cache.setCodec( "missing", STRING_CODEC );
+        cache.put( null, "a", "one" );
+        cache.put( null, "b", "two" );
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        cache.writeSnapshot( snapshot );
+        assertEquals( 0, cache.getHitCount() );
+
+        BoundedRepositoryCache restored = new BoundedRepositoryCache();
+        restored.setCodec( "a", STRING_CODEC );
+        restored.readSnapshot( new ByteArrayInputStream( snapshot.toByteArray() ) );
+        assertEquals( 1, restored.size() );
+        assertEquals( "one", restored.get( null, "a" ) );
+        assertNull( restored.get( null, "b" ) );
+    }
+
+    @Test
+    public void testSnapshotSkipsEntriesWithoutCodecOnRead()
+        throws IOException
+    {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache();
+        cache.setCodec( "a", STRING_CODEC );
+        cache.setCodec( "b", STRING_CODEC );
+        cache.put( null, "a", "one" );
+        cache.put( null, "b", "two" );
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        cache.writeSnapshot( snapshot );
+
+        BoundedRepositoryCache restored = new BoundedRepositoryCache();
+        restored.setCodec( "b", STRING_CODEC );
+        restored.readSnapshot( new ByteArrayInputStream( snapshot.toByteArray() ) );
+        assertEquals( 1, restored.size() );
+        assertEquals( "two", restored.get( null, "b" ) );
+    }
+
+    @Test( expected = IOException.class )
+    public void testReadSnapshotRejectsForeignData()
+        throws IOException
+    {
+        new BoundedRepositoryCache().readSnapshot( new ByteArrayInputStream( new byte[] { 1, 2, 3, 4, 0, 0, 0, 0 } ) );
+    }
+
+    @Test
+    public void testConcurrentAccessToDifferentKeyTypes()
+        throws InterruptedException
+    {
+        final BoundedRepositoryCache cache = new BoundedRepositoryCache();
+        cache.setMaxEntries( Integer.class, 10 );
+        Thread[] threads = new Thread[4];
+        for ( int t = 0; t < threads.length; t++ )
+        {
+            final boolean strings = t % 2 == 0;
+            threads[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    for ( int i = 0; i < 1000; i++ )
+                    {
+                        Object key = strings ? (Object) String.valueOf( i % 20 ) : (Object) i;
+                        cache.put( null, key, i );
+                        cache.get( null, key );
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+        assertEquals( 30, cache.size() );
+        assertEquals( 4000, cache.getHitCount() + cache.getMissCount() );
+    }
+
+}
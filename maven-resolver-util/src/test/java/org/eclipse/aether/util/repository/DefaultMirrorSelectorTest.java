@@ -0,0 +1,91 @@
+package org.eclipse.aether.util.repository;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Test;
+
+public class DefaultMirrorSelectorTest
+{
+
+    private static RemoteRepository newRepo( String id, String type, String url )
+    {
+        return new RemoteRepository.Builder( id, type, url ).build();
+    }
+
+    private static String getMirrorId( DefaultMirrorSelector selector, RemoteRepository repository )
+    {
+        RemoteRepository mirror = selector.getMirror( repository );
+        return ( mirror != null ) ? mirror.getId() : null;
+    }
+
+    @Test
+    public void testSelection()
+    {
+        DefaultMirrorSelector selector = new DefaultMirrorSelector();
+        selector.add( "all", "http://all", "default", false, "*,!central", null );
+        selector.add( "central-mirror", "http://central", "default", false, "central", "default" );
+        selector.add( "p2", "http://p2", "p2", false, "central", "p2" );
+
+        assertEquals( "central-mirror", getMirrorId( selector, newRepo( "central", "default", "http://c" ) ) );
+        assertEquals( "central-mirror", getMirrorId( selector, newRepo( "central", "default", "http://c" ) ) );
+        assertEquals( "p2", getMirrorId( selector, newRepo( "central", "p2", "http://c" ) ) );
+        assertEquals( "all", getMirrorId( selector, newRepo( "other", "default", "http://o" ) ) );
+        assertNull( getMirrorId( selector, newRepo( "central", "legacy", "http://c" ) ) );
+
+        selector.add( "legacy", "http://legacy", "legacy", false, "external:*", "legacy" );
+        assertEquals( "legacy", getMirrorId( selector, newRepo( "central", "legacy", "http://c" ) ) );
+        assertNull( getMirrorId( selector, newRepo( "central", "legacy", "file:///c" ) ) );
+    }
+
+    @Test
+    public void testSpecMatchesPatterns()
+    {
+        List<String> values = Arrays.asList( "central", "other", "local", "!central", "*", "external:*", "", "p2" );
+        List<String> specs =
+            Arrays.asList( "*", "central", "*,!central", "!central,*", "external:*,!other", "central,!central",
+                           "!central,central", "other,local,p2", "", "!", "*,!p2", "external:*" );
+        List<RemoteRepository> repos =
+            Arrays.asList( newRepo( "r", "default", "http://remote" ), newRepo( "r", "default", "file:///local" ) );
+        for ( String spec : specs )
+        {
+            DefaultMirrorSelector.MirrorOfSpec ids = new DefaultMirrorSelector.MirrorOfSpec( spec, true );
+            DefaultMirrorSelector.MirrorOfSpec types = new DefaultMirrorSelector.MirrorOfSpec( spec, false );
+            for ( String value : values )
+            {
+                for ( RemoteRepository repo : repos )
+                {
+                    RemoteRepository repository = new RemoteRepository.Builder( repo ).setId( value ).build();
+                    assertEquals( spec + " ~ " + value, DefaultMirrorSelector.matchPattern( repository, spec ),
+                                  ids.matches( value, repository ) );
+                }
+                assertEquals( spec + " ~ " + value, DefaultMirrorSelector.matchesType( value, spec ),
+                              types.matches( value, null ) );
+            }
+            assertEquals( DefaultMirrorSelector.matchesType( null, spec ), types.matches( null, null ) );
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package org.eclipse.aether.util.repository;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+
+public class RepositoryHealthRegistryTest
+{
+
+    private static final String FAST = "http://fast.example.org/";
+
+    private static final String SLOW = "http://slow.example.org/";
+
+    private static RemoteRepository newRepo( String id )
+    {
+        return new RemoteRepository.Builder( id, "default", "http://" + id + ".example.org/" ).build();
+    }
+
+    @Test
+    public void testLatencyPercentiles()
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry();
+        assertEquals( -1L, registry.getLatency( FAST, 50 ) );
+        for ( int i = 1; i <= 10; i++ )
+        {
+            registry.recordLatency( FAST, i * 10L );
+        }
+        assertEquals( 50L, registry.getLatency( FAST, 50 ) );
+        assertEquals( 90L, registry.getLatency( FAST, 90 ) );
+        assertEquals( 100L, registry.getLatency( FAST, 100 ) );
+    }
+
+    @Test
+    public void testErrorRateAndThroughput()
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry();
+        registry.recordSuccess( FAST, 2000L, 1000L );
+        registry.recordSuccess( FAST, 2000L, 1000L );
+        registry.recordSuccess( FAST, 2000L, 1000L );
+        registry.recordFailure( FAST );
+        assertEquals( 0.25, registry.getErrorRate( FAST ), 0.001 );
+        assertEquals( 2000L, registry.getThroughput( FAST ) );
+    }
+
+    @Test
+    public void testCircuitBreaker()
+        throws Exception
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry( 2, 200L );
+        assertTrue( registry.isAvailable( FAST ) );
+        registry.recordFailure( FAST );
+        assertTrue( registry.isAvailable( FAST ) );
+        registry.recordFailure( FAST );
+        assertFalse( registry.isAvailable( FAST ) );
+        Thread.sleep( 300L );
+        assertTrue( registry.isAvailable( FAST ) );
+        registry.recordSuccess( FAST, 0L, 0L );
+        registry.recordFailure( FAST );
+        assertTrue( registry.isAvailable( FAST ) );
+    }
+
+    @Test
+    public void testTransferListener()
+        throws Exception
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry( 1, 60000L );
+        TransferListener listener = registry.getTransferListener();
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+        TransferResource resource = new TransferResource( "fast", FAST, "file.txt", null, null );
+        TransferEvent.Builder builder = new TransferEvent.Builder( session, resource );
+        listener.transferInitiated( builder.resetType( TransferEvent.EventType.INITIATED ).build() );
+        listener.transferStarted( builder.resetType( TransferEvent.EventType.STARTED ).build() );
+        listener.transferSucceeded( builder.resetType( TransferEvent.EventType.SUCCEEDED ).build() );
+        assertTrue( registry.getLatency( FAST, 50 ) >= 0L );
+
+        Exception notFound =
+            new ArtifactNotFoundException( new DefaultArtifact( "gid:aid:1" ), newRepo( "fast" ) );
+        listener.transferFailed( builder.resetType( TransferEvent.EventType.FAILED ).setException( notFound ).build() );
+        assertTrue( registry.isAvailable( FAST ) );
+
+        resource = new TransferResource( "slow", SLOW, "file.txt", null, null );
+        builder = new TransferEvent.Builder( session, resource );
+        Exception error = new Exception( "connection reset" );
+        listener.transferFailed( builder.resetType( TransferEvent.EventType.FAILED ).setException( error ).build() );
+        assertFalse( registry.isAvailable( SLOW ) );
+    }
+
+    @Test
+    public void testTransferListener_ExcludesQueueingTime()
+        throws Exception
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry();
+        TransferListener listener = registry.getTransferListener();
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+        TransferResource resource = new TransferResource( "fast", FAST, "file.txt", null, null );
+        TransferEvent.Builder builder = new TransferEvent.Builder( session, resource );
+        Thread.sleep( 300L );
+        listener.transferInitiated( builder.resetType( TransferEvent.EventType.INITIATED ).build() );
+        listener.transferStarted( builder.resetType( TransferEvent.EventType.STARTED ).build() );
+        listener.transferSucceeded( builder.resetType( TransferEvent.EventType.SUCCEEDED ).build() );
+        assertTrue( registry.getLatency( FAST, 50 ) < 300L );
+    }
+
+    @Test
+    public void testMirrorSelection_WithoutRegistryPicksFirst()
+    {
+        DefaultMirrorSelector selector = new DefaultMirrorSelector();
+        selector.add( "slow", SLOW, "default", false, "central", null );
+        selector.add( "fast", FAST, "default", false, "central", null );
+        assertEquals( "slow", selector.getMirror( newRepo( "central" ) ).getId() );
+    }
+
+    @Test
+    public void testMirrorSelection_PicksHealthiest()
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry();
+        registry.recordLatency( SLOW, 2000L );
+        registry.recordLatency( FAST, 20L );
+        DefaultMirrorSelector selector = new DefaultMirrorSelector().setHealthRegistry( registry );
+        selector.add( "slow", SLOW, "default", false, "central", null );
+        selector.add( "fast", FAST, "default", false, "central", null );
+        assertEquals( "fast", selector.getMirror( newRepo( "central" ) ).getId() );
+    }
+
+    @Test
+    public void testMirrorSelection_SkipsUnavailable()
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry( 1, 60000L );
+        registry.recordLatency( SLOW, 2000L );
+        registry.recordLatency( FAST, 20L );
+        registry.recordFailure( FAST );
+        DefaultMirrorSelector selector = new DefaultMirrorSelector().setHealthRegistry( registry );
+        selector.add( "fast", FAST, "default", false, "*", null );
+        selector.add( "slow", SLOW, "default", false, "*", null );
+        assertEquals( "slow", selector.getMirror( newRepo( "central" ) ).getId() );
+    }
+
+    @Test
+    public void testMirrorSelection_ExactIdTakesPrecedence()
+    {
+        RepositoryHealthRegistry registry = new RepositoryHealthRegistry();
+        registry.recordLatency( SLOW, 2000L );
+        registry.recordLatency( FAST, 20L );
+        DefaultMirrorSelector selector = new DefaultMirrorSelector().setHealthRegistry( registry );
+        selector.add( "fast", FAST, "default", false, "*", null );
+        selector.add( "slow", SLOW, "default", false, "central", null );
+        assertEquals( "slow", selector.getMirror( newRepo( "central" ) ).getId() );
+    }
+
+}
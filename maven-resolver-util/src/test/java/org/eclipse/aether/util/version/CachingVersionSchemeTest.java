@@ -0,0 +1,81 @@
+package org.eclipse.aether.util.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionConstraint;
+import org.junit.Test;
+
+public class CachingVersionSchemeTest
+{
+
+    @Test
+    public void testSharedInstances()
+        throws Exception
+    {
+        CachingVersionScheme scheme = new CachingVersionScheme();
+        assertSame( scheme.parseVersion( "1.0" ), scheme.parseVersion( "1.0" ) );
+        assertSame( scheme.parseVersionRange( "[1,2)" ), scheme.parseVersionRange( "[1,2)" ) );
+        VersionConstraint constraint = scheme.parseVersionConstraint( "[1,2),(3,4]" );
+        assertSame( constraint, scheme.parseVersionConstraint( "[1,2),(3,4]" ) );
+        assertEquals( new GenericVersionScheme().parseVersionConstraint( "[1,2),(3,4]" ), constraint );
+
+        assertEquals( 3, scheme.getHitCount() );
+        assertEquals( 3, scheme.getMissCount() );
+        assertEquals( 0.5, scheme.getHitRate(), 0.0001 );
+    }
+
+    @Test
+    public void testErrorsAreNotCached()
+    {
+        CachingVersionScheme scheme = new CachingVersionScheme();
+        for ( int i = 0; i < 2; i++ )
+        {
+            try
+            {
+                scheme.parseVersionConstraint( "[1,2" );
+                fail( "expected exception" );
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                assertEquals( "[1,2", e.getVersion() );
+            }
+        }
+        assertEquals( 0, scheme.getHitCount() );
+        assertEquals( 2, scheme.getMissCount() );
+    }
+
+    @Test
+    public void testCapacity()
+        throws Exception
+    {
+        CachingVersionScheme scheme = new CachingVersionScheme( new GenericVersionScheme(), 2 );
+        scheme.parseVersion( "1" );
+        scheme.parseVersion( "2" );
+        scheme.parseVersion( "3" );
+        scheme.parseVersion( "3" );
+        scheme.parseVersion( "1" );
+        assertEquals( 1, scheme.getHitCount() );
+        assertEquals( 4, scheme.getMissCount() );
+    }
+
+}
@@ -138,6 +138,17 @@ public class GenericVersionTest
         assertOrder( X_GT_Y, "1.1234567890123456789012345678901", "1.123456789012345678901234567891" );
     }
 
+    @Test
+    public void testNumericComponentsAroundLongBoundary()
+    {
+        assertOrder( X_GT_Y, "1.1234567890", "1.123456789" );
+        assertOrder( X_GT_Y, "1.1000000000000000000", "1.999999999999999999" );
+        assertOrder( X_LT_Y, "1.999999999999999999", "1.9999999999999999999" );
+        assertOrder( X_EQ_Y, "1.999999999999999999", "1.000999999999999999999" );
+        assertOrder( X_EQ_Y, "1.9999999999999999999", "1.0009999999999999999999" );
+        assertOrder( X_GT_Y, "1.1000000000000000000", "1.0" );
+    }
+
     @Test
     public void testTransitionFromDigitToLetterAndViceVersaIsEqualivantToDelimiter()
     {
@@ -0,0 +1,143 @@
+package org.eclipse.aether.util.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.aether.version.VersionRange;
+import org.junit.Test;
+
+public class SortedVersionListTest
+{
+
+    private final GenericVersionScheme scheme = new GenericVersionScheme();
+
+    private SortedVersionList newList( String... versions )
+        throws Exception
+    {
+        List<Version> list = new ArrayList<Version>();
+        for ( String version : versions )
+        {
+            list.add( scheme.parseVersion( version ) );
+        }
+        return SortedVersionList.of( list );
+    }
+
+    private static List<Version> filter( List<Version> versions, VersionConstraint constraint )
+    {
+        List<Version> result = new ArrayList<Version>();
+        for ( Version version : versions )
+        {
+            if ( constraint.containsVersion( version ) )
+            {
+                result.add( version );
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testSorted()
+        throws Exception
+    {
+        SortedVersionList list = newList( "2", "1.0-SNAPSHOT", "1.0", "1.1" );
+        assertEquals( "[1.0-SNAPSHOT, 1.0, 1.1, 2]", list.toString() );
+    }
+
+    @Test
+    public void testNextSnapshotIndex()
+        throws Exception
+    {
+        SortedVersionList list = newList( "2", "1.0-SNAPSHOT", "1.0", "2.1-SNAPSHOT" );
+        assertEquals( 0, list.nextSnapshotIndex( 0 ) );
+        assertEquals( 3, list.nextSnapshotIndex( 1 ) );
+        assertEquals( -1, list.nextSnapshotIndex( 4 ) );
+    }
+
+    @Test
+    public void testRanges()
+        throws Exception
+    {
+        SortedVersionList list = newList( "1", "1.1", "1.2", "2", "2.1", "3" );
+        assertEquals( "[1.1, 1.2, 2]", list.getVersions( scheme.parseVersionConstraint( "(1,2]" ) ).toString() );
+        assertEquals( "[1, 1.1, 1.2]", list.getVersions( scheme.parseVersionConstraint( "[1,2)" ) ).toString() );
+        assertEquals( "[2.1, 3]", list.getVersions( scheme.parseVersionConstraint( "[2.1,)" ) ).toString() );
+        assertEquals( "[1, 1.1]", list.getVersions( scheme.parseVersionConstraint( "(,1.1]" ) ).toString() );
+        assertEquals( "[2]", list.getVersions( scheme.parseVersionConstraint( "[2.0]" ) ).toString() );
+        assertEquals( "[2]", list.getVersions( scheme.parseVersionConstraint( "2.0" ) ).toString() );
+        assertEquals( "[]", list.getVersions( scheme.parseVersionConstraint( "[4,5]" ) ).toString() );
+        assertEquals( "[1, 2.1, 3]",
+                      list.getVersions( scheme.parseVersionConstraint( "[2.1,),[1]" ) ).toString() );
+        assertEquals( "[1, 1.1, 1.2, 2]",
+                      list.getVersions( scheme.parseVersionConstraint( "[1,1.2],[1.1,2]" ) ).toString() );
+    }
+
+    @Test
+    public void testForeignRange()
+        throws Exception
+    {
+        final VersionRange range = scheme.parseVersionRange( "[1,3]" );
+        VersionRange odd = new VersionRange()
+        {
+            public boolean containsVersion( Version version )
+            {
+                return range.containsVersion( version ) && !version.toString().contains( "." );
+            }
+
+            public Bound getLowerBound()
+            {
+                return range.getLowerBound();
+            }
+
+            public Bound getUpperBound()
+            {
+                return range.getUpperBound();
+            }
+        };
+        SortedVersionList list = newList( "0", "1", "1.1", "2", "2.1", "3", "4" );
+        assertEquals( "[1, 2, 3]", list.getVersions( odd ).toString() );
+    }
+
+    @Test
+    public void testMatchesContainsVersion()
+        throws Exception
+    {
+        Random random = new Random( 0 );
+        List<Version> versions = new ArrayList<Version>();
+        for ( int i = 0; i < 200; i++ )
+        {
+            versions.add( scheme.parseVersion( random.nextInt( 10 ) + "." + random.nextInt( 10 ) ) );
+        }
+        SortedVersionList list = SortedVersionList.of( versions );
+        for ( String spec : Arrays.asList( "[1.5,3.5)", "(2,8]", "[3,3.3],(5,6)", "(,2),[7,)", "[0.1,4),[2,9]" ) )
+        {
+            VersionConstraint constraint = scheme.parseVersionConstraint( spec );
+            assertEquals( spec, filter( list, constraint ), list.getVersions( constraint ) );
+        }
+    }
+
+}